@@ -1,7 +1,10 @@
 import { fileURLToPath, URL } from 'node:url'
 import { networkInterfaces } from 'node:os'
+import { readFileSync, writeFileSync } from 'node:fs'
+import { join } from 'node:path'
+import { brotliCompressSync, gzipSync, constants as zlibConstants } from 'node:zlib'
 
-import { defineConfig } from 'vite'
+import { defineConfig, type Plugin } from 'vite'
 import vue from '@vitejs/plugin-vue'
 import vueJsx from '@vitejs/plugin-vue-jsx'
 import vueDevTools from 'vite-plugin-vue-devtools'
@@ -43,12 +46,40 @@ function logAvailableInterfaces(): void {
 // Log interfaces on startup
 logAvailableInterfaces()
 
+// Write .gz and .br siblings next to text assets so Spring's EncodedResourceResolver
+// can serve them without compressing on every request
+function precompressAssets(): Plugin {
+  const compressible = /\.(js|css|html|svg|json)$/
+  const minSize = 1024
+
+  return {
+    name: 'precompress-assets',
+    apply: 'build',
+    writeBundle(options, bundle) {
+      const outDir = options.dir ?? 'dist'
+      for (const fileName of Object.keys(bundle)) {
+        if (!compressible.test(fileName)) continue
+
+        const filePath = join(outDir, fileName)
+        const content = readFileSync(filePath)
+        if (content.length < minSize) continue
+
+        writeFileSync(`${filePath}.gz`, gzipSync(content, { level: 9 }))
+        writeFileSync(`${filePath}.br`, brotliCompressSync(content, {
+          params: { [zlibConstants.BROTLI_PARAM_QUALITY]: zlibConstants.BROTLI_MAX_QUALITY },
+        }))
+      }
+    },
+  }
+}
+
 // https://vite.dev/config/
 export default defineConfig({
   plugins: [
     vue(),
     vueJsx(),
     vueDevTools(),
+    precompressAssets(),
   ],
   resolve: {
     alias: {
@@ -0,0 +1,43 @@
+package com.abetappteam.abetapp.benchmark;
+
+import com.abetappteam.abetapp.controller.BaseController;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Pageable;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BaseController.createPageable, run for every paged list request
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class CreatePageableBenchmark {
+
+    // Exposes the protected helper; no Spring wiring needed for it
+    static final class PagingController extends BaseController {
+        Pageable pageable(int page, int size, String sort, String direction) {
+            return createPageable(page, size, sort, direction);
+        }
+    }
+
+    private final PagingController controller = new PagingController();
+
+    @Benchmark
+    public Pageable defaults() {
+        return controller.pageable(0, 20, null, null);
+    }
+
+    @Benchmark
+    public Pageable sortedDescending() {
+        return controller.pageable(3, 50, "courseName", "desc");
+    }
+
+    @Benchmark
+    public Pageable clampedOutOfRange() {
+        return controller.pageable(-1, 10_000, " ", "ASC");
+    }
+}
@@ -0,0 +1,58 @@
+package com.abetappteam.abetapp.benchmark;
+
+import com.abetappteam.abetapp.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token generation and parsing cost. Every authenticated request pays for one
+ * parse in JwtAuthenticationFilter (extractEmail, extractRole, extractUserId and
+ * isTokenValid each parse the token again).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class JwtUtilBenchmark {
+
+    private AnnotationConfigApplicationContext context;
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        // A bare context resolves the @Value defaults (secret, expiration)
+        context = new AnnotationConfigApplicationContext(JwtUtil.class);
+        jwtUtil = context.getBean(JwtUtil.class);
+        token = jwtUtil.generateToken(42L, "instructor@ycp.edu", "INSTRUCTOR", 7L);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(42L, "instructor@ycp.edu", "INSTRUCTOR", 7L);
+    }
+
+    @Benchmark
+    public Claims parseClaims() {
+        return jwtUtil.extractClaims(token);
+    }
+
+    // What JwtAuthenticationFilter does per request today
+    @Benchmark
+    public boolean filterValidation() {
+        String email = jwtUtil.extractEmail(token);
+        jwtUtil.extractRole(token);
+        jwtUtil.extractUserId(token);
+        return jwtUtil.isTokenValid(token, email);
+    }
+}
@@ -0,0 +1,102 @@
+package com.abetappteam.abetapp.benchmark;
+
+import com.abetappteam.abetapp.dto.ApiResponse;
+import com.abetappteam.abetapp.dto.CourseSummary;
+import com.abetappteam.abetapp.dto.MeasureSummary;
+import com.abetappteam.abetapp.dto.PagedResponse;
+import com.abetappteam.abetapp.entity.Course;
+import com.abetappteam.abetapp.entity.Measure;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of list responses, full entities vs the summary projections
+ * the list endpoints return.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    private static final String TEXT = "Students analyze a complex computing problem and apply principles of "
+            + "computing and other relevant disciplines to identify solutions. ".repeat(4);
+
+    @Param({"100", "1000", "10000"})
+    public int size;
+
+    // Same builder Spring Boot uses for its ObjectMapper bean
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private ApiResponse<List<Course>> courses;
+    private ApiResponse<List<CourseSummary>> courseSummaries;
+    private PagedResponse<Measure> measures;
+    private PagedResponse<MeasureSummary> measureSummaries;
+
+    @Setup
+    public void setUp() {
+        List<Course> courseList = new ArrayList<>(size);
+        List<CourseSummary> courseSummaryList = new ArrayList<>(size);
+        List<Measure> measureList = new ArrayList<>(size);
+        List<MeasureSummary> measureSummaryList = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            long id = i + 1;
+            Course course = new Course("CS" + (100 + i % 900), "Course " + i, TEXT, id % 20 + 1);
+            course.setId(id);
+            course.setStudentCount(30);
+            course.setCreatedAt(LocalDateTime.now());
+            course.setUpdatedAt(LocalDateTime.now());
+            courseList.add(course);
+            courseSummaryList.add(new CourseSummary(id, course.getCourseCode(), course.getCourseName(),
+                    course.getSemesterId(), 30, true));
+
+            Measure measure = new Measure();
+            measure.setId(id);
+            measure.setCourseIndicatorId(id % 500 + 1);
+            measure.setDescription(TEXT);
+            measure.setObservation(TEXT);
+            measure.setRecommendedAction(TEXT);
+            measure.setFcar(TEXT);
+            measure.setStudentsMet(12);
+            measure.setStudentsExceeded(10);
+            measure.setStudentsBelow(8);
+            measure.setStatus("InProgress");
+            measure.setActive(true);
+            measureList.add(measure);
+            measureSummaryList.add(new MeasureSummary(id, measure.getCourseIndicatorId(), "InProgress", 12, 10, 8, true));
+        }
+        courses = ApiResponse.success(courseList, "Active courses retrieved successfully");
+        courseSummaries = ApiResponse.success(courseSummaryList, "Active courses retrieved successfully");
+        measures = new PagedResponse<>(measureList, 0, size, size, 1, true, true);
+        measureSummaries = new PagedResponse<>(measureSummaryList, 0, size, size, 1, true, true);
+    }
+
+    @Benchmark
+    public byte[] courseEntities() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(courses);
+    }
+
+    @Benchmark
+    public byte[] courseSummaries() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(courseSummaries);
+    }
+
+    @Benchmark
+    public byte[] measureEntityPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(measures);
+    }
+
+    @Benchmark
+    public byte[] measureSummaryPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(measureSummaries);
+    }
+}
@@ -0,0 +1,113 @@
+package com.abetappteam.abetapp.benchmark;
+
+import com.abetappteam.abetapp.AbetAssessmentApplication;
+import com.abetappteam.abetapp.dataset.DatasetGenerator;
+import com.abetappteam.abetapp.dataset.DatasetSpec;
+import com.abetappteam.abetapp.dto.CourseSummary;
+import com.abetappteam.abetapp.dto.MeasureSummary;
+import com.abetappteam.abetapp.service.CourseService;
+import com.abetappteam.abetapp.service.MeasureService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CourseService and MeasureService list queries against an in-memory H2 database
+ * seeded by DatasetGenerator with several years of assessment history.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class ServiceBenchmark {
+
+    // Two programs of eight semesters: 1,280 courses, 19,200 course indicators, 96,000 measures
+    static final DatasetSpec DATASET = new DatasetSpec(2, 8, 80, 7, 3, 15, 5, 40, DatasetSpec.DEFAULT_SEED);
+
+    private ConfigurableApplicationContext context;
+    private CourseService courseService;
+    private MeasureService measureService;
+
+    private long semesterId;
+    private long courseId;
+    private long indicatorId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(AbetAssessmentApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.sql.init.mode=never",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .run();
+        courseService = context.getBean(CourseService.class);
+        measureService = context.getBean(MeasureService.class);
+        seed();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    private void seed() {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        new DatasetGenerator(jdbcTemplate).generate(DATASET);
+
+        // The active semester of the first program, and one of its courses and indicators
+        semesterId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM semester WHERE is_current = TRUE", Long.class);
+        courseId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM course WHERE semester_id = ?", Long.class, semesterId)
+                + DATASET.coursesPerSemester() / 2;
+        indicatorId = jdbcTemplate.queryForObject("SELECT MIN(ci.indicator_id) FROM course_indicator ci "
+                + "JOIN course c ON ci.course_id = c.id WHERE c.semester_id = ?", Long.class, semesterId);
+    }
+
+    @Benchmark
+    public Page<CourseSummary> courseSummariesBySemester() {
+        return courseService.getCourseSummariesBySemester(semesterId, PageRequest.of(2, 20, Sort.by("courseName")));
+    }
+
+    @Benchmark
+    public List<CourseSummary> allActiveCourseSummaries() {
+        return courseService.getAllActiveCourseSummaries();
+    }
+
+    @Benchmark
+    public Page<CourseSummary> searchCourseSummaries() {
+        return courseService.searchSummariesByNameOrCourseCode("CS12", PageRequest.of(0, 20));
+    }
+
+    @Benchmark
+    public Page<MeasureSummary> measureSummaryPage() {
+        return measureService.findAllSummaries(PageRequest.of(40, 50, Sort.by("id")));
+    }
+
+    @Benchmark
+    public List<MeasureSummary> activeMeasuresByCourse() {
+        return measureService.findActiveSummariesByCourse(courseId);
+    }
+
+    @Benchmark
+    public List<MeasureSummary> activeMeasuresByIndicator() {
+        return measureService.findActiveSummariesByIndicator(indicatorId);
+    }
+
+    @Benchmark
+    public List<MeasureSummary> inProgressMeasuresBySemester() {
+        return measureService.findActiveSummariesByStatusAndSemester("InProgress", semesterId);
+    }
+}
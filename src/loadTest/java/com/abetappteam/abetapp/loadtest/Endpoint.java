@@ -0,0 +1,61 @@
+package com.abetappteam.abetapp.loadtest;
+
+/**
+ * Endpoints exercised by the load test, with their share of the steady-state traffic mix.
+ * Weights add up to 100; login additionally runs in synchronized bursts (see VirtualUser).
+ */
+enum Endpoint {
+
+    LOGIN("login", "POST", "/api/users/login", 2),
+    COURSES("courses", "GET", "/api/courses?semesterId={semesterId}", 25),
+    CURRENT_SEMESTER("current-semester", "GET", "/api/semesters/program/{programId}/current", 20),
+    MEASURES_BY_SEMESTER("measures-by-semester", "GET", "/api/measure/bySemester/{status}/{semesterId}", 25),
+    MEASURES_BY_COURSE("measures-by-course", "GET", "/api/measure/byCourse/{courseId}", 10),
+    MEASURE("measure", "GET", "/api/measure/{id}", 8),
+    MEASURE_UPDATE("measure-update", "PUT", "/api/measure/{id}", 8),
+    MEASURE_CREATE("measure-create", "POST", "/api/measure", 2);
+
+    private final String key;
+    private final String method;
+    private final String path;
+    private final int weight;
+
+    Endpoint(String key, String method, String path, int weight) {
+        this.key = key;
+        this.method = method;
+        this.path = path;
+        this.weight = weight;
+    }
+
+    /**
+     * Name used in the report and in latency-budgets.properties
+     */
+    String key() {
+        return key;
+    }
+
+    String method() {
+        return method;
+    }
+
+    String path() {
+        return path;
+    }
+
+    int weight() {
+        return weight;
+    }
+
+    /**
+     * Picks an endpoint by weight for a roll in [0, 100)
+     */
+    static Endpoint pick(int roll) {
+        for (Endpoint endpoint : values()) {
+            roll -= endpoint.weight;
+            if (roll < 0) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Roll out of range: " + roll);
+    }
+}
@@ -0,0 +1,55 @@
+package com.abetappteam.abetapp.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Every latency sample of one endpoint, kept in full so percentiles are exact.
+ * A run records a few hundred thousand samples at most.
+ */
+final class LatencyStats {
+
+    private long[] samples = new long[1024];
+    private int count;
+    private int errors;
+
+    synchronized void record(long nanos, boolean ok) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+        if (!ok) {
+            errors++;
+        }
+    }
+
+    synchronized Snapshot snapshot(double seconds) {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        return new Snapshot(count, errors, seconds > 0 ? count / seconds : 0,
+                percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                count == 0 ? 0 : millis(sorted[count - 1]));
+    }
+
+    // Nearest-rank percentile in milliseconds
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(p * sorted.length);
+        return millis(sorted[Math.max(rank, 1) - 1]);
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+    /**
+     * Summary of one endpoint; latencies in milliseconds, throughput in requests per second
+     */
+    record Snapshot(int count, int errors, double throughput, double p50, double p95, double p99, double max) {
+
+        double errorRate() {
+            return count == 0 ? 0 : (double) errors / count;
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package com.abetappteam.abetapp.loadtest;
+
+import com.abetappteam.abetapp.AbetAssessmentApplication;
+import com.abetappteam.abetapp.dataset.DatasetGenerator;
+import com.abetappteam.abetapp.dataset.DatasetSpec;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Replays a fixed mix of dashboard reads, login bursts and measure entry against the app
+ * and reports p50/p95/p99 latency and throughput per endpoint, e.g. ./gradlew loadTest.
+ * <p>
+ * Without loadtest.baseUrl the app is started in-process on a random port with an in-memory
+ * H2 database seeded by DatasetGenerator, so a run needs nothing but a JDK. Results are
+ * printed and written as JSON; the run fails if any endpoint exceeds latency-budgets.properties.
+ * <p>
+ * System properties (the Gradle task forwards -Ploadtest.* as-is):
+ * <ul>
+ *   <li>loadtest.baseUrl - target an already running app instead, e.g. http://localhost:8080</li>
+ *   <li>loadtest.emails - comma-separated instructor logins for baseUrl runs (password123)</li>
+ *   <li>loadtest.users - concurrent virtual users (default 16)</li>
+ *   <li>loadtest.warmup - unrecorded requests per user before measuring (default 50)</li>
+ *   <li>loadtest.iterations - recorded requests per user (default 250)</li>
+ *   <li>loadtest.bursts - synchronized login bursts during the recorded phase (default 5)</li>
+ *   <li>loadtest.seed - seed for the dataset and the request mix</li>
+ *   <li>loadtest.budgets - budgets file replacing the bundled latency-budgets.properties</li>
+ *   <li>loadtest.enforce - set to false to report without failing on budgets (default true)</li>
+ *   <li>loadtest.report - JSON report path (default build/reports/loadtest/results.json)</li>
+ * </ul>
+ */
+public final class LoadTest {
+
+    // Two programs with four years of history: 640 courses, 48,000 measures
+    private static final int PROGRAMS = 2;
+
+    record Settings(String baseUrl, List<String> emails, int users, int warmup, int iterations, int bursts,
+                    long seed, String budgets, boolean enforce, String report) {
+
+        static Settings fromSystemProperties() {
+            String emails = System.getProperty("loadtest.emails", "");
+            return new Settings(
+                    System.getProperty("loadtest.baseUrl", ""),
+                    emails.isBlank() ? List.of() : Arrays.stream(emails.split(",")).map(String::trim).toList(),
+                    Integer.getInteger("loadtest.users", 16),
+                    Integer.getInteger("loadtest.warmup", 50),
+                    Integer.getInteger("loadtest.iterations", 250),
+                    Math.max(Integer.getInteger("loadtest.bursts", 5), 1),
+                    Long.getLong("loadtest.seed", DatasetSpec.DEFAULT_SEED),
+                    System.getProperty("loadtest.budgets", ""),
+                    Boolean.parseBoolean(System.getProperty("loadtest.enforce", "true")),
+                    System.getProperty("loadtest.report", "build/reports/loadtest/results.json"));
+        }
+    }
+
+    private final Settings settings;
+    private final String baseUrl;
+    private final ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+    private final Map<Endpoint, LatencyStats> stats = new EnumMap<>(Endpoint.class);
+    private final CyclicBarrier barrier;
+    private volatile long startNanos;
+
+    private LoadTest(Settings settings, String baseUrl) {
+        this.settings = settings;
+        this.baseUrl = baseUrl;
+        this.barrier = new CyclicBarrier(settings.users(), () -> {
+            if (startNanos == 0) {
+                startNanos = System.nanoTime();
+            }
+        });
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new LatencyStats());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Settings settings = Settings.fromSystemProperties();
+        ConfigurableApplicationContext context = null;
+        List<String> emails = settings.emails();
+        String baseUrl = settings.baseUrl();
+        if (baseUrl.isBlank()) {
+            context = startApplication(settings);
+            baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+            emails = context.getBean(JdbcTemplate.class).queryForList("SELECT email FROM users "
+                    + "WHERE email LIKE '%@synthetic.edu' AND email NOT LIKE '%.admin@%' ORDER BY id", String.class);
+        } else if (emails.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.emails is required with loadtest.baseUrl");
+        }
+
+        boolean withinBudget;
+        try {
+            LoadTest run = new LoadTest(settings, baseUrl);
+            double seconds = run.execute(emails);
+            withinBudget = run.report(seconds);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+        if (!withinBudget && settings.enforce()) {
+            System.err.println("Latency budgets exceeded");
+            System.exit(1);
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(Settings settings) {
+        System.out.println("Starting application on H2 and generating the load test dataset...");
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(AbetAssessmentApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:loadtest;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.sql.init.mode=never",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .run();
+        new DatasetGenerator(context.getBean(JdbcTemplate.class))
+                .generate(new DatasetSpec(PROGRAMS, 8, 40, 7, 3, 15, 5,
+                        Math.max((settings.users() + PROGRAMS - 1) / PROGRAMS, 1), settings.seed()));
+        return context;
+    }
+
+    // Runs every virtual user to completion and returns the length of the recorded phase in seconds
+    private double execute(List<String> emails) throws Exception {
+        System.out.printf("Running %d virtual users x %d requests against %s%n",
+                settings.users(), settings.iterations(), baseUrl);
+        ExecutorService executor = Executors.newFixedThreadPool(settings.users());
+        try {
+            List<Future<Void>> users = new ArrayList<>();
+            for (int i = 0; i < settings.users(); i++) {
+                users.add(executor.submit(new VirtualUser(this, i, emails.get(i % emails.size()))));
+            }
+            ExecutionException failure = null;
+            for (Future<Void> user : users) {
+                try {
+                    user.get();
+                } catch (ExecutionException e) {
+                    // Report the user that failed rather than the ones released from the barrier
+                    if (failure == null || failure.getCause().getCause() instanceof BrokenBarrierException) {
+                        failure = e;
+                    }
+                }
+            }
+            if (failure != null) {
+                throw new IllegalStateException("Load test aborted", failure.getCause());
+            }
+            return (System.nanoTime() - startNanos) / 1e9;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    HttpResponse<byte[]> get(Endpoint endpoint, String path, String token, boolean record) {
+        return send(endpoint, path, "GET", null, token, record);
+    }
+
+    /**
+     * Sends one request and records its latency under the endpoint when record is set.
+     * Connection failures count as errors and return null.
+     */
+    HttpResponse<byte[]> send(Endpoint endpoint, String path, String method, JsonNode body, String token,
+                              boolean record) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Accept", "application/json");
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        if (body != null) {
+            request.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(body.toString()));
+        } else {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response = null;
+        try {
+            response = http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            // Recorded as an error below
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (record) {
+            stats.get(endpoint).record(System.nanoTime() - start,
+                    response != null && response.statusCode() / 100 == 2);
+        }
+        return response;
+    }
+
+    // Prints and writes the report, and returns whether every endpoint stayed within its budget
+    private boolean report(double seconds) throws IOException {
+        Properties budgets = loadBudgets();
+        double maxErrorRate = Double.parseDouble(budgets.getProperty("error-rate", "0"));
+        List<String> violations = new ArrayList<>();
+
+        ObjectNode json = mapper.createObjectNode()
+                .put("baseUrl", baseUrl)
+                .put("users", settings.users())
+                .put("iterations", settings.iterations())
+                .put("seed", settings.seed())
+                .put("seconds", Math.round(seconds * 100) / 100.0);
+        ArrayNode endpoints = json.putArray("endpoints");
+
+        System.out.printf("%n%-22s %-6s %8s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "method", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        long total = 0;
+        for (Endpoint endpoint : Endpoint.values()) {
+            LatencyStats.Snapshot s = stats.get(endpoint).snapshot(seconds);
+            total += s.count();
+            System.out.printf("%-22s %-6s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", endpoint.key(),
+                    endpoint.method(), s.count(), s.errors(), s.throughput(), s.p50(), s.p95(), s.p99(), s.max());
+
+            ObjectNode row = endpoints.addObject()
+                    .put("endpoint", endpoint.key())
+                    .put("method", endpoint.method())
+                    .put("path", endpoint.path())
+                    .put("requests", s.count())
+                    .put("errors", s.errors())
+                    .put("throughput", Math.round(s.throughput() * 10) / 10.0)
+                    .put("p50", s.p50())
+                    .put("p95", s.p95())
+                    .put("p99", s.p99())
+                    .put("max", s.max());
+            checkBudget(budgets, endpoint, "p50", s.p50(), violations);
+            checkBudget(budgets, endpoint, "p95", s.p95(), violations);
+            checkBudget(budgets, endpoint, "p99", s.p99(), violations);
+            if (s.errorRate() > maxErrorRate) {
+                violations.add(String.format("%s error rate %.4f > %.4f", endpoint.key(), s.errorRate(), maxErrorRate));
+            }
+            row.put("withinBudget", violations.stream().noneMatch(v -> v.startsWith(endpoint.key() + " ")));
+        }
+        System.out.printf("%-22s %-6s %8d %7s %9.1f%n", "total", "", total, "", total / seconds);
+
+        json.putPOJO("violations", violations);
+        File file = new File(settings.report());
+        file.getAbsoluteFile().getParentFile().mkdirs();
+        mapper.writeValue(file, json);
+        System.out.println("Report written to " + file.getPath());
+
+        violations.forEach(v -> System.err.println("Budget exceeded: " + v));
+        return violations.isEmpty();
+    }
+
+    private static void checkBudget(Properties budgets, Endpoint endpoint, String percentile, double actual,
+                                    List<String> violations) {
+        String budget = budgets.getProperty(endpoint.key() + "." + percentile);
+        if (budget != null && actual > Double.parseDouble(budget)) {
+            violations.add(String.format("%s %s %.2f ms > %s ms", endpoint.key(), percentile, actual, budget));
+        }
+    }
+
+    private Properties loadBudgets() {
+        Properties budgets = new Properties();
+        try (InputStream in = settings.budgets().isBlank()
+                ? LoadTest.class.getResourceAsStream("/latency-budgets.properties")
+                : Files.newInputStream(Path.of(settings.budgets()))) {
+            if (in != null) {
+                budgets.load(in);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read latency budgets " + settings.budgets(), e);
+        }
+        return budgets;
+    }
+
+    Settings settings() {
+        return settings;
+    }
+
+    ObjectMapper mapper() {
+        return mapper;
+    }
+
+    CyclicBarrier barrier() {
+        return barrier;
+    }
+}
@@ -0,0 +1,180 @@
+package com.abetappteam.abetapp.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * One instructor session: logs in, loads their dashboard, then issues a fixed number of
+ * requests drawn from the Endpoint mix with its own seeded Random, so the request sequence
+ * of a run is the same every time. All virtual users log in together at the start of the
+ * measured phase and again every iterations / bursts requests.
+ */
+final class VirtualUser implements Callable<Void> {
+
+    private static final String PASSWORD = "password123";
+    private static final String[] STATUSES = {"InProgress", "Submitted", "InReview", "Complete"};
+    private static final int PAGE_SIZE = 20;
+
+    private final LoadTest run;
+    private final int index;
+    private final String email;
+    private final Random random;
+
+    private String token;
+    private long programId;
+    private long semesterId;
+    private int coursePages;
+    private final List<Long> courseIds = new ArrayList<>();
+    private final List<Long> measureIds = new ArrayList<>();
+    private final List<Long> courseIndicatorIds = new ArrayList<>();
+
+    VirtualUser(LoadTest run, int index, String email) {
+        this.run = run;
+        this.index = index;
+        this.email = email;
+        this.random = new Random(run.settings().seed() + index);
+    }
+
+    @Override
+    public Void call() throws Exception {
+        try {
+            login(false);
+            loadDashboard();
+            for (int i = 0; i < run.settings().warmup(); i++) {
+                step(false);
+            }
+
+            int burstInterval = Math.max(run.settings().iterations() / run.settings().bursts(), 1);
+            for (int i = 0; i < run.settings().iterations(); i++) {
+                if (i % burstInterval == 0) {
+                    run.barrier().await(5, TimeUnit.MINUTES);
+                    login(true);
+                }
+                step(true);
+            }
+            return null;
+        } catch (BrokenBarrierException | TimeoutException e) {
+            throw new IllegalStateException("Virtual user " + index + " gave up waiting for a login burst", e);
+        } catch (Exception e) {
+            // Release the other virtual users instead of leaving them at the barrier
+            run.barrier().reset();
+            throw e;
+        }
+    }
+
+    private void step(boolean record) throws Exception {
+        switch (Endpoint.pick(random.nextInt(100))) {
+            case LOGIN -> login(record);
+            case COURSES -> run.get(Endpoint.COURSES, "/api/courses?semesterId=" + semesterId
+                    + "&page=" + random.nextInt(coursePages) + "&size=" + PAGE_SIZE, token, record);
+            case CURRENT_SEMESTER -> run.get(Endpoint.CURRENT_SEMESTER,
+                    "/api/semesters/program/" + programId + "/current", token, record);
+            case MEASURES_BY_SEMESTER -> run.get(Endpoint.MEASURES_BY_SEMESTER, "/api/measure/bySemester/"
+                    + STATUSES[random.nextInt(STATUSES.length)] + "/" + semesterId, token, record);
+            case MEASURES_BY_COURSE -> run.get(Endpoint.MEASURES_BY_COURSE,
+                    "/api/measure/byCourse/" + pick(courseIds), token, record);
+            case MEASURE -> run.get(Endpoint.MEASURE, "/api/measure/" + pick(measureIds), token, record);
+            case MEASURE_UPDATE -> updateMeasure(record);
+            case MEASURE_CREATE -> createMeasure(record);
+        }
+    }
+
+    private void login(boolean record) throws Exception {
+        ObjectNode credentials = run.mapper().createObjectNode()
+                .put("email", email)
+                .put("password", PASSWORD);
+        HttpResponse<byte[]> response = run.send(Endpoint.LOGIN, "/api/users/login", "POST", credentials, null, record);
+        if (response == null || response.statusCode() != 200) {
+            if (token == null) {
+                throw new IllegalStateException("Login failed for " + email + ": "
+                        + (response == null ? "no response" : "HTTP " + response.statusCode()));
+            }
+            return;
+        }
+        JsonNode body = run.mapper().readTree(response.body());
+        token = body.path("authToken").asText();
+        programId = body.path("user").path("currentProgramId").asLong();
+    }
+
+    // What the dashboard loads after login: the current semester, its first course page and one course's measures
+    private void loadDashboard() throws Exception {
+        semesterId = data(run.get(Endpoint.CURRENT_SEMESTER,
+                "/api/semesters/program/" + programId + "/current", token, false)).path("id").asLong();
+
+        JsonNode courses = json(run.get(Endpoint.COURSES,
+                "/api/courses?semesterId=" + semesterId + "&size=" + PAGE_SIZE, token, false));
+        coursePages = Math.max(courses.path("totalPages").asInt(), 1);
+        courses.path("content").forEach(course -> courseIds.add(course.path("id").asLong()));
+        if (courseIds.isEmpty()) {
+            throw new IllegalStateException("Program " + programId + " has no courses in its current semester");
+        }
+
+        // Each virtual user edits its own course so concurrent updates rarely touch the same row
+        for (int i = 0; i < courseIds.size() && measureIds.isEmpty(); i++) {
+            long courseId = courseIds.get((index + i) % courseIds.size());
+            data(run.get(Endpoint.MEASURES_BY_COURSE, "/api/measure/byCourse/" + courseId, token, false))
+                    .forEach(measure -> {
+                        measureIds.add(measure.path("id").asLong());
+                        courseIndicatorIds.add(measure.path("courseIndicatorId").asLong());
+                    });
+        }
+        if (measureIds.isEmpty()) {
+            throw new IllegalStateException("No measures found for " + email);
+        }
+    }
+
+    // Measure entry: open the measure, fill in student counts and save it
+    private void updateMeasure(boolean record) throws Exception {
+        long id = pick(measureIds);
+        JsonNode measure = data(run.get(Endpoint.MEASURE, "/api/measure/" + id, token, record));
+        if (measure.isMissingNode()) {
+            return;
+        }
+        ObjectNode body = run.mapper().createObjectNode()
+                .put("id", id)
+                .put("courseIndicatorId", measure.path("courseIndicatorId").asLong())
+                .put("description", measure.path("description").asText())
+                .put("observation", "Observed during load test run")
+                .put("recommendedAction", measure.path("recommendedAction").asText(null))
+                .put("fcar", measure.path("fcar").asText(null))
+                .put("studentsMet", random.nextInt(30))
+                .put("studentsExceeded", random.nextInt(15))
+                .put("studentsBelow", random.nextInt(10))
+                .put("status", random.nextBoolean() ? "InProgress" : "Submitted")
+                .put("active", true);
+        run.send(Endpoint.MEASURE_UPDATE, "/api/measure/" + id, "PUT", body, token, record);
+    }
+
+    private void createMeasure(boolean record) throws Exception {
+        ObjectNode body = run.mapper().createObjectNode()
+                .put("courseIndicatorId", pick(courseIndicatorIds))
+                .put("description", "Load test measure")
+                .put("status", "InProgress")
+                .put("active", true);
+        run.send(Endpoint.MEASURE_CREATE, "/api/measure", "POST", body, token, record);
+    }
+
+    private long pick(List<Long> ids) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    private JsonNode json(HttpResponse<byte[]> response) throws Exception {
+        if (response == null || response.statusCode() / 100 != 2) {
+            return run.mapper().missingNode();
+        }
+        return run.mapper().readTree(response.body());
+    }
+
+    private JsonNode data(HttpResponse<byte[]> response) throws Exception {
+        return json(response).path("data");
+    }
+}
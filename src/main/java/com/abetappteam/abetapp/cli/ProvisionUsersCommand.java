@@ -0,0 +1,73 @@
+package com.abetappteam.abetapp.cli;
+
+import com.abetappteam.abetapp.dto.ImportReport;
+import com.abetappteam.abetapp.dto.ProvisioningReport;
+import com.abetappteam.abetapp.service.UserProvisioningService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Command-line provisioning: with the "provision" profile active the application starts without
+ * a web server, provisions the users of every CSV file given as an argument and exits, e.g.
+ * ./gradlew provisionUsers -PprovisionArgs='students.csv adjuncts.csv'.
+ * Files use the columns of UserProvisioningService.readCsv. Failed rows are logged; the exit
+ * status is 1 when any file could not be read or any row failed.
+ */
+@Component
+@Profile("provision")
+public class ProvisionUsersCommand implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProvisionUsersCommand.class);
+
+    private final UserProvisioningService provisioningService;
+    private final ConfigurableApplicationContext context;
+
+    public ProvisionUsersCommand(UserProvisioningService provisioningService, ConfigurableApplicationContext context) {
+        this.provisioningService = provisioningService;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (args.getNonOptionArgs().isEmpty()) {
+            logger.warn("No CSV files given; pass one or more paths as arguments");
+        }
+        boolean failed = false;
+        for (String file : args.getNonOptionArgs()) {
+            failed |= !provision(Path.of(file));
+        }
+        int status = failed ? 1 : 0;
+        System.exit(SpringApplication.exit(context, () -> status));
+    }
+
+    // True when every row of the file was provisioned or already existed
+    boolean provision(Path file) {
+        ProvisioningReport report;
+        try {
+            report = provisioningService.provision(UserProvisioningService.readCsv(
+                    Files.readString(file, StandardCharsets.UTF_8)));
+        } catch (IOException | RuntimeException e) {
+            logger.error("Could not provision {}: {}", file, e.getMessage());
+            return false;
+        }
+        logger.info("{}: {} users created, {} already existed, {} failed; {} memberships added or updated, {} failed",
+                file, report.users().created(), report.users().unchanged(), report.users().failed(),
+                report.memberships().created() + report.memberships().updated(), report.memberships().failed());
+        report.users().rows().stream().filter(row -> row.status().equals(ImportReport.FAILED)).forEach(row ->
+                logger.warn("{} row {} ({}): {}", file, row.row(), row.email(), row.message()));
+        report.memberships().rows().stream().filter(row -> row.status().equals(ImportReport.FAILED)).forEach(row ->
+                logger.warn("{} row {} ({}) membership: {}", file, row.row(), row.email(), row.message()));
+        return report.users().failed() == 0 && report.memberships().failed() == 0;
+    }
+}
@@ -0,0 +1,35 @@
+package com.abetappteam.abetapp.config;
+
+import com.abetappteam.abetapp.web.BatchDispatcher;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+
+/**
+ * In-process dispatch of POST /api/batch calls (see BatchDispatcher). The batch endpoint itself
+ * and asynchronous handlers are refused whatever app.batch.exclude lists.
+ */
+@Configuration
+public class BatchConfig {
+
+    // The servlet serving the batch request, so calls get the same handlers and exception handling
+    @Bean
+    public BatchDispatcher batchDispatcher(
+            DispatcherServlet dispatcherServlet,
+            @Qualifier("requestMappingHandlerMapping") HandlerMapping handlerMapping,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.batch.exclude:/api/batch/**}") List<String> excludedPaths,
+            @Value("${app.batch.threads:8}") int threads,
+            @Value("${app.batch.max-requests:50}") int maxRequests) {
+        return new BatchDispatcher(dispatcherServlet, handlerMapping, objectMapper, meterRegistry, excludedPaths,
+                threads, maxRequests);
+    }
+}
@@ -0,0 +1,16 @@
+package com.abetappteam.abetapp.config;
+
+import com.abetappteam.abetapp.repository.BaseRepositoryImpl;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * Repository configuration.
+ * Backs every BaseRepository with BaseRepositoryImpl so the shared field and
+ * sparse fieldset queries are available on all entity repositories.
+ */
+@Configuration
+@EnableJpaRepositories(basePackages = "com.abetappteam.abetapp.repository",
+        repositoryBaseClass = BaseRepositoryImpl.class)
+public class JpaRepositoryConfig {
+}
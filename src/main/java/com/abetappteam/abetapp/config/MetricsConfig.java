@@ -0,0 +1,36 @@
+package com.abetappteam.abetapp.config;
+
+import com.abetappteam.abetapp.metrics.QueryCountInspector;
+import com.abetappteam.abetapp.metrics.RequestMetricsFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class MetricsConfig {
+
+    // Requests issuing more statements than this log an N+1 warning with the call stack
+    @Value("${app.metrics.query-warn-threshold:" + QueryCountInspector.DEFAULT_WARN_THRESHOLD + "}")
+    private int queryWarnThreshold;
+
+    // Count every statement Hibernate prepares so requests can report their query count
+    @Bean
+    public HibernatePropertiesCustomizer queryCountCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR,
+                new QueryCountInspector(queryWarnThreshold));
+    }
+
+    // Runs ahead of the security chain so JWT lookups are counted too
+    @Bean
+    public FilterRegistrationBean<RequestMetricsFilter> requestMetricsFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<RequestMetricsFilter> registration =
+                new FilterRegistrationBean<>(new RequestMetricsFilter(meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
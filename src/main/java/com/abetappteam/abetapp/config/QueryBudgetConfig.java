@@ -0,0 +1,38 @@
+package com.abetappteam.abetapp.config;
+
+import com.abetappteam.abetapp.datasource.QueryBudgetDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Wraps the application DataSource in QueryBudgetDataSource so every statement gets a
+ * query timeout and row limit; QueryBudgetAspect narrows or widens them per service.
+ * With a read replica configured the routing DataSource is wrapped, so both pools are covered.
+ */
+@Configuration
+public class QueryBudgetConfig {
+
+    public static final String DATA_SOURCE_BEAN = "dataSource";
+
+    // Static: post-processors are created before regular beans and their @Value fields
+    @Bean
+    public static BeanPostProcessor queryBudgetDataSourcePostProcessor(Environment environment) {
+        Duration timeout = environment.getProperty("app.query.timeout", Duration.class, Duration.ofSeconds(30));
+        int maxRows = environment.getProperty("app.query.max-rows", Integer.class, 10_000);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (DATA_SOURCE_BEAN.equals(beanName) && bean instanceof DataSource dataSource
+                        && !(bean instanceof QueryBudgetDataSource)) {
+                    return new QueryBudgetDataSource(dataSource, (int) Math.ceil(timeout.toMillis() / 1000.0), maxRows);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,96 @@
+package com.abetappteam.abetapp.config;
+
+import com.abetappteam.abetapp.datasource.ReplicaDataSource;
+import com.abetappteam.abetapp.datasource.ReplicaLagMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Read/write split, enabled by setting app.datasource.replica.url. Read-only transactions
+ * (@Transactional(readOnly = true)) take their connection from the replica pool, everything
+ * else from the primary pool configured by spring.datasource.*. Without a replica URL this
+ * class stays inactive and Spring Boot's single pool serves all traffic.
+ * <p>
+ * The LazyConnectionDataSourceProxy holds off fetching a connection until the first statement,
+ * by which time the transaction manager has marked it read-only or not.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "url")
+public class ReadReplicaConfig {
+
+    public static final String REPLICA_LAG = "abet.datasource.replica.lag";
+    public static final String REPLICA_IN_USE = "abet.datasource.replica.in_use";
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            DataSourceProperties properties,
+            @Value("${app.datasource.replica.url}") String url,
+            @Value("${app.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${app.datasource.replica.password:${spring.datasource.password:}}") String password,
+            @Value("${app.datasource.replica.driver-class-name:}") String driverClassName) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .driverClassName(driverClassName.isBlank() ? properties.determineDriverClassName() : driverClassName)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            @Qualifier("replicaDataSource") DataSource replica,
+            @Value("${app.datasource.replica.lag-query:SHOW SLAVE STATUS}") String lagQuery,
+            @Value("${app.datasource.replica.max-lag:5s}") Duration maxLag,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, lagQuery, maxLag);
+        meterRegistry.ifAvailable(registry -> {
+            Gauge.builder(REPLICA_LAG, monitor, ReplicaLagMonitor::getLagSeconds)
+                    .description("Replica lag seen by the last check; NaN when unknown")
+                    .baseUnit("seconds")
+                    .register(registry);
+            Gauge.builder(REPLICA_IN_USE, monitor, m -> m.isReplicaUsable() ? 1 : 0)
+                    .description("1 while read-only transactions go to the replica")
+                    .register(registry);
+        });
+        monitor.check();
+        return monitor;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReplicaLagMonitor replicaLagMonitor) {
+        LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(primary);
+        routing.setReadOnlyDataSource(new ReplicaDataSource(replica, primary, replicaLagMonitor));
+        return routing;
+    }
+}
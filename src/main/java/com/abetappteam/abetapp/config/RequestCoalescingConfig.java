@@ -0,0 +1,39 @@
+package com.abetappteam.abetapp.config;
+
+import com.abetappteam.abetapp.web.RequestCoalescingFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Single-flight for identical concurrent API GETs (see RequestCoalescingFilter); turn it off
+ * with app.coalesce.enabled=false. Paths matching app.coalesce.exclude, such as the progress
+ * event stream, are never coalesced; paths matching app.coalesce.per-caller, whose handlers read
+ * the Authorization header themselves, are only coalesced per caller.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.coalesce.enabled", havingValue = "true", matchIfMissing = true)
+public class RequestCoalescingConfig {
+
+    // Runs after the security chain, which puts the program and role of the JWT on the request
+    @Bean
+    public FilterRegistrationBean<RequestCoalescingFilter> requestCoalescingFilter(
+            MeterRegistry meterRegistry,
+            @Value("${app.coalesce.exclude:/api/progress/**}") List<String> excludedPaths,
+            @Value("${app.coalesce.per-caller:/api/users/my-programs}") List<String> perCallerPaths,
+            @Value("${app.coalesce.max-wait:10s}") Duration maxWait,
+            @Value("${app.coalesce.max-body-bytes:4194304}") int maxBodyBytes) {
+        FilterRegistrationBean<RequestCoalescingFilter> registration = new FilterRegistrationBean<>(
+                new RequestCoalescingFilter(meterRegistry, excludedPaths, perCallerPaths, maxWait,
+                        maxBodyBytes));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 10);
+        return registration;
+    }
+}
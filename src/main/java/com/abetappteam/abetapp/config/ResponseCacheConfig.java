@@ -0,0 +1,67 @@
+package com.abetappteam.abetapp.config;
+
+import com.abetappteam.abetapp.entity.Course;
+import com.abetappteam.abetapp.entity.CourseIndicator;
+import com.abetappteam.abetapp.entity.CourseInstructor;
+import com.abetappteam.abetapp.entity.Measure;
+import com.abetappteam.abetapp.entity.Outcome;
+import com.abetappteam.abetapp.entity.ProgramUser;
+import com.abetappteam.abetapp.entity.Semester;
+import com.abetappteam.abetapp.web.ResponseCache;
+import com.abetappteam.abetapp.web.ResponseCacheFilter;
+import com.abetappteam.abetapp.web.ResponseCacheFilter.Rule;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Response cache for the list endpoints dashboards reload most (see ResponseCacheFilter); turn
+ * it off with app.response-cache.enabled=false. Each endpoint lists every entity type its
+ * response reads, archived semesters included, so a change to any of them evicts it.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.response-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class ResponseCacheConfig {
+
+    static final List<Rule> RULES = List.of(
+            Rule.of("/api/measure/bySemester/**", Measure.class, CourseIndicator.class, Course.class, Semester.class),
+            Rule.of("/api/outcome/bySemester/**", Outcome.class, Semester.class),
+            Rule.of("/api/program/*/courses/active", Course.class, CourseInstructor.class, ProgramUser.class),
+            Rule.of("/api/courses/*/completeness", Measure.class, CourseIndicator.class, Course.class));
+
+    // Invalidated by the domain events of the entity types above. With a read replica (see
+    // ReadReplicaConfig) its lag may reach max-lag and grow until the next check, so each
+    // invalidation is repeated after both.
+    @Bean
+    public ResponseCache responseCache(MeterRegistry meterRegistry,
+                                       ObjectProvider<TaskScheduler> taskScheduler,
+                                       @Value("${app.response-cache.max-bytes:67108864}") long maxBytes,
+                                       @Value("${app.response-cache.ttl:10m}") Duration ttl,
+                                       @Value("${app.datasource.replica.url:}") String replicaUrl,
+                                       @Value("${app.datasource.replica.max-lag:5s}") Duration replicaMaxLag,
+                                       @Value("${app.datasource.replica.lag-check-interval:5s}") Duration lagCheckInterval) {
+        Duration replicaLag = replicaUrl.isBlank() ? Duration.ZERO : replicaMaxLag.plus(lagCheckInterval);
+        return new ResponseCache(meterRegistry, maxBytes, ttl, replicaLag, taskScheduler.getIfAvailable());
+    }
+
+    // Ahead of request coalescing, so hits are answered before a request joins or leads a flight
+    @Bean
+    public FilterRegistrationBean<ResponseCacheFilter> responseCacheFilter(
+            ResponseCache responseCache,
+            MeterRegistry meterRegistry,
+            @Value("${app.response-cache.max-entry-bytes:2097152}") int maxEntryBytes) {
+        FilterRegistrationBean<ResponseCacheFilter> registration = new FilterRegistrationBean<>(
+                new ResponseCacheFilter(responseCache, meterRegistry, RULES, maxEntryBytes));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 5);
+        return registration;
+    }
+}
@@ -0,0 +1,10 @@
+package com.abetappteam.abetapp.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Background jobs such as the soft-delete purge (SoftDeletePurgeService)
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,17 +1,45 @@
 package com.abetappteam.abetapp.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+
+import java.time.Duration;
 
 @Configuration
 public class StaticResourceConfig implements WebMvcConfigurer {
 
+    // Vite bundles are content-hashed, so a changed file always gets a new URL
+    @Value("${app.static.assets-max-age:365d}")
+    private Duration assetsMaxAge;
+
+    // index.html points at the current bundle names, so browsers must revalidate it
+    @Value("${app.static.index-max-age:0s}")
+    private Duration indexMaxAge;
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        // Serve static resources from /static directory
+        // Hashed bundles: cache forever, serve the precompressed .br/.gz variant when accepted
+        registry.addResourceHandler("/assets/**")
+                .addResourceLocations("classpath:/static/assets/")
+                .setCacheControl(CacheControl.maxAge(assetsMaxAge).cachePublic().immutable())
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver());
+
+        // SPA entry point, also reached through SpaController forwards
+        registry.addResourceHandler("/index.html")
+                .addResourceLocations("classpath:/static/")
+                .setCacheControl(CacheControl.maxAge(indexMaxAge).mustRevalidate())
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver());
+
+        // Serve remaining static resources from /static directory
         registry.addResourceHandler("/**")
                 .addResourceLocations("classpath:/static/")
-                .resourceChain(false);
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver());
     }
-}
\ No newline at end of file
+}
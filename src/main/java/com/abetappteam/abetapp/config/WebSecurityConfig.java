@@ -2,14 +2,21 @@ package com.abetappteam.abetapp.config;
 
 import com.abetappteam.abetapp.security.JwtAuthenticationFilter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.annotation.web.configurers.HeadersConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
@@ -17,10 +24,44 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 @EnableWebSecurity
 public class WebSecurityConfig {
 
+    private static final String ACTUATOR_ROLE = "ACTUATOR";
+
     @Autowired
     private JwtAuthenticationFilter jwtAuthFilter;
 
+    /**
+     * Actuator endpoints are kept out of the application chain. Health stays open for container
+     * probes; the rest (metrics, prometheus) need HTTP Basic as app.actuator.username, and are
+     * refused to everyone while app.actuator.password is unset.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorFilterChain(
+            HttpSecurity http,
+            @Value("${app.actuator.username:prometheus}") String username,
+            @Value("${app.actuator.password:}") String password) throws Exception {
+        http
+                .securityMatcher(EndpointRequest.toAnyEndpoint())
+                .csrf(AbstractHttpConfigurer::disable)
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                        .anyRequest().hasRole(ACTUATOR_ROLE))
+                .formLogin(AbstractHttpConfigurer::disable);
+        if (!password.isBlank()) {
+            http
+                    .httpBasic(Customizer.withDefaults())
+                    .userDetailsService(new InMemoryUserDetailsManager(User.withUsername(username)
+                            .password(passwordEncoder().encode(password))
+                            .roles(ACTUATOR_ROLE)
+                            .build()));
+        }
+
+        return http.build();
+    }
+
     @Bean
+    @Order(2)
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable)
@@ -3,17 +3,30 @@ package com.abetappteam.abetapp.controller;
 import com.abetappteam.abetapp.dto.ApiResponse;
 import com.abetappteam.abetapp.dto.PagedResponse;
 import com.abetappteam.abetapp.exception.*;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Base controller class providing common REST API functionality.
@@ -29,6 +42,15 @@ public abstract class BaseController {
     protected static final String DEFAULT_SORT_FIELD = "id";
     protected static final String DEFAULT_SORT_DIRECTION = "asc";
 
+    // Rows written between flushes of a streamed response
+    protected static final int STREAM_FLUSH_INTERVAL = 100;
+
+    // JSON Merge Patch (RFC 7396) media type accepted by the PATCH endpoints, alongside plain JSON
+    protected static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     /**
      * Create a standardized success response with message
      */
@@ -36,6 +58,45 @@ public abstract class BaseController {
         return ResponseEntity.ok(ApiResponse.success(data, message));
     }
 
+    /**
+     * Create a success response whose data array is streamed instead of materialized.
+     * Same JSON shape as success(list, message). The producer runs later on the MVC async
+     * executor, outside the request thread and any transaction it opened: it should be a
+     * @Transactional(readOnly = true) service method that pushes each row of a repository
+     * Stream to the given sink.
+     * <p>
+     * If the producer fails part way the document is left unterminated and the exception
+     * propagates, so the client sees an aborted response rather than a short list with
+     * "success": true.
+     */
+    protected <T> ResponseEntity<StreamingResponseBody> streamSuccess(Consumer<Consumer<T>> producer, String message) {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+                generator.writeStartObject();
+                generator.writeBooleanField("success", true);
+                generator.writeStringField("message", message);
+                generator.writeArrayFieldStart("data");
+                int[] count = {0};
+                producer.accept(row -> {
+                    try {
+                        generator.writeObject(row);
+                        if (++count[0] % STREAM_FLUSH_INTERVAL == 0) {
+                            generator.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+                generator.writeObjectField("timestamp", LocalDateTime.now());
+                generator.writeEndObject();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
     /**
      * Create a standardized created response
      */
@@ -104,6 +165,33 @@ public abstract class BaseController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Parse the comma separated ?fields= parameter of list endpoints.
+     * Returns null when no sparse fieldset was requested.
+     */
+    protected List<String> parseFields(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        List<String> names = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .distinct()
+                .toList();
+        return names.isEmpty() ? null : names;
+    }
+
+    /**
+     * Parse ?fields= for the sparse variant of a list endpoint, which needs at least one name
+     */
+    protected List<String> requireFields(String fields) {
+        List<String> names = parseFields(fields);
+        if (names == null) {
+            throw new BadRequestException("fields must name at least one field");
+        }
+        return names;
+    }
+
     /**
      * Validate required path variables
      */
@@ -140,6 +228,14 @@ public abstract class BaseController {
         return error(ex.getMessage(), HttpStatus.CONFLICT);
     }
 
+    /**
+     * Handle constraint violations not already translated by the service (e.g. at commit)
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ApiResponse<Object>> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+        return handleConflict(ConstraintViolationTranslator.translate(ex));
+    }
+
     /**
      * Handle unauthorized exceptions
      */
@@ -181,6 +277,15 @@ public abstract class BaseController {
                 .body(ApiResponse.error(ex.getMessage(), ex.getErrorCode()));
     }
 
+    /**
+     * Handle requests that could not be served in time (query timeouts)
+     */
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ApiResponse<Object>> handleServiceUnavailable(ServiceUnavailableException ex) {
+        logger.warn("Service unavailable: {}", ex.getMessage());
+        return error(ex.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     /**
      * Handle illegal arguments
      */
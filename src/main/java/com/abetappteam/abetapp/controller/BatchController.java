@@ -0,0 +1,38 @@
+package com.abetappteam.abetapp.controller;
+
+import com.abetappteam.abetapp.dto.ApiResponse;
+import com.abetappteam.abetapp.dto.BatchRequest;
+import com.abetappteam.abetapp.dto.BatchResult;
+import com.abetappteam.abetapp.web.BatchDispatcher;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Several API calls in one round trip, e.g. the course, its instructors, indicators and
+ * completeness for a course screen. The JWT is checked once for the whole batch; each call is
+ * answered with the status and body it would have had on its own.
+ */
+@RestController
+@RequestMapping("/api/batch")
+public class BatchController extends BaseController {
+
+    @Autowired
+    private BatchDispatcher batchDispatcher;
+
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<List<BatchResult>>> batch(@RequestBody BatchRequest batch,
+                                                                HttpServletRequest request,
+                                                                HttpServletResponse response) {
+        List<BatchResult> results = batchDispatcher.dispatch(request, response, batch.requests());
+        return success(results, results.size() + " requests answered");
+    }
+}
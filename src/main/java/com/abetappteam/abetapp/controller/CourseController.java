@@ -2,18 +2,30 @@ package com.abetappteam.abetapp.controller;
 
 import com.abetappteam.abetapp.dto.ApiResponse;
 import com.abetappteam.abetapp.dto.CourseDTO;
+import com.abetappteam.abetapp.dto.CourseSummary;
+import com.abetappteam.abetapp.dto.IndicatorMatrix;
+import com.abetappteam.abetapp.dto.IndicatorMatrixResult;
 import com.abetappteam.abetapp.dto.PagedResponse;
 import com.abetappteam.abetapp.entity.Course;
 import com.abetappteam.abetapp.service.CourseService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.validation.Valid;
 import java.util.List;
+import java.util.Map;
+
+import static com.abetappteam.abetapp.repository.FieldSpecifications.containsIgnoreCase;
+import static com.abetappteam.abetapp.repository.FieldSpecifications.fieldEquals;
 
 /**
  * Controller for course entity operations
@@ -48,10 +60,10 @@ public class CourseController extends BaseController {
     }
 
     /**
-     * Get all courses for a specific semester
+     * Get all courses for a specific semester (summary rows, no description)
      */
     @GetMapping
-    public ResponseEntity<PagedResponse<Course>> getAllCourses(
+    public ResponseEntity<PagedResponse<CourseSummary>> getAllCourses(
             @RequestParam Long semesterId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
@@ -61,18 +73,49 @@ public class CourseController extends BaseController {
         logger.info("Fetching all courses for semester ID: {}", semesterId);
         validateId(semesterId);
         Pageable pageable = createPageable(page, size, sort, direction);
-        Page<Course> courses = courseService.getCoursesBySemester(semesterId, pageable);
+        Page<CourseSummary> courses = courseService.getCourseSummariesBySemester(semesterId, pageable);
         return pagedSuccess(courses);
     }
 
     /**
-     * Get all active courses
+     * The same list with only the columns named in ?fields=
+     */
+    @GetMapping(params = "fields")
+    public ResponseEntity<PagedResponse<Map<String, Object>>> getAllCourseFields(
+            @RequestParam Long semesterId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "courseName") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam String fields) {
+
+        logger.info("Fetching all courses for semester ID: {}", semesterId);
+        validateId(semesterId);
+        Pageable pageable = createPageable(page, size, sort, direction);
+        List<String> fieldList = requireFields(fields);
+        return pagedSuccess(courseService.findFields(fieldEquals("semesterId", semesterId), fieldList, pageable));
+    }
+
+    /**
+     * Get all active courses (summary rows, no description)
+     * Pass ?fields=id,courseCode,... to select only those columns.
+     * Both are streamed from a database cursor: MVC only streams a body declared as StreamingResponseBody.
      */
     @GetMapping("/active/all")
-    public ResponseEntity<ApiResponse<List<Course>>> getAllActiveCourses() {
+    public ResponseEntity<StreamingResponseBody> getAllActiveCourses(
+            @RequestParam(required = false) String fields) {
         logger.info("Fetching ALL active courses (no semester filter)");
-        List<Course> courses = courseService.getAllActiveCourses();
-        return success(courses, "Active courses retrieved successfully");
+        List<String> fieldList = parseFields(fields);
+        if (fieldList != null) {
+            // Checked up front: once the body is streaming, an unknown field can no longer answer 400
+            List<String> selected = courseService.validateFields(fieldList);
+            return this.<Map<String, Object>>streamSuccess(action -> courseService.streamFields(
+                    fieldEquals("isActive", true), selected, Sort.by("id"), action),
+                    "Active courses retrieved successfully");
+        }
+        // Unbounded list: stream rows straight from the database cursor
+        return this.<CourseSummary>streamSuccess(courseService::streamAllActiveCourseSummaries,
+                "Active courses retrieved successfully");
     }
 
     /**
@@ -106,6 +149,19 @@ public class CourseController extends BaseController {
         return success(updated, "Course updated successfully");
     }
 
+    /**
+     * Partially update a course with a JSON Merge Patch carrying the version being updated
+     */
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_JSON, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<ApiResponse<Map<String, Object>>> patchCourse(
+            @PathVariable Long id,
+            @RequestBody JsonNode patch) {
+
+        logger.info("Patching course with ID: {}", id);
+        validateId(id);
+        return success(courseService.patch(id, patch), "Course updated successfully");
+    }
+
     /**
      * Update student count for a course
      */
@@ -169,10 +225,10 @@ public class CourseController extends BaseController {
     }
 
     /**
-     * Get active courses by semester
+     * Get active courses by semester (summary rows, no description)
      */
     @GetMapping("/active")
-    public ResponseEntity<PagedResponse<Course>> getActiveCourses(
+    public ResponseEntity<PagedResponse<CourseSummary>> getActiveCourses(
             @RequestParam Long semesterId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
@@ -182,25 +238,62 @@ public class CourseController extends BaseController {
         logger.info("Fetching active courses for semester ID: {}", semesterId);
         validateId(semesterId);
         Pageable pageable = createPageable(page, size, sort, direction);
-        Page<Course> courses = courseService.getActiveCoursesBySemester(semesterId, pageable);
+        Page<CourseSummary> courses = courseService.getActiveCourseSummariesBySemester(semesterId, pageable);
         return pagedSuccess(courses);
     }
 
     /**
-     * Search courses by name or course code
+     * The same list with only the columns named in ?fields=
+     */
+    @GetMapping(value = "/active", params = "fields")
+    public ResponseEntity<PagedResponse<Map<String, Object>>> getActiveCourseFields(
+            @RequestParam Long semesterId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "courseName") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam String fields) {
+
+        logger.info("Fetching active courses for semester ID: {}", semesterId);
+        validateId(semesterId);
+        Pageable pageable = createPageable(page, size, sort, direction);
+        List<String> fieldList = requireFields(fields);
+        return pagedSuccess(courseService.findFields(
+                Specification.allOf(fieldEquals("semesterId", semesterId), fieldEquals("isActive", true)), fieldList, pageable));
+    }
+
+    /**
+     * Search courses by name or course code (summary rows, no description)
      */
     @GetMapping("/search")
-    public ResponseEntity<PagedResponse<Course>> searchCourses(
+    public ResponseEntity<PagedResponse<CourseSummary>> searchCourses(
             @RequestParam String searchTerm,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
 
         logger.info("Searching courses with term: {}", searchTerm);
         Pageable pageable = createPageable(page, size, "courseName", "asc");
-        Page<Course> courses = courseService.searchByNameOrCourseCode(searchTerm, pageable);
+        Page<CourseSummary> courses = courseService.searchSummariesByNameOrCourseCode(searchTerm, pageable);
         return pagedSuccess(courses);
     }
 
+    /**
+     * The same list with only the columns named in ?fields=
+     */
+    @GetMapping(value = "/search", params = "fields")
+    public ResponseEntity<PagedResponse<Map<String, Object>>> searchCourseFields(
+            @RequestParam String searchTerm,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam String fields) {
+
+        logger.info("Searching courses with term: {}", searchTerm);
+        Pageable pageable = createPageable(page, size, "courseName", "asc");
+        List<String> fieldList = requireFields(fields);
+        return pagedSuccess(courseService.findFields(
+                containsIgnoreCase(searchTerm, "courseName", "courseCode"), fieldList, pageable));
+    }
+
     /**
      * Find course by course code (e.g., "CS101")
      */
@@ -288,6 +381,21 @@ public class CourseController extends BaseController {
         return ResponseEntity.ok(courseService.getIndicatorIds(courseId));
     }
 
+    // Whole-semester indicator matrix; PUT replaces every assignment of the semester at once
+    @GetMapping("/indicator-matrix")
+    public ResponseEntity<ApiResponse<List<IndicatorMatrix.Assignment>>> getIndicatorMatrix(
+            @RequestParam Long semesterId) {
+        return success(courseService.getIndicatorMatrix(semesterId), "Indicator matrix retrieved successfully");
+    }
+
+    @PutMapping("/indicator-matrix")
+    public ResponseEntity<ApiResponse<IndicatorMatrixResult>> replaceIndicatorMatrix(
+            @RequestBody IndicatorMatrix matrix) {
+        IndicatorMatrixResult result = courseService.replaceIndicatorMatrix(matrix.semesterId(), matrix.assignments());
+        return success(result, result.added() + " added, " + result.reactivated() + " reactivated, "
+                + result.deactivated() + " deactivated");
+    }
+
     /**
      * Request DTO for updating student count
      */
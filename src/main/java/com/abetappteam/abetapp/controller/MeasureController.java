@@ -4,7 +4,10 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.abetappteam.abetapp.service.MeasureService;
 import com.abetappteam.abetapp.dto.ApiResponse;
+import com.abetappteam.abetapp.dto.BatchUpdateResult;
 import com.abetappteam.abetapp.dto.MeasureDTO;
+import com.abetappteam.abetapp.dto.MeasurePatch;
+import com.abetappteam.abetapp.dto.MeasureSummary;
 import com.abetappteam.abetapp.dto.PagedResponse;
 import com.abetappteam.abetapp.entity.Measure;
 
@@ -13,8 +16,10 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Map;
 
 import jakarta.validation.Valid;
 import org.springframework.web.bind.annotation.PutMapping;
@@ -28,16 +33,27 @@ public class MeasureController extends BaseController{
     @Autowired
     private MeasureService service;
 
-    //Return all Measures
+    //Return all Measures as summaries; the full text fields are only served by GET /{id}
     @GetMapping
-    public ResponseEntity<PagedResponse<Measure>> getAllMeasures(
+    public ResponseEntity<PagedResponse<MeasureSummary>> getAllMeasures(
         @RequestParam(defaultValue = "0") int page,
         @RequestParam(defaultValue = "20") int size){
             Pageable pageable = createPageable(page, size, DEFAULT_SORT_FIELD, DEFAULT_SORT_DIRECTION);
-            Page<Measure> measures = service.findAll(pageable);
+            Page<MeasureSummary> measures = service.findAllSummaries(pageable);
             return pagedSuccess(measures);
         }
 
+    //The same list with only the columns named in ?fields=
+    @GetMapping(params = "fields")
+    public ResponseEntity<PagedResponse<Map<String, Object>>> getAllMeasureFields(
+        @RequestParam(defaultValue = "0") int page,
+        @RequestParam(defaultValue = "20") int size,
+        @RequestParam String fields){
+            Pageable pageable = createPageable(page, size, DEFAULT_SORT_FIELD, DEFAULT_SORT_DIRECTION);
+            List<String> fieldList = requireFields(fields);
+            return pagedSuccess(service.findFields(null, fieldList, pageable));
+        }
+
     //Return a measure by id
     @GetMapping("/{id:\\d+}")
     public ResponseEntity<ApiResponse<Measure>> getMeasure(@PathVariable Long id) {
@@ -48,58 +64,58 @@ public class MeasureController extends BaseController{
 
     //Return all Active measures by SemesterId and InProgress Status
     @GetMapping("/bySemester/InProgress/{semesterId}")
-    public ResponseEntity<ApiResponse<List<Measure>>> getInProgressMeasuresBySemester(@PathVariable Long semesterId){
+    public ResponseEntity<ApiResponse<List<MeasureSummary>>> getInProgressMeasuresBySemester(@PathVariable Long semesterId){
         logger.info("Fetching measures with status 'InProgress' from semester with id: {}", semesterId);
-        List<Measure> measures = service.findAllActiveMeasuresByStatusAndSemester("InProgress", semesterId);
+        List<MeasureSummary> measures = service.findActiveSummariesByStatusAndSemester("InProgress", semesterId);
         return success(measures, "Measures found");
     }
 
     //Return all Active measures by SemesterId and Submitted Status
     @GetMapping("/bySemester/Submitted/{semesterId}")
-    public ResponseEntity<ApiResponse<List<Measure>>> getSubmittedMeasuresBySemester(@PathVariable Long semesterId){
+    public ResponseEntity<ApiResponse<List<MeasureSummary>>> getSubmittedMeasuresBySemester(@PathVariable Long semesterId){
         logger.info("Fetching measures with status 'Submitted' from semester with id: {}", semesterId);
-        List<Measure> measures = service.findAllActiveMeasuresByStatusAndSemester("Submitted", semesterId);
+        List<MeasureSummary> measures = service.findActiveSummariesByStatusAndSemester("Submitted", semesterId);
         return success(measures, "Measures found");
     }
 
     //Return all Active measures by SemesterId and InReview Status
     @GetMapping("/bySemester/InReview/{semesterId}")
-    public ResponseEntity<ApiResponse<List<Measure>>> getInReviewMeasuresBySemester(@PathVariable Long semesterId){
+    public ResponseEntity<ApiResponse<List<MeasureSummary>>> getInReviewMeasuresBySemester(@PathVariable Long semesterId){
         logger.info("Fetching measures with status 'InReview' from semester with id: {}", semesterId);
-        List<Measure> measures = service.findAllActiveMeasuresByStatusAndSemester("InReview", semesterId);
+        List<MeasureSummary> measures = service.findActiveSummariesByStatusAndSemester("InReview", semesterId);
         return success(measures, "Measures found");
     }
 
     //Return all Active measures by SemesterId and Complete Status
     @GetMapping("/bySemester/Complete/{semesterId}")
-    public ResponseEntity<ApiResponse<List<Measure>>> getCompleteMeasuresBySemester(@PathVariable Long semesterId){
+    public ResponseEntity<ApiResponse<List<MeasureSummary>>> getCompleteMeasuresBySemester(@PathVariable Long semesterId){
         logger.info("Fetching measures with status 'Complete' from semester with id: {}", semesterId);
-        List<Measure> measures = service.findAllActiveMeasuresByStatusAndSemester("Complete", semesterId);
+        List<MeasureSummary> measures = service.findActiveSummariesByStatusAndSemester("Complete", semesterId);
         return success(measures, "Measures found");
     }
 
     //Return all Active measures by courseid
     @GetMapping("/byCourse/{courseId}")
-    public ResponseEntity<ApiResponse<List<Measure>>> getMeasuresByCourseId(@PathVariable Long courseId){
+    public ResponseEntity<ApiResponse<List<MeasureSummary>>> getMeasuresByCourseId(@PathVariable Long courseId){
         logger.info("Fetching measure with course id: {}", courseId);
-        List<Measure> measures = service.findAllActiveMeasuresByCourse(courseId);
+        List<MeasureSummary> measures = service.findActiveSummariesByCourse(courseId);
         return success(measures, "Measures found");
     }
 
     //Return all Active measures by indicatorid
     @GetMapping("/byIndicator/{indicatorId}")
-    public ResponseEntity<ApiResponse<List<Measure>>> getMeasuresByIndicatorId(@PathVariable Long indicatorId){
+    public ResponseEntity<StreamingResponseBody> getMeasuresByIndicatorId(@PathVariable Long indicatorId){
         logger.info("Fetching measure with indicator id: {}", indicatorId);
-        List<Measure> measures = service.findAllActiveMeasuresByIndicator(indicatorId);
-        return success(measures, "Measures found");
+        return this.<MeasureSummary>streamSuccess(sink -> service.streamSummariesByIndicator(indicatorId, true, sink),
+                "Measures found");
     }
 
     //Return all Inactive measures by indicatorid
     @GetMapping("/byIndicator/Inactive/{indicatorId}")
-    public ResponseEntity<ApiResponse<List<Measure>>> getInactiveMeasuresByIndicatorId(@PathVariable Long indicatorId){
+    public ResponseEntity<StreamingResponseBody> getInactiveMeasuresByIndicatorId(@PathVariable Long indicatorId){
         logger.info("Fetching inactive measures with indicator id: {}", indicatorId);
-        List<Measure> measures = service.findAllInactiveMeasuresByIndicator(indicatorId);
-        return success(measures, "Measures found");
+        return this.<MeasureSummary>streamSuccess(sink -> service.streamSummariesByIndicator(indicatorId, false, sink),
+                "Measures found");
     }
 
     //Create a new measure
@@ -118,6 +134,16 @@ public class MeasureController extends BaseController{
         return success(updated, "Measure updated successfully");
     }
 
+    //Update many Measures at once; each row carries the version it was read at.
+    //Rows changed or removed since then come back as conflicts, the rest are saved
+    @PatchMapping
+    public ResponseEntity<ApiResponse<BatchUpdateResult>> patchMeasures(@RequestBody List<MeasurePatch> patches) {
+        logger.info("Batch updating {} measures", patches.size());
+        BatchUpdateResult result = service.patchBatch(patches);
+        return success(result, result.updated().size() + " measures updated, "
+                + result.conflicts().size() + " conflicts");
+    }
+
     //Delete/remove a Measure
     @DeleteMapping("/{id}")
     public ResponseEntity<ApiResponse<Void>> deleteMeasure(@PathVariable Long id){
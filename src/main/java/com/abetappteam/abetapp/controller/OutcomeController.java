@@ -13,6 +13,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 import jakarta.validation.Valid;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -34,6 +35,17 @@ public class OutcomeController extends BaseController{
             Page<Outcome> outcomes = service.findAll(pageable);
             return pagedSuccess(outcomes);
         }
+
+    //The same list with only the columns named in ?fields=
+    @GetMapping(params = "fields")
+    public ResponseEntity<PagedResponse<Map<String, Object>>> getAllOutcomeFields(
+        @RequestParam(defaultValue = "0") int page,
+        @RequestParam(defaultValue = "20") int size,
+        @RequestParam String fields){
+            Pageable pageable = createPageable(page, size, DEFAULT_SORT_FIELD, DEFAULT_SORT_DIRECTION);
+            List<String> fieldList = requireFields(fields);
+            return pagedSuccess(service.findFields(null, fieldList, pageable));
+        }
     
     //Return a Outcome by id
     @GetMapping("/{id:\\d+}")
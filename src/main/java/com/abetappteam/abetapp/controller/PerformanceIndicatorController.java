@@ -14,6 +14,9 @@ import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
+
+import static com.abetappteam.abetapp.repository.FieldSpecifications.fieldEquals;
 
 /**
  * Controller for performance indicator entity operations
@@ -53,6 +56,23 @@ public class PerformanceIndicatorController extends BaseController {
         return pagedSuccess(indicators);
     }
 
+    /**
+     * The same list with only the columns named in ?fields=
+     */
+    @GetMapping(params = "fields")
+    public ResponseEntity<PagedResponse<Map<String, Object>>> getAllPerformanceIndicatorFields(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "indicatorNumber") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam String fields) {
+
+        logger.info("Fetching all performance indicators");
+        Pageable pageable = createPageable(page, size, sort, direction);
+        List<String> fieldList = requireFields(fields);
+        return pagedSuccess(performanceIndicatorService.findFields(null, fieldList, pageable));
+    }
+
     /**
      * Get all performance indicators for a specific student outcome (paginated)
      */
@@ -72,6 +92,25 @@ public class PerformanceIndicatorController extends BaseController {
         return pagedSuccess(indicators);
     }
 
+    /**
+     * The same list with only the columns named in ?fields=
+     */
+    @GetMapping(value = "/by-outcome", params = "fields")
+    public ResponseEntity<PagedResponse<Map<String, Object>>> getIndicatorFieldsByStudentOutcome(
+            @RequestParam Long studentOutcomeId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "indicatorNumber") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam String fields) {
+
+        logger.info("Fetching performance indicators for student outcome ID: {}", studentOutcomeId);
+        validateId(studentOutcomeId);
+        Pageable pageable = createPageable(page, size, sort, direction);
+        List<String> fieldList = requireFields(fields);
+        return pagedSuccess(performanceIndicatorService.findFields(fieldEquals("studentOutcomeId", studentOutcomeId), fieldList, pageable));
+    }
+
     /**
      * Get all active performance indicators for a specific student outcome (non-paginated)
      */
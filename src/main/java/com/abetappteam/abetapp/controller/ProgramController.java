@@ -11,13 +11,17 @@ import com.abetappteam.abetapp.dto.PagedResponse;
 import com.abetappteam.abetapp.service.ProgramService;
 import com.abetappteam.abetapp.entity.Program;
 import com.abetappteam.abetapp.dto.ProgramDTO;
+import com.abetappteam.abetapp.dto.ProgramSummary;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.validation.Valid;
 import org.springframework.web.bind.annotation.PutMapping;
 
@@ -33,15 +37,27 @@ public class ProgramController extends BaseController {
     @Autowired
     private ProgramService programService;
 
+    //Get all programs (summary rows)
     @GetMapping
-    public ResponseEntity<PagedResponse<Program>> getAllPrograms(
+    public ResponseEntity<PagedResponse<ProgramSummary>> getAllPrograms(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size){
         Pageable pageable = createPageable(page, size, DEFAULT_SORT_FIELD, DEFAULT_SORT_DIRECTION);
-        Page<Program> programs = programService.findAll(pageable);
+        Page<ProgramSummary> programs = programService.findAllSummaries(pageable);
         return pagedSuccess(programs);
     }
 
+    //The same list with only the columns named in ?fields=
+    @GetMapping(params = "fields")
+    public ResponseEntity<PagedResponse<Map<String, Object>>> getAllProgramFields(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam String fields){
+        Pageable pageable = createPageable(page, size, DEFAULT_SORT_FIELD, DEFAULT_SORT_DIRECTION);
+        List<String> fieldList = requireFields(fields);
+        return pagedSuccess(programService.findFields(null, fieldList, pageable));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<Program>> getProgram(@PathVariable Long id) {
         Program program = programService.findById(id);
@@ -60,6 +76,19 @@ public class ProgramController extends BaseController {
         return success(updated, "Program updated successfully");
     }
 
+    /**
+     * Partially update a program with a JSON Merge Patch carrying the version being updated
+     */
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_JSON, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<ApiResponse<Map<String, Object>>> patchProgram(
+            @PathVariable Long id,
+            @RequestBody JsonNode patch) {
+
+        logger.info("Patching program with ID: {}", id);
+        validateId(id);
+        return success(programService.patch(id, patch), "Program updated successfully");
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<ApiResponse<Void>> deleteProgram(@PathVariable Long id){
         programService.delete(id);
@@ -70,27 +99,27 @@ public class ProgramController extends BaseController {
      * Get all users in a program
      */
     @GetMapping("/{programId}/users")
-    public ResponseEntity<ApiResponse<List<ProgramUser>>> getProgramUsers(@PathVariable Long programId) {
-        List<ProgramUser> users = programService.getUsersInProgram(programId);
-        return success(users, "Program users retrieved successfully");
+    public ResponseEntity<StreamingResponseBody> getProgramUsers(@PathVariable Long programId) {
+        return this.<ProgramUser>streamSuccess(sink -> programService.streamUsersInProgram(programId, null, sink),
+                "Program users retrieved successfully");
     }
 
     /**
      * Get all admins in a program
      */
     @GetMapping("/{programId}/admins")
-    public ResponseEntity<ApiResponse<List<ProgramUser>>> getProgramAdmins(@PathVariable Long programId) {
-        List<ProgramUser> admins = programService.getAdminsInProgram(programId);
-        return success(admins, "Program admins retrieved successfully");
+    public ResponseEntity<StreamingResponseBody> getProgramAdmins(@PathVariable Long programId) {
+        return this.<ProgramUser>streamSuccess(sink -> programService.streamUsersInProgram(programId, true, sink),
+                "Program admins retrieved successfully");
     }
 
     /**
      * Get all instructors in a program
      */
     @GetMapping("/{programId}/instructors")
-    public ResponseEntity<ApiResponse<List<ProgramUser>>> getProgramInstructors(@PathVariable Long programId) {
-        List<ProgramUser> instructors = programService.getInstructorsInProgram(programId);
-        return success(instructors, "Program instructors retrieved successfully");
+    public ResponseEntity<StreamingResponseBody> getProgramInstructors(@PathVariable Long programId) {
+        return this.<ProgramUser>streamSuccess(sink -> programService.streamUsersInProgram(programId, false, sink),
+                "Program instructors retrieved successfully");
     }
 
     /**
@@ -0,0 +1,33 @@
+package com.abetappteam.abetapp.controller;
+
+import com.abetappteam.abetapp.service.MeasureProgressService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Live review progress as Server-Sent Events, replacing polling of the semester measure lists
+ * and course completeness. Events: "measure-status" (MeasureStatusChange) and "completeness"
+ * (the body of GET /api/courses/{id}/completeness).
+ */
+@RestController
+@RequestMapping("/api/progress")
+public class ProgressController extends BaseController {
+
+    @Autowired
+    private MeasureProgressService progressService;
+
+    /**
+     * Stream for one program (?programId=) or one semester (?semesterId=)
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestParam(required = false) Long programId,
+                             @RequestParam(required = false) Long semesterId) {
+        logger.info("Opening progress stream for program {} semester {}", programId, semesterId);
+        return progressService.subscribe(programId, semesterId);
+    }
+}
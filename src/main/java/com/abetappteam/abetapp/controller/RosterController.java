@@ -0,0 +1,121 @@
+package com.abetappteam.abetapp.controller;
+
+import com.abetappteam.abetapp.dto.ApiResponse;
+import com.abetappteam.abetapp.dto.CourseInstructorRow;
+import com.abetappteam.abetapp.dto.ImportReport;
+import com.abetappteam.abetapp.dto.ProgramMemberRow;
+import com.abetappteam.abetapp.dto.ProvisioningReport;
+import com.abetappteam.abetapp.dto.RosterImport;
+import com.abetappteam.abetapp.dto.RosterImportReport;
+import com.abetappteam.abetapp.dto.UserProvisionRow;
+import com.abetappteam.abetapp.exception.ForbiddenException;
+import com.abetappteam.abetapp.security.JwtAuthenticationFilter;
+import com.abetappteam.abetapp.service.RosterImportService;
+import com.abetappteam.abetapp.service.UserProvisioningService;
+import com.abetappteam.abetapp.util.CsvReader;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Bulk roster imports: new accounts, program memberships and course instructors, as JSON
+ * or CSV. CSV bodies start with a header row naming the columns (e.g. email,programId,role
+ * or email,courseId), in any order. Every response lists the outcome of each row.
+ * All of them are for program admins only, as member rows can grant the ADMIN role.
+ */
+@RestController
+@RequestMapping("/api/roster")
+public class RosterController extends BaseController {
+
+    private static final String TEXT_CSV = "text/csv";
+    private static final String ADMIN = "ADMIN";
+
+    @Autowired
+    private RosterImportService rosterImportService;
+
+    @Autowired
+    private UserProvisioningService userProvisioningService;
+
+    /**
+     * Members and instructors in one request; members are applied first
+     */
+    @PostMapping("/import")
+    public ResponseEntity<ApiResponse<RosterImportReport>> importRoster(@RequestBody RosterImport roster,
+                                                                        HttpServletRequest request) {
+        requireAdmin(request);
+        RosterImportReport report = rosterImportService.importRoster(roster);
+        return success(report, summary(report.members()) + "; " + summary(report.instructors()));
+    }
+
+    @PostMapping(value = "/members", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<ImportReport>> importMembers(@RequestBody List<ProgramMemberRow> rows,
+                                                                   HttpServletRequest request) {
+        requireAdmin(request);
+        ImportReport report = rosterImportService.importProgramMembers(rows);
+        return success(report, summary(report));
+    }
+
+    @PostMapping(value = "/members", consumes = TEXT_CSV)
+    public ResponseEntity<ApiResponse<ImportReport>> importMembersCsv(@RequestBody String csv,
+                                                                      HttpServletRequest request) {
+        requireAdmin(request);
+        return importMembers(CsvReader.read(csv).stream()
+                .map(row -> new ProgramMemberRow(row.get("email"), row.getLong("programId"), row.get("role")))
+                .toList(), request);
+    }
+
+    @PostMapping(value = "/instructors", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<ImportReport>> importInstructors(@RequestBody List<CourseInstructorRow> rows,
+                                                                       HttpServletRequest request) {
+        requireAdmin(request);
+        ImportReport report = rosterImportService.importCourseInstructors(rows);
+        return success(report, summary(report));
+    }
+
+    @PostMapping(value = "/instructors", consumes = TEXT_CSV)
+    public ResponseEntity<ApiResponse<ImportReport>> importInstructorsCsv(@RequestBody String csv,
+                                                                          HttpServletRequest request) {
+        requireAdmin(request);
+        return importInstructors(CsvReader.read(csv).stream()
+                .map(row -> new CourseInstructorRow(row.get("email"), row.getLong("courseId")))
+                .toList(), request);
+    }
+
+    /**
+     * New accounts, hashed in parallel and inserted in batches; rows with a programId
+     * also join that program. Every row costs a BCrypt hash.
+     */
+    @PostMapping(value = "/users", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<ProvisioningReport>> provisionUsers(@RequestBody List<UserProvisionRow> rows,
+                                                                          HttpServletRequest request) {
+        requireAdmin(request);
+        ProvisioningReport report = userProvisioningService.provision(rows);
+        return success(report, summary(report.users()) + "; memberships: " + summary(report.memberships()));
+    }
+
+    @PostMapping(value = "/users", consumes = TEXT_CSV)
+    public ResponseEntity<ApiResponse<ProvisioningReport>> provisionUsersCsv(@RequestBody String csv,
+                                                                             HttpServletRequest request) {
+        requireAdmin(request);
+        return provisionUsers(UserProvisioningService.readCsv(csv), request);
+    }
+
+    // Role of the caller's JWT, which JwtAuthenticationFilter leaves on the request
+    private static void requireAdmin(HttpServletRequest request) {
+        if (!ADMIN.equals(request.getAttribute(JwtAuthenticationFilter.ROLE_ATTRIBUTE))) {
+            throw new ForbiddenException("Only program admins can change the roster");
+        }
+    }
+
+    private static String summary(ImportReport report) {
+        return report.created() + " created, " + report.updated() + " updated, "
+                + report.unchanged() + " unchanged, " + report.failed() + " failed";
+    }
+}
@@ -2,23 +2,31 @@ package com.abetappteam.abetapp.controller;
 
 import com.abetappteam.abetapp.dto.ApiResponse;
 import com.abetappteam.abetapp.dto.PagedResponse;
+import com.abetappteam.abetapp.dto.SemesterArchiveSnapshot;
 import com.abetappteam.abetapp.dto.SemesterDTO;
 import com.abetappteam.abetapp.entity.Semester;
 import com.abetappteam.abetapp.entity.Semester.SemesterStatus;
 import com.abetappteam.abetapp.entity.Semester.SemesterType;
+import com.abetappteam.abetapp.entity.SemesterArchive;
 import com.abetappteam.abetapp.service.SemesterService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.validation.Valid;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import static com.abetappteam.abetapp.repository.FieldSpecifications.containsIgnoreCase;
+import static com.abetappteam.abetapp.repository.FieldSpecifications.fieldEquals;
+
 /**
  * Controller for Semester entity operations
  * Manages semesters, academic periods, and semester status
@@ -48,6 +56,25 @@ public class SemesterController extends BaseController {
         return pagedSuccess(semesters);
     }
 
+    /**
+     * The same list with only the columns named in ?fields=
+     */
+    @GetMapping(params = "fields")
+    public ResponseEntity<PagedResponse<Map<String, Object>>> getAllSemesterFields(
+            @RequestParam Long programId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "startDate") String sort,
+            @RequestParam(defaultValue = "desc") String direction,
+            @RequestParam String fields) {
+
+        logger.info("Fetching all semesters for program ID: {}", programId);
+        validateId(programId);
+        Pageable pageable = createPageable(page, size, sort, direction);
+        List<String> fieldList = requireFields(fields);
+        return pagedSuccess(semesterService.findFields(fieldEquals("programId", programId), fieldList, pageable));
+    }
+
     /**
      * Get a specific semester by ID
      */
@@ -90,6 +117,19 @@ public class SemesterController extends BaseController {
         return success(updated, "Semester updated successfully");
     }
 
+    /**
+     * Partially update a semester with a JSON Merge Patch carrying the version being updated
+     */
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_JSON, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<ApiResponse<Map<String, Object>>> patchSemester(
+            @PathVariable Long id,
+            @RequestBody JsonNode patch) {
+
+        logger.info("Patching semester with ID: {}", id);
+        validateId(id);
+        return success(semesterService.patch(id, patch), "Semester updated successfully");
+    }
+
     /**
      * Remove/delete a semester
      */
@@ -118,6 +158,24 @@ public class SemesterController extends BaseController {
         return pagedSuccess(semesters);
     }
 
+    /**
+     * The same list with only the columns named in ?fields=
+     */
+    @GetMapping(value = "/academic-year/{academicYear}", params = "fields")
+    public ResponseEntity<PagedResponse<Map<String, Object>>> getSemesterFieldsByAcademicYear(
+            @PathVariable Integer academicYear,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "startDate") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam String fields) {
+
+        logger.info("Fetching semesters for academic year: {}", academicYear);
+        Pageable pageable = createPageable(page, size, sort, direction);
+        List<String> fieldList = requireFields(fields);
+        return pagedSuccess(semesterService.findFields(fieldEquals("academicYear", academicYear), fieldList, pageable));
+    }
+
     /**
      * Get semesters by type (FALL, SPRING, SUMMER, WINTER)
      */
@@ -136,6 +194,25 @@ public class SemesterController extends BaseController {
         return pagedSuccess(semesters);
     }
 
+    /**
+     * The same list with only the columns named in ?fields=
+     */
+    @GetMapping(value = "/type/{type}", params = "fields")
+    public ResponseEntity<PagedResponse<Map<String, Object>>> getSemesterFieldsByType(
+            @PathVariable String type,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "startDate") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam String fields) {
+
+        logger.info("Fetching semesters of type: {}", type);
+        SemesterType semesterType = SemesterType.valueOf(type.toUpperCase());
+        Pageable pageable = createPageable(page, size, sort, direction);
+        List<String> fieldList = requireFields(fields);
+        return pagedSuccess(semesterService.findFields(fieldEquals("type", semesterType), fieldList, pageable));
+    }
+
     /**
      * Get semesters by status (UPCOMING, ACTIVE, COMPLETED, ARCHIVED)
      */
@@ -154,6 +231,25 @@ public class SemesterController extends BaseController {
         return pagedSuccess(semesters);
     }
 
+    /**
+     * The same list with only the columns named in ?fields=
+     */
+    @GetMapping(value = "/status/{status}", params = "fields")
+    public ResponseEntity<PagedResponse<Map<String, Object>>> getSemesterFieldsByStatus(
+            @PathVariable String status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "startDate") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam String fields) {
+
+        logger.info("Fetching semesters with status: {}", status);
+        SemesterStatus semesterStatus = SemesterStatus.valueOf(status.toUpperCase());
+        Pageable pageable = createPageable(page, size, sort, direction);
+        List<String> fieldList = requireFields(fields);
+        return pagedSuccess(semesterService.findFields(fieldEquals("status", semesterStatus), fieldList, pageable));
+    }
+
     /**
      * Get current semester for a program
      */
@@ -197,6 +293,28 @@ public class SemesterController extends BaseController {
         return success(updated, "Semester status updated successfully");
     }
 
+    /**
+     * Move an archived semester's courses, outcomes and measures to the archive tier
+     */
+    @PostMapping("/{id}/archive")
+    public ResponseEntity<ApiResponse<SemesterArchive>> moveToArchive(@PathVariable Long id) {
+        logger.info("Moving semester {} to the archive tier", id);
+        validateId(id);
+        SemesterArchive archive = semesterService.moveToArchive(id);
+        return success(archive, "Semester moved to the archive tier");
+    }
+
+    /**
+     * Get everything an archived semester owned (read-only)
+     */
+    @GetMapping("/{id}/archive")
+    public ResponseEntity<ApiResponse<SemesterArchiveSnapshot>> getArchiveSnapshot(@PathVariable Long id) {
+        logger.info("Fetching archive of semester {}", id);
+        validateId(id);
+        SemesterArchiveSnapshot snapshot = semesterService.getArchiveSnapshot(id);
+        return success(snapshot, "Semester archive retrieved successfully");
+    }
+
     /**
      * Get active and upcoming semesters for a program
      */
@@ -224,6 +342,22 @@ public class SemesterController extends BaseController {
         return pagedSuccess(semesters);
     }
 
+    /**
+     * The same list with only the columns named in ?fields=
+     */
+    @GetMapping(value = "/search", params = "fields")
+    public ResponseEntity<PagedResponse<Map<String, Object>>> searchSemesterFields(
+            @RequestParam String searchTerm,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam String fields) {
+
+        logger.info("Searching semesters with term: {}", searchTerm);
+        Pageable pageable = createPageable(page, size, "name", "asc");
+        List<String> fieldList = requireFields(fields);
+        return pagedSuccess(semesterService.findFields(containsIgnoreCase(searchTerm, "name", "code"), fieldList, pageable));
+    }
+
     /**
      * Find semester by code (e.g., "FALL-2025")
      */
@@ -6,6 +6,9 @@ import org.springframework.web.bind.annotation.GetMapping;
 @Controller
 public class SpaController {
 
+    // Forwards land on the /index.html resource handler in StaticResourceConfig,
+    // which applies the short must-revalidate cache policy for the SPA shell
+
     // Map root path
     @GetMapping("/")
     public String index() {
@@ -18,4 +21,4 @@ public class SpaController {
         // forward all non-API requests to index.html for Vue Router
         return "forward:/index.html";
     }
-}
\ No newline at end of file
+}
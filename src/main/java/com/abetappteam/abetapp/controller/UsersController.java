@@ -2,6 +2,7 @@ package com.abetappteam.abetapp.controller;
 
 import com.abetappteam.abetapp.dto.ApiResponse;
 import com.abetappteam.abetapp.dto.PagedResponse;
+import com.abetappteam.abetapp.dto.UserSummary;
 import com.abetappteam.abetapp.entity.Program;
 import com.abetappteam.abetapp.entity.ProgramUser;
 import com.abetappteam.abetapp.entity.Users;
@@ -9,15 +10,18 @@ import com.abetappteam.abetapp.exception.BadRequestException;
 import com.abetappteam.abetapp.dto.UsersDTO;
 import com.abetappteam.abetapp.dto.UpdateUsersDTO;
 import com.abetappteam.abetapp.exception.ForbiddenException;
+import com.abetappteam.abetapp.exception.ResourceNotFoundException;
 import com.abetappteam.abetapp.security.JwtUtil;
 import com.abetappteam.abetapp.service.ProgramService;
 import com.abetappteam.abetapp.service.UsersService;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.validation.Valid;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.web.bind.annotation.*;
@@ -25,6 +29,7 @@ import org.springframework.web.bind.annotation.*;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 
@@ -131,16 +136,27 @@ public class UsersController extends BaseController {
         return ResponseEntity.ok(response);
     }
 
-    //Get All Users
+    //Get All Users (summary rows)
     @GetMapping
-    public ResponseEntity<PagedResponse<Users>> getAllUsers(
+    public ResponseEntity<PagedResponse<UserSummary>> getAllUsers(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
         Pageable pageable = createPageable(page, size, DEFAULT_SORT_FIELD, DEFAULT_SORT_DIRECTION);
-        Page<Users> users = usersService.findAll(pageable);
+        Page<UserSummary> users = usersService.findAllSummaries(pageable);
         return pagedSuccess(users);
     }
 
+    //The same list with only the columns named in ?fields=
+    @GetMapping(params = "fields")
+    public ResponseEntity<PagedResponse<Map<String, Object>>> getAllUserFields(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam String fields) {
+        Pageable pageable = createPageable(page, size, DEFAULT_SORT_FIELD, DEFAULT_SORT_DIRECTION);
+        List<String> fieldList = requireFields(fields);
+        return pagedSuccess(usersService.findFields(null, fieldList, pageable));
+    }
+
     //Find user by id
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<Users>> getUser(@PathVariable Long id) {
@@ -206,9 +222,18 @@ public class UsersController extends BaseController {
 
         List<ProgramUser> userPrograms = programService.getActiveProgramsForUser(userId);
 
+        // Load all the user's programs in one query rather than one per membership
+        Map<Long, Program> programs = programService.findAllById(
+                        userPrograms.stream().map(ProgramUser::getProgramId).distinct().toList())
+                .stream()
+                .collect(Collectors.toMap(Program::getId, Function.identity()));
+
         List<Map<String, Object>> programsList = userPrograms.stream()
                 .map(pu -> {
-                    Program program = programService.findById(pu.getProgramId());
+                    Program program = programs.get(pu.getProgramId());
+                    if (program == null) {
+                        throw new ResourceNotFoundException("Program not found with id: " + pu.getProgramId());
+                    }
                     Map<String, Object> progMap = new HashMap<>();
                     progMap.put("programId", pu.getProgramId());
                     progMap.put("programName", program.getName());
@@ -232,6 +257,17 @@ public class UsersController extends BaseController {
         return success(updated, "User updated successfully");
     }
 
+    //Partially update a User with a JSON Merge Patch carrying the version being updated
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_JSON, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<ApiResponse<Map<String, Object>>> patchUser(
+            @PathVariable Long id,
+            @RequestBody JsonNode patch) {
+
+        logger.info("Patching user with ID: {}", id);
+        validateId(id);
+        return success(usersService.patch(id, patch), "User updated successfully");
+    }
+
     //Delete User
     @DeleteMapping("/{id}")
     public ResponseEntity<ApiResponse<Void>> deleteUser(@PathVariable Long id) {
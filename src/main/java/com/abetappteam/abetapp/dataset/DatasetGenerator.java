@@ -0,0 +1,307 @@
+package com.abetappteam.abetapp.dataset;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Writes a deterministic synthetic dataset through batched JDBC inserts.
+ * Works on H2 and MariaDB.
+ *
+ * Rows are inserted without explicit IDs. After each level (semesters, courses,
+ * course indicators...) the generated IDs are read back in insertion order with
+ * one query, so the generator can run next to existing data such as data.sql.
+ * Row contents depend only on the spec; the IDs depend on what the database
+ * already holds. User emails and semester codes carry the program's number among
+ * the synthetic programs (p1.admin@synthetic.edu, S1-FA2015), so a fresh database
+ * always gets the same ones and a second run continues the numbering.
+ *
+ * Usable from tests (inside the test transaction), from benchmarks, and at startup
+ * through the "dataset" profile (DatasetLoader).
+ */
+public class DatasetGenerator {
+
+    public static final String INSTITUTION = "Synthetic University";
+
+    // Shared BCrypt hash of "password123" so provisioning does not hash per user
+    static final String PASSWORD_HASH = "$2a$10$k3ohvw57L0aMryaJpFAet.hfSjsWiXalzsVouNQGdsfI48uCjgIEa";
+
+    static final int BATCH_SIZE = 1000;
+
+    private static final Logger logger = LoggerFactory.getLogger(DatasetGenerator.class);
+
+    private static final String[] DISCIPLINES = {"Computer Engineering", "Computer Science", "Electrical Engineering",
+            "Mechanical Engineering", "Civil Engineering", "Software Engineering", "Biomedical Engineering",
+            "Chemical Engineering", "Data Science", "Cybersecurity"};
+    private static final String[] PREFIXES = {"CS", "ECE", "ME", "CE", "SE", "BME", "CHE", "DS", "CYB", "MATH"};
+    private static final String[] FIRST_NAMES = {"Alex", "Jordan", "Taylor", "Morgan", "Casey", "Riley", "Jamie",
+            "Avery", "Quinn", "Parker", "Rowan", "Sasha", "Devon", "Emerson", "Harper", "Kai"};
+    private static final String[] LAST_NAMES = {"Nguyen", "Smith", "Garcia", "Johnson", "Patel", "Kim", "Brown",
+            "Lopez", "Miller", "Davis", "Wilson", "Clark", "Lewis", "Walker", "Young", "Hall"};
+    private static final String[] TITLES = {"Dr.", "Prof.", null};
+    private static final String[] ACTIVE_STATUSES = {"InProgress", "Submitted", "InReview", "Complete"};
+
+    private static final String TEXT = "Students apply engineering design to produce solutions that meet "
+            + "specified needs with consideration of public health, safety and welfare.";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DatasetGenerator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Row counts written by one generate call
+     */
+    public record Result(long programs, long users, long semesters, long courses,
+                         long courseIndicators, long measures) {
+    }
+
+    /**
+     * Whether a synthetic dataset has already been written to this database
+     */
+    public boolean exists() {
+        return syntheticPrograms() > 0;
+    }
+
+    private long syntheticPrograms() {
+        Long count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM program WHERE institution = ?", Long.class, INSTITUTION);
+        return count == null ? 0 : count;
+    }
+
+    public Result generate(DatasetSpec spec) {
+        logger.info("Generating synthetic dataset: {} programs, {} courses, {} measures",
+                spec.programs(), spec.totalCourses(), spec.totalMeasures());
+        long started = System.currentTimeMillis();
+        SplittableRandom random = new SplittableRandom(spec.seed());
+        long[] counts = new long[6];
+        long firstNumber = syntheticPrograms() + 1;
+
+        for (int p = 0; p < spec.programs(); p++) {
+            long programId = insertProgram(p);
+            counts[0]++;
+            List<Long> programUserIds = insertUsers(spec, programId, firstNumber + p, random);
+            counts[1] += programUserIds.size();
+
+            List<Long> semesterIds = insertSemesters(spec, programId, firstNumber + p);
+            counts[2] += semesterIds.size();
+            for (int s = 0; s < semesterIds.size(); s++) {
+                boolean activeSemester = s == semesterIds.size() - 1;
+                LocalDate start = semesterStart(s);
+                long semesterId = semesterIds.get(s);
+
+                List<Long> indicatorIds = insertOutcomesAndIndicators(spec, semesterId, start);
+                List<Long> courseIds = insertCourses(spec, p, semesterId, start, random);
+                counts[3] += courseIds.size();
+                insertCourseInstructors(courseIds, programUserIds, start, random);
+                List<Long> courseIndicatorIds = insertCourseIndicators(spec, courseIds, indicatorIds, semesterId, start, random);
+                counts[4] += courseIndicatorIds.size();
+                counts[5] += insertMeasures(spec, courseIndicatorIds, activeSemester, start, random);
+            }
+            logger.info("Generated program {}/{} ({} measures so far)", p + 1, spec.programs(), counts[5]);
+        }
+
+        logger.info("Synthetic dataset generated in {} ms", System.currentTimeMillis() - started);
+        return new Result(counts[0], counts[1], counts[2], counts[3], counts[4], counts[5]);
+    }
+
+    private long insertProgram(int index) {
+        Timestamp created = Timestamp.valueOf(semesterStart(0).atStartOfDay());
+        String name = DISCIPLINES[index % DISCIPLINES.length] + " " + (index / DISCIPLINES.length + 1);
+        jdbcTemplate.update("INSERT INTO program (program_name, institution, is_active, created_at, updated_at, version, deleted) "
+                + "VALUES (?, ?, TRUE, ?, ?, 0, FALSE)", name, INSTITUTION, created, created);
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM program WHERE institution = ?", Long.class, INSTITUTION);
+    }
+
+    // One admin followed by the instructors; returns program_user ids, admin first
+    private List<Long> insertUsers(DatasetSpec spec, long programId, long programNumber, SplittableRandom random) {
+        Timestamp created = Timestamp.valueOf(semesterStart(0).atStartOfDay());
+        String emailPrefix = "p" + programNumber + ".";
+        Batch users = new Batch("INSERT INTO users (email, password_hash, name_first, name_last, name_title, is_active, "
+                + "created_at, updated_at, version, deleted) VALUES (?, ?, ?, ?, ?, TRUE, ?, ?, 0, FALSE)");
+        for (int u = 0; u <= spec.instructorsPerProgram(); u++) {
+            String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            users.add(emailPrefix + (u == 0 ? "admin" : "u" + u) + "@synthetic.edu", PASSWORD_HASH, first, last,
+                    TITLES[random.nextInt(TITLES.length)], created, created);
+        }
+        users.flush();
+        List<Long> userIds = ids("SELECT id FROM users WHERE email LIKE ? ORDER BY id", emailPrefix + "%@synthetic.edu");
+
+        Batch memberships = new Batch("INSERT INTO program_user (is_admin, program_id, user_id, is_active, created_at) "
+                + "VALUES (?, ?, ?, TRUE, ?)");
+        for (int u = 0; u < userIds.size(); u++) {
+            memberships.add(u == 0, programId, userIds.get(u), created);
+        }
+        memberships.flush();
+        return ids("SELECT id FROM program_user WHERE program_id = ? ORDER BY id", programId);
+    }
+
+    private List<Long> insertSemesters(DatasetSpec spec, long programId, long programNumber) {
+        int count = spec.semestersPerProgram();
+        Batch semesters = new Batch("INSERT INTO semester (name, code, type, status, start_date, end_date, academic_year, "
+                + "description, program_id, is_current, created_at, updated_at, version, deleted) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, FALSE)");
+        for (int s = 0; s < count; s++) {
+            LocalDate start = semesterStart(s);
+            boolean fall = s % 2 == 0;
+            String status = s == count - 1 ? "ACTIVE" : s < count - 4 ? "ARCHIVED" : "COMPLETED";
+            Timestamp created = Timestamp.valueOf(start.minusMonths(1).atStartOfDay());
+            semesters.add((fall ? "Fall " : "Spring ") + start.getYear(),
+                    "S" + programNumber + (fall ? "-FA" : "-SP") + start.getYear(),
+                    fall ? "FALL" : "SPRING", status, Date.valueOf(start), Date.valueOf(start.plusMonths(4)),
+                    fall ? start.getYear() : start.getYear() - 1, "Synthetic semester", programId,
+                    s == count - 1, created, created);
+        }
+        semesters.flush();
+        return ids("SELECT id FROM semester WHERE program_id = ? ORDER BY id", programId);
+    }
+
+    private List<Long> insertOutcomesAndIndicators(DatasetSpec spec, long semesterId, LocalDate start) {
+        Timestamp created = Timestamp.valueOf(start.atStartOfDay());
+        Batch outcomes = new Batch("INSERT INTO student_outcome (out_number, out_description, semester_id, is_active, "
+                + "created_at, updated_at, version, deleted) VALUES (?, ?, ?, TRUE, ?, ?, 0, FALSE)");
+        for (int o = 1; o <= spec.outcomesPerSemester(); o++) {
+            outcomes.add(o, "Outcome " + o + ": " + TEXT, semesterId, created, created);
+        }
+        outcomes.flush();
+        List<Long> outcomeIds = ids("SELECT id FROM student_outcome WHERE semester_id = ? ORDER BY id", semesterId);
+
+        Batch indicators = new Batch("INSERT INTO performance_indicator (ind_number, ind_description, student_outcome_id, "
+                + "threshold_percentage, is_active, created_at, updated_at, version, deleted) "
+                + "VALUES (?, ?, ?, 70.0, TRUE, ?, ?, 0, FALSE)");
+        for (int o = 0; o < outcomeIds.size(); o++) {
+            for (int i = 1; i <= spec.indicatorsPerOutcome(); i++) {
+                indicators.add(i, "Indicator " + (o + 1) + "." + i + ": " + TEXT, outcomeIds.get(o), created, created);
+            }
+        }
+        indicators.flush();
+        return ids("SELECT pi.id FROM performance_indicator pi JOIN student_outcome o ON pi.student_outcome_id = o.id "
+                + "WHERE o.semester_id = ? ORDER BY pi.id", semesterId);
+    }
+
+    private List<Long> insertCourses(DatasetSpec spec, int programIndex, long semesterId, LocalDate start,
+                                     SplittableRandom random) {
+        Timestamp created = Timestamp.valueOf(start.atStartOfDay());
+        String prefix = PREFIXES[programIndex % PREFIXES.length];
+        Batch courses = new Batch("INSERT INTO course (course_code, course_name, course_description, semester_id, "
+                + "student_count, is_active, created_at, updated_at, version, deleted) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0, FALSE)");
+        for (int c = 0; c < spec.coursesPerSemester(); c++) {
+            int number = 100 + c * 5;
+            courses.add(prefix + number, prefix + " " + number + " Course " + (c + 1), TEXT, semesterId,
+                    12 + random.nextInt(60), random.nextInt(20) != 0, created, created);
+        }
+        courses.flush();
+        return ids("SELECT id FROM course WHERE semester_id = ? ORDER BY id", semesterId);
+    }
+
+    private void insertCourseInstructors(List<Long> courseIds, List<Long> programUserIds, LocalDate start,
+                                         SplittableRandom random) {
+        Timestamp created = Timestamp.valueOf(start.atStartOfDay());
+        Batch instructors = new Batch("INSERT INTO course_instructor (program_user_id, course_id, is_active, created_at) "
+                + "VALUES (?, ?, TRUE, ?)");
+        for (long courseId : courseIds) {
+            // Index 0 is the program admin; courses go to instructors
+            long programUserId = programUserIds.get(1 + random.nextInt(programUserIds.size() - 1));
+            instructors.add(programUserId, courseId, created);
+        }
+        instructors.flush();
+    }
+
+    private List<Long> insertCourseIndicators(DatasetSpec spec, List<Long> courseIds, List<Long> indicatorIds,
+                                              long semesterId, LocalDate start, SplittableRandom random) {
+        if (spec.indicatorsPerCourse() == 0) {
+            return List.of();
+        }
+        Timestamp created = Timestamp.valueOf(start.atStartOfDay());
+        Batch links = new Batch("INSERT INTO course_indicator (course_id, indicator_id, is_active, created_at, "
+                + "updated_at) VALUES (?, ?, TRUE, ?, ?)");
+        for (long courseId : courseIds) {
+            // A consecutive run of the semester's indicators, starting at a random one
+            int first = random.nextInt(indicatorIds.size());
+            for (int i = 0; i < spec.indicatorsPerCourse(); i++) {
+                links.add(courseId, indicatorIds.get((first + i) % indicatorIds.size()), created, created);
+            }
+        }
+        links.flush();
+        return ids("SELECT ci.id FROM course_indicator ci JOIN course c ON ci.course_id = c.id "
+                + "WHERE c.semester_id = ? ORDER BY ci.id", semesterId);
+    }
+
+    private long insertMeasures(DatasetSpec spec, List<Long> courseIndicatorIds, boolean activeSemester,
+                                LocalDate start, SplittableRandom random) {
+        Timestamp created = Timestamp.valueOf(start.plusWeeks(2).atStartOfDay());
+        Batch measures = new Batch("INSERT INTO measure (course_indicator_id, measure_description, observation, "
+                + "recommended_action, fcar, met, exceeded, below, m_status, is_active, created_at, updated_at, version, deleted) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, FALSE)");
+        for (long courseIndicatorId : courseIndicatorIds) {
+            for (int m = 1; m <= spec.measuresPerIndicator(); m++) {
+                // Past semesters are finished; the active one has work at every stage
+                String status = activeSemester ? ACTIVE_STATUSES[random.nextInt(ACTIVE_STATUSES.length)] : "Complete";
+                boolean scored = !"InProgress".equals(status);
+                boolean reviewed = "InReview".equals(status) || "Complete".equals(status);
+                Integer met = scored ? random.nextInt(30) : null;
+                Integer exceeded = scored ? random.nextInt(20) : null;
+                Integer below = scored ? random.nextInt(10) : null;
+                measures.add(courseIndicatorId, "Measure " + m + ": exam and project rubric results",
+                        scored ? "Most students met the indicator threshold." : null,
+                        reviewed ? "Add a worked example before the assessment." : null,
+                        scored ? "FCAR summary for measure " + m : null,
+                        met, exceeded, below, status, random.nextInt(50) != 0, created, created);
+            }
+        }
+        return measures.flush();
+    }
+
+    // Fall and spring semesters, oldest first, starting in fall 2015
+    private static LocalDate semesterStart(int index) {
+        int year = 2015 + (index + 1) / 2;
+        return index % 2 == 0 ? LocalDate.of(year, 8, 25) : LocalDate.of(year, 1, 15);
+    }
+
+    private List<Long> ids(String sql, Object... args) {
+        return jdbcTemplate.queryForList(sql, Long.class, args);
+    }
+
+    /**
+     * Accumulates rows for one INSERT statement and sends them in JDBC batches
+     */
+    private final class Batch {
+        private final String sql;
+        private final List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        private long written;
+
+        Batch(String sql) {
+            this.sql = sql;
+        }
+
+        void add(Object... row) {
+            rows.add(row);
+            if (rows.size() == BATCH_SIZE) {
+                send();
+            }
+        }
+
+        long flush() {
+            if (!rows.isEmpty()) {
+                send();
+            }
+            return written;
+        }
+
+        private void send() {
+            jdbcTemplate.batchUpdate(sql, rows);
+            written += rows.size();
+            rows.clear();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.abetappteam.abetapp.dataset;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Seeds the synthetic dataset at startup when the "dataset" profile is active,
+ * e.g. ./gradlew devWithDataset. Skipped if the database already holds one.
+ * Sizes come from app.dataset.* (see application-dataset.properties).
+ */
+@Component
+@Profile("dataset")
+public class DatasetLoader implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatasetLoader.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.dataset.programs:50}")
+    private int programs;
+
+    @Value("${app.dataset.semesters-per-program:20}")
+    private int semestersPerProgram;
+
+    @Value("${app.dataset.courses-per-semester:80}")
+    private int coursesPerSemester;
+
+    @Value("${app.dataset.outcomes-per-semester:7}")
+    private int outcomesPerSemester;
+
+    @Value("${app.dataset.indicators-per-outcome:3}")
+    private int indicatorsPerOutcome;
+
+    @Value("${app.dataset.indicators-per-course:15}")
+    private int indicatorsPerCourse;
+
+    @Value("${app.dataset.measures-per-indicator:5}")
+    private int measuresPerIndicator;
+
+    @Value("${app.dataset.instructors-per-program:40}")
+    private int instructorsPerProgram;
+
+    @Value("${app.dataset.seed:" + DatasetSpec.DEFAULT_SEED + "}")
+    private long seed;
+
+    public DatasetLoader(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        DatasetGenerator generator = new DatasetGenerator(jdbcTemplate);
+        if (generator.exists()) {
+            logger.info("Synthetic dataset already present, skipping generation");
+            return;
+        }
+        DatasetGenerator.Result result = generator.generate(new DatasetSpec(programs, semestersPerProgram,
+                coursesPerSemester, outcomesPerSemester, indicatorsPerOutcome, indicatorsPerCourse,
+                measuresPerIndicator, instructorsPerProgram, seed));
+        logger.info("Synthetic dataset ready: {}", result);
+    }
+}
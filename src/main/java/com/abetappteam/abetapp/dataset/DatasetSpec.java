@@ -0,0 +1,70 @@
+package com.abetappteam.abetapp.dataset;
+
+/**
+ * Shape of a synthetic dataset. The same spec and seed always produce the same rows.
+ *
+ * @param programs             programs to create
+ * @param semestersPerProgram  semesters per program, oldest first; the newest is ACTIVE
+ * @param coursesPerSemester   courses per semester
+ * @param outcomesPerSemester  student outcomes per semester
+ * @param indicatorsPerOutcome performance indicators per outcome
+ * @param indicatorsPerCourse  performance indicators linked to each course
+ * @param measuresPerIndicator measures per course indicator
+ * @param instructorsPerProgram instructors per program (one extra admin is always added)
+ * @param seed                 random seed for names, statuses and student counts
+ */
+public record DatasetSpec(
+        int programs,
+        int semestersPerProgram,
+        int coursesPerSemester,
+        int outcomesPerSemester,
+        int indicatorsPerOutcome,
+        int indicatorsPerCourse,
+        int measuresPerIndicator,
+        int instructorsPerProgram,
+        long seed) {
+
+    public static final long DEFAULT_SEED = 20251019L;
+
+    public DatasetSpec {
+        if (programs < 1 || semestersPerProgram < 1 || coursesPerSemester < 1 || outcomesPerSemester < 1
+                || indicatorsPerOutcome < 1 || measuresPerIndicator < 0 || instructorsPerProgram < 1) {
+            throw new IllegalArgumentException("Dataset sizes must be positive");
+        }
+        if (indicatorsPerCourse < 0 || indicatorsPerCourse > outcomesPerSemester * indicatorsPerOutcome) {
+            throw new IllegalArgumentException("indicatorsPerCourse must be between 0 and "
+                    + outcomesPerSemester * indicatorsPerOutcome);
+        }
+    }
+
+    /**
+     * Institution scale: 50 programs x 20 semesters x 80 courses x 15 indicators x 5 measures
+     * (6 million measures). Meant for MariaDB or a file-backed H2 database.
+     */
+    public static DatasetSpec institution() {
+        return new DatasetSpec(50, 20, 80, 7, 3, 15, 5, 40, DEFAULT_SEED);
+    }
+
+    /**
+     * One program with a few semesters, quick enough for tests
+     */
+    public static DatasetSpec small() {
+        return new DatasetSpec(1, 3, 10, 3, 2, 4, 2, 5, DEFAULT_SEED);
+    }
+
+    public long totalSemesters() {
+        return (long) programs * semestersPerProgram;
+    }
+
+    public long totalCourses() {
+        return totalSemesters() * coursesPerSemester;
+    }
+
+    public long totalCourseIndicators() {
+        return totalCourses() * indicatorsPerCourse;
+    }
+
+    public long totalMeasures() {
+        return totalCourseIndicators() * measuresPerIndicator;
+    }
+}
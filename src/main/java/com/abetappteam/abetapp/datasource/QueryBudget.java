@@ -0,0 +1,34 @@
+package com.abetappteam.abetapp.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Per-statement limits for the queries a service issues, on the service class or on one
+ * of its methods (the method wins). Unset attributes keep app.query.timeout and
+ * app.query.max-rows; UNLIMITED lifts the limit.
+ * <p>
+ * A statement running past its timeout ends the call with a 503, reading more rows than
+ * maxRows with a 422. Both are counted as abet.query.budget.exceeded.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface QueryBudget {
+
+    int DEFAULT = -1;
+    int UNLIMITED = 0;
+
+    /**
+     * Seconds a single statement may run
+     */
+    int timeoutSeconds() default DEFAULT;
+
+    /**
+     * Rows a single statement may return
+     */
+    int maxRows() default DEFAULT;
+}
@@ -0,0 +1,106 @@
+package com.abetappteam.abetapp.datasource;
+
+import com.abetappteam.abetapp.exception.QueryRowLimitException;
+import com.abetappteam.abetapp.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.sql.SQLTimeoutException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Installs the QueryBudget of each service call for QueryBudgetDataSource. Query timeouts
+ * come back from Hibernate, Spring and the driver under several exception types; they are
+ * turned into ServiceUnavailableException here so BaseController answers 503. Violations
+ * are counted once, by the outermost service call.
+ */
+@Aspect
+@Component
+public class QueryBudgetAspect {
+
+    public static final String BUDGET_EXCEEDED = "abet.query.budget.exceeded";
+
+    private final MeterRegistry meterRegistry;
+
+    // Resolved once per service method: method annotation first, then the class
+    private final Map<Method, QueryBudgetScope> scopes = new ConcurrentHashMap<>();
+
+    public QueryBudgetAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * com.abetappteam.abetapp.service..*(..))")
+    public Object applyBudget(ProceedingJoinPoint joinPoint) throws Throwable {
+        Class<?> serviceClass = AopUtils.getTargetClass(joinPoint.getTarget());
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        QueryBudgetScope scope = scopes.computeIfAbsent(AopUtils.getMostSpecificMethod(method, serviceClass),
+                m -> resolve(serviceClass, m));
+        QueryBudgetScope previous = scope.open();
+        try {
+            return joinPoint.proceed();
+        } catch (QueryRowLimitException e) {
+            count(previous, scope, "rows");
+            throw e;
+        } catch (ServiceUnavailableException e) {
+            count(previous, scope, "timeout");
+            throw e;
+        } catch (RuntimeException e) {
+            if (!isTimeout(e)) {
+                throw e;
+            }
+            count(previous, scope, "timeout");
+            throw new ServiceUnavailableException("Query exceeded its time budget; try again later", e);
+        } finally {
+            QueryBudgetScope.restore(previous);
+        }
+    }
+
+    private static QueryBudgetScope resolve(Class<?> serviceClass, Method method) {
+        QueryBudget budget = AnnotatedElementUtils.findMergedAnnotation(method, QueryBudget.class);
+        if (budget == null) {
+            budget = AnnotatedElementUtils.findMergedAnnotation(serviceClass, QueryBudget.class);
+        }
+        return new QueryBudgetScope(serviceClass.getSimpleName(), method.getName(),
+                budget == null ? QueryBudget.DEFAULT : budget.timeoutSeconds(),
+                budget == null ? QueryBudget.DEFAULT : budget.maxRows());
+    }
+
+    private void count(QueryBudgetScope previous, QueryBudgetScope scope, String limit) {
+        if (previous != null) {
+            return;
+        }
+        Counter.builder(BUDGET_EXCEEDED)
+                .description("Service calls ended by a query timeout or row limit")
+                .tag("service", scope.service())
+                .tag("method", scope.method())
+                .tag("limit", limit)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    // Driver, Hibernate and Spring each report a cancelled statement differently
+    private static boolean isTimeout(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof SQLTimeoutException
+                    || t instanceof org.springframework.dao.QueryTimeoutException
+                    || t instanceof org.springframework.transaction.TransactionTimedOutException
+                    || t instanceof jakarta.persistence.QueryTimeoutException
+                    || t instanceof org.hibernate.QueryTimeoutException) {
+                return true;
+            }
+            if (t.getCause() == t) {
+                break;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,150 @@
+package com.abetappteam.abetapp.datasource;
+
+import com.abetappteam.abetapp.exception.QueryRowLimitException;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Applies the current QueryBudgetScope (or the defaults outside service calls) to every
+ * statement created on its connections: Statement.setQueryTimeout lets the driver cancel
+ * slow queries, and result sets stop with QueryRowLimitException on the first row past
+ * maxRows. The statement's own maxRows is set one above the limit so the driver never
+ * fetches further, without ever silently truncating a result.
+ * <p>
+ * Hibernate and JdbcTemplate still override the timeout per query, e.g. from a
+ * jakarta.persistence.query.timeout hint or a transaction timeout.
+ */
+public class QueryBudgetDataSource extends DelegatingDataSource {
+
+    private final int defaultTimeoutSeconds;
+    private final int defaultMaxRows;
+
+    public QueryBudgetDataSource(DataSource target, int defaultTimeoutSeconds, int defaultMaxRows) {
+        super(target);
+        this.defaultTimeoutSeconds = defaultTimeoutSeconds;
+        this.defaultMaxRows = defaultMaxRows;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConnectionHandler(connection));
+    }
+
+    private int timeoutSeconds(QueryBudgetScope scope) {
+        return scope == null || scope.timeoutSeconds() < 0 ? defaultTimeoutSeconds : scope.timeoutSeconds();
+    }
+
+    private int maxRows(QueryBudgetScope scope) {
+        return scope == null || scope.maxRows() < 0 ? defaultMaxRows : scope.maxRows();
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getName().equals("unwrap") && ((Class<?>) args[0]).isInstance(proxy)) {
+                return proxy;
+            }
+            Object result = QueryBudgetDataSource.invoke(target, method, args);
+            if (!(result instanceof Statement statement)) {
+                return result;
+            }
+            QueryBudgetScope scope = QueryBudgetScope.current();
+            int timeout = timeoutSeconds(scope);
+            int maxRows = maxRows(scope);
+            if (timeout > 0) {
+                statement.setQueryTimeout(timeout);
+            }
+            if (maxRows <= 0) {
+                return statement;
+            }
+            if (maxRows < Integer.MAX_VALUE) {
+                statement.setMaxRows(maxRows + 1);
+            }
+            Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                    : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+            return Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{type}, new StatementHandler(statement, maxRows));
+        }
+    }
+
+    private static class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final int maxRows;
+
+        StatementHandler(Statement target, int maxRows) {
+            this.target = target;
+            this.maxRows = maxRows;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getName().equals("unwrap") && ((Class<?>) args[0]).isInstance(proxy)) {
+                return proxy;
+            }
+            Object result = QueryBudgetDataSource.invoke(target, method, args);
+            if (result instanceof ResultSet resultSet) {
+                return Proxy.newProxyInstance(getClass().getClassLoader(),
+                        new Class<?>[]{ResultSet.class}, new ResultSetHandler(resultSet, maxRows));
+            }
+            return result;
+        }
+    }
+
+    private static class ResultSetHandler implements InvocationHandler {
+
+        private final ResultSet target;
+        private final int maxRows;
+        private int rows;
+
+        ResultSetHandler(ResultSet target, int maxRows) {
+            this.target = target;
+            this.maxRows = maxRows;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = QueryBudgetDataSource.invoke(target, method, args);
+            if (method.getName().equals("next") && Boolean.TRUE.equals(result) && ++rows > maxRows) {
+                throw new QueryRowLimitException(maxRows);
+            }
+            return result;
+        }
+    }
+}
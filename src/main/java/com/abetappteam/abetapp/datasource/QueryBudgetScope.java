@@ -0,0 +1,35 @@
+package com.abetappteam.abetapp.datasource;
+
+/**
+ * The QueryBudget of the service call running on the current thread, installed by
+ * QueryBudgetAspect and read by QueryBudgetDataSource when it prepares a statement.
+ * Nested service calls install their own scope and restore the caller's on return.
+ */
+public record QueryBudgetScope(String service, String method, int timeoutSeconds, int maxRows) {
+
+    private static final ThreadLocal<QueryBudgetScope> CURRENT = new ThreadLocal<>();
+
+    /**
+     * The active scope, or null outside service calls
+     */
+    public static QueryBudgetScope current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Installs this scope and returns the one it replaces, to be passed to restore()
+     */
+    public QueryBudgetScope open() {
+        QueryBudgetScope previous = CURRENT.get();
+        CURRENT.set(this);
+        return previous;
+    }
+
+    public static void restore(QueryBudgetScope previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.abetappteam.abetapp.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Connections for read-only transactions: the replica while ReplicaLagMonitor allows it,
+ * otherwise the primary. A replica that refuses a connection is skipped until the next
+ * successful lag check.
+ */
+public class ReplicaDataSource extends DelegatingDataSource {
+
+    private final DataSource primary;
+    private final ReplicaLagMonitor monitor;
+
+    public ReplicaDataSource(DataSource replica, DataSource primary, ReplicaLagMonitor monitor) {
+        super(replica);
+        this.primary = primary;
+        this.monitor = monitor;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!monitor.isReplicaUsable()) {
+            return primary.getConnection();
+        }
+        try {
+            return obtainTargetDataSource().getConnection();
+        } catch (SQLException e) {
+            monitor.markUnavailable(e);
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (!monitor.isReplicaUsable()) {
+            return primary.getConnection(username, password);
+        }
+        try {
+            return obtainTargetDataSource().getConnection(username, password);
+        } catch (SQLException e) {
+            monitor.markUnavailable(e);
+            return primary.getConnection(username, password);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.abetappteam.abetapp.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Decides whether read-only transactions may use the replica. Every lag-check-interval it
+ * runs the lag query on the replica; the replica is used only while the query succeeds and
+ * reports a lag within maxLag. A blank lag query only checks that the replica answers,
+ * e.g. for a local stand-in that is not really replicating.
+ * <p>
+ * Queries starting with SHOW (default SHOW SLAVE STATUS) are read through their
+ * Seconds_Behind_Master column; any other query must return the lag in seconds as its
+ * first column, such as a heartbeat table lookup. No row or a NULL lag counts as unknown.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    static final String LAG_COLUMN = "Seconds_Behind_Master";
+    private static final int VALID_TIMEOUT_SECONDS = 2;
+
+    private final DataSource replica;
+    private final String lagQuery;
+    private final Duration maxLag;
+
+    private volatile boolean usable = true;
+    private volatile double lagSeconds = 0;
+
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, Duration maxLag) {
+        this.replica = replica;
+        this.lagQuery = lagQuery == null ? "" : lagQuery.trim();
+        this.maxLag = maxLag;
+    }
+
+    /**
+     * True while read-only transactions should go to the replica
+     */
+    public boolean isReplicaUsable() {
+        return usable;
+    }
+
+    /**
+     * Lag seen by the last check in seconds; NaN when it could not be determined
+     */
+    public double getLagSeconds() {
+        return lagSeconds;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval:5s}")
+    public void check() {
+        Double lag = measureLag();
+        lagSeconds = lag == null ? Double.NaN : lag;
+        boolean nowUsable = lag != null && lag <= maxLag.toSeconds();
+        if (nowUsable != usable) {
+            if (nowUsable) {
+                logger.info("Replica caught up (lag {}s); read-only transactions use it again", lag);
+            } else {
+                logger.warn("Replica lag {} exceeds {}s or is unknown; read-only transactions use the primary",
+                        lag == null ? "unknown" : lag + "s", maxLag.toSeconds());
+            }
+        }
+        usable = nowUsable;
+    }
+
+    /**
+     * Marks the replica unusable until the next successful check, after it refused a connection
+     */
+    void markUnavailable(SQLException cause) {
+        if (usable) {
+            logger.warn("Replica connection failed, falling back to the primary: {}", cause.getMessage());
+        }
+        usable = false;
+        lagSeconds = Double.NaN;
+    }
+
+    private Double measureLag() {
+        try (Connection connection = replica.getConnection()) {
+            if (lagQuery.isEmpty()) {
+                return connection.isValid(VALID_TIMEOUT_SECONDS) ? 0.0 : null;
+            }
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(lagQuery)) {
+                if (!rs.next()) {
+                    return null;
+                }
+                double lag = lagQuery.regionMatches(true, 0, "SHOW", 0, 4)
+                        ? rs.getDouble(LAG_COLUMN) : rs.getDouble(1);
+                return rs.wasNull() ? null : lag;
+            }
+        } catch (SQLException e) {
+            logger.debug("Replica lag check failed: {}", e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.abetappteam.abetapp.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.List;
+
+/**
+ * API calls sent together to POST /api/batch, answered in the same order. Consecutive GETs
+ * run concurrently; any other method waits for the calls before it and runs alone, so a read
+ * listed after a write sees it.
+ */
+public record BatchRequest(List<Call> requests) {
+
+    /**
+     * @param path API path with an optional query, e.g. /api/courses/3/instructors?active=true
+     * @param body JSON body for POST, PUT and PATCH; omitted for reads
+     */
+    public record Call(String method, String path, JsonNode body) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.abetappteam.abetapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+/**
+ * Answer to one call of a batch
+ *
+ * @param body the call's response body as sent by its endpoint (usually an ApiResponse); null
+ *             when the endpoint sent none
+ */
+public record BatchResult(String method, String path, int status, @JsonRawValue String body) {
+}
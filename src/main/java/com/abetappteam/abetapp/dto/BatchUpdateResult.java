@@ -0,0 +1,22 @@
+package com.abetappteam.abetapp.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a versioned batch update. Rows that were written are listed with their new
+ * version; rows that were not are listed as conflicts so the client can reload and retry them.
+ */
+public record BatchUpdateResult(List<Updated> updated, List<Conflict> conflicts) {
+
+    public static final String NOT_FOUND = "NOT_FOUND";
+    public static final String VERSION_MISMATCH = "VERSION_MISMATCH";
+
+    public record Updated(Long id, Long version) {
+    }
+
+    /**
+     * @param currentVersion the version now stored, or null when the row does not exist
+     */
+    public record Conflict(Long id, Long expectedVersion, Long currentVersion, String reason) {
+    }
+}
@@ -0,0 +1,8 @@
+package com.abetappteam.abetapp.dto;
+
+/**
+ * One row of a course instructor import. The instructor is named by email and must be
+ * an active member of the program the course's semester belongs to.
+ */
+public record CourseInstructorRow(String email, Long courseId) {
+}
@@ -0,0 +1,14 @@
+package com.abetappteam.abetapp.dto;
+
+/**
+ * Lightweight course row for list endpoints.
+ * Leaves out the TEXT description and audit columns; fetch /api/courses/{id} for the full course.
+ */
+public record CourseSummary(
+        Long id,
+        String courseCode,
+        String courseName,
+        Long semesterId,
+        Integer studentCount,
+        Boolean isActive) {
+}
@@ -0,0 +1,27 @@
+package com.abetappteam.abetapp.dto;
+
+import java.util.List;
+
+/**
+ * Per-row outcome of a bulk import. Rows are numbered from 1 in the order they were sent;
+ * a failed row carries the reason and does not stop the others.
+ */
+public record ImportReport(int created, int updated, int unchanged, int failed, List<Row> rows) {
+
+    public static final String CREATED = "CREATED";
+    public static final String UPDATED = "UPDATED";
+    public static final String UNCHANGED = "UNCHANGED";
+    public static final String FAILED = "FAILED";
+
+    public record Row(int row, String email, String status, String message) {
+    }
+
+    public static ImportReport of(List<Row> rows) {
+        return new ImportReport(count(rows, CREATED), count(rows, UPDATED), count(rows, UNCHANGED),
+                count(rows, FAILED), rows);
+    }
+
+    private static int count(List<Row> rows, String status) {
+        return (int) rows.stream().filter(row -> row.status().equals(status)).count();
+    }
+}
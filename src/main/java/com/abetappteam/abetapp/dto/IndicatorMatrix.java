@@ -0,0 +1,14 @@
+package com.abetappteam.abetapp.dto;
+
+import java.util.List;
+
+/**
+ * Every course-to-indicator assignment a semester should have (PUT /api/courses/indicator-matrix).
+ * Pairs missing from the list are deactivated; the list is validated by
+ * CourseService.replaceIndicatorMatrix.
+ */
+public record IndicatorMatrix(Long semesterId, List<Assignment> assignments) {
+
+    public record Assignment(Long courseId, Long indicatorId) {
+    }
+}
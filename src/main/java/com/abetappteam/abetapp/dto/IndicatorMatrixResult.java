@@ -0,0 +1,8 @@
+package com.abetappteam.abetapp.dto;
+
+/**
+ * What replacing a semester's indicator matrix changed. Reactivated counts assignments that
+ * existed but were inactive; unchanged counts requested assignments that were already active.
+ */
+public record IndicatorMatrixResult(int added, int reactivated, int deactivated, int unchanged) {
+}
@@ -0,0 +1,20 @@
+package com.abetappteam.abetapp.dto;
+
+/**
+ * One row of a batch measure update (PATCH /api/measure).
+ * id and version identify the row as the client last read it; every other field
+ * is optional and left unchanged when null. Rows are validated by MeasureService.patchBatch.
+ */
+public record MeasurePatch(
+        Long id,
+        Long version,
+        String description,
+        String observation,
+        String recommendedAction,
+        String fcar,
+        Integer studentsMet,
+        Integer studentsExceeded,
+        Integer studentsBelow,
+        String status,
+        Boolean active) {
+}
@@ -0,0 +1,13 @@
+package com.abetappteam.abetapp.dto;
+
+/**
+ * Pushed to progress stream subscribers when a measure's status changes, or when the measure
+ * is created, deactivated or deleted.
+ *
+ * @param previousStatus status last pushed for the measure; null when it had not changed since
+ *                       the server started or the measure is new
+ * @param status         current status; null once the measure is deleted
+ */
+public record MeasureStatusChange(Long measureId, Long courseId, Long semesterId, Long programId,
+                                  String previousStatus, String status, boolean active) {
+}
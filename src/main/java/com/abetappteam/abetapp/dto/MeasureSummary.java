@@ -0,0 +1,16 @@
+package com.abetappteam.abetapp.dto;
+
+/**
+ * Lightweight measure row for list endpoints.
+ * Leaves out the description, observation, FCAR and recommended action text;
+ * fetch /api/measure/{id} for the full measure.
+ */
+public record MeasureSummary(
+        Long id,
+        Long courseIndicatorId,
+        String status,
+        Integer studentsMet,
+        Integer studentsExceeded,
+        Integer studentsBelow,
+        Boolean active) {
+}
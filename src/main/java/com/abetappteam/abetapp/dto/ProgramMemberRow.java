@@ -0,0 +1,8 @@
+package com.abetappteam.abetapp.dto;
+
+/**
+ * One row of a program membership import: the user's email, the program and
+ * the role in it, ADMIN or INSTRUCTOR (case-insensitive)
+ */
+public record ProgramMemberRow(String email, Long programId, String role) {
+}
@@ -0,0 +1,11 @@
+package com.abetappteam.abetapp.dto;
+
+/**
+ * Lightweight program row for list endpoints.
+ */
+public record ProgramSummary(
+        Long id,
+        String name,
+        String institution,
+        Boolean active) {
+}
@@ -0,0 +1,8 @@
+package com.abetappteam.abetapp.dto;
+
+/**
+ * Outcome of a provisioning run: one report row per account, and one per membership
+ * requested, numbered after the account row it came from
+ */
+public record ProvisioningReport(ImportReport users, ImportReport memberships) {
+}
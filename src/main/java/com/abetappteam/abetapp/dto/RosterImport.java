@@ -0,0 +1,10 @@
+package com.abetappteam.abetapp.dto;
+
+import java.util.List;
+
+/**
+ * Program memberships and course instructors imported in one request (POST /api/roster/import).
+ * Members are applied first, so instructor rows may name users added by the same request.
+ */
+public record RosterImport(List<ProgramMemberRow> members, List<CourseInstructorRow> instructors) {
+}
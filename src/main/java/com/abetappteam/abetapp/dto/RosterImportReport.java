@@ -0,0 +1,7 @@
+package com.abetappteam.abetapp.dto;
+
+/**
+ * Reports of both halves of a RosterImport
+ */
+public record RosterImportReport(ImportReport members, ImportReport instructors) {
+}
@@ -0,0 +1,27 @@
+package com.abetappteam.abetapp.dto;
+
+import com.abetappteam.abetapp.entity.Course;
+import com.abetappteam.abetapp.entity.CourseIndicator;
+import com.abetappteam.abetapp.entity.CourseInstructor;
+import com.abetappteam.abetapp.entity.Measure;
+import com.abetappteam.abetapp.entity.Outcome;
+import com.abetappteam.abetapp.entity.PerformanceIndicator;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Everything an archived semester owned, as stored in semester_archive.payload.
+ * Rows keep their original ids and entity JSON shape, so archived reads look like live ones.
+ */
+public record SemesterArchiveSnapshot(
+        int formatVersion,
+        Long semesterId,
+        LocalDateTime archivedAt,
+        List<Course> courses,
+        List<CourseInstructor> courseInstructors,
+        List<CourseIndicator> courseIndicators,
+        List<Measure> measures,
+        List<Outcome> outcomes,
+        List<PerformanceIndicator> performanceIndicators) {
+}
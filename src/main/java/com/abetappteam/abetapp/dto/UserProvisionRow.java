@@ -0,0 +1,10 @@
+package com.abetappteam.abetapp.dto;
+
+/**
+ * One account to provision. password is the plain text to hash; programId and role
+ * are optional and, when programId is set, add the user to that program
+ * (role ADMIN or INSTRUCTOR, INSTRUCTOR when left out).
+ */
+public record UserProvisionRow(String email, String password, String firstName, String lastName, String title,
+                               Long programId, String role) {
+}
@@ -0,0 +1,13 @@
+package com.abetappteam.abetapp.dto;
+
+/**
+ * Lightweight user row for list endpoints, never carries the password hash.
+ */
+public record UserSummary(
+        Long id,
+        String email,
+        String firstName,
+        String lastName,
+        String title,
+        Boolean active) {
+}
@@ -16,6 +16,19 @@ import java.util.Objects;
 @EntityListeners(AuditingEntityListener.class)
 public abstract class BaseEntity {
 
+    /**
+     * Restriction every subclass declares with @SQLRestriction so Hibernate leaves soft-deleted
+     * rows out of finders, counts and JPQL. Native queries have to repeat it themselves.
+     */
+    public static final String NOT_DELETED = "deleted = false";
+
+    /**
+     * Generated column that is TRUE for live rows and NULL once soft-deleted. Adding it to a
+     * unique constraint makes the constraint apply to live rows only, since NULLs never
+     * collide (neither H2 nor MariaDB has partial indexes).
+     */
+    public static final String LIVE_COLUMN = "BOOLEAN GENERATED ALWAYS AS (CASE WHEN deleted = FALSE THEN TRUE END)";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
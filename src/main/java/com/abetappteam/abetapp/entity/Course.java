@@ -1,21 +1,38 @@
 package com.abetappteam.abetapp.entity;
 
+import com.abetappteam.abetapp.event.EntityChangeListener;
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.SQLRestriction;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
+import java.util.Locale;
+
 /**
  * Entity representing a Course in the ABET app
  * Courses are assigned to instructors through the CourseInstructor table
  */
 @Entity
-@Table(name = "course")
+@EntityListeners(EntityChangeListener.class)
+@DynamicUpdate
+@SQLRestriction(BaseEntity.NOT_DELETED)
+@Table(name = "course",
+        indexes = {@Index(name = "idx_course_semester", columnList = "semester_id, deleted"),
+                @Index(name = "idx_course_code", columnList = "course_code_normalized")},
+        uniqueConstraints = @UniqueConstraint(name = "uk_course_semester_code",
+                columnNames = {"semester_id", "course_code_normalized", "live"}))
 public class Course extends BaseEntity {
 
     @NotBlank(message = "Course code is required")
     @Column(name = "course_code", nullable = false, length = 20)
     private String courseCode;
 
+    // Upper-cased code computed by the database; code lookups seek its index
+    @Column(name = "course_code_normalized", insertable = false, updatable = false,
+            columnDefinition = "VARCHAR(20) GENERATED ALWAYS AS (UPPER(course_code))")
+    private String courseCodeNormalized;
+
     @NotBlank(message = "Course name is required")
     @Column(name = "course_name", nullable = false)
     private String courseName;
@@ -31,6 +48,10 @@ public class Course extends BaseEntity {
     @Column(name = "student_count")
     private Integer studentCount;
 
+    // Only part of uk_course_semester_code; see BaseEntity.LIVE_COLUMN
+    @Column(name = "live", insertable = false, updatable = false, columnDefinition = BaseEntity.LIVE_COLUMN)
+    private Boolean live;
+
     @Column(name = "is_active", nullable = false)
     private Boolean isActive = true;
 
@@ -110,4 +131,11 @@ public class Course extends BaseEntity {
                 ", updatedAt=" + getUpdatedAt() +
                 '}';
     }
-}
\ No newline at end of file
+
+    /**
+     * The form stored in course_code_normalized, for lookups against it
+     */
+    public static String normalizeCode(String courseCode) {
+        return courseCode == null ? null : courseCode.toUpperCase(Locale.ROOT);
+    }
+}
@@ -1,5 +1,6 @@
 package com.abetappteam.abetapp.entity;
 
+import com.abetappteam.abetapp.event.EntityChangeListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 
@@ -10,7 +11,9 @@ import java.time.LocalDateTime;
  * Junction table: course_indicator
  */
 @Entity
-@Table(name = "course_indicator")
+@EntityListeners(EntityChangeListener.class)
+@Table(name = "course_indicator", uniqueConstraints = @UniqueConstraint(name = "uk_course_indicator",
+        columnNames = {"course_id", "indicator_id"}))
 public class CourseIndicator {
 
     @Id
@@ -28,6 +31,9 @@ public class CourseIndicator {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
     @Column(name = "is_active", nullable = false)
     private Boolean isActive = true;
 
@@ -43,11 +49,17 @@ public class CourseIndicator {
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
         if (isActive == null) {
             isActive = true;
         }
     }
 
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
     // Constructors
     public CourseIndicator() {
     }
@@ -91,6 +103,14 @@ public class CourseIndicator {
         this.createdAt = createdAt;
     }
 
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
     public Boolean getIsActive() {
         return isActive;
     }
@@ -106,6 +126,7 @@ public class CourseIndicator {
                 ", courseId=" + courseId +
                 ", indicatorId=" + indicatorId +
                 ", createdAt=" + createdAt +
+                ", updatedAt=" + updatedAt +
                 ", isActive=" + isActive +
                 '}';
     }
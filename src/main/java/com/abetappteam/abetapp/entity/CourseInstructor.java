@@ -1,5 +1,6 @@
 package com.abetappteam.abetapp.entity;
 
+import com.abetappteam.abetapp.event.EntityChangeListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 
@@ -10,7 +11,9 @@ import java.time.LocalDateTime;
  * Junction table: course_instructor
  */
 @Entity
-@Table(name = "course_instructor")
+@EntityListeners(EntityChangeListener.class)
+@Table(name = "course_instructor", uniqueConstraints = @UniqueConstraint(name = "uk_course_instructor",
+        columnNames = {"course_id", "program_user_id"}))
 public class CourseInstructor {
 
     @Id
@@ -1,6 +1,7 @@
 package com.abetappteam.abetapp.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.SQLRestriction;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
@@ -8,6 +9,7 @@ import jakarta.validation.constraints.Size;
  * Example entity demonstrating BaseEntity usage
  */
 @Entity
+@SQLRestriction(BaseEntity.NOT_DELETED)
 @Table(name = "examples")
 public class Example extends BaseEntity {
 
@@ -1,13 +1,24 @@
 package com.abetappteam.abetapp.entity;
 
+import com.abetappteam.abetapp.event.EntityChangeListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.SQLRestriction;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
 @Entity
-@Table(name = "measure")
+@EntityListeners(EntityChangeListener.class)
+@DynamicUpdate
+@SQLRestriction(BaseEntity.NOT_DELETED)
+@Table(name = "measure", indexes = {
+        @Index(name = "idx_measure_course_indicator", columnList = "course_indicator_id, deleted"),
+        @Index(name = "idx_measure_purge", columnList = "deleted, deleted_at")
+})
 public class Measure extends BaseEntity {
 
     @Column(name = "course_indicator_id", nullable = false)
@@ -1,13 +1,19 @@
 package com.abetappteam.abetapp.entity;
 
+import com.abetappteam.abetapp.event.EntityChangeListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.Index;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.SQLRestriction;
 
 @Entity
-@Table(name = "student_outcome")
+@EntityListeners(EntityChangeListener.class)
+@SQLRestriction(BaseEntity.NOT_DELETED)
+@Table(name = "student_outcome", indexes = @Index(name = "idx_outcome_semester", columnList = "semester_id, deleted"))
 public class Outcome extends BaseEntity{
     
     @Column(name = "out_number", nullable = false)
@@ -1,6 +1,7 @@
 package com.abetappteam.abetapp.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.SQLRestriction;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
@@ -9,7 +10,11 @@ import jakarta.validation.constraints.NotNull;
  * Performance indicators are associated with student outcomes
  */
 @Entity
-@Table(name = "performance_indicator")
+@SQLRestriction(BaseEntity.NOT_DELETED)
+@Table(name = "performance_indicator",
+        indexes = @Index(name = "idx_indicator_outcome", columnList = "student_outcome_id, deleted"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_indicator_outcome_number",
+                columnNames = {"student_outcome_id", "ind_number", "live"}))
 public class PerformanceIndicator extends BaseEntity {
 
     @NotBlank(message = "Performance indicator description is required")
@@ -33,6 +38,10 @@ public class PerformanceIndicator extends BaseEntity {
     @Column(name = "threshold_percentage")
     private Double thresholdPercentage = 70.00;
 
+    // Only part of uk_indicator_outcome_number; see BaseEntity.LIVE_COLUMN
+    @Column(name = "live", insertable = false, updatable = false, columnDefinition = BaseEntity.LIVE_COLUMN)
+    private Boolean live;
+
     @Column(name = "is_active", nullable = false)
     private Boolean isActive = true;
 
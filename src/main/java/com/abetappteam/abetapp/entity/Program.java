@@ -1,10 +1,14 @@
 package com.abetappteam.abetapp.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.SQLRestriction;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
 @Entity
+@DynamicUpdate
+@SQLRestriction(BaseEntity.NOT_DELETED)
 @Table(name = "program")
 public class Program extends BaseEntity {
     
@@ -1,17 +1,26 @@
 package com.abetappteam.abetapp.entity;
 
+import com.abetappteam.abetapp.event.EntityChangeListener;
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.SQLRestriction;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import java.time.LocalDate;
+import java.util.Locale;
 
 /**
  * Entity representing a Semester in the ABET app
  * Semesters organize courses and assessments by academic period
  */
 @Entity
-@Table(name = "semester")
+@EntityListeners(EntityChangeListener.class)
+@DynamicUpdate
+@SQLRestriction(BaseEntity.NOT_DELETED)
+@Table(name = "semester",
+        indexes = @Index(name = "idx_semester_program", columnList = "program_id, deleted"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_semester_code", columnNames = "code_normalized"))
 public class Semester extends BaseEntity {
 
     @NotBlank(message = "Semester name is required")
@@ -21,9 +30,14 @@ public class Semester extends BaseEntity {
 
     @NotBlank(message = "Semester code is required")
     @Size(max = 20, message = "Semester code must not exceed 20 characters")
-    @Column(nullable = false, unique = true, length = 20)
+    @Column(nullable = false, length = 20)
     private String code; // e.g., "FALL-2025"
 
+    // Upper-cased code computed by the database; code lookups seek its unique index
+    @Column(name = "code_normalized", insertable = false, updatable = false,
+            columnDefinition = "VARCHAR(20) GENERATED ALWAYS AS (UPPER(code))")
+    private String codeNormalized;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false, length = 10)
     private SemesterType type; // FALL, SPRING, SUMMER, WINTER
@@ -199,4 +213,11 @@ public class Semester extends BaseEntity {
                 ", updatedAt=" + getUpdatedAt() +
                 '}';
     }
-}
\ No newline at end of file
+
+    /**
+     * The form stored in code_normalized, for lookups against it
+     */
+    public static String normalizeCode(String code) {
+        return code == null ? null : code.toUpperCase(Locale.ROOT);
+    }
+}
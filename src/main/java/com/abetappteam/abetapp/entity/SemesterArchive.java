@@ -0,0 +1,120 @@
+package com.abetappteam.abetapp.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Archive tier row for an ARCHIVED semester: its courses, outcomes, indicators and measures
+ * as one gzip-compressed JSON snapshot (see SemesterArchiveService). The semester row itself
+ * stays in the semester table.
+ */
+@Entity
+@Table(name = "semester_archive", indexes = @Index(name = "idx_semester_archive_program", columnList = "program_id"))
+public class SemesterArchive {
+
+    @Id
+    @Column(name = "semester_id")
+    private Long semesterId;
+
+    @Column(name = "program_id", nullable = false)
+    private Long programId;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    @Column(name = "format_version", nullable = false)
+    private Integer formatVersion;
+
+    @Column(name = "course_count", nullable = false)
+    private Integer courseCount;
+
+    @Column(name = "outcome_count", nullable = false)
+    private Integer outcomeCount;
+
+    @Column(name = "measure_count", nullable = false)
+    private Integer measureCount;
+
+    // Uncompressed JSON size, for comparing against payload length
+    @Column(name = "json_size", nullable = false)
+    private Long jsonSize;
+
+    @JsonIgnore
+    @Lob
+    @Column(name = "payload", nullable = false)
+    private byte[] payload;
+
+    // Constructors
+    public SemesterArchive() {
+    }
+
+    public SemesterArchive(Long semesterId, Long programId, LocalDateTime archivedAt, Integer formatVersion,
+                           Integer courseCount, Integer outcomeCount, Integer measureCount, Long jsonSize,
+                           byte[] payload) {
+        this.semesterId = semesterId;
+        this.programId = programId;
+        this.archivedAt = archivedAt;
+        this.formatVersion = formatVersion;
+        this.courseCount = courseCount;
+        this.outcomeCount = outcomeCount;
+        this.measureCount = measureCount;
+        this.jsonSize = jsonSize;
+        this.payload = payload;
+    }
+
+    // Getters
+    public Long getSemesterId() {
+        return semesterId;
+    }
+
+    public Long getProgramId() {
+        return programId;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+
+    public Integer getFormatVersion() {
+        return formatVersion;
+    }
+
+    public Integer getCourseCount() {
+        return courseCount;
+    }
+
+    public Integer getOutcomeCount() {
+        return outcomeCount;
+    }
+
+    public Integer getMeasureCount() {
+        return measureCount;
+    }
+
+    public Long getJsonSize() {
+        return jsonSize;
+    }
+
+    public Integer getPayloadSize() {
+        return payload == null ? null : payload.length;
+    }
+
+    public byte[] getPayload() {
+        return payload;
+    }
+
+    @Override
+    public String toString() {
+        return "SemesterArchive{" +
+                "semesterId=" + semesterId +
+                ", programId=" + programId +
+                ", archivedAt=" + archivedAt +
+                ", courseCount=" + courseCount +
+                ", outcomeCount=" + outcomeCount +
+                ", measureCount=" + measureCount +
+                ", jsonSize=" + jsonSize +
+                ", payloadSize=" + getPayloadSize() +
+                '}';
+    }
+}
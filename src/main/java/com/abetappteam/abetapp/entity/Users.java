@@ -1,12 +1,19 @@
 package com.abetappteam.abetapp.entity;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.SQLRestriction;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import jakarta.validation.constraints.Email;
 
+import java.util.Locale;
+
 @Entity
-@Table(name = "users")
+@DynamicUpdate
+@SQLRestriction(BaseEntity.NOT_DELETED)
+@Table(name = "users", uniqueConstraints = @UniqueConstraint(name = "uk_users_email", columnNames = "email_normalized"))
 public class Users extends BaseEntity {
 
     @NotBlank(message = "Email address is required")
@@ -15,9 +22,15 @@ public class Users extends BaseEntity {
     @Column(name = "email", nullable = false)
     private String email;
 
+    // Lower-cased email computed by the database; login lookups seek its unique index
+    @Column(name = "email_normalized", insertable = false, updatable = false,
+            columnDefinition = "VARCHAR(255) GENERATED ALWAYS AS (LOWER(email))")
+    private String emailNormalized;
+
     @NotBlank(message = "Password is required")
     @Size(min = 1, max = 255, message = "Password must be 1 to 255 characters long")
     @Column(name = "password_hash", nullable = false)
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String passwordHash;
 
     @NotBlank(message = "First name is required")
@@ -146,4 +159,11 @@ public class Users extends BaseEntity {
                 ", updatedAt=" + getUpdatedAt() +
                 '}';
     }
+
+    /**
+     * The form stored in email_normalized, for lookups against it
+     */
+    public static String normalizeEmail(String email) {
+        return email == null ? null : email.toLowerCase(Locale.ROOT);
+    }
 }
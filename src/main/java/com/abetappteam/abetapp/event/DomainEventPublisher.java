@@ -0,0 +1,217 @@
+package com.abetappteam.abetapp.event;
+
+import com.abetappteam.abetapp.event.EntityChangedEvent.Change;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process domain events with a transactional outbox. Every change is written to the
+ * domain_event_outbox table on the connection of the transaction making it, so the row commits
+ * or rolls back with the change itself. After commit the transaction's events are handed to a
+ * bounded pool (app.events.threads, app.events.queue-capacity), published to the application's
+ * @EventListener methods and their outbox rows marked published.
+ * <p>
+ * Events that never got that far - the queue was full, a listener pass was cut short or the
+ * process died after commit - stay unpublished in the outbox. The relay picks those up once they
+ * are older than app.events.relay-grace and publishes them again, so delivery is at least once.
+ * Published rows are deleted after app.events.retention.
+ */
+@Component
+public class DomainEventPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(DomainEventPublisher.class);
+
+    static final String PUBLISHED = "abet.events.published";
+    static final String REJECTED = "abet.events.rejected";
+    static final String LISTENER_FAILURES = "abet.events.listener.failures";
+    static final String RELAYED = "abet.events.relayed";
+
+    // Stranded rows published per relay pass
+    static final int RELAY_BATCH = 500;
+
+    private static final String INSERT = "INSERT INTO domain_event_outbox "
+            + "(batch_id, entity_type, entity_id, change_type, created_at) VALUES (?, ?, ?, ?, ?)";
+    private static final String MARK_BATCH = "UPDATE domain_event_outbox SET published_at = ? "
+            + "WHERE batch_id = ? AND published_at IS NULL";
+    private static final String MARK_ROW = "UPDATE domain_event_outbox SET published_at = ? WHERE id = ?";
+    private static final String SELECT_STRANDED = "SELECT id, entity_type, entity_id, change_type, created_at "
+            + "FROM domain_event_outbox WHERE published_at IS NULL AND created_at < ? ORDER BY id LIMIT ?";
+    private static final String DELETE_PUBLISHED = "DELETE FROM domain_event_outbox "
+            + "WHERE published_at IS NOT NULL AND published_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final Duration relayGrace;
+    private final Duration retention;
+    private final ThreadPoolExecutor pool;
+
+    public DomainEventPublisher(JdbcTemplate jdbcTemplate, ApplicationEventPublisher eventPublisher,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.events.threads:2}") int threads,
+                                @Value("${app.events.queue-capacity:1000}") int queueCapacity,
+                                @Value("${app.events.relay-grace:1m}") Duration relayGrace,
+                                @Value("${app.events.retention:7d}") Duration retention) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.relayGrace = relayGrace;
+        this.retention = retention;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "domain-events-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    public void publish(Class<?> entityType, Long entityId, Change change) {
+        publishAll(entityType, List.of(entityId), change);
+    }
+
+    /**
+     * Record changes to rows of one entity type. Inside a transaction they are published after
+     * it commits and dropped if it rolls back; outside one they are published right away.
+     */
+    public void publishAll(Class<?> entityType, Collection<Long> entityIds, Change change) {
+        if (entityIds.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<EntityChangedEvent> events = entityIds.stream()
+                .map(id -> new EntityChangedEvent(entityType.getSimpleName(), id, change, now))
+                .toList();
+
+        PendingEvents pending = TransactionSynchronizationManager.isSynchronizationActive()
+                ? pendingEvents() : new PendingEvents();
+        jdbcTemplate.batchUpdate(INSERT, events.stream()
+                .map(event -> new Object[] {pending.batchId, event.entityType(), event.entityId(),
+                        event.change().name(), Timestamp.valueOf(event.occurredAt())})
+                .toList());
+        pending.events.addAll(events);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            pending.afterCommit();
+        }
+    }
+
+    /**
+     * Publish outbox rows left unpublished for longer than the grace period, then drop
+     * published rows past retention
+     *
+     * @return the number of events published again
+     */
+    @Scheduled(fixedDelayString = "${app.events.relay-interval:30s}")
+    public int relay() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> published = new ArrayList<>();
+        List<EntityChangedEvent> stranded = jdbcTemplate.query(SELECT_STRANDED, (rs, rowNum) -> {
+            published.add(new Object[] {Timestamp.valueOf(now), rs.getLong("id")});
+            return new EntityChangedEvent(rs.getString("entity_type"), rs.getLong("entity_id"),
+                    Change.valueOf(rs.getString("change_type")), rs.getTimestamp("created_at").toLocalDateTime());
+        }, Timestamp.valueOf(now.minus(relayGrace)), RELAY_BATCH);
+        stranded.forEach(this::deliver);
+        if (!published.isEmpty()) {
+            jdbcTemplate.batchUpdate(MARK_ROW, published);
+            Counter.builder(RELAYED)
+                    .description("Outbox events published by the relay after missing their first dispatch")
+                    .register(meterRegistry)
+                    .increment(published.size());
+            logger.warn("Relayed {} domain events that were not published after commit", published.size());
+        }
+        int purged = jdbcTemplate.update(DELETE_PUBLISHED, Timestamp.valueOf(now.minus(retention)));
+        if (purged > 0) {
+            logger.debug("Purged {} published outbox rows", purged);
+        }
+        return published.size();
+    }
+
+    // The current transaction's events, registering them with it on first use
+    private PendingEvents pendingEvents() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingEvents pending && pending.owner() == this) {
+                return pending;
+            }
+        }
+        PendingEvents pending = new PendingEvents();
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        return pending;
+    }
+
+    private void dispatch(String batchId, List<EntityChangedEvent> events) {
+        events.forEach(this::deliver);
+        jdbcTemplate.update(MARK_BATCH, Timestamp.valueOf(LocalDateTime.now()), batchId);
+    }
+
+    // EntityChangedEventMulticaster hands the event to every listener before rethrowing a failure,
+    // which is counted here so it does not strand the batch
+    private void deliver(EntityChangedEvent event) {
+        try {
+            eventPublisher.publishEvent(event);
+        } catch (RuntimeException e) {
+            Counter.builder(LISTENER_FAILURES)
+                    .description("Domain events a listener threw on")
+                    .tag("entity", event.entityType())
+                    .register(meterRegistry)
+                    .increment();
+            logger.error("Listener failed on {} {} {}", event.change(), event.entityType(), event.entityId(), e);
+        }
+        Counter.builder(PUBLISHED)
+                .description("Domain events published to listeners")
+                .tag("entity", event.entityType())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private final class PendingEvents implements TransactionSynchronization {
+
+        private final String batchId = UUID.randomUUID().toString();
+        private final List<EntityChangedEvent> events = new ArrayList<>();
+
+        private DomainEventPublisher owner() {
+            return DomainEventPublisher.this;
+        }
+
+        @Override
+        public void afterCommit() {
+            List<EntityChangedEvent> committed = List.copyOf(events);
+            try {
+                pool.execute(() -> dispatch(batchId, committed));
+            } catch (RejectedExecutionException e) {
+                Counter.builder(REJECTED)
+                        .description("Domain events left for the outbox relay because the event queue was full")
+                        .register(meterRegistry)
+                        .increment(committed.size());
+                logger.warn("Event queue full; {} events left in the outbox for the relay", committed.size());
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.abetappteam.abetapp.event;
+
+import com.abetappteam.abetapp.entity.BaseEntity;
+import com.abetappteam.abetapp.entity.CourseIndicator;
+import com.abetappteam.abetapp.entity.CourseInstructor;
+import com.abetappteam.abetapp.entity.ProgramUser;
+import com.abetappteam.abetapp.event.EntityChangedEvent.Change;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * JPA entity listener recording every insert, update and delete Hibernate flushes for the
+ * entities that declare it, so saves and soft deletes through BaseService and the repositories
+ * need no publishing code of their own. JPQL bulk updates and JDBC batches bypass entity
+ * callbacks; services publish those changes themselves.
+ * <p>
+ * Hibernate creates the listener through Spring; without a DomainEventPublisher bean, as in
+ * repository slice tests, it does nothing.
+ */
+public class EntityChangeListener {
+
+    @Autowired
+    private ObjectProvider<DomainEventPublisher> publisher;
+
+    @PostPersist
+    void created(Object entity) {
+        record(entity, Change.CREATED);
+    }
+
+    @PostUpdate
+    void updated(Object entity) {
+        boolean softDeleted = entity instanceof BaseEntity base && Boolean.TRUE.equals(base.getDeleted());
+        record(entity, softDeleted ? Change.DELETED : Change.UPDATED);
+    }
+
+    @PostRemove
+    void removed(Object entity) {
+        record(entity, Change.DELETED);
+    }
+
+    private void record(Object entity, Change change) {
+        DomainEventPublisher events = publisher == null ? null : publisher.getIfAvailable();
+        Long id = idOf(entity);
+        if (events != null && id != null) {
+            events.publish(entity.getClass(), id, change);
+        }
+    }
+
+    private static Long idOf(Object entity) {
+        if (entity instanceof BaseEntity base) {
+            return base.getId();
+        }
+        if (entity instanceof CourseIndicator courseIndicator) {
+            return courseIndicator.getId();
+        }
+        if (entity instanceof CourseInstructor courseInstructor) {
+            return courseInstructor.getId();
+        }
+        if (entity instanceof ProgramUser programUser) {
+            return programUser.getId();
+        }
+        return null;
+    }
+}
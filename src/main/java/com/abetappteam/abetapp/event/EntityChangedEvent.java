@@ -0,0 +1,30 @@
+package com.abetappteam.abetapp.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * A committed change to one row of an assessment entity: Measure, Course, CourseIndicator,
+ * Semester, Outcome or ProgramUser. Delivered to @EventListener methods on the event pool
+ * (see DomainEventPublisher) once the transaction that made the change has committed.
+ * Delivery is at least once, so listeners must tolerate seeing a change twice.
+ *
+ * @param entityType simple class name of the entity, e.g. "Measure"
+ * @param entityId   id of the changed row
+ * @param change     what happened to the row; soft deletes are reported as DELETED
+ * @param occurredAt when the change was recorded in the outbox
+ */
+public record EntityChangedEvent(String entityType, Long entityId, Change change, LocalDateTime occurredAt) {
+
+    public enum Change {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    /**
+     * True when the change is to a row of the given entity class
+     */
+    public boolean isAbout(Class<?> type) {
+        return type.getSimpleName().equals(entityType);
+    }
+}
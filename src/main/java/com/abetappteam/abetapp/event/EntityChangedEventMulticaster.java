@@ -0,0 +1,45 @@
+package com.abetappteam.abetapp.event;
+
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.context.event.SimpleApplicationEventMulticaster;
+import org.springframework.context.support.AbstractApplicationContext;
+import org.springframework.core.ResolvableType;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * The context's event multicaster. The default stops at the first listener that throws, so a
+ * failing listener would keep an EntityChangedEvent from the ones after it - the response cache
+ * would go on serving stale entries. Here every listener is handed the event; the first failure
+ * is rethrown once all have run, with later ones suppressed, for DomainEventPublisher to count.
+ * Other events are multicast as usual.
+ */
+@Component(AbstractApplicationContext.APPLICATION_EVENT_MULTICASTER_BEAN_NAME)
+public class EntityChangedEventMulticaster extends SimpleApplicationEventMulticaster {
+
+    @Override
+    public void multicastEvent(ApplicationEvent event, @Nullable ResolvableType eventType) {
+        if (!(event instanceof PayloadApplicationEvent<?> payload && payload.getPayload() instanceof EntityChangedEvent)) {
+            super.multicastEvent(event, eventType);
+            return;
+        }
+        RuntimeException failure = null;
+        for (ApplicationListener<?> listener : getApplicationListeners(event,
+                eventType != null ? eventType : ResolvableType.forInstance(event))) {
+            try {
+                invokeListener(listener, event);
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.abetappteam.abetapp.exception;
+
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Maps database constraint violations to ConflictException, so creates can rely on the
+ * unique constraints instead of checking for duplicates first.
+ * <p>
+ * Services that know which duplicate they risk pass their own message (BaseService.insert);
+ * anything else, such as a violation surfacing at commit, is matched by constraint name in
+ * BaseController. The names below are declared on the entities and in both schema files.
+ */
+public final class ConstraintViolationTranslator {
+
+    public static final String USERS_EMAIL = "uk_users_email";
+    public static final String SEMESTER_CODE = "uk_semester_code";
+    public static final String COURSE_SEMESTER_CODE = "uk_course_semester_code";
+    public static final String INDICATOR_OUTCOME_NUMBER = "uk_indicator_outcome_number";
+    public static final String COURSE_INSTRUCTOR = "uk_course_instructor";
+    public static final String COURSE_INDICATOR = "uk_course_indicator";
+
+    private static final Map<String, String> MESSAGES = Map.of(
+            USERS_EMAIL, "A user with this email address already exists",
+            SEMESTER_CODE, "A semester with this code already exists",
+            COURSE_SEMESTER_CODE, "A course with this code already exists in this semester",
+            INDICATOR_OUTCOME_NUMBER, "A performance indicator with this number already exists for this student outcome",
+            COURSE_INSTRUCTOR, "Instructor already assigned to this course",
+            COURSE_INDICATOR, "Indicator already assigned to this course");
+
+    // SQLState for unique violations (H2, standard) and MariaDB's duplicate-key error code
+    private static final String UNIQUE_VIOLATION_STATE = "23505";
+    private static final int MARIADB_DUPLICATE_KEY = 1062;
+
+    private ConstraintViolationTranslator() {
+    }
+
+    /**
+     * Conflict naming the violated constraint, or a generic one for unknown constraints
+     */
+    public static ConflictException translate(DataIntegrityViolationException ex) {
+        String detail = detail(ex);
+        for (Map.Entry<String, String> constraint : MESSAGES.entrySet()) {
+            if (detail.contains(constraint.getKey())) {
+                return new ConflictException(constraint.getValue(), ex);
+            }
+        }
+        return new ConflictException("The request conflicts with existing data", ex);
+    }
+
+    /**
+     * Conflict with the caller's message when a unique constraint rejected the write;
+     * other integrity violations are translated by constraint name
+     */
+    public static ConflictException translate(DataIntegrityViolationException ex, String duplicateMessage) {
+        return isUniqueViolation(ex) ? new ConflictException(duplicateMessage, ex) : translate(ex);
+    }
+
+    public static boolean isUniqueViolation(DataIntegrityViolationException ex) {
+        if (ex instanceof DuplicateKeyException) {
+            return true;
+        }
+        for (Throwable t = ex; t != null && t.getCause() != t; t = t.getCause()) {
+            if (t instanceof SQLException sql) {
+                return UNIQUE_VIOLATION_STATE.equals(sql.getSQLState()) || sql.getErrorCode() == MARIADB_DUPLICATE_KEY;
+            }
+        }
+        return false;
+    }
+
+    private static String detail(DataIntegrityViolationException ex) {
+        String message = NestedExceptionUtils.getMostSpecificCause(ex).getMessage();
+        return message == null ? "" : message.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,14 @@
+package com.abetappteam.abetapp.exception;
+
+/**
+ * Exception thrown when a query returns more rows than its budget allows.
+ * Returns HTTP 422 status code; the client should narrow the request or page through it.
+ */
+public class QueryRowLimitException extends BusinessException {
+
+    public static final String ERROR_CODE = "QUERY_ROW_LIMIT";
+
+    public QueryRowLimitException(int maxRows) {
+        super("Query returned more than " + maxRows + " rows; narrow the request or use paging", ERROR_CODE);
+    }
+}
@@ -0,0 +1,16 @@
+package com.abetappteam.abetapp.exception;
+
+/**
+ * Exception thrown when the request could not be served in time, e.g. a query ran past
+ * its time budget. Returns HTTP 503 status code.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+
+    public ServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,125 @@
+package com.abetappteam.abetapp.metrics;
+
+import com.abetappteam.abetapp.service.BaseService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times every public service and repository method, tagged by entity and method.
+ * Repository calls also record how many rows they returned.
+ *
+ * Only self-invocations inside a service (one method calling another on "this")
+ * are missed, since those never pass through the Spring proxy.
+ */
+@Aspect
+@Component
+public class MetricsAspect {
+
+    public static final String SERVICE_TIMER = "abet.service.invocations";
+    public static final String REPOSITORY_TIMER = "abet.repository.invocations";
+    public static final String REPOSITORY_ROWS = "abet.repository.rows";
+
+    private final MeterRegistry meterRegistry;
+
+    // Resolved once per class: "CourseService" -> "Course"
+    private final Map<Class<?>, String> entityNames = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Class<?>> repositoryInterfaces = new ConcurrentHashMap<>();
+
+    public MetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * com.abetappteam.abetapp.service..*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        Class<?> serviceClass = AopUtils.getTargetClass(joinPoint.getTarget());
+        String entity = entityName(serviceClass, BaseService.class);
+        return time(joinPoint, SERVICE_TIMER, "service", serviceClass.getSimpleName(), entity, false);
+    }
+
+    @Around("execution(public * *(..)) && this(org.springframework.data.repository.Repository)")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        Class<?> repositoryInterface = repositoryInterfaces.computeIfAbsent(
+                joinPoint.getThis().getClass(), MetricsAspect::findRepositoryInterface);
+        String entity = entityName(repositoryInterface, Repository.class);
+        return time(joinPoint, REPOSITORY_TIMER, "repository", repositoryInterface.getSimpleName(), entity, true);
+    }
+
+    private Object time(ProceedingJoinPoint joinPoint, String name, String ownerTag, String owner,
+                        String entity, boolean recordRows) throws Throwable {
+        String method = joinPoint.getSignature().getName();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            Object result = joinPoint.proceed();
+            if (recordRows) {
+                recordRows(entity, method, result);
+            }
+            return result;
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(name)
+                    .tag(ownerTag, owner)
+                    .tag("entity", entity)
+                    .tag("method", method)
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+
+    private void recordRows(String entity, String method, Object result) {
+        long rows;
+        if (result instanceof Collection<?> collection) {
+            rows = collection.size();
+        } else if (result instanceof Slice<?> slice) {
+            rows = slice.getNumberOfElements();
+        } else if (result instanceof Optional<?> optional) {
+            rows = optional.isPresent() ? 1 : 0;
+        } else {
+            // Single entities, counts, booleans and lazily consumed Streams
+            return;
+        }
+        DistributionSummary.builder(REPOSITORY_ROWS)
+                .baseUnit("rows")
+                .tag("entity", entity)
+                .tag("method", method)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(10_000.0)
+                .register(meterRegistry)
+                .record(rows);
+    }
+
+    private String entityName(Class<?> type, Class<?> genericBase) {
+        return entityNames.computeIfAbsent(type, t -> {
+            Class<?> entity = ResolvableType.forClass(t).as(genericBase).resolveGeneric(0);
+            return entity == null ? "none" : entity.getSimpleName();
+        });
+    }
+
+    // The application's own repository interface behind a Spring Data proxy, e.g. CourseRepository
+    private static Class<?> findRepositoryInterface(Class<?> proxyClass) {
+        for (Class<?> candidate : ClassUtils.getAllInterfacesForClassAsSet(proxyClass)) {
+            if (Repository.class.isAssignableFrom(candidate)
+                    && !candidate.getName().startsWith("org.springframework.")) {
+                return candidate;
+            }
+        }
+        return Repository.class;
+    }
+}
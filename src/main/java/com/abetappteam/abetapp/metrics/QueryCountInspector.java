@@ -0,0 +1,83 @@
+package com.abetappteam.abetapp.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread and flags
+ * likely N+1 query loops.
+ *
+ * Registered as Hibernate's statement inspector in MetricsConfig (and through
+ * application-test.properties for test slices). The per-thread total only ever grows;
+ * callers measure a unit of work as the difference between two reads of current().
+ * RequestMetricsFilter opens a watch window per request: the first statement past the
+ * warn threshold inside a window logs the window name, the SQL and the call stack that
+ * issued it. The SQL itself is passed through unchanged.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    public static final int DEFAULT_WARN_THRESHOLD = 20;
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryCountInspector.class);
+
+    private static final ThreadLocal<Window> COUNT = ThreadLocal.withInitial(Window::new);
+
+    private final int warnThreshold;
+
+    // Used when Hibernate instantiates the inspector from the class name property
+    public QueryCountInspector() {
+        this(DEFAULT_WARN_THRESHOLD);
+    }
+
+    public QueryCountInspector(int warnThreshold) {
+        this.warnThreshold = warnThreshold;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Window window = COUNT.get();
+        window.total++;
+        if (window.name != null && !window.warned && window.total - window.start > warnThreshold) {
+            window.warned = true;
+            logger.warn("{} issued more than {} SQL statements; likely an N+1 query loop. Statement: {}",
+                    window.name, warnThreshold, sql, new Throwable("N+1 query call stack"));
+        }
+        return sql;
+    }
+
+    /**
+     * Statements prepared on this thread so far
+     */
+    public static long current() {
+        return COUNT.get().total;
+    }
+
+    /**
+     * Start watching a unit of work (e.g. "GET /api/users/my-programs") on this thread
+     */
+    public static void startWindow(String name) {
+        Window window = COUNT.get();
+        window.name = name;
+        window.start = window.total;
+        window.warned = false;
+    }
+
+    /**
+     * Stop watching and return the statements issued since startWindow
+     */
+    public static long endWindow() {
+        Window window = COUNT.get();
+        long issued = window.total - window.start;
+        window.name = null;
+        window.start = window.total;
+        return issued;
+    }
+
+    private static final class Window {
+        private long total;
+        private long start;
+        private String name;
+        private boolean warned;
+    }
+}
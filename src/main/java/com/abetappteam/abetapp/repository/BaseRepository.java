@@ -1,15 +1,23 @@
 package com.abetappteam.abetapp.repository;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.repository.NoRepositoryBean;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Base repository interface that extends JPA functionality with common operations.
  * All entity repositories should extend this interface.
+ * Implemented by {@link BaseRepositoryImpl}.
  *
  * @param <T> Entity type
  * @param <ID> Primary key type
@@ -17,6 +25,12 @@ import java.util.Optional;
 @NoRepositoryBean
 public interface BaseRepository<T, ID> extends JpaRepository<T, ID>, JpaSpecificationExecutor<T> {
 
+    /**
+     * JDBC fetch size hint for Stream-returning queries, so large result sets are
+     * read from the driver in chunks instead of being buffered whole
+     */
+    String STREAM_FETCH_SIZE = "500";
+
     /**
      * Find entities by a field value (case-insensitive for strings)
      */
@@ -42,4 +56,40 @@ public interface BaseRepository<T, ID> extends JpaRepository<T, ID>, JpaSpecific
      * Find all non-deleted entities (for soft delete support)
      */
     List<T> findAllActive();
-}
\ No newline at end of file
+
+    /**
+     * Select only the named columns of entities matching the specification (sparse fieldsets).
+     * Field names are validated against the entity metamodel; unknown or hidden
+     * fields raise BadRequestException.
+     */
+    Page<Map<String, Object>> findFields(Specification<T> spec, Collection<String> fields, Pageable pageable);
+
+    /**
+     * Check field names for findFields and streamFields without running a query, so a stream can
+     * be refused before its response starts. Unknown or hidden fields raise BadRequestException.
+     *
+     * @return the names in request order, without duplicates
+     */
+    List<String> validateFields(Collection<String> fields);
+
+    /**
+     * The same projection as findFields for every matching entity, read through a database cursor
+     * STREAM_FETCH_SIZE rows at a time. Close the stream, inside the transaction that opened it.
+     */
+    Stream<Map<String, Object>> streamFields(Specification<T> spec, Collection<String> fields, Sort sort);
+
+    /**
+     * Basic columns a partial update may write, with their Java types.
+     * Excludes the id, version, audit and soft-delete columns and fields hidden from JSON.
+     */
+    Map<String, Class<?>> writableFields();
+
+    /**
+     * Write only the given fields of one row with a single UPDATE ... WHERE id = ? AND version = ?,
+     * without loading the entity first. Bumps version and updated_at.
+     * Unknown fields, and null for non-nullable columns, raise BadRequestException.
+     *
+     * @return rows updated: 0 when the row is missing, soft-deleted or at another version
+     */
+    int updateFields(ID id, long version, Map<String, Object> values);
+}
@@ -0,0 +1,283 @@
+package com.abetappteam.abetapp.repository;
+
+import com.abetappteam.abetapp.entity.BaseEntity;
+import com.abetappteam.abetapp.exception.BadRequestException;
+import com.abetappteam.abetapp.exception.ResourceNotFoundException;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.persistence.Column;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.SingularAttribute;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Member;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+/**
+ * Default implementation behind {@link BaseRepository}.
+ * Registered as the repository base class in JpaRepositoryConfig, so every repository
+ * extending BaseRepository gets these operations without declaring them.
+ *
+ * @param <T> Entity type
+ * @param <ID> Primary key type
+ */
+public class BaseRepositoryImpl<T, ID> extends SimpleJpaRepository<T, ID> implements BaseRepository<T, ID> {
+
+    // Audit and soft-delete columns maintained by the base entity, never written by partial updates
+    private static final Set<String> UNWRITABLE_FIELDS = Set.of("createdAt", "updatedAt", "deleted", "deletedAt");
+
+    private final EntityManager entityManager;
+    private final Class<T> domainClass;
+
+    public BaseRepositoryImpl(JpaEntityInformation<T, ?> entityInformation, EntityManager entityManager) {
+        super(entityInformation, entityManager);
+        this.entityManager = entityManager;
+        this.domainClass = entityInformation.getJavaType();
+    }
+
+    @Override
+    public List<T> findByField(String fieldName, Object value) {
+        return fieldQuery(fieldName, value).getResultList();
+    }
+
+    @Override
+    public Optional<T> findFirstByField(String fieldName, Object value) {
+        return fieldQuery(fieldName, value).setMaxResults(1).getResultList().stream().findFirst();
+    }
+
+    @Override
+    public boolean existsByField(String fieldName, Object value) {
+        return findFirstByField(fieldName, value).isPresent();
+    }
+
+    @Override
+    @Transactional
+    public void softDelete(ID id) {
+        T entity = findById(id).orElseThrow(() -> new ResourceNotFoundException(
+                domainClass.getSimpleName() + " not found with id: " + id));
+        if (!(entity instanceof BaseEntity baseEntity)) {
+            throw new UnsupportedOperationException(domainClass.getSimpleName() + " does not support soft delete");
+        }
+        baseEntity.markAsDeleted();
+        save(entity);
+    }
+
+    @Override
+    public List<T> findAllActive() {
+        if (!BaseEntity.class.isAssignableFrom(domainClass)) {
+            return findAll();
+        }
+        return findAll((root, query, cb) -> cb.isFalse(root.get("deleted")));
+    }
+
+    @Override
+    public Page<Map<String, Object>> findFields(Specification<T> spec, Collection<String> fields, Pageable pageable) {
+        List<String> selected = validateFields(fields);
+        TypedQuery<Tuple> typedQuery = fieldsQuery(spec, selected, pageable.getSort());
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Tuple tuple : typedQuery.getResultList()) {
+            rows.add(toRow(tuple, selected));
+        }
+
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(rows);
+        }
+        return new PageImpl<>(rows, pageable, spec == null ? count() : count(spec));
+    }
+
+    @Override
+    public Stream<Map<String, Object>> streamFields(Specification<T> spec, Collection<String> fields, Sort sort) {
+        List<String> selected = validateFields(fields);
+        return fieldsQuery(spec, selected, sort)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, Integer.parseInt(STREAM_FETCH_SIZE))
+                .getResultStream()
+                .map(tuple -> toRow(tuple, selected));
+    }
+
+    @Override
+    public Map<String, Class<?>> writableFields() {
+        Map<String, Class<?>> fields = new LinkedHashMap<>();
+        for (SingularAttribute<? super T, ?> attribute : basicAttributes()) {
+            if (!attribute.isId() && !attribute.isVersion() && !UNWRITABLE_FIELDS.contains(attribute.getName())) {
+                fields.put(attribute.getName(), attribute.getJavaType());
+            }
+        }
+        return fields;
+    }
+
+    @Override
+    @Transactional
+    public int updateFields(ID id, long version, Map<String, Object> values) {
+        if (!BaseEntity.class.isAssignableFrom(domainClass)) {
+            throw new UnsupportedOperationException(domainClass.getSimpleName() + " does not support versioned updates");
+        }
+        if (values == null || values.isEmpty()) {
+            throw new BadRequestException("At least one field must be updated");
+        }
+        EntityType<T> entityType = entityManager.getMetamodel().entity(domainClass);
+        Map<String, Class<?>> writable = writableFields();
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<T> update = cb.createCriteriaUpdate(domainClass);
+        Root<T> root = update.from(domainClass);
+
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            String field = entry.getKey();
+            if (!writable.containsKey(field)) {
+                throw new BadRequestException("Field '" + field + "' cannot be updated on " + domainClass.getSimpleName());
+            }
+            if (entry.getValue() == null && !entityType.getSingularAttribute(field).isOptional()) {
+                throw new BadRequestException("Field '" + field + "' of " + domainClass.getSimpleName() + " cannot be null");
+            }
+            update.set(root.get(field), entry.getValue());
+        }
+        Path<Long> versionPath = root.get("version");
+        update.set(versionPath, cb.sum(versionPath, 1L));
+        update.set(root.<LocalDateTime>get("updatedAt"), LocalDateTime.now());
+        update.where(cb.equal(root.get("id"), id), cb.equal(versionPath, version), cb.isFalse(root.get("deleted")));
+
+        int updated = entityManager.createQuery(update).executeUpdate();
+        // Bulk updates bypass the persistence context; drop entities it may hold at the old version
+        entityManager.clear();
+        return updated;
+    }
+
+    /**
+     * Check requested field names against the entity metamodel.
+     * Only basic, serializable columns can be selected; associations, write-only fields
+     * such as password hashes and columns the database generates are rejected like unknown names.
+     * BadRequestException (not IllegalArgumentException) so the repository proxy's
+     * exception translation leaves it alone and BaseController answers 400.
+     */
+    @Override
+    public List<String> validateFields(Collection<String> fields) {
+        if (fields == null || fields.isEmpty()) {
+            throw new BadRequestException("At least one field must be requested");
+        }
+        Set<String> allowed = selectableFields();
+        Set<String> selected = new LinkedHashSet<>();
+        for (String field : fields) {
+            if (!allowed.contains(field)) {
+                throw new BadRequestException("Unknown field '" + field + "' for "
+                        + domainClass.getSimpleName() + ". Allowed fields: " + String.join(", ", allowed));
+            }
+            selected.add(field);
+        }
+        return new ArrayList<>(selected);
+    }
+
+    private Set<String> selectableFields() {
+        Set<String> names = new TreeSet<>();
+        for (SingularAttribute<? super T, ?> attribute : basicAttributes()) {
+            names.add(attribute.getName());
+        }
+        return names;
+    }
+
+    // Basic columns that are not hidden from JSON or computed by the database
+    private List<SingularAttribute<? super T, ?>> basicAttributes() {
+        EntityType<T> entityType = entityManager.getMetamodel().entity(domainClass);
+        List<SingularAttribute<? super T, ?>> attributes = new ArrayList<>();
+        for (SingularAttribute<? super T, ?> attribute : entityType.getSingularAttributes()) {
+            if (attribute.getPersistentAttributeType() == Attribute.PersistentAttributeType.BASIC
+                    && !isHiddenFromJson(attribute.getJavaMember())
+                    && !isGenerated(attribute.getJavaMember())) {
+                attributes.add(attribute);
+            }
+        }
+        return attributes;
+    }
+
+    private static boolean isHiddenFromJson(Member member) {
+        if (!(member instanceof AnnotatedElement element)) {
+            return false;
+        }
+        JsonProperty property = element.getAnnotation(JsonProperty.class);
+        return element.isAnnotationPresent(JsonIgnore.class)
+                || (property != null && property.access() == JsonProperty.Access.WRITE_ONLY);
+    }
+
+    // Read-only columns such as live and the *Normalized lookup keys, which only serve indexes
+    private static boolean isGenerated(Member member) {
+        if (!(member instanceof AnnotatedElement element)) {
+            return false;
+        }
+        Column column = element.getAnnotation(Column.class);
+        return column != null && !column.insertable() && !column.updatable();
+    }
+
+    private TypedQuery<Tuple> fieldsQuery(Specification<T> spec, List<String> selected, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(domainClass);
+        List<Selection<?>> selections = new ArrayList<>(selected.size());
+        for (String field : selected) {
+            selections.add(root.get(field).alias(field));
+        }
+        query.multiselect(selections);
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+        return entityManager.createQuery(query);
+    }
+
+    private static Map<String, Object> toRow(Tuple tuple, List<String> selected) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (String field : selected) {
+            row.put(field, tuple.get(field));
+        }
+        return row;
+    }
+
+    private TypedQuery<T> fieldQuery(String fieldName, Object value) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(domainClass);
+        Root<T> root = query.from(domainClass);
+        Path<Object> path = root.get(fieldName);
+        if (value instanceof String text) {
+            query.where(cb.equal(cb.lower(root.<String>get(fieldName)), text.toLowerCase()));
+        } else {
+            query.where(value == null ? cb.isNull(path) : cb.equal(path, value));
+        }
+        return entityManager.createQuery(query);
+    }
+}
@@ -0,0 +1,35 @@
+package com.abetappteam.abetapp.repository;
+
+import com.abetappteam.abetapp.dto.IndicatorMatrix;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * JDBC batch operations on course-to-indicator assignments, mixed into CourseIndicatorRepository.
+ * Rows are read and written without going through the persistence context.
+ */
+public interface CourseIndicatorBatchRepository {
+
+    /**
+     * One course_indicator row, active or not
+     */
+    record Link(Long id, Long courseId, Long indicatorId, boolean active) {
+    }
+
+    /**
+     * Every assignment of the semester's non-deleted courses
+     */
+    List<Link> findLinksBySemesterId(Long semesterId);
+
+    /**
+     * Inserts an active row per assignment in a single JDBC batch
+     */
+    int[] insertActive(List<IndicatorMatrix.Assignment> assignments, LocalDateTime createdAt);
+
+    /**
+     * Sets is_active on the given rows in a single JDBC batch
+     */
+    int[] updateActive(Collection<Long> ids, boolean active);
+}
@@ -0,0 +1,53 @@
+package com.abetappteam.abetapp.repository;
+
+import com.abetappteam.abetapp.dto.IndicatorMatrix;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Rows are deactivated rather than deleted, since measures reference them by id;
+ * a pair that comes back later reuses its old row.
+ */
+class CourseIndicatorBatchRepositoryImpl implements CourseIndicatorBatchRepository {
+
+    private static final String FIND_BY_SEMESTER = "SELECT ci.id, ci.course_id, ci.indicator_id, ci.is_active "
+            + "FROM course_indicator ci JOIN course c ON ci.course_id = c.id "
+            + "WHERE c.semester_id = ? AND c.deleted = FALSE";
+
+    private static final String INSERT_ACTIVE = "INSERT INTO course_indicator "
+            + "(course_id, indicator_id, is_active, created_at, updated_at) VALUES (?, ?, TRUE, ?, ?)";
+
+    private static final String UPDATE_ACTIVE =
+            "UPDATE course_indicator SET is_active = ?, updated_at = CURRENT_TIMESTAMP WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    CourseIndicatorBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<Link> findLinksBySemesterId(Long semesterId) {
+        return jdbcTemplate.query(FIND_BY_SEMESTER, (rs, rowNum) -> new Link(rs.getLong("id"),
+                rs.getLong("course_id"), rs.getLong("indicator_id"), rs.getBoolean("is_active")), semesterId);
+    }
+
+    @Override
+    public int[] insertActive(List<IndicatorMatrix.Assignment> assignments, LocalDateTime createdAt) {
+        Timestamp timestamp = Timestamp.valueOf(createdAt);
+        return jdbcTemplate.batchUpdate(INSERT_ACTIVE, assignments.stream()
+                .map(a -> new Object[] {a.courseId(), a.indicatorId(), timestamp, timestamp})
+                .toList());
+    }
+
+    @Override
+    public int[] updateActive(Collection<Long> ids, boolean active) {
+        return jdbcTemplate.batchUpdate(UPDATE_ACTIVE, ids.stream()
+                .map(id -> new Object[] {active, id})
+                .toList());
+    }
+}
@@ -14,7 +14,7 @@ import java.util.Optional;
  * Manages the many-to-many relationship between Course and PerformanceIndicator
  */
 @Repository
-public interface CourseIndicatorRepository extends JpaRepository<CourseIndicator, Long> {
+public interface CourseIndicatorRepository extends JpaRepository<CourseIndicator, Long>, CourseIndicatorBatchRepository {
 
     // Find by course
     List<CourseIndicator> findByCourseId(Long courseId);
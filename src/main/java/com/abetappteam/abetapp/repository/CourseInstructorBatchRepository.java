@@ -0,0 +1,33 @@
+package com.abetappteam.abetapp.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * JDBC batch operations on course instructor assignments, mixed into CourseInstructorRepository.
+ * Rows are read and written without going through the persistence context.
+ */
+public interface CourseInstructorBatchRepository {
+
+    /**
+     * One course_instructor row, active or not; id is null for a row not stored yet
+     */
+    record Assignment(Long id, Long courseId, Long programUserId, boolean active) {
+    }
+
+    /**
+     * Every assignment of the given courses
+     */
+    List<Assignment> findAssignmentsByCourseIds(Collection<Long> courseIds);
+
+    /**
+     * Inserts an active row per assignment in a single JDBC batch
+     */
+    int[] insertActive(List<Assignment> assignments, LocalDateTime createdAt);
+
+    /**
+     * Sets is_active on the given rows in a single JDBC batch
+     */
+    int[] reactivate(Collection<Long> ids);
+}
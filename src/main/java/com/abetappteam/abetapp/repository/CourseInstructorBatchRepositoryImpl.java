@@ -0,0 +1,53 @@
+package com.abetappteam.abetapp.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+class CourseInstructorBatchRepositoryImpl implements CourseInstructorBatchRepository {
+
+    private static final String FIND_BY_COURSES =
+            "SELECT id, course_id, program_user_id, is_active FROM course_instructor WHERE course_id IN (:courseIds)";
+
+    private static final String INSERT_ACTIVE =
+            "INSERT INTO course_instructor (course_id, program_user_id, is_active, created_at) VALUES (?, ?, TRUE, ?)";
+
+    private static final String REACTIVATE = "UPDATE course_instructor SET is_active = TRUE WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    CourseInstructorBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<Assignment> findAssignmentsByCourseIds(Collection<Long> courseIds) {
+        if (courseIds.isEmpty()) {
+            return List.of();
+        }
+        return new NamedParameterJdbcTemplate(jdbcTemplate).query(FIND_BY_COURSES,
+                new MapSqlParameterSource("courseIds", courseIds),
+                (rs, rowNum) -> new Assignment(rs.getLong("id"), rs.getLong("course_id"),
+                        rs.getLong("program_user_id"), rs.getBoolean("is_active")));
+    }
+
+    @Override
+    public int[] insertActive(List<Assignment> assignments, LocalDateTime createdAt) {
+        Timestamp timestamp = Timestamp.valueOf(createdAt);
+        return jdbcTemplate.batchUpdate(INSERT_ACTIVE, assignments.stream()
+                .map(a -> new Object[] {a.courseId(), a.programUserId(), timestamp})
+                .toList());
+    }
+
+    @Override
+    public int[] reactivate(Collection<Long> ids) {
+        return jdbcTemplate.batchUpdate(REACTIVATE, ids.stream()
+                .map(id -> new Object[] {id})
+                .toList());
+    }
+}
@@ -14,7 +14,7 @@ import java.util.Optional;
  * Manages the many-to-many relationship between Course and ProgramUser (instructors)
  */
 @Repository
-public interface CourseInstructorRepository extends JpaRepository<CourseInstructor, Long> {
+public interface CourseInstructorRepository extends JpaRepository<CourseInstructor, Long>, CourseInstructorBatchRepository {
 
     // Find by course
     List<CourseInstructor> findByCourseId(Long courseId);
@@ -1,22 +1,26 @@
 package com.abetappteam.abetapp.repository;
 
+import com.abetappteam.abetapp.dto.CourseSummary;
 import com.abetappteam.abetapp.entity.Course;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository for Course entity
  * Based on schema: course table with fields (id, course_code, course_name, course_description, semester_id, student_count, created_at, is_active)
  */
 @Repository
-public interface CourseRepository extends JpaRepository<Course, Long> {
+public interface CourseRepository extends BaseRepository<Course, Long> {
 
     // ========== Semester queries ==========
     Page<Course> findBySemesterId(Long semesterId, Pageable pageable);
@@ -25,6 +29,9 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
 
     long countBySemesterId(Long semesterId);
 
+    @Query("SELECT c.id FROM Course c WHERE c.semesterId = :semesterId")
+    List<Long> findIdsBySemesterId(@Param("semesterId") Long semesterId);
+
     // ========== Active status queries ==========
     Page<Course> findBySemesterIdAndIsActive(Long semesterId, Boolean isActive, Pageable pageable);
 
@@ -35,13 +42,31 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
     long countBySemesterIdAndIsActive(Long semesterId, Boolean isActive);
 
     // ========== Course code queries ==========
-    Optional<Course> findByCourseCodeIgnoreCase(String courseCode);
+    // Case-insensitive lookups go through course_code_normalized, like uk_course_semester_code
+    default Optional<Course> findByCourseCodeIgnoreCase(String courseCode) {
+        return findByCourseCodeNormalized(Course.normalizeCode(courseCode));
+    }
+
+    default boolean existsByCourseCodeIgnoreCase(String courseCode) {
+        return existsByCourseCodeNormalized(Course.normalizeCode(courseCode));
+    }
+
+    default Optional<Course> findByCourseCodeIgnoreCaseAndSemesterId(String courseCode, Long semesterId) {
+        return findByCourseCodeNormalizedAndSemesterId(Course.normalizeCode(courseCode), semesterId);
+    }
+
+    // Matches what the unique constraint treats as a duplicate, so ignores case too
+    default boolean existsByCourseCodeAndSemesterId(String courseCode, Long semesterId) {
+        return existsByCourseCodeNormalizedAndSemesterId(Course.normalizeCode(courseCode), semesterId);
+    }
+
+    Optional<Course> findByCourseCodeNormalized(String courseCodeNormalized);
 
-    boolean existsByCourseCodeIgnoreCase(String courseCode);
+    boolean existsByCourseCodeNormalized(String courseCodeNormalized);
 
-    Optional<Course> findByCourseCodeIgnoreCaseAndSemesterId(String courseCode, Long semesterId);
+    Optional<Course> findByCourseCodeNormalizedAndSemesterId(String courseCodeNormalized, Long semesterId);
 
-    boolean existsByCourseCodeAndSemesterId(String courseCode, Long semesterId);
+    boolean existsByCourseCodeNormalizedAndSemesterId(String courseCodeNormalized, Long semesterId);
 
     List<Course> findByCourseCode(String courseCode);
 
@@ -61,6 +86,21 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
     @Query("SELECT c FROM Course c WHERE c.semesterId = :semesterId AND c.isActive = :isActive AND (LOWER(c.courseName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR LOWER(c.courseCode) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
     Page<Course> searchByNameOrCourseCodeAndSemesterAndIsActive(@Param("searchTerm") String searchTerm, @Param("semesterId") Long semesterId, @Param("isActive") Boolean isActive, Pageable pageable);
 
+    // ========== Summary projections for list endpoints (no description/audit columns) ==========
+    Page<CourseSummary> findSummaryBySemesterId(Long semesterId, Pageable pageable);
+
+    Page<CourseSummary> findSummaryBySemesterIdAndIsActive(Long semesterId, Boolean isActive, Pageable pageable);
+
+    List<CourseSummary> findSummaryByIsActive(Boolean isActive);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    Stream<CourseSummary> streamSummaryByIsActive(Boolean isActive);
+
+    @Query(value = "SELECT new com.abetappteam.abetapp.dto.CourseSummary(c.id, c.courseCode, c.courseName, c.semesterId, c.studentCount, c.isActive) " +
+            "FROM Course c WHERE LOWER(c.courseName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR LOWER(c.courseCode) LIKE LOWER(CONCAT('%', :searchTerm, '%'))",
+            countQuery = "SELECT COUNT(c) FROM Course c WHERE LOWER(c.courseName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR LOWER(c.courseCode) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
+    Page<CourseSummary> searchSummaryByNameOrCourseCode(@Param("searchTerm") String searchTerm, Pageable pageable);
+
     // ========== Instructor relationship queries (via course_instructor table) ==========
     // Note: These queries use the course_instructor junction table
     @Query("SELECT c FROM Course c JOIN CourseInstructor ci ON c.id = ci.courseId WHERE ci.programUserId = :programUserId AND c.isActive = true")
@@ -78,33 +118,33 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
 
     // ========== Methods for measure completeness calculations ==========
     // Based on schema: course -> course_indicator -> measure
-    // Relationship: measure.courseIndicator_id -> course_indicator.id, course_indicator.course_id -> course.id
+    // Relationship: measure.course_indicator_id -> course_indicator.id, course_indicator.course_id -> course.id
     @Query(value = "SELECT COUNT(m.id) FROM measure m " +
-            "JOIN course_indicator ci ON m.courseIndicator_id = ci.id " +
-            "WHERE ci.course_id = :courseId AND m.is_active = true", nativeQuery = true)
+            "JOIN course_indicator ci ON m.course_indicator_id = ci.id " +
+            "WHERE ci.course_id = :courseId AND m.is_active = true AND m.deleted = false", nativeQuery = true)
     int countTotalMeasuresByCourseId(@Param("courseId") Long courseId);
 
     @Query(value = "SELECT COUNT(m.id) FROM measure m " +
-            "JOIN course_indicator ci ON m.courseIndicator_id = ci.id " +
-            "WHERE ci.course_id = :courseId AND m.is_active = true " +
+            "JOIN course_indicator ci ON m.course_indicator_id = ci.id " +
+            "WHERE ci.course_id = :courseId AND m.is_active = true AND m.deleted = false " +
             "AND (m.met IS NOT NULL OR m.exceeded IS NOT NULL OR m.below IS NOT NULL)", nativeQuery = true)
     int countCompletedMeasuresByCourseId(@Param("courseId") Long courseId);
 
     @Query(value = "SELECT COUNT(m.id) FROM measure m " +
-            "JOIN course_indicator ci ON m.courseIndicator_id = ci.id " +
-            "WHERE ci.course_id = :courseId AND m.is_active = true " +
+            "JOIN course_indicator ci ON m.course_indicator_id = ci.id " +
+            "WHERE ci.course_id = :courseId AND m.is_active = true AND m.deleted = false " +
             "AND m.met IS NULL AND m.exceeded IS NULL AND m.below IS NULL", nativeQuery = true)
     int countInProgressMeasuresByCourseId(@Param("courseId") Long courseId);
 
     @Query(value = "SELECT COUNT(m.id) FROM measure m " +
-            "JOIN course_indicator ci ON m.courseIndicator_id = ci.id " +
-            "WHERE ci.course_id = :courseId AND m.is_active = true " +
+            "JOIN course_indicator ci ON m.course_indicator_id = ci.id " +
+            "WHERE ci.course_id = :courseId AND m.is_active = true AND m.deleted = false " +
             "AND m.fcar IS NOT NULL", nativeQuery = true)
     int countSubmittedMeasuresByCourseId(@Param("courseId") Long courseId);
 
     @Query(value = "SELECT COUNT(m.id) FROM measure m " +
-            "JOIN course_indicator ci ON m.courseIndicator_id = ci.id " +
-            "WHERE ci.course_id = :courseId AND m.is_active = true " +
+            "JOIN course_indicator ci ON m.course_indicator_id = ci.id " +
+            "WHERE ci.course_id = :courseId AND m.is_active = true AND m.deleted = false " +
             "AND m.fcar IS NOT NULL AND m.recommended_action IS NOT NULL", nativeQuery = true)
     int countMeasuresInReviewByCourseId(@Param("courseId") Long courseId);
 }
\ No newline at end of file
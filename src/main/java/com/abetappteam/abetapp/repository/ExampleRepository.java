@@ -1,7 +1,6 @@
 package com.abetappteam.abetapp.repository;
 
 import com.abetappteam.abetapp.entity.Example;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -13,7 +12,7 @@ import java.util.Optional;
  * Repository interface for Example entity
  */
 @Repository
-public interface ExampleRepository extends JpaRepository<Example, Long> {
+public interface ExampleRepository extends BaseRepository<Example, Long> {
 
     /**
      * Find example by name (case-insensitive)
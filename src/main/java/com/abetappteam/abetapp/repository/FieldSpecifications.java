@@ -0,0 +1,35 @@
+package com.abetappteam.abetapp.repository;
+
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Small Specification factories for filters used together with
+ * {@link BaseRepository#findFields}, mirroring the derived list queries.
+ */
+public final class FieldSpecifications {
+
+    private FieldSpecifications() {
+    }
+
+    /**
+     * field = value
+     */
+    public static <T> Specification<T> fieldEquals(String field, Object value) {
+        return (root, query, cb) -> cb.equal(root.get(field), value);
+    }
+
+    /**
+     * Case-insensitive "contains" match of the term on any of the given string fields
+     */
+    public static <T> Specification<T> containsIgnoreCase(String term, String... fields) {
+        return (root, query, cb) -> {
+            String pattern = "%" + term.toLowerCase() + "%";
+            Predicate[] predicates = new Predicate[fields.length];
+            for (int i = 0; i < fields.length; i++) {
+                predicates[i] = cb.like(cb.lower(root.<String>get(fields[i])), pattern);
+            }
+            return cb.or(predicates);
+        };
+    }
+}
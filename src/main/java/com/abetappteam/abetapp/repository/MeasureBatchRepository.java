@@ -0,0 +1,38 @@
+package com.abetappteam.abetapp.repository;
+
+import com.abetappteam.abetapp.dto.MeasurePatch;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC batch operations on measures, mixed into MeasureRepository.
+ */
+public interface MeasureBatchRepository {
+
+    /**
+     * Applies every patch as UPDATE ... WHERE id = ? AND version = ? in a single JDBC batch,
+     * bumping version and setting updated_at on the rows that match.
+     *
+     * @return update counts in patch order: 1 if written, 0 if missing or stale,
+     * or Statement.SUCCESS_NO_INFO if the driver does not report per-row counts
+     */
+    int[] updateVersioned(List<MeasurePatch> patches, LocalDateTime updatedAt);
+
+    /**
+     * Current version of each non-deleted measure among ids
+     */
+    Map<Long, Long> findVersions(Collection<Long> ids);
+
+    /**
+     * Status and owning course, semester and program of each measure among ids, soft-deleted
+     * ones included so their removal can be reported
+     */
+    List<MeasureScope> findScopes(Collection<Long> ids);
+
+    record MeasureScope(Long id, String status, boolean active, boolean deleted,
+                        Long courseId, Long semesterId, Long programId) {
+    }
+}
@@ -0,0 +1,83 @@
+package com.abetappteam.abetapp.repository;
+
+import com.abetappteam.abetapp.dto.MeasurePatch;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Every patch runs the same statement so the driver can send them as one batch;
+ * COALESCE keeps the stored value for fields the patch leaves null.
+ */
+class MeasureBatchRepositoryImpl implements MeasureBatchRepository {
+
+    private static final String UPDATE_VERSIONED = "UPDATE measure SET "
+            + "measure_description = COALESCE(?, measure_description), "
+            + "observation = COALESCE(?, observation), "
+            + "recommended_action = COALESCE(?, recommended_action), "
+            + "fcar = COALESCE(?, fcar), "
+            + "met = COALESCE(?, met), "
+            + "exceeded = COALESCE(?, exceeded), "
+            + "below = COALESCE(?, below), "
+            + "m_status = COALESCE(?, m_status), "
+            + "is_active = COALESCE(?, is_active), "
+            + "version = version + 1, updated_at = ? "
+            + "WHERE id = ? AND version = ? AND deleted = FALSE";
+
+    private static final String SELECT_SCOPES = "SELECT m.id, m.m_status, m.is_active, m.deleted, "
+            + "ci.course_id, c.semester_id, s.program_id FROM measure m "
+            + "JOIN course_indicator ci ON ci.id = m.course_indicator_id "
+            + "JOIN course c ON c.id = ci.course_id "
+            + "JOIN semester s ON s.id = c.semester_id "
+            + "WHERE m.id IN (:ids)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    MeasureBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int[] updateVersioned(List<MeasurePatch> patches, LocalDateTime updatedAt) {
+        Timestamp timestamp = Timestamp.valueOf(updatedAt);
+        return jdbcTemplate.batchUpdate(UPDATE_VERSIONED, patches.stream()
+                .map(p -> new Object[] {p.description(), p.observation(), p.recommendedAction(), p.fcar(),
+                        p.studentsMet(), p.studentsExceeded(), p.studentsBelow(), p.status(), p.active(),
+                        timestamp, p.id(), p.version()})
+                .toList());
+    }
+
+    @Override
+    public Map<Long, Long> findVersions(Collection<Long> ids) {
+        Map<Long, Long> versions = new HashMap<>();
+        if (ids.isEmpty()) {
+            return versions;
+        }
+        new NamedParameterJdbcTemplate(jdbcTemplate).query(
+                "SELECT id, version FROM measure WHERE id IN (:ids) AND deleted = FALSE",
+                new MapSqlParameterSource("ids", ids),
+                rs -> {
+                    versions.put(rs.getLong("id"), rs.getLong("version"));
+                });
+        return versions;
+    }
+
+    @Override
+    public List<MeasureScope> findScopes(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return new NamedParameterJdbcTemplate(jdbcTemplate).query(SELECT_SCOPES,
+                new MapSqlParameterSource("ids", ids),
+                (rs, rowNum) -> new MeasureScope(rs.getLong("id"), rs.getString("m_status"),
+                        rs.getBoolean("is_active"), rs.getBoolean("deleted"), rs.getLong("course_id"),
+                        rs.getLong("semester_id"), rs.getObject("program_id", Long.class)));
+    }
+}
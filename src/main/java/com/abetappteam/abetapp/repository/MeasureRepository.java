@@ -1,14 +1,21 @@
 package com.abetappteam.abetapp.repository;
 
+import com.abetappteam.abetapp.dto.MeasureSummary;
 import com.abetappteam.abetapp.entity.Measure;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.repository.query.Param;
-import org.springframework.data.jpa.repository.JpaRepository;
 import java.util.List;
+import java.util.stream.Stream;
 
 
-public interface MeasureRepository extends JpaRepository<Measure, Long>{
+public interface MeasureRepository extends BaseRepository<Measure, Long>, MeasureBatchRepository {
     //Find all active Measures
     List<Measure> findByActiveTrue();
 
@@ -53,4 +60,52 @@ public interface MeasureRepository extends JpaRepository<Measure, Long>{
 """)
     List<Measure> findInactiveMeasuresByIndicator(@Param("indicatorId") Long indicatorId);
 
+    // ========== Summary projections for list endpoints (no 3000-char text columns) ==========
+    @Query(value = "SELECT new com.abetappteam.abetapp.dto.MeasureSummary(m.id, m.courseIndicatorId, m.status, m.studentsMet, m.studentsExceeded, m.studentsBelow, m.active) FROM Measure m",
+            countQuery = "SELECT COUNT(m) FROM Measure m")
+    Page<MeasureSummary> findAllSummaries(Pageable pageable);
+
+    // Active measures on the active course indicators of a course, in one query
+    @Query("""
+    SELECT new com.abetappteam.abetapp.dto.MeasureSummary(m.id, m.courseIndicatorId, m.status, m.studentsMet, m.studentsExceeded, m.studentsBelow, m.active)
+    FROM Measure m
+    JOIN CourseIndicator ci ON m.courseIndicatorId = ci.id
+    WHERE ci.courseId = :courseId AND ci.isActive = true AND m.active = true
+    ORDER BY ci.id, m.id
+""")
+    List<MeasureSummary> findActiveSummariesByCourse(@Param("courseId") Long courseId);
+
+    // Measures with the given active flag on the active course indicators of an indicator
+    @Query("""
+    SELECT new com.abetappteam.abetapp.dto.MeasureSummary(m.id, m.courseIndicatorId, m.status, m.studentsMet, m.studentsExceeded, m.studentsBelow, m.active)
+    FROM Measure m
+    JOIN CourseIndicator ci ON m.courseIndicatorId = ci.id
+    WHERE ci.indicatorId = :indicatorId AND ci.isActive = true AND m.active = :active
+    ORDER BY ci.id, m.id
+""")
+    List<MeasureSummary> findSummariesByIndicatorAndActive(@Param("indicatorId") Long indicatorId, @Param("active") Boolean active);
+
+    // Streaming variant of findSummariesByIndicatorAndActive for large indicators
+    @Query("""
+    SELECT new com.abetappteam.abetapp.dto.MeasureSummary(m.id, m.courseIndicatorId, m.status, m.studentsMet, m.studentsExceeded, m.studentsBelow, m.active)
+    FROM Measure m
+    JOIN CourseIndicator ci ON m.courseIndicatorId = ci.id
+    WHERE ci.indicatorId = :indicatorId AND ci.isActive = true AND m.active = :active
+    ORDER BY ci.id, m.id
+""")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    Stream<MeasureSummary> streamSummariesByIndicatorAndActive(@Param("indicatorId") Long indicatorId, @Param("active") Boolean active);
+
+    // Active measures with a status across the active courses of a semester
+    @Query("""
+    SELECT new com.abetappteam.abetapp.dto.MeasureSummary(m.id, m.courseIndicatorId, m.status, m.studentsMet, m.studentsExceeded, m.studentsBelow, m.active)
+    FROM Measure m
+    JOIN CourseIndicator ci ON m.courseIndicatorId = ci.id
+    JOIN Course c ON ci.courseId = c.id
+    WHERE c.semesterId = :semesterId AND c.isActive = true AND ci.isActive = true
+    AND m.active = true AND m.status = :status
+    ORDER BY c.id, ci.id, m.id
+""")
+    List<MeasureSummary> findActiveSummariesBySemesterAndStatus(@Param("semesterId") Long semesterId, @Param("status") String status);
+
 }
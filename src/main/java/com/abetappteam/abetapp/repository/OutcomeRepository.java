@@ -1,6 +1,5 @@
 package com.abetappteam.abetapp.repository;
 
-import org.springframework.data.jpa.repository.JpaRepository;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.Query;
@@ -8,7 +7,7 @@ import org.springframework.data.repository.query.Param;
 
 import com.abetappteam.abetapp.entity.Outcome;
 
-public interface OutcomeRepository extends JpaRepository<Outcome, Long>{
+public interface OutcomeRepository extends BaseRepository<Outcome, Long> {
     //Find all active outcomes
     List<Outcome> findByActiveTrue();
 
@@ -3,7 +3,6 @@ package com.abetappteam.abetapp.repository;
 import com.abetappteam.abetapp.entity.PerformanceIndicator;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -16,7 +15,7 @@ import java.util.Optional;
  * Based on schema: performance_indicator table
  */
 @Repository
-public interface PerformanceIndicatorRepository extends JpaRepository<PerformanceIndicator, Long> {
+public interface PerformanceIndicatorRepository extends BaseRepository<PerformanceIndicator, Long> {
 
     // Student Outcome queries
     Page<PerformanceIndicator> findByStudentOutcomeId(Long studentOutcomeId, Pageable pageable);
@@ -25,6 +24,9 @@ public interface PerformanceIndicatorRepository extends JpaRepository<Performanc
 
     long countByStudentOutcomeId(Long studentOutcomeId);
 
+    @Query("SELECT pi.id FROM PerformanceIndicator pi JOIN Outcome o ON pi.studentOutcomeId = o.id WHERE o.semesterId = :semesterId")
+    List<Long> findIdsBySemesterId(@Param("semesterId") Long semesterId);
+
     // Active status queries
     Page<PerformanceIndicator> findByStudentOutcomeIdAndIsActive(Long studentOutcomeId, Boolean isActive,
                                                                  Pageable pageable);
@@ -85,13 +87,13 @@ public interface PerformanceIndicatorRepository extends JpaRepository<Performanc
     int countCoursesUsingIndicator(@Param("indicatorId") Long indicatorId);
 
     @Query(value = "SELECT COUNT(m.id) FROM measure m " +
-            "JOIN course_indicator ci ON m.courseIndicator_id = ci.id " +
-            "WHERE ci.indicator_id = :indicatorId AND m.is_active = true", nativeQuery = true)
+            "JOIN course_indicator ci ON m.course_indicator_id = ci.id " +
+            "WHERE ci.indicator_id = :indicatorId AND m.is_active = true AND m.deleted = false", nativeQuery = true)
     int countTotalMeasuresByIndicatorId(@Param("indicatorId") Long indicatorId);
 
     @Query(value = "SELECT COUNT(m.id) FROM measure m " +
-            "JOIN course_indicator ci ON m.courseIndicator_id = ci.id " +
-            "WHERE ci.indicator_id = :indicatorId AND m.is_active = true " +
+            "JOIN course_indicator ci ON m.course_indicator_id = ci.id " +
+            "WHERE ci.indicator_id = :indicatorId AND m.is_active = true AND m.deleted = false " +
             "AND (m.met IS NOT NULL OR m.exceeded IS NOT NULL OR m.below IS NOT NULL)", nativeQuery = true)
     int countCompletedMeasuresByIndicatorId(@Param("indicatorId") Long indicatorId);
 
@@ -1,7 +1,9 @@
 package com.abetappteam.abetapp.repository;
 
+import com.abetappteam.abetapp.dto.ProgramSummary;
 import com.abetappteam.abetapp.entity.Program;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -9,7 +11,7 @@ import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
-public interface ProgramRepository extends JpaRepository<Program, Long> {
+public interface ProgramRepository extends BaseRepository<Program, Long> {
 
     //Find all active programs
     List<Program> findByActiveTrue();
@@ -23,4 +25,7 @@ public interface ProgramRepository extends JpaRepository<Program, Long> {
     //Find active programs with name containing search term
     @Query("SELECT p FROM Program p WHERE p.active = true AND LOWER(p.name) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
     List<Program> findActiveProgramsByNameContaining(@Param("searchTerm") String searchTerm);
-}
+
+    //Page of programs without audit columns, for list views
+    Page<ProgramSummary> findSummaryBy(Pageable pageable);
+}
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.abetappteam.abetapp.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * JDBC batch operations on program memberships, mixed into ProgramUserRepository.
+ * Rows are read and written without going through the persistence context.
+ */
+public interface ProgramUserBatchRepository {
+
+    /**
+     * One program_user row, active or not; id is null for a row not stored yet
+     */
+    record Membership(Long id, Long programId, Long userId, boolean admin, boolean active) {
+    }
+
+    /**
+     * Every membership of the given users
+     */
+    List<Membership> findMembershipsByUserIds(Collection<Long> userIds);
+
+    /**
+     * Inserts an active row per membership in a single JDBC batch
+     */
+    int[] insertActive(List<Membership> memberships, LocalDateTime createdAt);
+
+    /**
+     * Sets is_admin from each membership and reactivates its row, in a single JDBC batch
+     */
+    int[] updateRoles(List<Membership> memberships);
+}
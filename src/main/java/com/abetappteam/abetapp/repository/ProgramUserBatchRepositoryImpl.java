@@ -0,0 +1,53 @@
+package com.abetappteam.abetapp.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+class ProgramUserBatchRepositoryImpl implements ProgramUserBatchRepository {
+
+    private static final String FIND_BY_USERS =
+            "SELECT id, program_id, user_id, is_admin, is_active FROM program_user WHERE user_id IN (:userIds)";
+
+    private static final String INSERT_ACTIVE =
+            "INSERT INTO program_user (program_id, user_id, is_admin, is_active, created_at) VALUES (?, ?, ?, TRUE, ?)";
+
+    private static final String UPDATE_ROLE = "UPDATE program_user SET is_admin = ?, is_active = TRUE WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    ProgramUserBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<Membership> findMembershipsByUserIds(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+        return new NamedParameterJdbcTemplate(jdbcTemplate).query(FIND_BY_USERS,
+                new MapSqlParameterSource("userIds", userIds),
+                (rs, rowNum) -> new Membership(rs.getLong("id"), rs.getLong("program_id"), rs.getLong("user_id"),
+                        rs.getBoolean("is_admin"), rs.getBoolean("is_active")));
+    }
+
+    @Override
+    public int[] insertActive(List<Membership> memberships, LocalDateTime createdAt) {
+        Timestamp timestamp = Timestamp.valueOf(createdAt);
+        return jdbcTemplate.batchUpdate(INSERT_ACTIVE, memberships.stream()
+                .map(m -> new Object[] {m.programId(), m.userId(), m.admin(), timestamp})
+                .toList());
+    }
+
+    @Override
+    public int[] updateRoles(List<Membership> memberships) {
+        return jdbcTemplate.batchUpdate(UPDATE_ROLE, memberships.stream()
+                .map(m -> new Object[] {m.admin(), m.id()})
+                .toList());
+    }
+}
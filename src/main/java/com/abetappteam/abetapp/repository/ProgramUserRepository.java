@@ -3,14 +3,18 @@ package com.abetappteam.abetapp.repository;
 import com.abetappteam.abetapp.entity.ProgramUser;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface ProgramUserRepository extends JpaRepository<ProgramUser, Long>{
+public interface ProgramUserRepository extends JpaRepository<ProgramUser, Long>, ProgramUserBatchRepository {
     //Find by Program
         //Return all users in a program
     List<ProgramUser> findByProgramId(Long programId);
@@ -24,6 +28,13 @@ public interface ProgramUserRepository extends JpaRepository<ProgramUser, Long>{
         //Return all admins or instructors in a program that are either active or inactive
     List<ProgramUser> findByProgramIdAndIsAdminAndIsActive(Long programid, Boolean isAdmin, Boolean isActive);
 
+        //Streaming variants of the two queries above for large programs
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = BaseRepository.STREAM_FETCH_SIZE))
+    Stream<ProgramUser> streamByProgramIdAndIsActive(Long programId, Boolean isActive);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = BaseRepository.STREAM_FETCH_SIZE))
+    Stream<ProgramUser> streamByProgramIdAndIsAdminAndIsActive(Long programId, Boolean isAdmin, Boolean isActive);
+
     //Find by User
         //Return all programs a user is in
     List<ProgramUser> findByUserId(Long userId);
@@ -0,0 +1,22 @@
+package com.abetappteam.abetapp.repository;
+
+import com.abetappteam.abetapp.entity.Semester.SemesterStatus;
+import com.abetappteam.abetapp.entity.SemesterArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for SemesterArchive, keyed by semester id
+ */
+@Repository
+public interface SemesterArchiveRepository extends JpaRepository<SemesterArchive, Long> {
+
+    // Semesters with the given status whose graph is still in the live tables
+    @Query("SELECT s.id FROM Semester s WHERE s.status = :status " +
+            "AND NOT EXISTS (SELECT 1 FROM SemesterArchive a WHERE a.semesterId = s.id) ORDER BY s.id")
+    List<Long> findSemesterIdsNotArchived(@Param("status") SemesterStatus status);
+}
@@ -5,7 +5,6 @@ import com.abetappteam.abetapp.entity.Semester.SemesterStatus;
 import com.abetappteam.abetapp.entity.Semester.SemesterType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -19,7 +18,7 @@ import java.util.Optional;
  * Repository for Semester entity
  */
 @Repository
-public interface SemesterRepository extends JpaRepository<Semester, Long> {
+public interface SemesterRepository extends BaseRepository<Semester, Long> {
 
     // Basic find methods
     Page<Semester> findByProgramId(Long programId, Pageable pageable);
@@ -51,12 +50,26 @@ public interface SemesterRepository extends JpaRepository<Semester, Long> {
 
     List<Semester> findByProgramIdAndStatus(Long programId, SemesterStatus status);
 
-    // Unique semester identification
-    Optional<Semester> findByCodeIgnoreCase(String code);
+    // Unique semester identification, through the uk_semester_code index on code_normalized
+    default Optional<Semester> findByCodeIgnoreCase(String code) {
+        return findByCodeNormalized(Semester.normalizeCode(code));
+    }
 
-    Optional<Semester> findByCodeIgnoreCaseAndProgramId(String code, Long programId);
+    default Optional<Semester> findByCodeIgnoreCaseAndProgramId(String code, Long programId) {
+        return findByCodeNormalizedAndProgramId(Semester.normalizeCode(code), programId);
+    }
 
-    boolean existsByCodeIgnoreCase(String code);
+    default boolean existsByCodeIgnoreCase(String code) {
+        return existsByCodeNormalized(Semester.normalizeCode(code));
+    }
+
+    Optional<Semester> findByCodeNormalized(String codeNormalized);
+
+    Optional<Semester> findByCodeNormalizedAndProgramId(String codeNormalized, Long programId);
+
+    boolean existsByCodeNormalized(String codeNormalized);
+
+    boolean existsByIdAndStatus(Long id, SemesterStatus status);
 
     // Current semester queries
     List<Semester> findByIsCurrentTrue();
@@ -64,6 +77,9 @@ public interface SemesterRepository extends JpaRepository<Semester, Long> {
     @Query("SELECT s FROM Semester s WHERE s.programId = :programId AND s.isCurrent = true")
     Optional<Semester> findCurrentSemesterByProgram(@Param("programId") Long programId);
 
+    @Query("SELECT s.id FROM Semester s WHERE s.programId = :programId AND s.isCurrent = true")
+    List<Long> findCurrentSemesterIdsByProgram(@Param("programId") Long programId);
+
     // Search methods
     @Query("SELECT s FROM Semester s WHERE " +
             "LOWER(s.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
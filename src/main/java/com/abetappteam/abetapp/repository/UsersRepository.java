@@ -1,16 +1,19 @@
 package com.abetappteam.abetapp.repository;
 
+import com.abetappteam.abetapp.dto.UserSummary;
 import com.abetappteam.abetapp.entity.Users;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UsersRepository extends JpaRepository<Users, Long>{
+public interface UsersRepository extends BaseRepository<Users, Long> {
 
     //List all active Users
     List<Users> findByActiveTrue();
@@ -19,10 +22,21 @@ public interface UsersRepository extends JpaRepository<Users, Long>{
     List<Users> findByActiveFalse();
 
     //Checks if user exists by email address (case insensitive)
-    boolean existsByEmailIgnoreCase(String email);
+    default boolean existsByEmailIgnoreCase(String email) {
+        return existsByEmailNormalized(Users.normalizeEmail(email));
+    }
 
-    //Find user by email (case insensitive)
-    Optional<Users> findByEmailIgnoreCase(String email);
+    //Find user by email (case insensitive); an index seek on email_normalized, used on every login
+    default Optional<Users> findByEmailIgnoreCase(String email) {
+        return findByEmailNormalized(Users.normalizeEmail(email));
+    }
+
+    boolean existsByEmailNormalized(String emailNormalized);
+
+    Optional<Users> findByEmailNormalized(String emailNormalized);
+
+    //Resolve many normalized emails in one IN query, for bulk imports
+    List<Users> findByEmailNormalizedIn(Collection<String> emailsNormalized);
     
     //Checks if users exists by first name (case insensitive)
     boolean existsByFirstNameIgnoreCase(String firstNameFragment);
@@ -35,4 +49,7 @@ public interface UsersRepository extends JpaRepository<Users, Long>{
 
     //List users by last name containing (case insensitive search)
     List<Users> findByLastNameContainingIgnoreCase(String lastNameFragment);
-}
+
+    //Page of users without password hash or audit columns, for list views
+    Page<UserSummary> findSummaryBy(Pageable pageable);
+}
\ No newline at end of file
@@ -2,6 +2,8 @@ package com.abetappteam.abetapp.security;
 
 import com.abetappteam.abetapp.service.UsersService;
 import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -20,12 +22,21 @@ import java.util.List;
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    // User, program and role claims of an authenticated request, for filters that key responses by them
+    public static final String USER_ID_ATTRIBUTE = JwtAuthenticationFilter.class.getName() + ".userId";
+    public static final String PROGRAM_ID_ATTRIBUTE = JwtAuthenticationFilter.class.getName() + ".programId";
+    public static final String ROLE_ATTRIBUTE = JwtAuthenticationFilter.class.getName() + ".role";
+
     @Autowired
     private JwtUtil jwtUtil;
 
     @Autowired
     private UsersService usersService;
 
+    // Absent in web slice tests
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
@@ -39,6 +50,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
+        Timer.Sample sample = meterRegistry == null ? null : Timer.start(meterRegistry);
+        String outcome = "rejected";
         try {
             final String jwt = authHeader.substring(7);
             final String email = jwtUtil.extractEmail(jwt);
@@ -67,11 +80,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
                     // Set authentication in context
                     SecurityContextHolder.getContext().setAuthentication(authToken);
+                    request.setAttribute(USER_ID_ATTRIBUTE, userId);
+                    request.setAttribute(PROGRAM_ID_ATTRIBUTE, jwtUtil.extractProgramId(jwt));
+                    request.setAttribute(ROLE_ATTRIBUTE, role);
+                    outcome = "authenticated";
                 }
+            } else if (email != null) {
+                outcome = "already-authenticated";
             }
 
         } catch (JwtException e) {
+            outcome = "invalid";
             logger.error("JWT validation error: " + e.getMessage());
+        } finally {
+            // Token parsing and user lookup only; the rest of the chain is not included
+            if (sample != null) {
+                sample.stop(meterRegistry.timer("abet.security.jwt", "outcome", outcome));
+            }
         }
 
         filterChain.doFilter(request, response);
@@ -1,16 +1,41 @@
 package com.abetappteam.abetapp.service;
 
+import com.abetappteam.abetapp.datasource.QueryBudget;
 import com.abetappteam.abetapp.entity.BaseEntity;
+import com.abetappteam.abetapp.event.DomainEventPublisher;
+import com.abetappteam.abetapp.event.EntityChangedEvent;
+import com.abetappteam.abetapp.exception.BadRequestException;
+import com.abetappteam.abetapp.exception.ConflictException;
+import com.abetappteam.abetapp.exception.ConstraintViolationTranslator;
 import com.abetappteam.abetapp.exception.ResourceNotFoundException;
+import com.abetappteam.abetapp.exception.ValidationException;
+import com.abetappteam.abetapp.repository.BaseRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.ResolvableType;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.repository.CrudRepository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Base service class providing common CRUD operations.
@@ -20,11 +45,34 @@ import java.util.Optional;
  * @param <ID> Primary key type
  * @param <R> Repository type
  */
-public abstract class BaseService<T extends BaseEntity, ID, R extends JpaRepository<T, ID>> {
+public abstract class BaseService<T extends BaseEntity, ID, R extends BaseRepository<T, ID>> {
+
+    // Rows between persistence context clears while streaming entities
+    protected static final int STREAM_CLEAR_INTERVAL = 500;
 
     protected final Logger logger = LoggerFactory.getLogger(getClass());
     protected final R repository;
 
+    // Merge patch member carrying the version the client read
+    protected static final String VERSION_FIELD = "version";
+
+    private static final ObjectMapper DEFAULT_MAPPER = new ObjectMapper().findAndRegisterModules();
+
+    // Shared transactional EntityManager; absent in web slice tests, where services are mocks
+    @Autowired(required = false)
+    private EntityManager entityManager;
+
+    // Application ObjectMapper and Validator for merge patches; absent in plain unit tests
+    @Autowired(required = false)
+    private ObjectMapper objectMapper;
+
+    @Autowired(required = false)
+    private Validator validator;
+
+    // Domain events for changes that bypass entity callbacks; absent in slice and plain unit tests
+    @Autowired(required = false)
+    private DomainEventPublisher events;
+
     protected BaseService(R repository) {
         this.repository = repository;
     }
@@ -52,6 +100,14 @@ public abstract class BaseService<T extends BaseEntity, ID, R extends JpaReposit
         return repository.findById(id);
     }
 
+    /**
+     * Find entities by IDs in one query; missing IDs are skipped
+     */
+    @Transactional(readOnly = true)
+    public List<T> findAllById(Collection<ID> ids) {
+        return repository.findAllById(ids);
+    }
+
     /**
      * Get all entities
      */
@@ -68,6 +124,155 @@ public abstract class BaseService<T extends BaseEntity, ID, R extends JpaReposit
         return repository.findAll(pageable);
     }
 
+    /**
+     * Get a page of only the requested fields (sparse fieldsets), optionally filtered
+     */
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> findFields(Specification<T> spec, Collection<String> fields, Pageable pageable) {
+        logger.debug("Fetching {} fields {}", getEntityName(), fields);
+        return repository.findFields(spec, fields, pageable);
+    }
+
+    /**
+     * Check requested field names, e.g. before a streamed response starts
+     */
+    public List<String> validateFields(Collection<String> fields) {
+        return repository.validateFields(fields);
+    }
+
+    /**
+     * Push only the requested fields of every matching entity to the action, read through a
+     * cursor; exempt from the row cap as nothing but the current row is held
+     */
+    @Transactional(readOnly = true)
+    @QueryBudget(timeoutSeconds = 300, maxRows = QueryBudget.UNLIMITED)
+    public void streamFields(Specification<T> spec, Collection<String> fields, Sort sort,
+                             Consumer<Map<String, Object>> action) {
+        logger.debug("Streaming {} fields {}", getEntityName(), fields);
+        forEachClearing(repository.streamFields(spec, fields, sort), action);
+    }
+
+    /**
+     * Push every row of a repository stream to the action, then close the stream.
+     * Clears the persistence context every STREAM_CLEAR_INTERVAL rows so streamed
+     * entities are not all kept managed. Call from inside a read-only transaction.
+     */
+    protected <E> void forEachClearing(Stream<E> stream, Consumer<? super E> action) {
+        try (stream) {
+            int count = 0;
+            for (var iterator = stream.iterator(); iterator.hasNext(); ) {
+                action.accept(iterator.next());
+                if (++count % STREAM_CLEAR_INTERVAL == 0 && entityManager != null) {
+                    entityManager.clear();
+                }
+            }
+            logger.debug("Streamed {} {} rows", count, getEntityName());
+        }
+    }
+
+    /**
+     * Apply a JSON Merge Patch (RFC 7396) as one UPDATE of only the members present, guarded by
+     * the "version" member the client read. A member set to null clears that column.
+     * Only patchableFields() can be written; subclasses check business rules in beforePatch.
+     *
+     * @return the id, the new version and the written values
+     */
+    @Transactional
+    public Map<String, Object> patch(ID id, JsonNode mergePatch) {
+        if (mergePatch == null || !mergePatch.isObject()) {
+            throw new BadRequestException("Merge patch must be a JSON object");
+        }
+        JsonNode versionNode = mergePatch.get(VERSION_FIELD);
+        if (versionNode == null || !versionNode.canConvertToLong()) {
+            throw new BadRequestException("Merge patch must include the " + getEntityName() + " version being updated");
+        }
+        long version = versionNode.asLong();
+
+        Set<String> patchable = patchableFields();
+        Map<String, Class<?>> writable = repository.writableFields();
+        Map<String, Object> values = new LinkedHashMap<>();
+        Map<String, String> errors = new LinkedHashMap<>();
+        for (Map.Entry<String, JsonNode> member : mergePatch.properties()) {
+            String field = member.getKey();
+            if (field.equals(VERSION_FIELD)) {
+                continue;
+            }
+            if (!patchable.contains(field) || !writable.containsKey(field)) {
+                throw new BadRequestException("Field '" + field + "' cannot be patched on " + getEntityName()
+                        + ". Patchable fields: " + String.join(", ", new TreeSet<>(patchable)));
+            }
+            Object value;
+            try {
+                value = patchMapper().treeToValue(member.getValue(), writable.get(field));
+            } catch (JsonProcessingException | IllegalArgumentException e) {
+                errors.put(field, "Invalid value for " + writable.get(field).getSimpleName());
+                continue;
+            }
+            if (validator != null) {
+                validator.validateValue(entityClass(), field, value)
+                        .forEach(violation -> errors.putIfAbsent(field, violation.getMessage()));
+            }
+            values.put(field, value);
+        }
+        if (!errors.isEmpty()) {
+            throw new ValidationException("Validation failed", errors);
+        }
+        if (values.isEmpty()) {
+            throw new BadRequestException("Merge patch does not change any " + getEntityName() + " field");
+        }
+
+        beforePatch(id, values);
+        if (repository.updateFields(id, version, values) == 0) {
+            T current = repository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException(getEntityName() + " not found with id: " + id));
+            throw new ConflictException(getEntityName() + " " + id + " was changed by another request (version "
+                    + current.getVersion() + ", expected " + version + "); reload it and retry");
+        }
+        logger.debug("Patched {} {} fields {}", getEntityName(), id, values.keySet());
+        if (id instanceof Long entityId) {
+            publishChanges(entityClass(), List.of(entityId), EntityChangedEvent.Change.UPDATED);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("id", id);
+        result.put(VERSION_FIELD, version + 1);
+        result.putAll(values);
+        return result;
+    }
+
+    /**
+     * Publish changes made with JPQL bulk updates or JDBC, which entity listeners do not see.
+     * Saves and deletes of entities are published by EntityChangeListener.
+     */
+    protected void publishChanges(Class<?> entityType, Collection<Long> ids, EntityChangedEvent.Change change) {
+        if (events != null) {
+            events.publishAll(entityType, ids, change);
+        }
+    }
+
+    /**
+     * Fields a merge patch may write; none unless a subclass opts in
+     */
+    protected Set<String> patchableFields() {
+        return Set.of();
+    }
+
+    /**
+     * Business checks for a merge patch, run after the values are converted and validated
+     * and before the UPDATE. Throw to reject the patch.
+     */
+    protected void beforePatch(ID id, Map<String, Object> values) {
+    }
+
+    private ObjectMapper patchMapper() {
+        return objectMapper != null ? objectMapper : DEFAULT_MAPPER;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Class<T> entityClass() {
+        return (Class<T>) ResolvableType.forClass(getClass()).as(BaseService.class).resolveGeneric(0);
+    }
+
     /**
      * Save entity
      */
@@ -77,6 +282,19 @@ public abstract class BaseService<T extends BaseEntity, ID, R extends JpaReposit
         return repository.save(entity);
     }
 
+    /**
+     * Insert a new row and let the database's unique constraints reject duplicates in the
+     * same round trip (ids are IDENTITY, so save() issues the INSERT right away).
+     * A unique violation becomes ConflictException with the given message.
+     */
+    protected <E> E insert(CrudRepository<E, ?> target, E entity, String duplicateMessage) {
+        try {
+            return target.save(entity);
+        } catch (DataIntegrityViolationException e) {
+            throw ConstraintViolationTranslator.translate(e, duplicateMessage);
+        }
+    }
+
     /**
      * Delete entity by ID
      */
@@ -1,22 +1,41 @@
 package com.abetappteam.abetapp.service;
 
+import com.abetappteam.abetapp.datasource.QueryBudget;
 import com.abetappteam.abetapp.dto.CourseDTO;
+import com.abetappteam.abetapp.dto.CourseSummary;
+import com.abetappteam.abetapp.dto.IndicatorMatrix;
+import com.abetappteam.abetapp.dto.IndicatorMatrixResult;
 import com.abetappteam.abetapp.entity.Course;
 import com.abetappteam.abetapp.entity.CourseIndicator;
 import com.abetappteam.abetapp.entity.CourseInstructor;
+import com.abetappteam.abetapp.entity.Semester;
+import com.abetappteam.abetapp.entity.Semester.SemesterStatus;
+import com.abetappteam.abetapp.event.EntityChangedEvent;
+import com.abetappteam.abetapp.exception.BadRequestException;
 import com.abetappteam.abetapp.exception.BusinessException;
 import com.abetappteam.abetapp.exception.ConflictException;
 import com.abetappteam.abetapp.exception.ResourceNotFoundException;
 import com.abetappteam.abetapp.repository.CourseIndicatorRepository;
 import com.abetappteam.abetapp.repository.CourseInstructorRepository;
+import com.abetappteam.abetapp.repository.CourseIndicatorBatchRepository.Link;
 import com.abetappteam.abetapp.repository.CourseRepository;
+import com.abetappteam.abetapp.repository.PerformanceIndicatorRepository;
+import com.abetappteam.abetapp.repository.SemesterRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -36,6 +55,16 @@ public class CourseService extends BaseService<Course, Long, CourseRepository> {
     @Autowired
     private CourseIndicatorRepository courseIndicatorRepository;
 
+    @Autowired
+    private PerformanceIndicatorRepository performanceIndicatorRepository;
+
+    @Autowired
+    private SemesterRepository semesterRepository;
+
+    // Serves semesters moved to the archive tier; absent in plain unit tests
+    @Autowired(required = false)
+    private SemesterArchiveService archiveService;
+
 
     @Override
     protected String getEntityName() {
@@ -44,11 +73,6 @@ public class CourseService extends BaseService<Course, Long, CourseRepository> {
 
     @Transactional
     public Course createCourse(String courseCode, String courseName, String courseDescription, Long semesterId, Integer studentCount) {
-        // Check for duplicate course code in the same semester
-        if (repository.existsByCourseCodeAndSemesterId(courseCode, semesterId)) {
-            throw new ConflictException("Course with code '" + courseCode + "' already exists in this semester");
-        }
-
         Course course = new Course();
         course.setCourseCode(courseCode);
         course.setCourseName(courseName);
@@ -58,7 +82,8 @@ public class CourseService extends BaseService<Course, Long, CourseRepository> {
         course.setIsActive(true);
 
         logger.info("Creating new course: {} - {}", courseCode, courseName);
-        return repository.save(course);
+        // uk_course_semester_code rejects a duplicate code within the semester
+        return insert(repository, course, "Course with code '" + courseCode + "' already exists in this semester");
     }
 
     @Transactional
@@ -99,6 +124,28 @@ public class CourseService extends BaseService<Course, Long, CourseRepository> {
                 dto.getCourseDescription(), dto.getStudentCount());
     }
 
+    /**
+     * Fields PATCH /api/courses/{id} may change; moving a course between semesters is not a patch
+     */
+    @Override
+    protected Set<String> patchableFields() {
+        return Set.of("courseCode", "courseName", "courseDescription", "studentCount");
+    }
+
+    /**
+     * A new course code must stay unique within the course's semester
+     */
+    @Override
+    protected void beforePatch(Long courseId, Map<String, Object> values) {
+        if (values.get("courseCode") instanceof String courseCode) {
+            Course course = findById(courseId);
+            if (!courseCode.equals(course.getCourseCode())
+                    && repository.existsByCourseCodeAndSemesterId(courseCode, course.getSemesterId())) {
+                throw new ConflictException("Course with code '" + courseCode + "' already exists in this semester");
+            }
+        }
+    }
+
     @Transactional
     public Course updateStudentCount(Long courseId, Integer studentCount) {
         Course course = findById(courseId);
@@ -212,7 +259,11 @@ public class CourseService extends BaseService<Course, Long, CourseRepository> {
 
     @Transactional(readOnly = true)
     public long countBySemester(Long semesterId) {
-        return repository.countBySemesterId(semesterId);
+        long count = repository.countBySemesterId(semesterId);
+        if (count == 0 && archiveService != null) {
+            return archiveService.findCourseCount(semesterId).orElse(count);
+        }
+        return count;
     }
 
     @Transactional(readOnly = true)
@@ -222,14 +273,10 @@ public class CourseService extends BaseService<Course, Long, CourseRepository> {
 
     @Transactional
     public void assignInstructor(Long courseId, Long programUserId) {
-        Course course = findById(courseId); // validates course exists
-
-        if (courseInstructorRepository.existsByCourseIdAndProgramUserId(courseId, programUserId)) {
-            throw new ConflictException("Instructor already assigned to this course");
-        }
+        findById(courseId); // validates course exists
 
         CourseInstructor assignment = new CourseInstructor(programUserId, courseId);
-        courseInstructorRepository.save(assignment);
+        insert(courseInstructorRepository, assignment, "Instructor already assigned to this course");
         logger.info("Assigned instructor {} to course {}", programUserId, courseId);
     }
 
@@ -255,14 +302,10 @@ public class CourseService extends BaseService<Course, Long, CourseRepository> {
     // Indicator management
     @Transactional
     public void assignIndicator(Long courseId, Long indicatorId) {
-        Course course = findById(courseId);
-
-        if (courseIndicatorRepository.existsByCourseIdAndIndicatorId(courseId, indicatorId)) {
-            throw new ConflictException("Indicator already assigned to this course");
-        }
+        findById(courseId); // validates course exists
 
         CourseIndicator assignment = new CourseIndicator(courseId, indicatorId);
-        courseIndicatorRepository.save(assignment);
+        insert(courseIndicatorRepository, assignment, "Indicator already assigned to this course");
         logger.info("Assigned indicator {} to course {}", indicatorId, courseId);
     }
 
@@ -285,12 +328,164 @@ public class CourseService extends BaseService<Course, Long, CourseRepository> {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public List<IndicatorMatrix.Assignment> getIndicatorMatrix(Long semesterId) {
+        return courseIndicatorRepository.findLinksBySemesterId(semesterId)
+                .stream()
+                .filter(Link::active)
+                .map(link -> new IndicatorMatrix.Assignment(link.courseId(), link.indicatorId()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Make the semester's active course-to-indicator assignments exactly the given ones.
+     * The diff against the stored rows is worked out in memory and applied as one batch of
+     * inserts and two batches of is_active updates; pairs left out are deactivated, not deleted,
+     * so measures recorded against them keep their row.
+     */
+    @Transactional
+    public IndicatorMatrixResult replaceIndicatorMatrix(Long semesterId, List<IndicatorMatrix.Assignment> assignments) {
+        if (semesterId == null) {
+            throw new BadRequestException("semesterId is required");
+        }
+        Semester semester = semesterRepository.findById(semesterId)
+                .orElseThrow(() -> new ResourceNotFoundException("Semester not found with id: " + semesterId));
+        if (semester.getStatus() == SemesterStatus.COMPLETED || semester.getStatus() == SemesterStatus.ARCHIVED) {
+            throw new BusinessException("Cannot edit semester that is completed or archived");
+        }
+        Set<IndicatorMatrix.Assignment> desired = validateMatrix(semesterId, assignments);
+
+        List<IndicatorMatrix.Assignment> toInsert = new ArrayList<>();
+        List<Long> toReactivate = new ArrayList<>();
+        List<Long> toDeactivate = new ArrayList<>();
+        Map<IndicatorMatrix.Assignment, Link> existing = new HashMap<>();
+        for (Link link : courseIndicatorRepository.findLinksBySemesterId(semesterId)) {
+            IndicatorMatrix.Assignment pair = new IndicatorMatrix.Assignment(link.courseId(), link.indicatorId());
+            existing.put(pair, link);
+            if (link.active() && !desired.contains(pair)) {
+                toDeactivate.add(link.id());
+            }
+        }
+        int unchanged = 0;
+        for (IndicatorMatrix.Assignment pair : desired) {
+            Link link = existing.get(pair);
+            if (link == null) {
+                toInsert.add(pair);
+            } else if (!link.active()) {
+                toReactivate.add(link.id());
+            } else {
+                unchanged++;
+            }
+        }
+
+        if (!toInsert.isEmpty()) {
+            courseIndicatorRepository.insertActive(toInsert, LocalDateTime.now());
+        }
+        if (!toReactivate.isEmpty()) {
+            courseIndicatorRepository.updateActive(toReactivate, true);
+        }
+        if (!toDeactivate.isEmpty()) {
+            courseIndicatorRepository.updateActive(toDeactivate, false);
+        }
+        publishMatrixChanges(semesterId, toInsert, toReactivate, toDeactivate);
+        logger.info("Replaced indicator matrix of semester {}: {} added, {} reactivated, {} deactivated",
+                semesterId, toInsert.size(), toReactivate.size(), toDeactivate.size());
+        return new IndicatorMatrixResult(toInsert.size(), toReactivate.size(), toDeactivate.size(), unchanged);
+    }
+
+    // The links were written through JDBC; new ones get their ids from a second read
+    private void publishMatrixChanges(Long semesterId, List<IndicatorMatrix.Assignment> inserted,
+                                      List<Long> reactivated, List<Long> deactivated) {
+        if (!inserted.isEmpty()) {
+            Set<IndicatorMatrix.Assignment> pairs = Set.copyOf(inserted);
+            publishChanges(CourseIndicator.class, courseIndicatorRepository.findLinksBySemesterId(semesterId).stream()
+                    .filter(link -> pairs.contains(new IndicatorMatrix.Assignment(link.courseId(), link.indicatorId())))
+                    .map(Link::id)
+                    .toList(), EntityChangedEvent.Change.CREATED);
+        }
+        List<Long> updated = new ArrayList<>(reactivated);
+        updated.addAll(deactivated);
+        publishChanges(CourseIndicator.class, updated, EntityChangedEvent.Change.UPDATED);
+    }
+
+    // Every pair must name a course and an indicator of the semester; repeated pairs count once
+    private Set<IndicatorMatrix.Assignment> validateMatrix(Long semesterId, List<IndicatorMatrix.Assignment> assignments) {
+        if (assignments == null) {
+            throw new BadRequestException("Assignments are required; send an empty list to clear the matrix");
+        }
+        Set<Long> courseIds = Set.copyOf(repository.findIdsBySemesterId(semesterId));
+        Set<Long> indicatorIds = Set.copyOf(performanceIndicatorRepository.findIdsBySemesterId(semesterId));
+        Set<Long> unknownCourses = new TreeSet<>();
+        Set<Long> unknownIndicators = new TreeSet<>();
+        Set<IndicatorMatrix.Assignment> desired = new LinkedHashSet<>();
+        for (IndicatorMatrix.Assignment pair : assignments) {
+            if (pair == null || pair.courseId() == null || pair.indicatorId() == null) {
+                throw new BadRequestException("Every assignment needs a courseId and indicatorId");
+            }
+            if (!courseIds.contains(pair.courseId())) {
+                unknownCourses.add(pair.courseId());
+            }
+            if (!indicatorIds.contains(pair.indicatorId())) {
+                unknownIndicators.add(pair.indicatorId());
+            }
+            desired.add(pair);
+        }
+        if (!unknownCourses.isEmpty()) {
+            throw new BadRequestException("Courses not in semester " + semesterId + ": " + unknownCourses);
+        }
+        if (!unknownIndicators.isEmpty()) {
+            throw new BadRequestException("Performance indicators not in semester " + semesterId + ": " + unknownIndicators);
+        }
+        return desired;
+    }
+
     @Transactional(readOnly = true)
     public List<Course> getAllActiveCourses() {
         logger.debug("Fetching all active courses");
         return repository.findByIsActive(true);
     }
 
+    // Summary projections for list endpoints: only the columns a course row needs are selected
+
+    @Transactional(readOnly = true)
+    public Page<CourseSummary> getCourseSummariesBySemester(Long semesterId, Pageable pageable) {
+        logger.debug("Fetching course summaries for semester ID: {}", semesterId);
+        Page<CourseSummary> courses = repository.findSummaryBySemesterId(semesterId, pageable);
+        if (courses.getTotalElements() == 0 && archiveService != null) {
+            return archiveService.findCourseSummaries(semesterId, false, pageable).orElse(courses);
+        }
+        return courses;
+    }
+
+    @Transactional(readOnly = true)
+    public Page<CourseSummary> getActiveCourseSummariesBySemester(Long semesterId, Pageable pageable) {
+        logger.debug("Fetching active course summaries for semester ID: {}", semesterId);
+        Page<CourseSummary> courses = repository.findSummaryBySemesterIdAndIsActive(semesterId, true, pageable);
+        if (courses.getTotalElements() == 0 && archiveService != null) {
+            return archiveService.findCourseSummaries(semesterId, true, pageable).orElse(courses);
+        }
+        return courses;
+    }
+
+    @Transactional(readOnly = true)
+    public List<CourseSummary> getAllActiveCourseSummaries() {
+        logger.debug("Fetching all active course summaries");
+        return repository.findSummaryByIsActive(true);
+    }
+
+    @Transactional(readOnly = true)
+    @QueryBudget(timeoutSeconds = 300, maxRows = QueryBudget.UNLIMITED)
+    public void streamAllActiveCourseSummaries(Consumer<CourseSummary> action) {
+        logger.debug("Streaming all active course summaries");
+        forEachClearing(repository.streamSummaryByIsActive(true), action);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<CourseSummary> searchSummariesByNameOrCourseCode(String searchTerm, Pageable pageable) {
+        logger.debug("Searching course summaries with term: {}", searchTerm);
+        return repository.searchSummaryByNameOrCourseCode(searchTerm, pageable);
+    }
+
     // Helper methods for business logic
     private boolean hasMeasuresInReview(Long courseId) {
         return repository.countMeasuresInReviewByCourseId(courseId) > 0;
@@ -0,0 +1,247 @@
+package com.abetappteam.abetapp.service;
+
+import com.abetappteam.abetapp.dto.MeasureStatusChange;
+import com.abetappteam.abetapp.entity.Measure;
+import com.abetappteam.abetapp.event.EntityChangedEvent;
+import com.abetappteam.abetapp.exception.BadRequestException;
+import com.abetappteam.abetapp.exception.ResourceNotFoundException;
+import com.abetappteam.abetapp.exception.ServiceUnavailableException;
+import com.abetappteam.abetapp.repository.MeasureBatchRepository.MeasureScope;
+import com.abetappteam.abetapp.repository.MeasureRepository;
+import com.abetappteam.abetapp.repository.ProgramRepository;
+import com.abetappteam.abetapp.repository.SemesterRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server-Sent Events for review dashboards: subscribers of a program or a semester are pushed
+ * measure status changes and the new completeness numbers of the affected courses, so they can
+ * stop polling the semester measure lists and /completeness.
+ * <p>
+ * Streams are async servlet responses, so an idle subscriber holds a connection but no thread.
+ * Measure change events (see DomainEventPublisher) are only collected as they arrive; every
+ * app.sse.flush-interval the collected measures are looked up in one query and pushed, which
+ * turns a batch update of hundreds of measures into one lookup and one completeness check per
+ * course. Nothing is looked up while no one is subscribed.
+ */
+@Service
+public class MeasureProgressService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MeasureProgressService.class);
+
+    public static final String STATUS_EVENT = "measure-status";
+    public static final String COMPLETENESS_EVENT = "completeness";
+    static final String SUBSCRIBERS = "abet.sse.subscribers";
+
+    // Measures and courses whose last pushed state is remembered
+    private static final int REMEMBERED = 10000;
+
+    private final MeasureRepository measureRepository;
+    private final CourseService courseService;
+    private final SemesterRepository semesterRepository;
+    private final ProgramRepository programRepository;
+    private final long timeoutMillis;
+    private final int maxSubscribers;
+
+    private final Map<Long, Set<SseEmitter>> bySemester = new ConcurrentHashMap<>();
+    private final Map<Long, Set<SseEmitter>> byProgram = new ConcurrentHashMap<>();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final Set<Long> changedMeasures = ConcurrentHashMap.newKeySet();
+
+    // Last pushed status per measure and completeness counts per course, touched by flush() only
+    private final Map<Long, MeasureStatusChange> lastStatus = remembered();
+    private final Map<Long, List<Integer>> lastCompleteness = remembered();
+
+    public MeasureProgressService(MeasureRepository measureRepository, CourseService courseService,
+                                  SemesterRepository semesterRepository, ProgramRepository programRepository,
+                                  ObjectProvider<MeterRegistry> meterRegistry,
+                                  @Value("${app.sse.timeout:30m}") Duration timeout,
+                                  @Value("${app.sse.max-subscribers:2000}") int maxSubscribers) {
+        this.measureRepository = measureRepository;
+        this.courseService = courseService;
+        this.semesterRepository = semesterRepository;
+        this.programRepository = programRepository;
+        this.timeoutMillis = timeout.toMillis();
+        this.maxSubscribers = maxSubscribers;
+        meterRegistry.ifAvailable(registry -> Gauge.builder(SUBSCRIBERS, subscribers, AtomicInteger::get)
+                .description("Open measure progress streams")
+                .register(registry));
+    }
+
+    /**
+     * Open a stream for one program or one semester. It ends after app.sse.timeout; EventSource
+     * clients reconnect on their own.
+     */
+    public SseEmitter subscribe(Long programId, Long semesterId) {
+        if ((programId == null) == (semesterId == null)) {
+            throw new BadRequestException("Subscribe to either a programId or a semesterId");
+        }
+        if (programId != null && !programRepository.existsById(programId)) {
+            throw new ResourceNotFoundException("Program not found with id: " + programId);
+        }
+        if (semesterId != null && !semesterRepository.existsById(semesterId)) {
+            throw new ResourceNotFoundException("Semester not found with id: " + semesterId);
+        }
+        if (subscribers.incrementAndGet() > maxSubscribers) {
+            subscribers.decrementAndGet();
+            throw new ServiceUnavailableException("Too many open progress streams; retry later");
+        }
+
+        Set<SseEmitter> scope = programId != null
+                ? byProgram.computeIfAbsent(programId, id -> new CopyOnWriteArraySet<>())
+                : bySemester.computeIfAbsent(semesterId, id -> new CopyOnWriteArraySet<>());
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        scope.add(emitter);
+        emitter.onCompletion(() -> drop(emitter));
+        emitter.onTimeout(() -> drop(emitter));
+        emitter.onError(error -> drop(emitter));
+        logger.debug("Progress stream opened for {} {}", programId != null ? "program" : "semester",
+                programId != null ? programId : semesterId);
+        return emitter;
+    }
+
+    /**
+     * Note changed measures for the next flush; runs on the domain event pool
+     */
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (event.isAbout(Measure.class)) {
+            changedMeasures.add(event.entityId());
+        }
+    }
+
+    /**
+     * Push the status and completeness changes collected since the last flush
+     */
+    @Scheduled(fixedDelayString = "${app.sse.flush-interval:500ms}")
+    public synchronized void flush() {
+        if (changedMeasures.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(changedMeasures);
+        changedMeasures.removeAll(ids);
+        if (subscribers.get() == 0) {
+            // Nobody to tell; forget what was pushed so later transitions do not start from stale values
+            ids.forEach(lastStatus::remove);
+            lastCompleteness.clear();
+            return;
+        }
+
+        Map<Long, MeasureScope> courses = new LinkedHashMap<>();
+        for (MeasureScope scope : measureRepository.findScopes(ids)) {
+            Set<SseEmitter> audience = audience(scope);
+            if (audience.isEmpty()) {
+                lastStatus.remove(scope.id());
+                lastCompleteness.remove(scope.courseId());
+                continue;
+            }
+            String status = scope.deleted() ? null : scope.status();
+            MeasureStatusChange previous = lastStatus.get(scope.id());
+            if (previous != null && previous.active() == scope.active() && Objects.equals(previous.status(), status)) {
+                continue;
+            }
+            MeasureStatusChange change = new MeasureStatusChange(scope.id(), scope.courseId(), scope.semesterId(),
+                    scope.programId(), previous == null ? null : previous.status(), status, scope.active());
+            lastStatus.put(scope.id(), change);
+            send(audience, STATUS_EVENT, change);
+            courses.putIfAbsent(scope.courseId(), scope);
+        }
+
+        for (MeasureScope scope : courses.values()) {
+            CourseService.MeasureCompletenessResponse completeness;
+            try {
+                completeness = courseService.calculateMeasureCompleteness(scope.courseId());
+            } catch (ResourceNotFoundException e) {
+                continue;
+            }
+            List<Integer> counts = List.of(completeness.getTotalMeasures(), completeness.getCompletedMeasures(),
+                    completeness.getInProgressMeasures(), completeness.getSubmittedMeasures());
+            if (!counts.equals(lastCompleteness.put(scope.courseId(), counts))) {
+                send(audience(scope), COMPLETENESS_EVENT, completeness);
+            }
+        }
+    }
+
+    /**
+     * Comment line to every stream, so proxies keep idle connections open and dead ones are
+     * noticed and dropped
+     */
+    @Scheduled(fixedDelayString = "${app.sse.heartbeat:25s}")
+    public void heartbeat() {
+        List<SseEmitter> all = new ArrayList<>();
+        bySemester.values().forEach(all::addAll);
+        byProgram.values().forEach(all::addAll);
+        for (SseEmitter emitter : all) {
+            try {
+                emitter.send(SseEmitter.event().comment("keep-alive"));
+            } catch (IOException | IllegalStateException e) {
+                drop(emitter);
+            }
+        }
+    }
+
+    int getSubscriberCount() {
+        return subscribers.get();
+    }
+
+    private Set<SseEmitter> audience(MeasureScope scope) {
+        Set<SseEmitter> audience = new LinkedHashSet<>(bySemester.getOrDefault(scope.semesterId(), Set.of()));
+        if (scope.programId() != null) {
+            audience.addAll(byProgram.getOrDefault(scope.programId(), Set.of()));
+        }
+        return audience;
+    }
+
+    private void send(Set<SseEmitter> audience, String name, Object data) {
+        for (SseEmitter emitter : audience) {
+            try {
+                emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException e) {
+                logger.debug("Dropping progress stream: {}", e.getMessage());
+                drop(emitter);
+            }
+        }
+    }
+
+    // A stream that completed, timed out or failed a send; the container closes the response
+    private void drop(SseEmitter emitter) {
+        for (Map<Long, Set<SseEmitter>> scopes : List.of(bySemester, byProgram)) {
+            for (Set<SseEmitter> scope : scopes.values()) {
+                if (scope.remove(emitter)) {
+                    subscribers.decrementAndGet();
+                }
+            }
+        }
+    }
+
+    private static <V> Map<Long, V> remembered() {
+        return new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, V> eldest) {
+                return size() > REMEMBERED;
+            }
+        };
+    }
+}
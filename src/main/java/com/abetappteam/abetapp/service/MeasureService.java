@@ -1,31 +1,54 @@
 package com.abetappteam.abetapp.service;
 
+import java.sql.Statement;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.abetappteam.abetapp.datasource.QueryBudget;
 import com.abetappteam.abetapp.entity.Measure;
-import com.abetappteam.abetapp.entity.Course;
 import com.abetappteam.abetapp.entity.CourseIndicator;
+import com.abetappteam.abetapp.dto.BatchUpdateResult;
 import com.abetappteam.abetapp.dto.MeasureDTO;
+import com.abetappteam.abetapp.dto.MeasurePatch;
+import com.abetappteam.abetapp.dto.MeasureSummary;
+import com.abetappteam.abetapp.event.EntityChangedEvent;
+import com.abetappteam.abetapp.exception.BadRequestException;
 import com.abetappteam.abetapp.repository.CourseIndicatorRepository;
-import com.abetappteam.abetapp.repository.CourseRepository;
 import com.abetappteam.abetapp.repository.MeasureRepository;
 
 @Service
 public class MeasureService extends BaseService<Measure, Long, MeasureRepository>{
     
+    //Largest batch accepted by patchBatch
+    public static final int MAX_BATCH_SIZE = 500;
+
+    //Statuses a measure moves through
+    private static final Set<String> STATUSES = Set.of("InProgress", "Submitted", "InReview", "Complete");
+
+    //Column length of the text fields on Measure; the batch JDBC update skips bean validation
+    private static final int MAX_TEXT_LENGTH = 3000;
+
     private final CourseIndicatorRepository courseIndicatorRepository;
-    private final CourseRepository courseRepository;
+
+    // Serves semesters moved to the archive tier; absent in plain unit tests
+    @Autowired(required = false)
+    private SemesterArchiveService archiveService;
     
     @Autowired
-    public MeasureService(MeasureRepository repository, CourseIndicatorRepository courseIndicatorRepository, CourseRepository courseRepository){
+    public MeasureService(MeasureRepository repository, CourseIndicatorRepository courseIndicatorRepository){
         super(repository);
         this.courseIndicatorRepository = courseIndicatorRepository;
-        this.courseRepository = courseRepository;
     }
 
     @Override
@@ -58,7 +81,6 @@ public class MeasureService extends BaseService<Measure, Long, MeasureRepository
     public Measure update(Long id, MeasureDTO dto){
         Measure measure = findById(id);
 
-        measure.setId(dto.getId());
         measure.setCourseIndicatorId(dto.getCourseIndicatorId());
         measure.setDescription(dto.getDescription());
         measure.setObservation(dto.getObservation());
@@ -76,6 +98,88 @@ public class MeasureService extends BaseService<Measure, Long, MeasureRepository
         return repository.save(measure);
     }
 
+    //Apply many partial updates in one JDBC batch, each guarded by the version the client read.
+    //Stale or missing rows are reported as conflicts instead of failing the whole batch
+    @Transactional
+    public BatchUpdateResult patchBatch(List<MeasurePatch> patches){
+        validatePatches(patches);
+
+        logger.info("Batch updating {} measures", patches.size());
+        int[] counts = repository.updateVersioned(patches, LocalDateTime.now());
+
+        //Rows the driver did not report on are checked against their new version below
+        List<Long> unresolved = new ArrayList<>();
+        for(int i = 0; i < patches.size(); i++){
+            if(counts[i] != 1){
+                unresolved.add(patches.get(i).id());
+            }
+        }
+        Map<Long, Long> versions = repository.findVersions(unresolved);
+
+        List<BatchUpdateResult.Updated> updated = new ArrayList<>();
+        List<BatchUpdateResult.Conflict> conflicts = new ArrayList<>();
+        for(int i = 0; i < patches.size(); i++){
+            MeasurePatch patch = patches.get(i);
+            Long newVersion = patch.version() + 1;
+            Long current = versions.get(patch.id());
+            if(counts[i] == 1 || (counts[i] == Statement.SUCCESS_NO_INFO && newVersion.equals(current))){
+                updated.add(new BatchUpdateResult.Updated(patch.id(), newVersion));
+            } else if(current == null){
+                conflicts.add(new BatchUpdateResult.Conflict(patch.id(), patch.version(), null, BatchUpdateResult.NOT_FOUND));
+            } else {
+                conflicts.add(new BatchUpdateResult.Conflict(patch.id(), patch.version(), current, BatchUpdateResult.VERSION_MISMATCH));
+            }
+        }
+        if(!conflicts.isEmpty()){
+            logger.info("Batch update left {} measures unchanged due to conflicts", conflicts.size());
+        }
+        publishChanges(Measure.class, updated.stream().map(BatchUpdateResult.Updated::id).toList(),
+                EntityChangedEvent.Change.UPDATED);
+        return new BatchUpdateResult(updated, conflicts);
+    }
+
+    //Reject the whole batch on malformed rows; conflicts are only for stale or missing rows
+    private void validatePatches(List<MeasurePatch> patches){
+        if(patches == null || patches.isEmpty()){
+            throw new BadRequestException("At least one measure update is required");
+        }
+        if(patches.size() > MAX_BATCH_SIZE){
+            throw new BadRequestException("At most " + MAX_BATCH_SIZE + " measures can be updated at once");
+        }
+        Set<Long> ids = new HashSet<>();
+        for(MeasurePatch patch: patches){
+            if(patch.id() == null || patch.version() == null){
+                throw new BadRequestException("Every measure update needs an id and version");
+            }
+            if(!ids.add(patch.id())){
+                throw new BadRequestException("Measure " + patch.id() + " appears more than once in the batch");
+            }
+            if(patch.description() != null && patch.description().isBlank()){
+                throw new BadRequestException("Description of Measure " + patch.id() + " cannot be blank");
+            }
+            requireMaxLength(patch.id(), "Description", patch.description());
+            requireMaxLength(patch.id(), "Observation", patch.observation());
+            requireMaxLength(patch.id(), "Recommended action", patch.recommendedAction());
+            requireMaxLength(patch.id(), "FCAR", patch.fcar());
+            if(isNegative(patch.studentsMet()) || isNegative(patch.studentsExceeded()) || isNegative(patch.studentsBelow())){
+                throw new BadRequestException("Student counts of Measure " + patch.id() + " cannot be negative");
+            }
+            if(patch.status() != null && !STATUSES.contains(patch.status())){
+                throw new BadRequestException("Invalid status for Measure " + patch.id() + ": " + patch.status());
+            }
+        }
+    }
+
+    private static void requireMaxLength(Long id, String field, String value){
+        if(value != null && value.length() > MAX_TEXT_LENGTH){
+            throw new BadRequestException(field + " of Measure " + id + " cannot exceed " + MAX_TEXT_LENGTH + " characters");
+        }
+    }
+
+    private static boolean isNegative(Integer count){
+        return count != null && count < 0;
+    }
+
     //Activate Measure
     @Transactional
     public Measure activate(Long id){
@@ -106,22 +210,6 @@ public class MeasureService extends BaseService<Measure, Long, MeasureRepository
         return repository.findByActiveFalse();
     }
 
-    //Return all active Measures by Course Id
-    @Transactional(readOnly = true)
-    public List<Measure> findAllActiveMeasuresByCourse(Long courseId){
-        //Stores every course indicator found with the course id
-        List<CourseIndicator> foundCI = courseIndicatorRepository.findByCourseIdAndIsActive(courseId, true);
-        //Output
-        List<Measure> output = new ArrayList<>();
-
-        logger.debug("Fetching every active Measure tied to courseId: {}", courseId);
-        for(CourseIndicator i: foundCI){
-            output.addAll(repository.findActiveMeasuresByCourseIndicatorId(i.getId()));
-        }
-
-        return output;
-    }
-
     //Return all inactive measures by Course Id
     @Transactional(readOnly = true)
     public List<Measure> findAllInactiveMeasuresByCourse(Long courseId){
@@ -154,9 +242,9 @@ public class MeasureService extends BaseService<Measure, Long, MeasureRepository
         return output;
     }
 
-    //Return all active Measures by Indicator id
+    //Return all Measures by IndicatorId regardles of active status
     @Transactional(readOnly = true)
-    public List<Measure> findAllActiveMeasuresByIndicator(Long indicatorId){
+    public List<Measure> findAllMeasuresByIndicator(Long indicatorId){
         //Stores every course indicator found with the course id
         List<CourseIndicator> foundCI = courseIndicatorRepository.findByIndicatorIdAndIsActive(indicatorId, true);
         //Output
@@ -164,62 +252,57 @@ public class MeasureService extends BaseService<Measure, Long, MeasureRepository
 
         logger.debug("Fetching every Measure tied to indicatorId: {}", indicatorId);
         for(CourseIndicator i: foundCI){
-            output.addAll(repository.findActiveMeasuresByCourseIndicatorId(i.getId()));
+            output.addAll(repository.findByCourseIndicatorId(i.getId()));
         }
 
         return output;
     }
 
-    //Return all inactive Measures by IndicatorId
-    @Transactional(readOnly = true)
-    public List<Measure> findAllInactiveMeasuresByIndicator(Long indicatorId){
-        //Stores every course indicator found with the course id
-        List<CourseIndicator> foundCI = courseIndicatorRepository.findByIndicatorIdAndIsActive(indicatorId, true);
-        //Output
-        List<Measure> output = new ArrayList<>();
-
-        logger.debug("Fetching every Measure tied to indicatorId: {}", indicatorId);
-        for(CourseIndicator i: foundCI){
-            output.addAll(repository.findInactiveMeasuresByCourseIndicatorId(i.getId()));
-        }
+    //Summary projections for list endpoints: one query each, without the long text columns
 
-        return output;
+    //Return a page of measure summaries
+    @Transactional(readOnly = true)
+    public Page<MeasureSummary> findAllSummaries(Pageable pageable){
+        return repository.findAllSummaries(pageable);
     }
 
-    //Return all Measures by IndicatorId regardles of active status
+    //Return summaries of all active Measures by Course Id
     @Transactional(readOnly = true)
-    public List<Measure> findAllMeasuresByIndicator(Long indicatorId){
-        //Stores every course indicator found with the course id
-        List<CourseIndicator> foundCI = courseIndicatorRepository.findByIndicatorIdAndIsActive(indicatorId, true);
-        //Output
-        List<Measure> output = new ArrayList<>();
-
-        logger.debug("Fetching every Measure tied to indicatorId: {}", indicatorId);
-        for(CourseIndicator i: foundCI){
-            output.addAll(repository.findByCourseIndicatorId(i.getId()));
-        }
+    public List<MeasureSummary> findActiveSummariesByCourse(Long courseId){
+        logger.debug("Fetching active Measure summaries tied to courseId: {}", courseId);
+        return repository.findActiveSummariesByCourse(courseId);
+    }
 
-        return output;
+    //Return summaries of all active Measures by Indicator Id
+    @Transactional(readOnly = true)
+    public List<MeasureSummary> findActiveSummariesByIndicator(Long indicatorId){
+        logger.debug("Fetching active Measure summaries tied to indicatorId: {}", indicatorId);
+        return repository.findSummariesByIndicatorAndActive(indicatorId, true);
     }
 
-    //Return all active measures by Status and Semester Id
+    //Return summaries of all inactive Measures by Indicator Id
     @Transactional(readOnly = true)
-    public List<Measure> findAllActiveMeasuresByStatusAndSemester(String status, Long semesterId){
-        //Finds every active course in a semester
-        List<Course> foundCourses = courseRepository.findBySemesterIdAndIsActive(semesterId, true);
-        List<CourseIndicator> foundCI = new ArrayList<>();
-        List<Measure> output = new ArrayList<>();
+    public List<MeasureSummary> findInactiveSummariesByIndicator(Long indicatorId){
+        logger.debug("Fetching inactive Measure summaries tied to indicatorId: {}", indicatorId);
+        return repository.findSummariesByIndicatorAndActive(indicatorId, false);
+    }
 
-        //Finds every active CourseIndicator from every active course in the semester 
-        for(Course i: foundCourses){
-            foundCI.addAll(courseIndicatorRepository.findByCourseIdAndIsActive(i.getId(), true));
-        }
+    //Stream summaries of active or inactive Measures by Indicator Id to the action
+    @Transactional(readOnly = true)
+    @QueryBudget(timeoutSeconds = 300, maxRows = QueryBudget.UNLIMITED)
+    public void streamSummariesByIndicator(Long indicatorId, Boolean active, Consumer<MeasureSummary> action){
+        logger.debug("Streaming Measure summaries tied to indicatorId: {} (active={})", indicatorId, active);
+        forEachClearing(repository.streamSummariesByIndicatorAndActive(indicatorId, active), action);
+    }
 
-        //Finds every active measure from every active CourseIndicator in the semester
-        for(CourseIndicator i: foundCI){
-            output.addAll(repository.findActiveMeasuresByCourseIndicatorIdAndStatus(i.getId(), status));
+    //Return summaries of all active measures by Status and Semester Id
+    @Transactional(readOnly = true)
+    public List<MeasureSummary> findActiveSummariesByStatusAndSemester(String status, Long semesterId){
+        logger.debug("Fetching active Measure summaries with status {} in semesterId: {}", status, semesterId);
+        List<MeasureSummary> measures = repository.findActiveSummariesBySemesterAndStatus(semesterId, status);
+        if (measures.isEmpty() && archiveService != null) {
+            return archiveService.findActiveMeasureSummaries(semesterId, status).orElse(measures);
         }
-
-        return output;
+        return measures;
     }
 }
@@ -12,7 +12,11 @@ import com.abetappteam.abetapp.repository.OutcomeRepository;
 
 @Service
 public class OutcomeService extends BaseService<Outcome, Long, OutcomeRepository>{
-    
+
+    // Serves semesters moved to the archive tier; absent in plain unit tests
+    @Autowired(required = false)
+    private SemesterArchiveService archiveService;
+
     @Autowired
     public OutcomeService(OutcomeRepository repository){
         super(repository);
@@ -86,13 +90,21 @@ public class OutcomeService extends BaseService<Outcome, Long, OutcomeRepository
     //Return all active student outcomes by semester id
     @Transactional(readOnly = true)
     public List<Outcome> findActiveOutcomesBySemester(Long semesterId) {
-        return repository.findBySemesterIdAndActive(semesterId, true);
+        List<Outcome> outcomes = repository.findBySemesterIdAndActive(semesterId, true);
+        if (outcomes.isEmpty() && archiveService != null) {
+            return archiveService.findOutcomes(semesterId, true).orElse(outcomes);
+        }
+        return outcomes;
     }
 
     //Return all inactive student outcomes by semester id
     @Transactional(readOnly = true)
     public List<Outcome> findInactiveOutcomesBySemester(Long semesterId) {
-        return repository.findBySemesterIdAndActive(semesterId, false);
+        List<Outcome> outcomes = repository.findBySemesterIdAndActive(semesterId, false);
+        if (outcomes.isEmpty() && archiveService != null) {
+            return archiveService.findOutcomes(semesterId, false).orElse(outcomes);
+        }
+        return outcomes;
     }
 
     //Return list of student outcomes by semester id and number
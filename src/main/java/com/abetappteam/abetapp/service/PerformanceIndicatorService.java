@@ -31,13 +31,6 @@ public class PerformanceIndicatorService
 
     @Transactional
     public PerformanceIndicator createPerformanceIndicator(PerformanceIndicatorDTO dto) {
-        // Check for duplicate indicator number for the same student outcome
-        if (repository.existsByIndicatorNumberAndStudentOutcomeId(dto.getIndicatorNumber(),
-                dto.getStudentOutcomeId())) {
-            throw new ConflictException("Performance indicator with number '" + dto.getIndicatorNumber()
-                    + "' already exists for this student outcome");
-        }
-
         PerformanceIndicator indicator = new PerformanceIndicator();
         indicator.setDescription(dto.getDescription());
         indicator.setIndicatorNumber(dto.getIndicatorNumber());
@@ -46,7 +39,8 @@ public class PerformanceIndicatorService
 
         logger.info("Creating new performance indicator: {} for student outcome {}", dto.getIndicatorNumber(),
                 dto.getStudentOutcomeId());
-        return repository.save(indicator);
+        return insert(repository, indicator, "Performance indicator with number '" + dto.getIndicatorNumber()
+                + "' already exists for this student outcome");
     }
 
     @Transactional
@@ -1,5 +1,6 @@
 package com.abetappteam.abetapp.service;
 
+import com.abetappteam.abetapp.datasource.QueryBudget;
 import com.abetappteam.abetapp.entity.Course;
 import com.abetappteam.abetapp.entity.ProgramUser;
 import com.abetappteam.abetapp.exception.ConflictException;
@@ -7,14 +8,19 @@ import com.abetappteam.abetapp.exception.ResourceNotFoundException;
 import com.abetappteam.abetapp.repository.CourseRepository;
 import com.abetappteam.abetapp.repository.ProgramUserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.abetappteam.abetapp.dto.ProgramDTO;
+import com.abetappteam.abetapp.dto.ProgramSummary;
 import com.abetappteam.abetapp.entity.Program;
 import com.abetappteam.abetapp.repository.ProgramRepository;
 
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 @Service
 public class ProgramService extends BaseService<Program, Long, ProgramRepository>{
@@ -59,6 +65,12 @@ public class ProgramService extends BaseService<Program, Long, ProgramRepository
         return repository.save(program);
     }
 
+    //Fields PATCH /api/program/{id} may change
+    @Override
+    protected Set<String> patchableFields(){
+        return Set.of("name", "institution", "active");
+    }
+
     //Search for programs by name
     @Transactional
     public List<Program> searchActiveByNameFragment(String searchTerm){
@@ -78,6 +90,12 @@ public class ProgramService extends BaseService<Program, Long, ProgramRepository
         return repository.findByActiveFalse();
     }
 
+    //Page of program summaries for list views
+    @Transactional(readOnly = true)
+    public Page<ProgramSummary> findAllSummaries(Pageable pageable) {
+        return repository.findSummaryBy(pageable);
+    }
+
     //Activate a program
     @Transactional
     public Program activate(Long id){
@@ -178,30 +196,18 @@ public class ProgramService extends BaseService<Program, Long, ProgramRepository
     }
 
     /**
-     * Get all users in a program
+     * Stream active users in a program to the action (all, admins only or instructors only)
+     * @param isAdmin null for every role
      */
     @Transactional(readOnly = true)
-    public List<ProgramUser> getUsersInProgram(Long programId) {
-        logger.debug("Fetching all users in program ID: {}", programId);
-        return programUserRepository.findByProgramIdAndIsActive(programId, true);
-    }
-
-    /**
-     * Get all admins in a program
-     */
-    @Transactional(readOnly = true)
-    public List<ProgramUser> getAdminsInProgram(Long programId) {
-        logger.debug("Fetching admins in program ID: {}", programId);
-        return programUserRepository.findByProgramIdAndIsAdminAndIsActive(programId, true, true);
-    }
-
-    /**
-     * Get all instructors (non-admin) in a program
-     */
-    @Transactional(readOnly = true)
-    public List<ProgramUser> getInstructorsInProgram(Long programId) {
-        logger.debug("Fetching instructors in program ID: {}", programId);
-        return programUserRepository.findByProgramIdAndIsAdminAndIsActive(programId, false, true);
+    @QueryBudget(timeoutSeconds = 300, maxRows = QueryBudget.UNLIMITED)
+    public void streamUsersInProgram(Long programId, Boolean isAdmin, Consumer<ProgramUser> action) {
+        logger.debug("Streaming users in program ID: {} (admin={})", programId, isAdmin);
+        if (isAdmin == null) {
+            forEachClearing(programUserRepository.streamByProgramIdAndIsActive(programId, true), action);
+        } else {
+            forEachClearing(programUserRepository.streamByProgramIdAndIsAdminAndIsActive(programId, isAdmin, true), action);
+        }
     }
 
     public List<Course> getCoursesInProgram(Long programId) {
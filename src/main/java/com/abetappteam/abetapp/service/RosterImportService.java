@@ -0,0 +1,327 @@
+package com.abetappteam.abetapp.service;
+
+import com.abetappteam.abetapp.dto.CourseInstructorRow;
+import com.abetappteam.abetapp.dto.ImportReport;
+import com.abetappteam.abetapp.dto.ProgramMemberRow;
+import com.abetappteam.abetapp.dto.RosterImport;
+import com.abetappteam.abetapp.dto.RosterImportReport;
+import com.abetappteam.abetapp.entity.Course;
+import com.abetappteam.abetapp.entity.CourseInstructor;
+import com.abetappteam.abetapp.entity.Program;
+import com.abetappteam.abetapp.entity.ProgramUser;
+import com.abetappteam.abetapp.entity.Semester;
+import com.abetappteam.abetapp.entity.Users;
+import com.abetappteam.abetapp.event.DomainEventPublisher;
+import com.abetappteam.abetapp.event.EntityChangedEvent;
+import com.abetappteam.abetapp.exception.BadRequestException;
+import com.abetappteam.abetapp.repository.CourseInstructorBatchRepository;
+import com.abetappteam.abetapp.repository.CourseInstructorRepository;
+import com.abetappteam.abetapp.repository.CourseRepository;
+import com.abetappteam.abetapp.repository.ProgramRepository;
+import com.abetappteam.abetapp.repository.ProgramUserBatchRepository.Membership;
+import com.abetappteam.abetapp.repository.ProgramUserRepository;
+import com.abetappteam.abetapp.repository.SemesterRepository;
+import com.abetappteam.abetapp.repository.UsersRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk program membership and course instructor imports, for onboarding a department at the
+ * start of term. Each import resolves its emails, programs and courses with one IN query per
+ * kind, upserts program_user and course_instructor rows as JDBC batches in one transaction and
+ * reports every row: created, updated (role changed or reactivated), unchanged or failed.
+ * Rows that fail are reported and skipped; they do not roll back the others.
+ */
+@Service
+public class RosterImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RosterImportService.class);
+
+    // Largest list accepted by a single import
+    public static final int MAX_ROWS = 5000;
+
+    private static final String ADMIN = "ADMIN";
+    private static final String INSTRUCTOR = "INSTRUCTOR";
+
+    private final UsersRepository usersRepository;
+    private final ProgramRepository programRepository;
+    private final ProgramUserRepository programUserRepository;
+    private final CourseRepository courseRepository;
+    private final SemesterRepository semesterRepository;
+    private final CourseInstructorRepository courseInstructorRepository;
+
+    // Memberships are written through JDBC, out of sight of the entity listener; absent in tests
+    // that build the service by hand
+    @Autowired(required = false)
+    private DomainEventPublisher events;
+
+    public RosterImportService(UsersRepository usersRepository, ProgramRepository programRepository,
+                               ProgramUserRepository programUserRepository, CourseRepository courseRepository,
+                               SemesterRepository semesterRepository,
+                               CourseInstructorRepository courseInstructorRepository) {
+        this.usersRepository = usersRepository;
+        this.programRepository = programRepository;
+        this.programUserRepository = programUserRepository;
+        this.courseRepository = courseRepository;
+        this.semesterRepository = semesterRepository;
+        this.courseInstructorRepository = courseInstructorRepository;
+    }
+
+    /**
+     * Members first, then instructors, in one transaction
+     */
+    @Transactional
+    public RosterImportReport importRoster(RosterImport roster) {
+        if (roster == null) {
+            throw new BadRequestException("Import body is required");
+        }
+        List<ProgramMemberRow> members = roster.members() == null ? List.of() : roster.members();
+        List<CourseInstructorRow> instructors = roster.instructors() == null ? List.of() : roster.instructors();
+        if (members.isEmpty() && instructors.isEmpty()) {
+            throw new BadRequestException("At least one member or instructor row is required");
+        }
+        checkSize(members.size() + instructors.size());
+        return new RosterImportReport(
+                members.isEmpty() ? ImportReport.of(List.of()) : upsertMembers(members),
+                instructors.isEmpty() ? ImportReport.of(List.of()) : upsertInstructors(instructors));
+    }
+
+    @Transactional
+    public ImportReport importProgramMembers(List<ProgramMemberRow> rows) {
+        checkRows(rows);
+        return upsertMembers(rows);
+    }
+
+    @Transactional
+    public ImportReport importCourseInstructors(List<CourseInstructorRow> rows) {
+        checkRows(rows);
+        return upsertInstructors(rows);
+    }
+
+    private ImportReport upsertMembers(List<ProgramMemberRow> rows) {
+        Map<String, Long> userIds = resolveEmails(rows.stream().map(ProgramMemberRow::email).toList());
+        Set<Long> programIds = programRepository.findAllById(rows.stream()
+                        .map(ProgramMemberRow::programId).filter(Objects::nonNull).collect(Collectors.toSet()))
+                .stream().map(Program::getId).collect(Collectors.toSet());
+        Map<List<Long>, Membership> existing = findMemberships(userIds.values());
+
+        List<ImportReport.Row> report = new ArrayList<>();
+        List<Membership> toInsert = new ArrayList<>();
+        List<Membership> toUpdate = new ArrayList<>();
+        Map<List<Long>, Integer> seen = new HashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            ProgramMemberRow row = rows.get(i);
+            int number = i + 1;
+            String role = row.role() == null ? null : row.role().trim().toUpperCase(Locale.ROOT);
+            Long userId = isBlank(row.email()) ? null : userIds.get(emailKey(row.email()));
+            String failure = null;
+            if (isBlank(row.email()) || row.programId() == null || isBlank(role)) {
+                failure = "email, programId and role are required";
+            } else if (!role.equals(ADMIN) && !role.equals(INSTRUCTOR)) {
+                failure = "role must be ADMIN or INSTRUCTOR";
+            } else if (userId == null) {
+                failure = "No user with email " + row.email();
+            } else if (!programIds.contains(row.programId())) {
+                failure = "Program not found with id: " + row.programId();
+            }
+            List<Long> key = failure == null ? List.of(row.programId(), userId) : null;
+            Integer previous = key == null ? null : seen.putIfAbsent(key, number);
+            if (previous != null) {
+                failure = "Same user and program as row " + previous;
+            }
+            if (failure != null) {
+                report.add(new ImportReport.Row(number, row.email(), ImportReport.FAILED, failure));
+                continue;
+            }
+
+            boolean admin = role.equals(ADMIN);
+            Membership current = existing.get(key);
+            if (current == null) {
+                toInsert.add(new Membership(null, row.programId(), userId, admin, true));
+                report.add(new ImportReport.Row(number, row.email(), ImportReport.CREATED, null));
+            } else if (current.active() && current.admin() == admin) {
+                report.add(new ImportReport.Row(number, row.email(), ImportReport.UNCHANGED, null));
+            } else {
+                toUpdate.add(new Membership(current.id(), row.programId(), userId, admin, true));
+                report.add(new ImportReport.Row(number, row.email(), ImportReport.UPDATED,
+                        current.active() ? "Role changed to " + role : "Membership reactivated as " + role));
+            }
+        }
+
+        if (!toInsert.isEmpty()) {
+            programUserRepository.insertActive(toInsert, LocalDateTime.now());
+        }
+        if (!toUpdate.isEmpty()) {
+            programUserRepository.updateRoles(toUpdate);
+        }
+        publishMemberships(toInsert, toUpdate);
+        return logged("program members", ImportReport.of(report));
+    }
+
+    private ImportReport upsertInstructors(List<CourseInstructorRow> rows) {
+        Map<String, Long> userIds = resolveEmails(rows.stream().map(CourseInstructorRow::email).toList());
+        Map<Long, Course> courses = courseRepository.findAllById(rows.stream()
+                        .map(CourseInstructorRow::courseId).filter(Objects::nonNull).collect(Collectors.toSet()))
+                .stream().collect(Collectors.toMap(Course::getId, Function.identity()));
+        Map<Long, Long> programBySemester = semesterRepository.findAllById(courses.values().stream()
+                        .map(Course::getSemesterId).collect(Collectors.toSet()))
+                .stream().filter(semester -> semester.getProgramId() != null)
+                .collect(Collectors.toMap(Semester::getId, Semester::getProgramId));
+        Map<List<Long>, Membership> memberships = findMemberships(userIds.values());
+        Map<List<Long>, CourseInstructorBatchRepository.Assignment> existing = courseInstructorRepository
+                .findAssignmentsByCourseIds(courses.keySet())
+                .stream().collect(Collectors.toMap(a -> List.of(a.courseId(), a.programUserId()), Function.identity()));
+
+        List<ImportReport.Row> report = new ArrayList<>();
+        List<CourseInstructorBatchRepository.Assignment> toInsert = new ArrayList<>();
+        Set<Long> toReactivate = new HashSet<>();
+        Map<List<Long>, Integer> seen = new HashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            CourseInstructorRow row = rows.get(i);
+            int number = i + 1;
+            Long userId = isBlank(row.email()) ? null : userIds.get(emailKey(row.email()));
+            Course course = row.courseId() == null ? null : courses.get(row.courseId());
+            Long programId = course == null ? null : programBySemester.get(course.getSemesterId());
+            Membership membership = programId == null || userId == null ? null
+                    : memberships.get(List.of(programId, userId));
+            String failure = null;
+            if (isBlank(row.email()) || row.courseId() == null) {
+                failure = "email and courseId are required";
+            } else if (userId == null) {
+                failure = "No user with email " + row.email();
+            } else if (course == null) {
+                failure = "Course not found with id: " + row.courseId();
+            } else if (membership == null || !membership.active()) {
+                failure = "User is not an active member of program " + programId;
+            }
+            List<Long> key = failure == null ? List.of(course.getId(), membership.id()) : null;
+            Integer previous = key == null ? null : seen.putIfAbsent(key, number);
+            if (previous != null) {
+                failure = "Same instructor and course as row " + previous;
+            }
+            if (failure != null) {
+                report.add(new ImportReport.Row(number, row.email(), ImportReport.FAILED, failure));
+                continue;
+            }
+
+            CourseInstructorBatchRepository.Assignment current = existing.get(key);
+            if (current == null) {
+                toInsert.add(new CourseInstructorBatchRepository.Assignment(null, course.getId(), membership.id(), true));
+                report.add(new ImportReport.Row(number, row.email(), ImportReport.CREATED, null));
+            } else if (current.active()) {
+                report.add(new ImportReport.Row(number, row.email(), ImportReport.UNCHANGED, null));
+            } else {
+                toReactivate.add(current.id());
+                report.add(new ImportReport.Row(number, row.email(), ImportReport.UPDATED, "Assignment reactivated"));
+            }
+        }
+
+        if (!toInsert.isEmpty()) {
+            courseInstructorRepository.insertActive(toInsert, LocalDateTime.now());
+        }
+        if (!toReactivate.isEmpty()) {
+            courseInstructorRepository.reactivate(toReactivate);
+        }
+        publishAssignments(courses.keySet(), toInsert, toReactivate);
+        return logged("course instructors", ImportReport.of(report));
+    }
+
+    // Inserted pairs had no row before, so every row now holding one of them is new
+    private void publishMemberships(List<Membership> inserted, List<Membership> updated) {
+        if (events == null) {
+            return;
+        }
+        if (!inserted.isEmpty()) {
+            Set<List<Long>> keys = inserted.stream()
+                    .map(m -> List.of(m.programId(), m.userId())).collect(Collectors.toSet());
+            events.publishAll(ProgramUser.class, programUserRepository.findMembershipsByUserIds(
+                            inserted.stream().map(Membership::userId).collect(Collectors.toSet())).stream()
+                    .filter(m -> keys.contains(List.of(m.programId(), m.userId())))
+                    .map(Membership::id)
+                    .toList(), EntityChangedEvent.Change.CREATED);
+        }
+        events.publishAll(ProgramUser.class, updated.stream().map(Membership::id).toList(),
+                EntityChangedEvent.Change.UPDATED);
+    }
+
+    // Same as publishMemberships: an inserted (course, program user) pair had no row before
+    private void publishAssignments(Collection<Long> courseIds, List<CourseInstructorBatchRepository.Assignment> inserted,
+                                    Set<Long> reactivated) {
+        if (events == null) {
+            return;
+        }
+        if (!inserted.isEmpty()) {
+            Set<List<Long>> keys = inserted.stream()
+                    .map(a -> List.of(a.courseId(), a.programUserId())).collect(Collectors.toSet());
+            events.publishAll(CourseInstructor.class, courseInstructorRepository.findAssignmentsByCourseIds(courseIds)
+                    .stream()
+                    .filter(a -> keys.contains(List.of(a.courseId(), a.programUserId())))
+                    .map(CourseInstructorBatchRepository.Assignment::id)
+                    .toList(), EntityChangedEvent.Change.CREATED);
+        }
+        events.publishAll(CourseInstructor.class, reactivated, EntityChangedEvent.Change.UPDATED);
+    }
+
+    // (programId, userId) -> membership; program_user has no unique key, so an active row wins over others
+    private Map<List<Long>, Membership> findMemberships(Collection<Long> userIds) {
+        return programUserRepository.findMembershipsByUserIds(userIds).stream()
+                .collect(Collectors.toMap(m -> List.of(m.programId(), m.userId()), Function.identity(),
+                        (first, second) -> first.active() ? first : second));
+    }
+
+    // Normalized email -> user id for every email that names a user, in one query
+    private Map<String, Long> resolveEmails(List<String> emails) {
+        Set<String> normalized = emails.stream()
+                .filter(email -> !isBlank(email))
+                .map(RosterImportService::emailKey)
+                .collect(Collectors.toSet());
+        if (normalized.isEmpty()) {
+            return Map.of();
+        }
+        return usersRepository.findByEmailNormalizedIn(normalized).stream()
+                .collect(Collectors.toMap(user -> Users.normalizeEmail(user.getEmail()), Users::getId));
+    }
+
+    private static String emailKey(String email) {
+        return Users.normalizeEmail(email.trim());
+    }
+
+    private static void checkRows(List<?> rows) {
+        if (rows == null || rows.isEmpty()) {
+            throw new BadRequestException("At least one row is required");
+        }
+        checkSize(rows.size());
+    }
+
+    private static void checkSize(int size) {
+        if (size > MAX_ROWS) {
+            throw new BadRequestException("At most " + MAX_ROWS + " rows can be imported at once");
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static ImportReport logged(String what, ImportReport report) {
+        logger.info("Imported {}: {} created, {} updated, {} unchanged, {} failed", what,
+                report.created(), report.updated(), report.unchanged(), report.failed());
+        return report;
+    }
+}
@@ -0,0 +1,350 @@
+package com.abetappteam.abetapp.service;
+
+import com.abetappteam.abetapp.datasource.QueryBudget;
+import com.abetappteam.abetapp.dto.CourseSummary;
+import com.abetappteam.abetapp.dto.MeasureSummary;
+import com.abetappteam.abetapp.dto.SemesterArchiveSnapshot;
+import com.abetappteam.abetapp.entity.Course;
+import com.abetappteam.abetapp.entity.CourseIndicator;
+import com.abetappteam.abetapp.entity.CourseInstructor;
+import com.abetappteam.abetapp.entity.Measure;
+import com.abetappteam.abetapp.entity.Outcome;
+import com.abetappteam.abetapp.entity.PerformanceIndicator;
+import com.abetappteam.abetapp.entity.Semester;
+import com.abetappteam.abetapp.entity.Semester.SemesterStatus;
+import com.abetappteam.abetapp.entity.SemesterArchive;
+import com.abetappteam.abetapp.event.DomainEventPublisher;
+import com.abetappteam.abetapp.event.EntityChangedEvent.Change;
+import com.abetappteam.abetapp.exception.BusinessException;
+import com.abetappteam.abetapp.exception.ConflictException;
+import com.abetappteam.abetapp.exception.ResourceNotFoundException;
+import com.abetappteam.abetapp.repository.SemesterArchiveRepository;
+import com.abetappteam.abetapp.repository.SemesterRepository;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Archive tier for ARCHIVED semesters. Archiving moves a semester's courses, course
+ * instructors and indicators, measures, outcomes and performance indicators out of the live
+ * tables into one compressed semester_archive row, so the live tables and their indexes only
+ * hold terms that are still in use. Archived rows are read-only; semester-scoped list and
+ * count endpoints fall back to the archive when the live tables have nothing for an ARCHIVED
+ * semester. Lookups by course id (e.g. /api/courses/{id}) do not: the archive is keyed by semester.
+ */
+@Service
+@QueryBudget(timeoutSeconds = 300, maxRows = QueryBudget.UNLIMITED)
+public class SemesterArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SemesterArchiveService.class);
+
+    static final int FORMAT_VERSION = 1;
+
+    // Children before parents; covers soft-deleted rows too, which are not carried over
+    private static final List<String> DELETE_GRAPH = List.of(
+            "DELETE FROM measure WHERE course_indicator_id IN (SELECT ci.id FROM course_indicator ci "
+                    + "JOIN course c ON ci.course_id = c.id WHERE c.semester_id = ?)",
+            "DELETE FROM course_indicator WHERE course_id IN (SELECT c.id FROM course c WHERE c.semester_id = ?)",
+            "DELETE FROM course_instructor WHERE course_id IN (SELECT c.id FROM course c WHERE c.semester_id = ?)",
+            "DELETE FROM course WHERE semester_id = ?",
+            "DELETE FROM performance_indicator WHERE student_outcome_id IN "
+                    + "(SELECT so.id FROM student_outcome so WHERE so.semester_id = ?)",
+            "DELETE FROM student_outcome WHERE semester_id = ?");
+
+    private final SemesterRepository semesterRepository;
+    private final SemesterArchiveRepository archiveRepository;
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper mapper;
+
+    // Decoded snapshots of recently read archives; archives never change once written, and are
+    // evicted when the purge deletes them
+    private final Map<Long, SemesterArchiveSnapshot> snapshots = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, SemesterArchiveSnapshot> eldest) {
+            return size() > cacheSize;
+        }
+    };
+
+    @Value("${app.archive.cache-size:16}")
+    private int cacheSize = 16;
+
+    // The graph is removed through JDBC, out of sight of the entity listener; absent in tests
+    // that build the service by hand
+    @Autowired(required = false)
+    private DomainEventPublisher events;
+
+    public SemesterArchiveService(SemesterRepository semesterRepository, SemesterArchiveRepository archiveRepository,
+                                  EntityManager entityManager, JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager, ObjectMapper objectMapper) {
+        this.semesterRepository = semesterRepository;
+        this.archiveRepository = archiveRepository;
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Entities serialize derived properties (e.g. "new") that have no setter
+        this.mapper = objectMapper.copy().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    /**
+     * Nightly move of ARCHIVED semesters that are still in the live tables.
+     * Set app.archive.cron to "-" to disable it.
+     */
+    @Scheduled(cron = "${app.archive.cron:0 0 4 * * *}")
+    public void archivePending() {
+        for (Long semesterId : archiveRepository.findSemesterIdsNotArchived(SemesterStatus.ARCHIVED)) {
+            try {
+                archive(semesterId);
+            } catch (RuntimeException e) {
+                logger.warn("Could not archive semester {}: {}", semesterId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Move one ARCHIVED semester's graph into the archive tier, in a single transaction
+     */
+    public SemesterArchive archive(Long semesterId) {
+        return transactionTemplate.execute(status -> {
+            Semester semester = semesterRepository.findById(semesterId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Semester not found with id: " + semesterId));
+            if (semester.getStatus() != SemesterStatus.ARCHIVED) {
+                throw new BusinessException("Only archived semesters can be moved to the archive tier");
+            }
+            if (archiveRepository.existsById(semesterId)) {
+                throw new ConflictException("Semester " + semesterId + " is already in the archive tier");
+            }
+
+            SemesterArchiveSnapshot snapshot = loadSnapshot(semesterId);
+            byte[] json = toJson(snapshot);
+            // Detach the loaded graph before its rows are deleted underneath it
+            entityManager.clear();
+            int removed = 0;
+            for (String sql : DELETE_GRAPH) {
+                removed += jdbcTemplate.update(sql, semesterId);
+            }
+
+            SemesterArchive created = new SemesterArchive(semesterId, semester.getProgramId(), snapshot.archivedAt(),
+                    FORMAT_VERSION, snapshot.courses().size(), snapshot.outcomes().size(), snapshot.measures().size(),
+                    (long) json.length, gzip(json));
+            entityManager.persist(created);
+            publishRemoved(semesterId, snapshot);
+            logger.info("Archived semester {}: {} live rows removed, {} bytes of JSON stored in {} bytes",
+                    semesterId, removed, json.length, created.getPayloadSize());
+            return created;
+        });
+    }
+
+    private void publishRemoved(Long semesterId, SemesterArchiveSnapshot snapshot) {
+        if (events == null) {
+            return;
+        }
+        events.publishAll(Course.class, snapshot.courses().stream().map(Course::getId).toList(), Change.DELETED);
+        events.publishAll(CourseInstructor.class,
+                snapshot.courseInstructors().stream().map(CourseInstructor::getId).toList(), Change.DELETED);
+        events.publishAll(CourseIndicator.class,
+                snapshot.courseIndicators().stream().map(CourseIndicator::getId).toList(), Change.DELETED);
+        events.publishAll(Measure.class, snapshot.measures().stream().map(Measure::getId).toList(), Change.DELETED);
+        events.publishAll(Outcome.class, snapshot.outcomes().stream().map(Outcome::getId).toList(), Change.DELETED);
+        events.publish(Semester.class, semesterId, Change.UPDATED);
+    }
+
+    /**
+     * Archive tier row of a semester, without decoding its payload
+     */
+    public Optional<SemesterArchive> findArchive(Long semesterId) {
+        return archiveRepository.findById(semesterId);
+    }
+
+    /**
+     * Full archived graph of a semester, if it has been archived
+     */
+    public Optional<SemesterArchiveSnapshot> findSnapshot(Long semesterId) {
+        synchronized (snapshots) {
+            SemesterArchiveSnapshot cached = snapshots.get(semesterId);
+            if (cached != null) {
+                return Optional.of(cached);
+            }
+        }
+        return archiveRepository.findById(semesterId).map(archive -> {
+            SemesterArchiveSnapshot snapshot = fromJson(gunzip(archive.getPayload()));
+            synchronized (snapshots) {
+                snapshots.put(semesterId, snapshot);
+            }
+            return snapshot;
+        });
+    }
+
+    /**
+     * Forget decoded snapshots of semesters whose archive rows were deleted
+     */
+    public void evict(Collection<Long> semesterIds) {
+        synchronized (snapshots) {
+            snapshots.keySet().removeAll(semesterIds);
+        }
+    }
+
+    /**
+     * Archived counterpart of CourseRepository.countBySemesterId, from the archive row alone
+     */
+    public Optional<Long> findCourseCount(Long semesterId) {
+        if (!mayBeArchived(semesterId)) {
+            return Optional.empty();
+        }
+        return archiveRepository.findById(semesterId).map(archive -> archive.getCourseCount().longValue());
+    }
+
+    /**
+     * Archived counterpart of CourseRepository.findSummaryBySemesterId(AndIsActive), ordered by id
+     */
+    public Optional<Page<CourseSummary>> findCourseSummaries(Long semesterId, boolean activeOnly, Pageable pageable) {
+        return archivedSnapshot(semesterId).map(snapshot -> page(snapshot.courses().stream()
+                .filter(course -> !activeOnly || Boolean.TRUE.equals(course.getIsActive()))
+                .map(course -> new CourseSummary(course.getId(), course.getCourseCode(), course.getCourseName(),
+                        course.getSemesterId(), course.getStudentCount(), course.getIsActive()))
+                .toList(), pageable));
+    }
+
+    /**
+     * Archived counterpart of MeasureRepository.findActiveSummariesBySemesterAndStatus
+     */
+    public Optional<List<MeasureSummary>> findActiveMeasureSummaries(Long semesterId, String status) {
+        return archivedSnapshot(semesterId).map(snapshot -> {
+            Map<Long, Course> activeCourses = snapshot.courses().stream()
+                    .filter(course -> Boolean.TRUE.equals(course.getIsActive()))
+                    .collect(Collectors.toMap(Course::getId, Function.identity()));
+            Map<Long, CourseIndicator> activeIndicators = snapshot.courseIndicators().stream()
+                    .filter(ci -> Boolean.TRUE.equals(ci.getIsActive()) && activeCourses.containsKey(ci.getCourseId()))
+                    .collect(Collectors.toMap(CourseIndicator::getId, Function.identity()));
+            return snapshot.measures().stream()
+                    .filter(m -> Boolean.TRUE.equals(m.getActive()) && Objects.equals(m.getStatus(), status)
+                            && activeIndicators.containsKey(m.getCourseIndicatorId()))
+                    .sorted(Comparator.<Measure, Long>comparing(
+                                    m -> activeIndicators.get(m.getCourseIndicatorId()).getCourseId())
+                            .thenComparing(Measure::getCourseIndicatorId)
+                            .thenComparing(Measure::getId))
+                    .map(m -> new MeasureSummary(m.getId(), m.getCourseIndicatorId(), m.getStatus(),
+                            m.getStudentsMet(), m.getStudentsExceeded(), m.getStudentsBelow(), m.getActive()))
+                    .toList();
+        });
+    }
+
+    /**
+     * Archived counterpart of OutcomeRepository.findBySemesterIdAndActive
+     */
+    public Optional<List<Outcome>> findOutcomes(Long semesterId, boolean active) {
+        return archivedSnapshot(semesterId).map(snapshot -> snapshot.outcomes().stream()
+                .filter(outcome -> Objects.equals(outcome.getActive(), active))
+                .toList());
+    }
+
+    // Only ARCHIVED semesters are moved here, so a live term never costs an archive read
+    private boolean mayBeArchived(Long semesterId) {
+        synchronized (snapshots) {
+            if (snapshots.containsKey(semesterId)) {
+                return true;
+            }
+        }
+        return semesterRepository.existsByIdAndStatus(semesterId, SemesterStatus.ARCHIVED);
+    }
+
+    private Optional<SemesterArchiveSnapshot> archivedSnapshot(Long semesterId) {
+        return mayBeArchived(semesterId) ? findSnapshot(semesterId) : Optional.empty();
+    }
+
+    private SemesterArchiveSnapshot loadSnapshot(Long semesterId) {
+        String semesterCourses = "SELECT c.id FROM Course c WHERE c.semesterId = :semesterId";
+        return new SemesterArchiveSnapshot(FORMAT_VERSION, semesterId, LocalDateTime.now(),
+                list("SELECT c FROM Course c WHERE c.semesterId = :semesterId ORDER BY c.id",
+                        Course.class, semesterId),
+                list("SELECT ci FROM CourseInstructor ci WHERE ci.courseId IN (" + semesterCourses + ") ORDER BY ci.id",
+                        CourseInstructor.class, semesterId),
+                list("SELECT ci FROM CourseIndicator ci WHERE ci.courseId IN (" + semesterCourses + ") ORDER BY ci.id",
+                        CourseIndicator.class, semesterId),
+                list("SELECT m FROM Measure m WHERE m.courseIndicatorId IN (SELECT ci.id FROM CourseIndicator ci "
+                                + "WHERE ci.courseId IN (" + semesterCourses + ")) ORDER BY m.id",
+                        Measure.class, semesterId),
+                list("SELECT o FROM Outcome o WHERE o.semesterId = :semesterId ORDER BY o.id",
+                        Outcome.class, semesterId),
+                list("SELECT pi FROM PerformanceIndicator pi WHERE pi.studentOutcomeId IN "
+                                + "(SELECT o.id FROM Outcome o WHERE o.semesterId = :semesterId) ORDER BY pi.id",
+                        PerformanceIndicator.class, semesterId));
+    }
+
+    private <T> List<T> list(String jpql, Class<T> type, Long semesterId) {
+        return entityManager.createQuery(jpql, type).setParameter("semesterId", semesterId).getResultList();
+    }
+
+    private static <T> Page<T> page(List<T> rows, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(rows, pageable, rows.size());
+        }
+        int from = (int) Math.min(pageable.getOffset(), rows.size());
+        int to = Math.min(from + pageable.getPageSize(), rows.size());
+        return new PageImpl<>(rows.subList(from, to), pageable, rows.size());
+    }
+
+    private byte[] toJson(SemesterArchiveSnapshot snapshot) {
+        try {
+            return mapper.writeValueAsBytes(snapshot);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not serialize archive of semester " + snapshot.semesterId(), e);
+        }
+    }
+
+    private SemesterArchiveSnapshot fromJson(byte[] json) {
+        try {
+            return mapper.readValue(json, SemesterArchiveSnapshot.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read semester archive", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] gunzip(byte[] data) {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return gzip.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
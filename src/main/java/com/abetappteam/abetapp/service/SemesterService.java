@@ -1,9 +1,13 @@
 package com.abetappteam.abetapp.service;
 
+import com.abetappteam.abetapp.datasource.QueryBudget;
+import com.abetappteam.abetapp.dto.SemesterArchiveSnapshot;
 import com.abetappteam.abetapp.dto.SemesterDTO;
 import com.abetappteam.abetapp.entity.Semester;
 import com.abetappteam.abetapp.entity.Semester.SemesterStatus;
 import com.abetappteam.abetapp.entity.Semester.SemesterType;
+import com.abetappteam.abetapp.entity.SemesterArchive;
+import com.abetappteam.abetapp.event.EntityChangedEvent;
 import com.abetappteam.abetapp.exception.BusinessException;
 import com.abetappteam.abetapp.exception.ConflictException;
 import com.abetappteam.abetapp.exception.ResourceNotFoundException;
@@ -16,7 +20,9 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -30,6 +36,9 @@ public class SemesterService extends BaseService<Semester, Long, SemesterReposit
         super(repository);
     }
 
+    @Autowired
+    private SemesterArchiveService archiveService;
+
     @Override
     protected String getEntityName() {
         return "Semester";
@@ -39,12 +48,6 @@ public class SemesterService extends BaseService<Semester, Long, SemesterReposit
     public Semester createSemester(String name, String code, LocalDate startDate, LocalDate endDate,
                                    Integer academicYear, SemesterType type, Long programId,
                                    String description, Boolean isCurrent) {
-        // Check for duplicate semester code in the same program
-        Optional<Semester> existingSemester = repository.findByCodeIgnoreCaseAndProgramId(code, programId);
-        if (existingSemester.isPresent()) {
-            throw new ConflictException("Semester with code '" + code + "' already exists in this program");
-        }
-
         // Validate date range
         if (endDate.isBefore(startDate)) {
             throw new BusinessException("End date cannot be before start date");
@@ -74,7 +77,8 @@ public class SemesterService extends BaseService<Semester, Long, SemesterReposit
         }
 
         logger.info("Creating new semester: {} - {} - {}", code, name, academicYear);
-        return repository.save(semester);
+        // Semester codes are unique across programs (uk_semester_code)
+        return insert(repository, semester, "Semester with code '" + code + "' already exists");
     }
 
     @Transactional
@@ -154,12 +158,49 @@ public class SemesterService extends BaseService<Semester, Long, SemesterReposit
                 dto.getIsCurrent());
     }
 
+    /**
+     * Fields PATCH /api/semesters/{id} may change; status and the current flag have their own endpoints
+     */
+    @Override
+    protected Set<String> patchableFields() {
+        return Set.of("name", "code", "startDate", "endDate", "academicYear", "type", "description");
+    }
+
+    /**
+     * Same rules as updateSemester, checked against the stored semester merged with the patch
+     */
+    @Override
+    protected void beforePatch(Long semesterId, Map<String, Object> values) {
+        Semester semester = findById(semesterId);
+        if (!semester.isEditable()) {
+            throw new BusinessException("Cannot edit semester that is completed or archived");
+        }
+
+        if (values.get("code") instanceof String code && !code.equalsIgnoreCase(semester.getCode())) {
+            repository.findByCodeIgnoreCaseAndProgramId(code, semester.getProgramId()).ifPresent(existing -> {
+                if (!existing.getId().equals(semesterId)) {
+                    throw new ConflictException("Semester with code '" + code + "' already exists in this program");
+                }
+            });
+        }
+
+        LocalDate startDate = values.containsKey("startDate") ? (LocalDate) values.get("startDate") : semester.getStartDate();
+        LocalDate endDate = values.containsKey("endDate") ? (LocalDate) values.get("endDate") : semester.getEndDate();
+        if (startDate != null && endDate != null && endDate.isBefore(startDate)) {
+            throw new BusinessException("End date cannot be before start date");
+        }
+
+        if (values.get("academicYear") instanceof Integer academicYear && (academicYear < 2000 || academicYear > 2100)) {
+            throw new BusinessException("Academic year must be between 2000 and 2100");
+        }
+    }
+
     @Transactional
     public void removeSemester(Long semesterId) {
         Semester semester = findById(semesterId);
 
-        // Check if semester has courses
-        if (repository.hasCourses(semesterId)) {
+        // Check if semester has courses, live or archived
+        if (hasCourses(semesterId)) {
             throw new BusinessException("Cannot delete semester that has courses assigned");
         }
 
@@ -297,6 +338,22 @@ public class SemesterService extends BaseService<Semester, Long, SemesterReposit
         return repository.save(semester);
     }
 
+    /**
+     * Move an ARCHIVED semester's courses, outcomes and measures to the archive tier now
+     * instead of waiting for the nightly run
+     */
+    public SemesterArchive moveToArchive(Long semesterId) {
+        return archiveService.archive(semesterId);
+    }
+
+    /**
+     * Read-only view of everything an archived semester owned
+     */
+    public SemesterArchiveSnapshot getArchiveSnapshot(Long semesterId) {
+        return archiveService.findSnapshot(semesterId)
+                .orElseThrow(() -> new ResourceNotFoundException("Semester " + semesterId + " is not in the archive tier"));
+    }
+
     @Transactional
     public Semester setAsCurrentSemester(Long semesterId) {
         Semester semester = findById(semesterId);
@@ -307,27 +364,35 @@ public class SemesterService extends BaseService<Semester, Long, SemesterReposit
     @Transactional
     public void clearCurrentSemesterFlag(Long programId) {
         logger.info("Clearing current semester flag for program: {}", programId);
-        repository.clearCurrentSemesterFlag(programId);
+        clearCurrentFlag(programId);
     }
 
     @Transactional(readOnly = true)
     public boolean hasCourses(Long semesterId) {
-        return repository.hasCourses(semesterId);
+        return repository.hasCourses(semesterId) || archiveService.findCourseCount(semesterId).orElse(0L) > 0;
     }
 
     @Transactional(readOnly = true)
     public long countCoursesBySemester(Long semesterId) {
-        return repository.countCoursesBySemesterId(semesterId);
+        long count = repository.countCoursesBySemesterId(semesterId);
+        return count > 0 ? count : archiveService.findCourseCount(semesterId).orElse(0L);
     }
 
     // Helper methods for business logic
     private void setAsCurrentSemester(Semester semester) {
         // Clear current flag from all semesters in the program
-        repository.clearCurrentSemesterFlag(semester.getProgramId());
+        clearCurrentFlag(semester.getProgramId());
         // Set current flag on this semester
         semester.setIsCurrent(true);
     }
 
+    // Bulk update, so the semesters losing the flag are published here rather than by the entity listener
+    private void clearCurrentFlag(Long programId) {
+        List<Long> current = repository.findCurrentSemesterIdsByProgram(programId);
+        repository.clearCurrentSemesterFlag(programId);
+        publishChanges(Semester.class, current, EntityChangedEvent.Change.UPDATED);
+    }
+
     private void updateSemesterStatus(Semester semester) {
         LocalDate today = LocalDate.now();
         if (today.isBefore(semester.getStartDate())) {
@@ -354,6 +419,7 @@ public class SemesterService extends BaseService<Semester, Long, SemesterReposit
      * Automatically update semester statuses based on current date
      */
     @Transactional
+    @QueryBudget(timeoutSeconds = 120)
     public void updateAllSemesterStatuses() {
         List<Semester> allSemesters = repository.findAll();
         for (Semester semester : allSemesters) {
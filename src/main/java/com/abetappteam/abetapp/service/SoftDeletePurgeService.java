@@ -0,0 +1,161 @@
+package com.abetappteam.abetapp.service;
+
+import com.abetappteam.abetapp.datasource.QueryBudget;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Physically removes soft-deleted rows once they are older than the retention period.
+ * Rows go in batches of app.soft-delete.purge-batch-size, each in its own short transaction,
+ * so a large purge never holds locks on a whole table. A row that still has children
+ * (live or soft-deleted but not yet expired) is kept until they are purged.
+ */
+@Service
+@QueryBudget(timeoutSeconds = 300, maxRows = QueryBudget.UNLIMITED)
+public class SoftDeletePurgeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SoftDeletePurgeService.class);
+
+    private static final String SEMESTER = "semester";
+
+    // Children before parents, so a parent whose children expired too goes in the same run.
+    // Join rows (course_indicator, course_instructor, program_user) have no meaning without
+    // their parent and are removed with it, as ON DELETE CASCADE does in mariadb-schema.sql.
+    private static final List<PurgeTarget> TARGETS = List.of(
+            new PurgeTarget("measure", List.of(), List.of()),
+            new PurgeTarget("course",
+                    List.of("SELECT 1 FROM measure m JOIN course_indicator ci ON m.course_indicator_id = ci.id "
+                            + "WHERE ci.course_id = t.id"),
+                    List.of("DELETE FROM course_instructor WHERE course_id IN (:ids)",
+                            "DELETE FROM course_indicator WHERE course_id IN (:ids)")),
+            new PurgeTarget("performance_indicator",
+                    List.of("SELECT 1 FROM measure m JOIN course_indicator ci ON m.course_indicator_id = ci.id "
+                            + "WHERE ci.indicator_id = t.id"),
+                    List.of("DELETE FROM course_indicator WHERE indicator_id IN (:ids)")),
+            new PurgeTarget("student_outcome",
+                    List.of("SELECT 1 FROM performance_indicator pi WHERE pi.student_outcome_id = t.id"),
+                    List.of()),
+            new PurgeTarget(SEMESTER,
+                    List.of("SELECT 1 FROM course c WHERE c.semester_id = t.id",
+                            "SELECT 1 FROM student_outcome so WHERE so.semester_id = t.id"),
+                    List.of("DELETE FROM semester_archive WHERE semester_id IN (:ids)")),
+            new PurgeTarget("program",
+                    List.of("SELECT 1 FROM semester s WHERE s.program_id = t.id"),
+                    List.of("DELETE FROM course_instructor WHERE program_user_id IN "
+                                    + "(SELECT pu.id FROM program_user pu WHERE pu.program_id IN (:ids))",
+                            "DELETE FROM program_user WHERE program_id IN (:ids)")),
+            new PurgeTarget("users",
+                    List.of(),
+                    List.of("DELETE FROM course_instructor WHERE program_user_id IN "
+                                    + "(SELECT pu.id FROM program_user pu WHERE pu.user_id IN (:ids))",
+                            "DELETE FROM program_user WHERE user_id IN (:ids)")));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.soft-delete.retention-days:90}")
+    private int retentionDays;
+
+    @Value("${app.soft-delete.purge-batch-size:1000}")
+    private int batchSize;
+
+    // Holds decoded archives of the semesters purged here; absent in tests that build the
+    // service by hand
+    @Autowired(required = false)
+    private SemesterArchiveService archiveService;
+
+    public SoftDeletePurgeService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Nightly purge of rows soft-deleted more than app.soft-delete.retention-days ago.
+     * Set app.soft-delete.purge-cron to "-" to disable it.
+     */
+    @Scheduled(cron = "${app.soft-delete.purge-cron:0 30 3 * * *}")
+    public void purgeExpired() {
+        Map<String, Integer> purged = purge(LocalDateTime.now().minusDays(retentionDays));
+        logger.info("Purged soft-deleted rows older than {} days: {}", retentionDays, purged);
+    }
+
+    /**
+     * Purge every soft-deleted row whose deleted_at is before cutoff
+     *
+     * @return rows removed per table, in purge order
+     */
+    public Map<String, Integer> purge(LocalDateTime cutoff) {
+        if (batchSize < 1) {
+            throw new IllegalStateException("app.soft-delete.purge-batch-size must be positive: " + batchSize);
+        }
+        Timestamp before = Timestamp.valueOf(cutoff);
+        Map<String, Integer> purged = new LinkedHashMap<>();
+        for (PurgeTarget target : TARGETS) {
+            int total = 0;
+            List<Long> ids;
+            do {
+                ids = jdbcTemplate.queryForList(target.selectExpired(), Long.class, before, batchSize);
+                if (!ids.isEmpty()) {
+                    List<Long> batch = ids;
+                    total += transactionTemplate.execute(status -> deleteBatch(target, batch));
+                    if (SEMESTER.equals(target.table()) && archiveService != null) {
+                        archiveService.evict(batch);
+                    }
+                }
+            } while (ids.size() == batchSize);
+            purged.put(target.table(), total);
+            if (total > 0) {
+                logger.debug("Purged {} soft-deleted rows from {}", total, target.table());
+            }
+        }
+        return purged;
+    }
+
+    private int deleteBatch(PurgeTarget target, List<Long> ids) {
+        // Lock the batch and drop rows restored since they were selected
+        List<Long> locked = namedJdbcTemplate.queryForList(
+                "SELECT id FROM " + target.table() + " WHERE id IN (:ids) AND deleted = TRUE FOR UPDATE",
+                new MapSqlParameterSource("ids", ids), Long.class);
+        if (locked.isEmpty()) {
+            return 0;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", locked);
+        for (String dependent : target.dependents()) {
+            namedJdbcTemplate.update(dependent, params);
+        }
+        return namedJdbcTemplate.update("DELETE FROM " + target.table() + " WHERE id IN (:ids)", params);
+    }
+
+    /**
+     * A soft-deletable table: blockers are child rows that keep a parent from being purged,
+     * dependents the join rows deleted along with it
+     */
+    private record PurgeTarget(String table, List<String> blockers, List<String> dependents) {
+
+        String selectExpired() {
+            StringBuilder sql = new StringBuilder("SELECT t.id FROM ").append(table)
+                    .append(" t WHERE t.deleted = TRUE AND t.deleted_at < ?");
+            for (String blocker : blockers) {
+                sql.append(" AND NOT EXISTS (").append(blocker).append(')');
+            }
+            return sql.append(" ORDER BY t.id LIMIT ?").toString();
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.abetappteam.abetapp.service;
+
+import com.abetappteam.abetapp.dto.ImportReport;
+import com.abetappteam.abetapp.dto.ProgramMemberRow;
+import com.abetappteam.abetapp.dto.ProvisioningReport;
+import com.abetappteam.abetapp.dto.UserProvisionRow;
+import com.abetappteam.abetapp.entity.Users;
+import com.abetappteam.abetapp.exception.BadRequestException;
+import com.abetappteam.abetapp.repository.UsersRepository;
+import com.abetappteam.abetapp.util.CsvReader;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk account provisioning, e.g. a term's students or adjuncts from a CSV. BCrypt dominates
+ * the cost, so passwords are hashed in parallel on a fixed pool sized to the available cores
+ * (app.provisioning.hash-threads overrides it) before any transaction opens. The new users are
+ * then inserted as JDBC batches and, for rows naming a program, attached to it through
+ * RosterImportService, all in one transaction.
+ * <p>
+ * Accounts whose email is already taken are left as they are, password included, but still get
+ * the membership their row asks for.
+ */
+@Service
+public class UserProvisioningService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserProvisioningService.class);
+
+    // Largest list accepted by a single run, as for RosterImportService
+    public static final int MAX_ROWS = 5000;
+
+    static final int BATCH_SIZE = 1000;
+
+    private static final int MAX_PASSWORD_BYTES = 72;
+
+    private static final String INSERT_USER = "INSERT INTO users (email, password_hash, name_first, name_last, "
+            + "name_title, is_active, created_at, updated_at, version, deleted) VALUES (?, ?, ?, ?, ?, TRUE, ?, ?, 0, FALSE)";
+
+    private final UsersRepository usersRepository;
+    private final RosterImportService rosterImportService;
+    private final PasswordEncoder passwordEncoder;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int hashThreads;
+    private final ExecutorService hashPool;
+
+    public UserProvisioningService(UsersRepository usersRepository, RosterImportService rosterImportService,
+                                   PasswordEncoder passwordEncoder, JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${app.provisioning.hash-threads:0}") int hashThreads) {
+        this.usersRepository = usersRepository;
+        this.rosterImportService = rosterImportService;
+        this.passwordEncoder = passwordEncoder;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.hashThreads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.hashPool = Executors.newFixedThreadPool(this.hashThreads, runnable -> {
+            Thread thread = new Thread(runnable, "password-hash-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashPool.shutdownNow();
+    }
+
+    /**
+     * Rows of a CSV with the columns email, password, firstName, lastName and optionally
+     * title, programId and role
+     */
+    public static List<UserProvisionRow> readCsv(String csv) {
+        return CsvReader.read(csv).stream()
+                .map(row -> new UserProvisionRow(row.get("email"), row.get("password"), row.get("firstName"),
+                        row.get("lastName"), row.get("title"), row.getLong("programId"), row.get("role")))
+                .toList();
+    }
+
+    public ProvisioningReport provision(List<UserProvisionRow> rows) {
+        if (rows == null || rows.isEmpty()) {
+            throw new BadRequestException("At least one user is required");
+        }
+        if (rows.size() > MAX_ROWS) {
+            throw new BadRequestException("At most " + MAX_ROWS + " users can be provisioned at once");
+        }
+        Set<String> taken = usersRepository.findByEmailNormalizedIn(rows.stream()
+                        .map(UserProvisionRow::email).filter(email -> email != null && !email.isBlank())
+                        .map(UserProvisioningService::emailKey).collect(Collectors.toSet()))
+                .stream().map(user -> Users.normalizeEmail(user.getEmail())).collect(Collectors.toSet());
+
+        ImportReport.Row[] report = new ImportReport.Row[rows.size()];
+        List<Integer> toCreate = new ArrayList<>();
+        Map<String, Integer> seen = new HashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            UserProvisionRow row = rows.get(i);
+            String failure = validate(row);
+            Integer previous = failure == null ? seen.putIfAbsent(emailKey(row.email()), i + 1) : null;
+            if (previous != null) {
+                failure = "Same email as row " + previous;
+            }
+            if (failure != null) {
+                report[i] = new ImportReport.Row(i + 1, row.email(), ImportReport.FAILED, failure);
+            } else if (taken.contains(emailKey(row.email()))) {
+                report[i] = new ImportReport.Row(i + 1, row.email(), ImportReport.UNCHANGED, "User already exists");
+            } else {
+                report[i] = new ImportReport.Row(i + 1, row.email(), ImportReport.CREATED, null);
+                toCreate.add(i);
+            }
+        }
+
+        long started = System.currentTimeMillis();
+        List<String> hashes = hashPasswords(toCreate.stream().map(i -> rows.get(i).password()).toList());
+        long hashed = System.currentTimeMillis();
+
+        ImportReport memberships = transactionTemplate.execute(status -> {
+            insertUsers(rows, toCreate, hashes);
+            return attachMemberships(rows, report);
+        });
+
+        ProvisioningReport result = new ProvisioningReport(ImportReport.of(List.of(report)), memberships);
+        logger.info("Provisioned {} users ({} existing, {} failed) and {} memberships; hashing took {} ms on {} threads, "
+                        + "writing {} ms", result.users().created(), result.users().unchanged(), result.users().failed(),
+                memberships.created() + memberships.updated(), hashed - started, hashThreads,
+                System.currentTimeMillis() - hashed);
+        return result;
+    }
+
+    /**
+     * BCrypt hashes in input order. The list is cut into one slice per pool thread so a run
+     * never queues more tasks than there are threads.
+     */
+    List<String> hashPasswords(List<String> passwords) {
+        if (passwords.isEmpty()) {
+            return List.of();
+        }
+        int sliceSize = (passwords.size() + hashThreads - 1) / hashThreads;
+        List<Callable<List<String>>> slices = new ArrayList<>();
+        for (int from = 0; from < passwords.size(); from += sliceSize) {
+            List<String> slice = passwords.subList(from, Math.min(from + sliceSize, passwords.size()));
+            slices.add(() -> slice.stream().map(passwordEncoder::encode).toList());
+        }
+        List<String> hashes = new ArrayList<>(passwords.size());
+        try {
+            for (Future<List<String>> slice : hashPool.invokeAll(slices)) {
+                hashes.addAll(slice.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing passwords", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+        return hashes;
+    }
+
+    private void insertUsers(List<UserProvisionRow> rows, List<Integer> toCreate, List<String> hashes) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>(Math.min(toCreate.size(), BATCH_SIZE));
+        for (int n = 0; n < toCreate.size(); n++) {
+            UserProvisionRow row = rows.get(toCreate.get(n));
+            batch.add(new Object[] {row.email().trim(), hashes.get(n), row.firstName().trim(), row.lastName().trim(),
+                    row.title() == null || row.title().isBlank() ? null : row.title().trim(), now, now});
+            if (batch.size() == BATCH_SIZE || n == toCreate.size() - 1) {
+                jdbcTemplate.batchUpdate(INSERT_USER, batch);
+                batch.clear();
+            }
+        }
+    }
+
+    // Memberships of every row that was not rejected; report rows keep the account's row number
+    private ImportReport attachMemberships(List<UserProvisionRow> rows, ImportReport.Row[] users) {
+        List<ProgramMemberRow> members = new ArrayList<>();
+        List<Integer> rowNumbers = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            UserProvisionRow row = rows.get(i);
+            if (row.programId() != null && !users[i].status().equals(ImportReport.FAILED)) {
+                members.add(new ProgramMemberRow(row.email(), row.programId(),
+                        row.role() == null || row.role().isBlank() ? "INSTRUCTOR" : row.role()));
+                rowNumbers.add(i + 1);
+            }
+        }
+        if (members.isEmpty()) {
+            return ImportReport.of(List.of());
+        }
+        return ImportReport.of(rosterImportService.importProgramMembers(members).rows().stream()
+                .map(row -> new ImportReport.Row(rowNumbers.get(row.row() - 1), row.email(), row.status(), row.message()))
+                .toList());
+    }
+
+    private static String validate(UserProvisionRow row) {
+        if (isBlank(row.email()) || isBlank(row.password()) || isBlank(row.firstName()) || isBlank(row.lastName())) {
+            return "email, password, firstName and lastName are required";
+        }
+        // Same limit as UsersDTO puts on a single signup, then the most BCrypt hashes; a longer
+        // password would fail the whole run in hashPasswords
+        if (row.password().length() > 255) {
+            return "Password must be 1 to 255 characters long";
+        }
+        if (row.password().getBytes(StandardCharsets.UTF_8).length > MAX_PASSWORD_BYTES) {
+            return "Password must be at most " + MAX_PASSWORD_BYTES + " bytes long";
+        }
+        String email = row.email().trim();
+        if (email.length() > 255 || email.indexOf('@') < 1 || email.indexOf('@') == email.length() - 1) {
+            return "Invalid email address " + row.email();
+        }
+        if (row.firstName().trim().length() > 100 || row.lastName().trim().length() > 100) {
+            return "Names must be at most 100 characters long";
+        }
+        if (row.title() != null && row.title().trim().length() > 50) {
+            return "Title must be at most 50 characters long";
+        }
+        if (row.role() != null && !row.role().isBlank() && row.programId() == null) {
+            return "role needs a programId";
+        }
+        return null;
+    }
+
+    private static String emailKey(String email) {
+        return Users.normalizeEmail(email.trim());
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -1,5 +1,6 @@
 package com.abetappteam.abetapp.service;
 
+import com.abetappteam.abetapp.dto.UserSummary;
 import com.abetappteam.abetapp.dto.UsersDTO;
 import com.abetappteam.abetapp.dto.UpdateUsersDTO;
 import com.abetappteam.abetapp.entity.Users;
@@ -8,10 +9,14 @@ import com.abetappteam.abetapp.exception.ResourceNotFoundException;
 import com.abetappteam.abetapp.repository.UsersRepository;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class UsersService extends BaseService<Users, Long, UsersRepository> {
@@ -29,9 +34,6 @@ public class UsersService extends BaseService<Users, Long, UsersRepository> {
     //Create new user from Data Transfer Object
     @Transactional
     public Users create(UsersDTO dto) {
-        if(repository.existsByEmailIgnoreCase(dto.getEmail())) {
-            throw new ConflictException("User with email address '" + dto.getEmail() + "' already exists");
-        }
         Users user = new Users();
         user.setEmail(dto.getEmail());
         user.setPasswordHash(dto.getPasswordHash());
@@ -41,7 +43,7 @@ public class UsersService extends BaseService<Users, Long, UsersRepository> {
         user.setActive(dto.getActive() != null ? dto.getActive() : true);
 
         logger.info("Creating new user : {}", dto.getFullName());
-        return repository.save(user);
+        return insert(repository, user, "User with email address '" + dto.getEmail() + "' already exists");
     }
 
     //Update existing user
@@ -104,6 +106,24 @@ public class UsersService extends BaseService<Users, Long, UsersRepository> {
         return repository.save(user);
     }
 
+    //Fields PATCH /api/users/{id} may change; passwords are not patched
+    @Override
+    protected Set<String> patchableFields() {
+        return Set.of("email", "firstName", "lastName", "title", "active");
+    }
+
+    //A new email address must not belong to another user
+    @Override
+    protected void beforePatch(Long id, Map<String, Object> values) {
+        if(values.get("email") instanceof String email) {
+            repository.findByEmailIgnoreCase(email).ifPresent(existing -> {
+                if(!existing.getId().equals(id)) {
+                    throw new ConflictException("User with email address '" + email + "' already exists");
+                }
+            });
+        }
+    }
+
     //Find user by email address
     @Transactional(readOnly = true)
     public Users findByEmail(String email) {
@@ -135,6 +155,12 @@ public class UsersService extends BaseService<Users, Long, UsersRepository> {
         return repository.findByActiveFalse();
     }
 
+    //Page of user summaries for list views (no password hash)
+    @Transactional(readOnly = true)
+    public Page<UserSummary> findAllSummaries(Pageable pageable) {
+        return repository.findSummaryBy(pageable);
+    }
+
     //Activate User Account
     @Transactional
     public Users activate(Long id){
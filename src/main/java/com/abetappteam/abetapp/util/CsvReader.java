@@ -0,0 +1,102 @@
+package com.abetappteam.abetapp.util;
+
+import com.abetappteam.abetapp.exception.BadRequestException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Minimal reader for the CSV files accepted by the bulk import endpoints and the provisioning
+ * CLI. The first line is a header naming the columns, matched case-insensitively and in any
+ * order. Fields may be quoted, with "" for a quote inside them; blank lines are skipped and
+ * blank fields read as null.
+ */
+public final class CsvReader {
+
+    private CsvReader() {
+    }
+
+    /**
+     * One data row, numbered from 1 after the header
+     */
+    public record Row(int number, Map<String, String> values) {
+
+        public String get(String column) {
+            return values.get(column.toLowerCase(Locale.ROOT));
+        }
+
+        public Long getLong(String column) {
+            String value = get(column);
+            try {
+                return value == null ? null : Long.valueOf(value);
+            } catch (NumberFormatException e) {
+                throw new BadRequestException("Row " + number + ": " + column + " '" + value + "' is not a number");
+            }
+        }
+    }
+
+    public static List<Row> read(String csv) {
+        List<List<String>> lines = split(csv == null ? "" : csv);
+        if (lines.isEmpty()) {
+            throw new BadRequestException("CSV body needs a header row");
+        }
+        List<String> header = lines.get(0).stream().map(name -> name.trim().toLowerCase(Locale.ROOT)).toList();
+        List<Row> rows = new ArrayList<>(lines.size() - 1);
+        for (int i = 1; i < lines.size(); i++) {
+            List<String> fields = lines.get(i);
+            Map<String, String> values = new HashMap<>();
+            for (int column = 0; column < header.size() && column < fields.size(); column++) {
+                String value = fields.get(column).trim();
+                values.put(header.get(column), value.isEmpty() ? null : value);
+            }
+            rows.add(new Row(i, values));
+        }
+        return rows;
+    }
+
+    private static List<List<String>> split(String csv) {
+        List<List<String>> lines = new ArrayList<>();
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < csv.length(); i++) {
+            char c = csv.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < csv.length() && csv.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == '\r') {
+                endLine(lines, fields, field);
+                fields = new ArrayList<>();
+                if (c == '\r' && i + 1 < csv.length() && csv.charAt(i + 1) == '\n') {
+                    i++;
+                }
+            } else {
+                field.append(c);
+            }
+        }
+        endLine(lines, fields, field);
+        return lines;
+    }
+
+    private static void endLine(List<List<String>> lines, List<String> fields, StringBuilder field) {
+        fields.add(field.toString());
+        field.setLength(0);
+        if (fields.size() > 1 || !fields.get(0).isBlank()) {
+            lines.add(fields);
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.abetappteam.abetapp.web;
+
+import com.abetappteam.abetapp.dto.ApiResponse;
+import com.abetappteam.abetapp.dto.BatchRequest;
+import com.abetappteam.abetapp.dto.BatchResult;
+import com.abetappteam.abetapp.exception.BadRequestException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.Servlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.util.ServletRequestPathUtils;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the calls of a batch through the DispatcherServlet in-process, skipping the servlet
+ * filters: the batch request was authenticated once by the security chain, and each call gets
+ * its program and role and runs under its security context. Calls bypass response caching and
+ * coalescing as well.
+ * <p>
+ * Consecutive GETs run concurrently on a bounded pool (app.batch.threads); the caller's thread
+ * runs a read itself when the pool is full. Any other method is a barrier: it starts after the
+ * calls before it have finished and the calls after it start once it is done.
+ * <p>
+ * Each call is resolved to its handler first, on the path as handler mapping sees it (decoded,
+ * without matrix parameters). The batch endpoint itself, handlers answering asynchronously -
+ * streaming, event streams, deferred results - and the paths of app.batch.exclude are refused
+ * with 400. A handler that only decides at runtime to stream is refused when it starts to.
+ */
+public class BatchDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchDispatcher.class);
+
+    static final String SIZE = "abet.http.batch.size";
+
+    private static final Set<String> METHODS = Set.of("GET", "POST", "PUT", "PATCH", "DELETE");
+
+    // Return types Spring MVC answers after the handler returns, on another thread
+    private static final List<Class<?>> ASYNC_TYPES = List.of(StreamingResponseBody.class, ResponseBodyEmitter.class,
+            DeferredResult.class, WebAsyncTask.class, Callable.class, CompletionStage.class);
+
+    private final AntPathMatcher matcher = new AntPathMatcher();
+    private final Servlet dispatcherServlet;
+    private final HandlerMapping handlerMapping;
+    private final ObjectMapper objectMapper;
+    private final DistributionSummary sizes;
+    private final List<String> excludedPaths;
+    private final int maxCalls;
+    private final ThreadPoolExecutor pool;
+
+    public BatchDispatcher(Servlet dispatcherServlet, HandlerMapping handlerMapping, ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry, List<String> excludedPaths, int threads, int maxCalls) {
+        this.dispatcherServlet = dispatcherServlet;
+        this.handlerMapping = handlerMapping;
+        this.objectMapper = objectMapper;
+        this.excludedPaths = excludedPaths;
+        this.maxCalls = maxCalls;
+        this.sizes = DistributionSummary.builder(SIZE)
+                .description("Calls per API batch")
+                .register(meterRegistry);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads * 4), runnable -> {
+                    Thread thread = new Thread(runnable, "api-batch-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Answer every call, in the order given. A call that fails - unknown path, bad body, server
+     * error - gets its error status; it does not fail the batch.
+     */
+    public List<BatchResult> dispatch(HttpServletRequest batch, HttpServletResponse batchResponse,
+                                      List<BatchRequest.Call> calls) {
+        if (calls == null || calls.isEmpty()) {
+            throw new BadRequestException("A batch needs at least one request");
+        }
+        if (calls.size() > maxCalls) {
+            throw new BadRequestException("A batch holds at most " + maxCalls + " requests");
+        }
+        sizes.record(calls.size());
+
+        BatchResult[] results = new BatchResult[calls.size()];
+        List<Future<?>> reads = new ArrayList<>();
+        for (int i = 0; i < calls.size(); i++) {
+            int index = i;
+            BatchRequest.Call call = calls.get(i);
+            String method = call.method() == null ? "GET" : call.method().toUpperCase(Locale.ROOT);
+            if ("GET".equals(method)) {
+                reads.add(pool.submit(new DelegatingSecurityContextRunnable(
+                        () -> results[index] = run(batch, batchResponse, method, call))));
+            } else {
+                await(reads);
+                results[index] = run(batch, batchResponse, method, call);
+            }
+        }
+        await(reads);
+        return List.of(results);
+    }
+
+    private BatchResult run(HttpServletRequest batch, HttpServletResponse batchResponse, String method,
+                            BatchRequest.Call call) {
+        String path = call.path();
+        if (!METHODS.contains(method)) {
+            return failed(method, path, HttpStatus.BAD_REQUEST, "Unsupported method: " + method);
+        }
+        if (path == null || !path.startsWith("/api/")) {
+            return failed(method, path, HttpStatus.BAD_REQUEST, "Batch requests must target an /api/ path");
+        }
+
+        try {
+            byte[] body = call.body() == null || call.body().isNull() ? null : objectMapper.writeValueAsBytes(call.body());
+            BatchSubRequest request;
+            String lookupPath;
+            try {
+                request = new BatchSubRequest(batch, method, path, body);
+                lookupPath = request.lookupPath();
+            } catch (IllegalArgumentException e) {
+                return failed(method, path, HttpStatus.BAD_REQUEST, "Malformed path: " + path);
+            }
+            if (!lookupPath.startsWith("/api/") || !StringUtils.cleanPath(lookupPath).equals(lookupPath)) {
+                return failed(method, path, HttpStatus.BAD_REQUEST, "Batch requests must target an /api/ path");
+            }
+            if (excludedPaths.stream().anyMatch(pattern -> matcher.match(pattern, lookupPath))
+                    || !batchable(batch, request)) {
+                return failed(method, path, HttpStatus.BAD_REQUEST, "Not available in a batch: " + lookupPath);
+            }
+            BatchSubResponse response = new BatchSubResponse(batchResponse);
+            dispatcherServlet.service(request, response);
+            if (request.asyncRequested()) {
+                return failed(method, path, HttpStatus.BAD_REQUEST, "Not available in a batch: " + lookupPath);
+            }
+            return result(method, path, response);
+        } catch (Exception e) {
+            logger.error("Batch request {} {} failed", method, path, e);
+            return failed(method, path, HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred");
+        }
+    }
+
+    /**
+     * False for the handler serving the batch itself and for asynchronous handlers. Calls that
+     * match no handler are dispatched, so they get the status MVC gives them.
+     */
+    private boolean batchable(HttpServletRequest batch, BatchSubRequest request) {
+        Set<String> attributes = Set.copyOf(Collections.list(request.getAttributeNames()));
+        ServletRequestPathUtils.parseAndCache(request);
+        try {
+            HandlerExecutionChain chain = handlerMapping.getHandler(request);
+            if (chain == null || !(chain.getHandler() instanceof HandlerMethod handler)) {
+                return true;
+            }
+            if (batch.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod self
+                    && self.getBeanType().equals(handler.getBeanType())) {
+                return false;
+            }
+            return !isAsync(handler.getReturnType());
+        } catch (Exception e) {
+            return true;
+        } finally {
+            // Leave the request as it was for the DispatcherServlet's own lookup
+            Collections.list(request.getAttributeNames()).stream()
+                    .filter(name -> !attributes.contains(name))
+                    .forEach(request::removeAttribute);
+        }
+    }
+
+    private static boolean isAsync(MethodParameter returnType) {
+        Class<?> type = returnType.getParameterType();
+        if (HttpEntity.class.isAssignableFrom(type)) {
+            type = ResolvableType.forMethodParameter(returnType).as(HttpEntity.class).getGeneric(0).resolve(Object.class);
+        }
+        Class<?> resolved = type;
+        return ASYNC_TYPES.stream().anyMatch(async -> async.isAssignableFrom(resolved));
+    }
+
+    // JSON bodies are passed through as they are; anything else becomes a JSON string
+    private BatchResult result(String method, String path, BatchSubResponse response) throws JsonProcessingException {
+        byte[] bytes = response.body();
+        if (bytes.length == 0) {
+            HttpStatus status = HttpStatus.resolve(response.getStatus());
+            if (status != null && status.isError()) {
+                String message = response.errorMessage() != null ? response.errorMessage() : status.getReasonPhrase();
+                return failed(method, path, status, message);
+            }
+            return new BatchResult(method, path, response.getStatus(), null);
+        }
+        MediaType type = response.getContentType() == null ? null : MediaType.parseMediaType(response.getContentType());
+        Charset charset = type != null && type.getCharset() != null ? type.getCharset() : StandardCharsets.UTF_8;
+        String text = new String(bytes, charset);
+        boolean json = type != null && (MediaType.APPLICATION_JSON.isCompatibleWith(type)
+                || type.getSubtype().endsWith("+json"));
+        return new BatchResult(method, path, response.getStatus(), json ? text : objectMapper.writeValueAsString(text));
+    }
+
+    private BatchResult failed(String method, String path, HttpStatus status, String message) {
+        ApiResponse<Object> error = ApiResponse.error(message);
+        error.setMessage(message);
+        try {
+            return new BatchResult(method, path, status.value(), objectMapper.writeValueAsString(error));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void await(List<Future<?>> reads) {
+        try {
+            for (Future<?> read : reads) {
+                read.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for batch requests", e);
+        } catch (ExecutionException e) {
+            // run() answers every failure itself
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            reads.clear();
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package com.abetappteam.abetapp.web;
+
+import com.abetappteam.abetapp.security.JwtAuthenticationFilter;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One call of a batch as a request of its own: method, path, query and JSON body come from the
+ * call; headers, locale and the user, program and role of the JWT are copied from the batch request
+ * when the call is created. Nothing is read from the batch request afterwards except what the
+ * container fixed before the batch started (context path, server, mapping), so calls can run on
+ * other threads.
+ */
+class BatchSubRequest extends HttpServletRequestWrapper {
+
+    private static final List<String> COPIED_ATTRIBUTES = List.of(JwtAuthenticationFilter.USER_ID_ATTRIBUTE,
+            JwtAuthenticationFilter.PROGRAM_ID_ATTRIBUTE, JwtAuthenticationFilter.ROLE_ATTRIBUTE);
+
+    private final String method;
+    private final String path;
+    private final String queryString;
+    private final Map<String, String[]> parameters = new LinkedHashMap<>();
+    private final HttpHeaders headers = new HttpHeaders();
+    private final List<Locale> locales;
+    private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+    private final byte[] body;
+    private volatile boolean asyncRequested;
+
+    BatchSubRequest(HttpServletRequest batch, String method, String pathAndQuery, byte[] body) {
+        super(batch);
+        UriComponents uri = UriComponentsBuilder.fromUriString(pathAndQuery).build();
+        this.method = method;
+        this.path = uri.getPath();
+        this.queryString = uri.getQuery();
+        MultiValueMap<String, String> query = new LinkedMultiValueMap<>();
+        uri.getQueryParams().forEach((name, values) -> values.forEach(value -> query.add(decode(name),
+                value == null ? "" : decode(value))));
+        query.forEach((name, values) -> parameters.put(name, values.toArray(String[]::new)));
+
+        for (String name : Collections.list(batch.getHeaderNames())) {
+            if (!HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name) && !HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                headers.addAll(name, Collections.list(batch.getHeaders(name)));
+            }
+        }
+        this.body = body == null ? new byte[0] : body;
+        if (body != null) {
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.setContentLength(body.length);
+        }
+        this.locales = Collections.list(batch.getLocales());
+        for (String name : COPIED_ATTRIBUTES) {
+            Object value = batch.getAttribute(name);
+            if (value != null) {
+                attributes.put(name, value);
+            }
+        }
+    }
+
+    /**
+     * The path as handler mapping matches it: matrix parameters removed, then decoded
+     */
+    String lookupPath() {
+        return decode(UrlPathHelper.defaultInstance.removeSemicolonContent(path));
+    }
+
+    /**
+     * Whether the handler tried to answer asynchronously, which a batch cannot wait for
+     */
+    boolean asyncRequested() {
+        return asyncRequested;
+    }
+
+    @Override
+    public String getMethod() {
+        return method;
+    }
+
+    @Override
+    public String getRequestURI() {
+        return getContextPath() + path;
+    }
+
+    @Override
+    public StringBuffer getRequestURL() {
+        StringBuffer url = new StringBuffer(getScheme()).append("://").append(getServerName());
+        if (getServerPort() > 0) {
+            url.append(':').append(getServerPort());
+        }
+        return url.append(getRequestURI());
+    }
+
+    @Override
+    public String getServletPath() {
+        return path;
+    }
+
+    @Override
+    public String getPathInfo() {
+        return null;
+    }
+
+    @Override
+    public String getPathTranslated() {
+        return null;
+    }
+
+    @Override
+    public String getQueryString() {
+        return queryString;
+    }
+
+    @Override
+    public String getParameter(String name) {
+        String[] values = parameters.get(name);
+        return values == null || values.length == 0 ? null : values[0];
+    }
+
+    @Override
+    public Map<String, String[]> getParameterMap() {
+        return Collections.unmodifiableMap(parameters);
+    }
+
+    @Override
+    public Enumeration<String> getParameterNames() {
+        return Collections.enumeration(parameters.keySet());
+    }
+
+    @Override
+    public String[] getParameterValues(String name) {
+        return parameters.get(name);
+    }
+
+    @Override
+    public String getHeader(String name) {
+        return headers.getFirst(name);
+    }
+
+    @Override
+    public Enumeration<String> getHeaders(String name) {
+        return Collections.enumeration(headers.getOrEmpty(name));
+    }
+
+    @Override
+    public Enumeration<String> getHeaderNames() {
+        return Collections.enumeration(headers.keySet());
+    }
+
+    @Override
+    public int getIntHeader(String name) {
+        String value = headers.getFirst(name);
+        return value == null ? -1 : Integer.parseInt(value);
+    }
+
+    @Override
+    public long getDateHeader(String name) {
+        return headers.getFirstDate(name);
+    }
+
+    @Override
+    public String getContentType() {
+        return headers.getFirst(HttpHeaders.CONTENT_TYPE);
+    }
+
+    @Override
+    public int getContentLength() {
+        return body.length;
+    }
+
+    @Override
+    public long getContentLengthLong() {
+        return body.length;
+    }
+
+    @Override
+    public String getCharacterEncoding() {
+        return StandardCharsets.UTF_8.name();
+    }
+
+    @Override
+    public void setCharacterEncoding(String encoding) {
+        // Bodies are always UTF-8 JSON
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+        ByteArrayInputStream in = new ByteArrayInputStream(body);
+        return new ServletInputStream() {
+            @Override
+            public int read() {
+                return in.read();
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                return in.read(b, off, len);
+            }
+
+            @Override
+            public boolean isFinished() {
+                return in.available() == 0;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener listener) {
+                throw new UnsupportedOperationException("Batch calls are read synchronously");
+            }
+        };
+    }
+
+    @Override
+    public BufferedReader getReader() {
+        return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public Object getAttribute(String name) {
+        return attributes.get(name);
+    }
+
+    @Override
+    public Enumeration<String> getAttributeNames() {
+        return Collections.enumeration(attributes.keySet());
+    }
+
+    @Override
+    public void setAttribute(String name, Object value) {
+        if (value == null) {
+            attributes.remove(name);
+        } else {
+            attributes.put(name, value);
+        }
+    }
+
+    @Override
+    public void removeAttribute(String name) {
+        attributes.remove(name);
+    }
+
+    @Override
+    public Locale getLocale() {
+        return locales.isEmpty() ? Locale.getDefault() : locales.get(0);
+    }
+
+    @Override
+    public Enumeration<Locale> getLocales() {
+        return Collections.enumeration(locales);
+    }
+
+    @Override
+    public DispatcherType getDispatcherType() {
+        return DispatcherType.REQUEST;
+    }
+
+    // Claimed so a streaming or event stream handler gets as far as startAsync, which records
+    // it for BatchDispatcher and fails the call
+    @Override
+    public boolean isAsyncSupported() {
+        return true;
+    }
+
+    @Override
+    public boolean isAsyncStarted() {
+        return false;
+    }
+
+    @Override
+    public AsyncContext startAsync() {
+        asyncRequested = true;
+        throw new IllegalStateException("Asynchronous responses are not supported in a batch");
+    }
+
+    @Override
+    public AsyncContext startAsync(ServletRequest request, ServletResponse response) {
+        asyncRequested = true;
+        throw new IllegalStateException("Asynchronous responses are not supported in a batch");
+    }
+
+    // Never started; null rather than an exception, as callers only test for it
+    @Override
+    public AsyncContext getAsyncContext() {
+        return null;
+    }
+
+    private static String decode(String value) {
+        return UriUtils.decode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,26 @@
+package com.abetappteam.abetapp.web;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Status, content headers and body bytes of a finished response, replayable to other requests
+ */
+record CapturedResponse(int status, String contentType, Map<String, List<String>> headers, byte[] body) {
+
+    void writeTo(HttpServletResponse response) throws IOException {
+        response.setStatus(status);
+        if (contentType != null) {
+            response.setContentType(contentType);
+        }
+        headers.forEach((name, values) -> {
+            response.setHeader(name, values.isEmpty() ? "" : values.get(0));
+            values.stream().skip(1).forEach(value -> response.addHeader(name, value));
+        });
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+}
@@ -0,0 +1,116 @@
+package com.abetappteam.abetapp.web;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Passes the body through to the client while keeping a copy of up to maxBytes of it, so a
+ * finished response can be replayed to other requests. Unlike ContentCachingResponseWrapper
+ * nothing is held back from the client, so streamed and async responses are unaffected; they
+ * are just not replayable.
+ */
+class CapturingResponseWrapper extends HttpServletResponseWrapper {
+
+    // Headers that describe this connection or this client rather than the content
+    private static final Set<String> NOT_REPLAYED = Set.of("content-length", "content-type", "transfer-encoding",
+            "connection", "date", "set-cookie", "keep-alive");
+
+    private final int maxBytes;
+    private final ByteArrayOutputStream copy = new ByteArrayOutputStream();
+    private boolean overflowed;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    CapturingResponseWrapper(HttpServletResponse response, int maxBytes) {
+        super(response);
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (outputStream == null) {
+            ServletOutputStream target = super.getOutputStream();
+            outputStream = new ServletOutputStream() {
+                @Override
+                public void write(int b) throws IOException {
+                    target.write(b);
+                    keep(new byte[] {(byte) b}, 0, 1);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    target.write(b, off, len);
+                    keep(b, off, len);
+                }
+
+                @Override
+                public void flush() throws IOException {
+                    target.flush();
+                }
+
+                @Override
+                public boolean isReady() {
+                    return target.isReady();
+                }
+
+                @Override
+                public void setWriteListener(WriteListener listener) {
+                    target.setWriteListener(listener);
+                }
+            };
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), Charset.forName(getCharacterEncoding())));
+        }
+        return writer;
+    }
+
+    /**
+     * The complete response, or null if it was larger than maxBytes
+     */
+    CapturedResponse capture() {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (overflowed) {
+            return null;
+        }
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (String name : getHeaderNames()) {
+            if (!NOT_REPLAYED.contains(name.toLowerCase(Locale.ROOT))) {
+                headers.put(name, List.copyOf(getHeaders(name)));
+            }
+        }
+        return new CapturedResponse(getStatus(), getContentType(), headers, copy.toByteArray());
+    }
+
+    private void keep(byte[] b, int off, int len) {
+        if (overflowed) {
+            return;
+        }
+        if (copy.size() + len > maxBytes) {
+            overflowed = true;
+            copy.reset();
+            return;
+        }
+        copy.write(b, off, len);
+    }
+}
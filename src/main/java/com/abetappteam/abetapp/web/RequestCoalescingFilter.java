@@ -0,0 +1,163 @@
+package com.abetappteam.abetapp.web;
+
+import com.abetappteam.abetapp.security.JwtAuthenticationFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Single-flight for API reads: while a GET is being served, identical GETs - same path, query,
+ * Accept header, and program and role of the JWT - wait for it and are sent a copy of its
+ * response instead of running the same queries again, whichever user sent them.
+ * <p>
+ * Paths matching perCallerPaths (e.g. /api/users/my-programs) answer from the Authorization
+ * header itself, so their key also names the caller: the user id of an accepted token, else a
+ * digest of the header. Their flights are only shared by repeats of the same caller.
+ * <p>
+ * A waiting request runs on its own when the first one fails with an exception, streams its
+ * body asynchronously, produces more than maxBodyBytes or takes longer than maxWait.
+ * Outcomes are counted in abet.http.coalescing: leader, shared or fallback.
+ */
+public class RequestCoalescingFilter extends OncePerRequestFilter {
+
+    public static final String COALESCING = "abet.http.coalescing";
+
+    private final AntPathMatcher matcher = new AntPathMatcher();
+    private final Map<String, CompletableFuture<CapturedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final List<String> excludedPaths;
+    private final List<String> perCallerPaths;
+    private final Duration maxWait;
+    private final int maxBodyBytes;
+
+    public RequestCoalescingFilter(MeterRegistry meterRegistry, List<String> excludedPaths,
+                                   List<String> perCallerPaths, Duration maxWait, int maxBodyBytes) {
+        this.meterRegistry = meterRegistry;
+        this.excludedPaths = excludedPaths;
+        this.perCallerPaths = perCallerPaths;
+        this.maxWait = maxWait;
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !"GET".equals(request.getMethod()) || !path.startsWith("/api/")
+                || excludedPaths.stream().anyMatch(pattern -> matcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String path = request.getRequestURI();
+        String key = perCallerPaths.stream().anyMatch(pattern -> matcher.match(pattern, path))
+                ? keyWithCaller(request) : key(request);
+        CompletableFuture<CapturedResponse> flight = new CompletableFuture<>();
+        CompletableFuture<CapturedResponse> leader = inFlight.putIfAbsent(key, flight);
+        if (leader != null) {
+            follow(leader, request, response, filterChain);
+            return;
+        }
+
+        CapturedResponse captured = null;
+        try {
+            CapturingResponseWrapper capturing = new CapturingResponseWrapper(response, maxBodyBytes);
+            filterChain.doFilter(request, capturing);
+            if (!request.isAsyncStarted()) {
+                captured = capturing.capture();
+            }
+        } finally {
+            inFlight.remove(key, flight);
+            flight.complete(captured);
+            count("leader");
+        }
+    }
+
+    /**
+     * Requests with equal keys get the same response, unless the handler reads the caller itself
+     */
+    static String key(HttpServletRequest request) {
+        return request.getRequestURI()
+                + '?' + (request.getQueryString() == null ? "" : request.getQueryString())
+                + " accept=" + request.getHeader(HttpHeaders.ACCEPT)
+                + " program=" + request.getAttribute(JwtAuthenticationFilter.PROGRAM_ID_ATTRIBUTE)
+                + " role=" + request.getAttribute(JwtAuthenticationFilter.ROLE_ATTRIBUTE);
+    }
+
+    /**
+     * Key for handlers whose response depends on the caller as well
+     */
+    static String keyWithCaller(HttpServletRequest request) {
+        return key(request) + " user=" + caller(request);
+    }
+
+    // User id of an accepted token, else a digest of whatever Authorization header was sent
+    private static String caller(HttpServletRequest request) {
+        Object userId = request.getAttribute(JwtAuthenticationFilter.USER_ID_ATTRIBUTE);
+        if (userId != null) {
+            return userId.toString();
+        }
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authorization == null) {
+            return "-";
+        }
+        try {
+            return "sha256:" + HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(authorization.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private void follow(CompletableFuture<CapturedResponse> leader, HttpServletRequest request,
+                        HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        CapturedResponse shared;
+        try {
+            shared = leader.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            shared = null;
+        } catch (ExecutionException | TimeoutException e) {
+            shared = null;
+        }
+        if (shared == null) {
+            count("fallback");
+            filterChain.doFilter(request, response);
+            return;
+        }
+        count("shared");
+        shared.writeTo(response);
+    }
+
+    private void count(String result) {
+        Counter.builder(COALESCING)
+                .description("API GETs by coalescing outcome: served (leader), copied (shared) or run alone (fallback)")
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+}
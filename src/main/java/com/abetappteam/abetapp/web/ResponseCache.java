@@ -0,0 +1,183 @@
+package com.abetappteam.abetapp.web;
+
+import com.abetappteam.abetapp.event.EntityChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Finished API responses as bytes, bounded by their total size: least recently used entries go
+ * first once maxBytes is reached, and entries older than ttl are dropped when read.
+ * <p>
+ * Each entry lists the entity types its response was built from. A domain event for any of
+ * them (see DomainEventPublisher) removes the entry; the ttl only bounds how long a change that
+ * was never published, or is still waiting for the outbox relay, can be served stale. A
+ * response computed while an invalidation happened is not stored, see {@link #generation}.
+ * <p>
+ * With a read replica, a request right after the change may still read the old rows from it.
+ * Each invalidation is therefore repeated once replicaLag later, when the replica has caught
+ * up, dropping whatever was cached from it in the meantime.
+ */
+public class ResponseCache {
+
+    public static final String EVICTIONS = "abet.http.response.cache.evictions";
+    static final String BYTES = "abet.http.response.cache.bytes";
+
+    private record Entry(CapturedResponse response, Set<String> entityTypes, long size, long storedAt) {
+    }
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final AtomicLong bytes = new AtomicLong();
+    private final MeterRegistry meterRegistry;
+    private final long maxBytes;
+    private final long ttlMillis;
+    private final Duration replicaLag;
+    private final TaskScheduler scheduler;
+    private final Clock clock;
+
+    public ResponseCache(MeterRegistry meterRegistry, long maxBytes, Duration ttl) {
+        this(meterRegistry, maxBytes, ttl, Duration.ZERO, null);
+    }
+
+    /**
+     * replicaLag is the most a read replica may trail the primary, zero without one; the
+     * scheduler runs the repeated invalidations
+     */
+    public ResponseCache(MeterRegistry meterRegistry, long maxBytes, Duration ttl, Duration replicaLag,
+                         TaskScheduler scheduler) {
+        this(meterRegistry, maxBytes, ttl, replicaLag, scheduler, Clock.systemUTC());
+    }
+
+    ResponseCache(MeterRegistry meterRegistry, long maxBytes, Duration ttl, Duration replicaLag,
+                  TaskScheduler scheduler, Clock clock) {
+        this.meterRegistry = meterRegistry;
+        this.maxBytes = maxBytes;
+        this.ttlMillis = ttl.toMillis();
+        this.replicaLag = replicaLag;
+        this.scheduler = scheduler;
+        this.clock = clock;
+        Gauge.builder(BYTES, bytes, AtomicLong::get)
+                .description("Body and key bytes held by the API response cache")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The response stored under key, or null
+     */
+    synchronized CapturedResponse get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (clock.millis() - entry.storedAt() > ttlMillis) {
+            remove(key, "expired");
+            return null;
+        }
+        return entry.response();
+    }
+
+    /**
+     * Changes whenever one of the entity types is invalidated; read it before building a
+     * response and pass it to {@link #put}
+     */
+    long generation(Set<String> entityTypes) {
+        long generation = 0;
+        for (String entityType : entityTypes) {
+            generation += counter(entityType).get();
+        }
+        return generation;
+    }
+
+    /**
+     * Store a response built from the entity types, unless one of them was invalidated after
+     * generation was read or the response alone is larger than the cache
+     */
+    synchronized boolean put(String key, CapturedResponse response, Set<String> entityTypes, long generation) {
+        long size = response.body().length + 2L * key.length();
+        if (size > maxBytes || generation(entityTypes) != generation) {
+            return false;
+        }
+        if (entries.containsKey(key)) {
+            remove(key, null);
+        }
+        entries.put(key, new Entry(response, entityTypes, size, clock.millis()));
+        bytes.addAndGet(size);
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while (bytes.get() > maxBytes && eldest.hasNext()) {
+            Entry evicted = eldest.next().getValue();
+            eldest.remove();
+            bytes.addAndGet(-evicted.size());
+            count("size");
+        }
+        return true;
+    }
+
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        invalidate(event.entityType());
+        if (scheduler != null && replicaLag.isPositive()) {
+            scheduler.schedule(() -> invalidate(event.entityType()), clock.instant().plus(replicaLag));
+        }
+    }
+
+    /**
+     * Drop every response built from the entity type
+     */
+    public void invalidate(String entityType) {
+        // Bumped first, so a response being built from the old rows is refused by put()
+        counter(entityType).incrementAndGet();
+        synchronized (this) {
+            entries.entrySet().removeIf(e -> {
+                if (!e.getValue().entityTypes().contains(entityType)) {
+                    return false;
+                }
+                bytes.addAndGet(-e.getValue().size());
+                count("invalidated");
+                return true;
+            });
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    long bytes() {
+        return bytes.get();
+    }
+
+    private AtomicLong counter(String entityType) {
+        return generations.computeIfAbsent(entityType, type -> new AtomicLong());
+    }
+
+    private void remove(String key, String cause) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            bytes.addAndGet(-removed.size());
+            if (cause != null) {
+                count(cause);
+            }
+        }
+    }
+
+    private void count(String cause) {
+        Counter.builder(EVICTIONS)
+                .description("Cached API responses dropped, by cause: size, expired or invalidated")
+                .tag("cause", cause)
+                .register(meterRegistry)
+                .increment();
+    }
+}
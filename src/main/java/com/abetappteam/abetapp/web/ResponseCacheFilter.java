@@ -0,0 +1,98 @@
+package com.abetappteam.abetapp.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Serves GETs of the configured endpoints from a ResponseCache, keyed like
+ * RequestCoalescingFilter by path, query, Accept header, and program and role of the JWT. The
+ * configured endpoints do not depend on the user, so every user of a program and role shares
+ * one entry.
+ * A hit writes the stored bytes, so neither the controller nor Jackson runs.
+ * <p>
+ * Only complete 200 responses of at most maxEntryBytes are stored. Each endpoint names the
+ * entity types its response is built from, and is invalidated when one of them changes.
+ * Lookups are counted in abet.http.response.cache: hit or miss.
+ */
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    public static final String RESPONSE_CACHE = "abet.http.response.cache";
+
+    /**
+     * Endpoints matching pattern are cached until one of the entity types changes
+     */
+    public record Rule(String pattern, Set<String> entityTypes) {
+
+        public static Rule of(String pattern, Class<?>... entityTypes) {
+            return new Rule(pattern, Arrays.stream(entityTypes).map(Class::getSimpleName).collect(Collectors.toSet()));
+        }
+    }
+
+    private final AntPathMatcher matcher = new AntPathMatcher();
+    private final ResponseCache cache;
+    private final MeterRegistry meterRegistry;
+    private final List<Rule> rules;
+    private final int maxEntryBytes;
+
+    public ResponseCacheFilter(ResponseCache cache, MeterRegistry meterRegistry, List<Rule> rules, int maxEntryBytes) {
+        this.cache = cache;
+        this.meterRegistry = meterRegistry;
+        this.rules = rules;
+        this.maxEntryBytes = maxEntryBytes;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod()) || rule(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String key = RequestCoalescingFilter.key(request);
+        CapturedResponse cached = cache.get(key);
+        if (cached != null) {
+            count("hit");
+            cached.writeTo(response);
+            return;
+        }
+        count("miss");
+
+        Set<String> entityTypes = rule(request).entityTypes();
+        long generation = cache.generation(entityTypes);
+        CapturingResponseWrapper capturing = new CapturingResponseWrapper(response, maxEntryBytes);
+        filterChain.doFilter(request, capturing);
+        if (request.isAsyncStarted() || capturing.getStatus() != HttpServletResponse.SC_OK) {
+            return;
+        }
+        CapturedResponse captured = capturing.capture();
+        if (captured != null) {
+            cache.put(key, captured, entityTypes, generation);
+        }
+    }
+
+    private Rule rule(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return rules.stream().filter(rule -> matcher.match(rule.pattern(), path)).findFirst().orElse(null);
+    }
+
+    private void count(String result) {
+        Counter.builder(RESPONSE_CACHE)
+                .description("Cacheable API GETs by lookup result")
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+}
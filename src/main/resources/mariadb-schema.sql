@@ -1,7 +1,12 @@
 -- MariaDB Compatible Schema for ABET Assessment App
 -- Run this to create/recreate your database structure
 
+-- MariaDB has no partial indexes, so the foreign key indexes end in `deleted` instead: lookups
+-- filtered on deleted = false (see BaseEntity.NOT_DELETED) are resolved from the index alone.
+
 -- Drop tables in correct order (respecting foreign keys)
+DROP TABLE IF EXISTS domain_event_outbox;
+DROP TABLE IF EXISTS semester_archive;
 DROP TABLE IF EXISTS measure;
 DROP TABLE IF EXISTS course_indicator;
 DROP TABLE IF EXISTS course_instructor;
@@ -16,7 +21,8 @@ DROP TABLE IF EXISTS users;
 -- Users table
 CREATE TABLE users (
                        id BIGINT AUTO_INCREMENT PRIMARY KEY,
-                       email VARCHAR(255) UNIQUE NOT NULL,
+                       email VARCHAR(255) NOT NULL,
+                       email_normalized VARCHAR(255) AS (LOWER(email)) VIRTUAL,
                        password_hash VARCHAR(255) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin NOT NULL,
                        name_first VARCHAR(100) NOT NULL,
                        name_last VARCHAR(100) NOT NULL,
@@ -28,7 +34,8 @@ CREATE TABLE users (
                        deleted BOOLEAN DEFAULT FALSE NOT NULL,
                        deleted_at TIMESTAMP NULL,
     -- Users-specific
-                       is_active BOOLEAN DEFAULT TRUE NOT NULL
+                       is_active BOOLEAN DEFAULT TRUE NOT NULL,
+                       UNIQUE KEY uk_users_email (email_normalized)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
 -- Program table
@@ -69,7 +76,8 @@ CREATE TABLE program_user (
 CREATE TABLE semester (
                           id BIGINT AUTO_INCREMENT PRIMARY KEY,
                           name VARCHAR(50) NOT NULL,
-                          code VARCHAR(20) UNIQUE NOT NULL,
+                          code VARCHAR(20) NOT NULL,
+                          code_normalized VARCHAR(20) AS (UPPER(code)) VIRTUAL,
                           type VARCHAR(10) NOT NULL,
                           status VARCHAR(15) NOT NULL DEFAULT 'UPCOMING',
                           start_date DATE NULL,
@@ -85,8 +93,8 @@ CREATE TABLE semester (
                           deleted BOOLEAN DEFAULT FALSE NOT NULL,
                           deleted_at TIMESTAMP NULL,
                           FOREIGN KEY (program_id) REFERENCES program(id) ON DELETE CASCADE,
-                          INDEX idx_semester_program (program_id),
-                          INDEX idx_semester_code (code)
+                          INDEX idx_semester_program (program_id, deleted),
+                          UNIQUE KEY uk_semester_code (code_normalized)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
 -- Student outcomes table
@@ -106,7 +114,7 @@ CREATE TABLE student_outcome (
     -- StudentOutcome-specific
                                  is_active BOOLEAN DEFAULT TRUE NOT NULL,
                                  FOREIGN KEY (semester_id) REFERENCES semester(id) ON DELETE CASCADE,
-                                 INDEX idx_outcome_semester (semester_id)
+                                 INDEX idx_outcome_semester (semester_id, deleted)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
 -- Performance indicators table
@@ -125,15 +133,19 @@ CREATE TABLE performance_indicator (
                                        deleted BOOLEAN DEFAULT FALSE NOT NULL,
                                        deleted_at TIMESTAMP NULL,
     -- PerformanceIndicator-specific
+                                       -- TRUE while not soft-deleted, NULL after: unique keys including it cover live rows only
+                                       live BOOLEAN AS (CASE WHEN deleted = FALSE THEN TRUE END) VIRTUAL,
                                        is_active BOOLEAN DEFAULT TRUE NOT NULL,
                                        FOREIGN KEY (student_outcome_id) REFERENCES student_outcome(id) ON DELETE CASCADE,
-                                       INDEX idx_indicator_outcome (student_outcome_id)
+                                       INDEX idx_indicator_outcome (student_outcome_id, deleted),
+                                       UNIQUE KEY uk_indicator_outcome_number (student_outcome_id, ind_number, live)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
 -- Course table
 CREATE TABLE course (
                         id BIGINT AUTO_INCREMENT PRIMARY KEY,
                         course_code VARCHAR(20) NOT NULL,
+                        course_code_normalized VARCHAR(20) AS (UPPER(course_code)) VIRTUAL,
                         course_name VARCHAR(255) NOT NULL,
                         course_description TEXT NOT NULL,
                         semester_id BIGINT NOT NULL,
@@ -145,10 +157,12 @@ CREATE TABLE course (
                         deleted BOOLEAN DEFAULT FALSE NOT NULL,
                         deleted_at TIMESTAMP NULL,
     -- Course-specific
+                        live BOOLEAN AS (CASE WHEN deleted = FALSE THEN TRUE END) VIRTUAL,
                         is_active BOOLEAN DEFAULT TRUE NOT NULL,
                         FOREIGN KEY (semester_id) REFERENCES semester(id) ON DELETE CASCADE,
-                        INDEX idx_course_semester (semester_id),
-                        INDEX idx_course_code (course_code)
+                        INDEX idx_course_semester (semester_id, deleted),
+                        INDEX idx_course_code (course_code_normalized),
+                        UNIQUE KEY uk_course_semester_code (semester_id, course_code_normalized, live)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
 -- CourseInstructor table
@@ -168,7 +182,7 @@ CREATE TABLE course_instructor (
                                    FOREIGN KEY (course_id) REFERENCES course(id) ON DELETE CASCADE,
                                    INDEX idx_instructor_program_user (program_user_id),
                                    INDEX idx_instructor_course (course_id),
-                                   UNIQUE KEY unique_instructor_course (program_user_id, course_id, is_active)
+                                   UNIQUE KEY uk_course_instructor (course_id, program_user_id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
 -- CourseIndicator table
@@ -188,7 +202,7 @@ CREATE TABLE course_indicator (
                                   FOREIGN KEY (indicator_id) REFERENCES performance_indicator(id) ON DELETE CASCADE,
                                   INDEX idx_course_indicator_course (course_id),
                                   INDEX idx_course_indicator_indicator (indicator_id),
-                                  UNIQUE KEY unique_course_indicator (course_id, indicator_id, is_active)
+                                  UNIQUE KEY uk_course_indicator (course_id, indicator_id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
 -- Measure table
@@ -212,5 +226,34 @@ CREATE TABLE measure (
     -- Measure-specific
                          is_active BOOLEAN DEFAULT TRUE NOT NULL,
                          FOREIGN KEY (course_indicator_id) REFERENCES course_indicator(id) ON DELETE CASCADE,
-                         INDEX idx_measure_course_indicator (course_indicator_id)
-) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
\ No newline at end of file
+                         INDEX idx_measure_course_indicator (course_indicator_id, deleted),
+                         INDEX idx_measure_purge (deleted, deleted_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Archive tier: one compressed JSON snapshot per archived semester (see SemesterArchiveService)
+CREATE TABLE semester_archive (
+                                  semester_id BIGINT PRIMARY KEY,
+                                  program_id BIGINT NOT NULL,
+                                  archived_at TIMESTAMP NOT NULL,
+                                  format_version INT NOT NULL,
+                                  course_count INT NOT NULL,
+                                  outcome_count INT NOT NULL,
+                                  measure_count INT NOT NULL,
+                                  json_size BIGINT NOT NULL,
+                                  payload LONGBLOB NOT NULL,
+                                  FOREIGN KEY (semester_id) REFERENCES semester(id) ON DELETE CASCADE,
+                                  INDEX idx_semester_archive_program (program_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Transactional outbox of domain events (see DomainEventPublisher)
+CREATE TABLE domain_event_outbox (
+                                     id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                                     batch_id VARCHAR(36) NOT NULL,
+                                     entity_type VARCHAR(50) NOT NULL,
+                                     entity_id BIGINT NOT NULL,
+                                     change_type VARCHAR(10) NOT NULL,
+                                     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                                     published_at TIMESTAMP NULL,
+                                     INDEX idx_outbox_batch (batch_id),
+                                     INDEX idx_outbox_pending (published_at, created_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -2,6 +2,8 @@
 CREATE SCHEMA IF NOT EXISTS public;
 SET SCHEMA PUBLIC;
 
+DROP TABLE IF EXISTS domain_event_outbox;
+DROP TABLE IF EXISTS semester_archive;
 DROP TABLE IF EXISTS measure;
 DROP TABLE IF EXISTS course_indicator;
 DROP TABLE IF EXISTS course_instructor;
@@ -15,7 +17,8 @@ DROP TABLE IF EXISTS users;
 
 CREATE TABLE users (
                        id BIGINT AUTO_INCREMENT PRIMARY KEY,
-                       email VARCHAR(255) UNIQUE NOT NULL,
+                       email VARCHAR(255) NOT NULL,
+                       email_normalized VARCHAR(255) GENERATED ALWAYS AS (LOWER(email)),
                        password_hash VARCHAR(255) NOT NULL,
                        name_first VARCHAR(100) NOT NULL,
                        name_last VARCHAR(100) NOT NULL,
@@ -27,7 +30,8 @@ CREATE TABLE users (
                        deleted BOOLEAN DEFAULT FALSE NOT NULL,
                        deleted_at TIMESTAMP NULL,
     -- Users-specific
-                       is_active BOOLEAN DEFAULT TRUE NOT NULL
+                       is_active BOOLEAN DEFAULT TRUE NOT NULL,
+                       CONSTRAINT uk_users_email UNIQUE (email_normalized)
 );
 
 -- Program table
@@ -67,7 +71,8 @@ CREATE TABLE program_user (
 CREATE TABLE semester (
                           id BIGINT AUTO_INCREMENT PRIMARY KEY,
                           name VARCHAR(50) NOT NULL,
-                          code VARCHAR(20) UNIQUE NOT NULL,
+                          code VARCHAR(20) NOT NULL,
+                          code_normalized VARCHAR(20) GENERATED ALWAYS AS (UPPER(code)),
                           type VARCHAR(10) NOT NULL,
                           status VARCHAR(15) NOT NULL DEFAULT 'UPCOMING',
                           start_date DATE NULL,
@@ -82,7 +87,8 @@ CREATE TABLE semester (
                           version BIGINT DEFAULT 0,
                           deleted BOOLEAN DEFAULT FALSE NOT NULL,
                           deleted_at TIMESTAMP NULL,
-                          FOREIGN KEY (program_id) REFERENCES program(id)
+                          FOREIGN KEY (program_id) REFERENCES program(id),
+                          CONSTRAINT uk_semester_code UNIQUE (code_normalized)
 );
 
 -- Student outcomes table
@@ -124,14 +130,18 @@ CREATE TABLE performance_indicator (
                                        deleted BOOLEAN DEFAULT FALSE NOT NULL,
                                        deleted_at TIMESTAMP NULL,
     -- PerformanceIndicator-specific
+    -- TRUE while not soft-deleted, NULL after: unique keys including it cover live rows only
+                                       live BOOLEAN GENERATED ALWAYS AS (CASE WHEN deleted = FALSE THEN TRUE END),
                                        is_active BOOLEAN DEFAULT TRUE NOT NULL,
-                                       FOREIGN KEY (student_outcome_id) REFERENCES student_outcome(id)
+                                       FOREIGN KEY (student_outcome_id) REFERENCES student_outcome(id),
+                                       CONSTRAINT uk_indicator_outcome_number UNIQUE (student_outcome_id, ind_number, live)
 );
 
 -- Course table
 CREATE TABLE course (
                         id BIGINT AUTO_INCREMENT PRIMARY KEY,
                         course_code VARCHAR(20) NOT NULL,
+                        course_code_normalized VARCHAR(20) GENERATED ALWAYS AS (UPPER(course_code)),
                         course_name VARCHAR(255) NOT NULL,
                         course_description TEXT NOT NULL,
                         semester_id BIGINT NOT NULL,
@@ -143,8 +153,10 @@ CREATE TABLE course (
                         deleted BOOLEAN DEFAULT FALSE NOT NULL,
                         deleted_at TIMESTAMP NULL,
     -- Course-specific
+                        live BOOLEAN GENERATED ALWAYS AS (CASE WHEN deleted = FALSE THEN TRUE END),
                         is_active BOOLEAN DEFAULT TRUE NOT NULL,
-                        FOREIGN KEY (semester_id) REFERENCES semester(id)
+                        FOREIGN KEY (semester_id) REFERENCES semester(id),
+                        CONSTRAINT uk_course_semester_code UNIQUE (semester_id, course_code_normalized, live)
 );
 
 -- CourseInstructor table
@@ -161,7 +173,8 @@ CREATE TABLE course_instructor (
     -- CourseInstructor-specific
                                    is_active BOOLEAN DEFAULT TRUE NOT NULL,
                                    FOREIGN KEY (program_user_id) REFERENCES program_user(id),
-                                   FOREIGN KEY (course_id) REFERENCES course(id)
+                                   FOREIGN KEY (course_id) REFERENCES course(id),
+                                   CONSTRAINT uk_course_instructor UNIQUE (course_id, program_user_id)
 );
 
 -- CourseIndicator table
@@ -178,7 +191,8 @@ CREATE TABLE course_indicator (
     -- CourseIndicator-specific
                                   is_active BOOLEAN DEFAULT TRUE NOT NULL,
                                   FOREIGN KEY (course_id) REFERENCES course(id),
-                                  FOREIGN KEY (indicator_id) REFERENCES performance_indicator(id)
+                                  FOREIGN KEY (indicator_id) REFERENCES performance_indicator(id),
+                                  CONSTRAINT uk_course_indicator UNIQUE (course_id, indicator_id)
 );
 
 -- Measure table
@@ -202,4 +216,41 @@ CREATE TABLE measure (
     -- Measure-specific
                          is_active BOOLEAN DEFAULT TRUE NOT NULL,
                          FOREIGN KEY (course_indicator_id) REFERENCES course_indicator(id)
-);
\ No newline at end of file
+);
+
+-- Archive tier: one compressed JSON snapshot per archived semester
+CREATE TABLE semester_archive (
+                                  semester_id BIGINT PRIMARY KEY,
+                                  program_id BIGINT NOT NULL,
+                                  archived_at TIMESTAMP NOT NULL,
+                                  format_version INT NOT NULL,
+                                  course_count INT NOT NULL,
+                                  outcome_count INT NOT NULL,
+                                  measure_count INT NOT NULL,
+                                  json_size BIGINT NOT NULL,
+                                  payload BLOB NOT NULL,
+                                  FOREIGN KEY (semester_id) REFERENCES semester(id)
+);
+
+-- Transactional outbox of domain events (see DomainEventPublisher)
+CREATE TABLE domain_event_outbox (
+                                     id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                                     batch_id VARCHAR(36) NOT NULL,
+                                     entity_type VARCHAR(50) NOT NULL,
+                                     entity_id BIGINT NOT NULL,
+                                     change_type VARCHAR(10) NOT NULL,
+                                     created_at TIMESTAMP NOT NULL,
+                                     published_at TIMESTAMP NULL
+);
+
+-- Lookup indexes ending in `deleted` (H2 has no partial indexes), matching the entity @Table indexes
+CREATE INDEX idx_semester_program ON semester (program_id, deleted);
+CREATE INDEX idx_outcome_semester ON student_outcome (semester_id, deleted);
+CREATE INDEX idx_indicator_outcome ON performance_indicator (student_outcome_id, deleted);
+CREATE INDEX idx_course_semester ON course (semester_id, deleted);
+CREATE INDEX idx_course_code ON course (course_code_normalized);
+CREATE INDEX idx_measure_course_indicator ON measure (course_indicator_id, deleted);
+CREATE INDEX idx_measure_purge ON measure (deleted, deleted_at);
+CREATE INDEX idx_semester_archive_program ON semester_archive (program_id);
+CREATE INDEX idx_outbox_batch ON domain_event_outbox (batch_id);
+CREATE INDEX idx_outbox_pending ON domain_event_outbox (published_at, created_at);
@@ -1,5 +1,6 @@
 package com.abetappteam.abetapp;
 
+import com.abetappteam.abetapp.config.JpaRepositoryConfig;
 import com.abetappteam.abetapp.config.TestConfig;
 import com.abetappteam.abetapp.security.JwtUtil;
 import com.abetappteam.abetapp.util.TestEntityHelper;
@@ -21,7 +22,7 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 @DataJpaTest
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 @ActiveProfiles("test")
-@Import(TestConfig.class)
+@Import({TestConfig.class, JpaRepositoryConfig.class})
 public abstract class BaseRepositoryTest {
 
     @Autowired
@@ -0,0 +1,45 @@
+package com.abetappteam.abetapp.config;
+
+import com.abetappteam.abetapp.BaseIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.TestPropertySource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Health is open to probes; other actuator endpoints need the actuator's own credentials
+ */
+@TestPropertySource(properties = {
+        "management.endpoint.metrics.enabled=true",
+        "management.endpoints.web.exposure.include=health,metrics",
+        "app.actuator.password=scrape-secret"
+})
+class ActuatorSecurityIntegrationTest extends BaseIntegrationTest {
+
+    @Test
+    void shouldLeaveHealthOpen() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void shouldRequireActuatorCredentialsForMetrics() throws Exception {
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(get("/actuator/metrics").header(HttpHeaders.AUTHORIZATION, basic("prometheus", "wrong")))
+                .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(get("/actuator/metrics").header(HttpHeaders.AUTHORIZATION, basic("prometheus", "scrape-secret")))
+                .andExpect(status().isOk());
+    }
+
+    private static String basic(String username, String password) {
+        return "Basic " + Base64.getEncoder().encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,81 @@
+package com.abetappteam.abetapp.config;
+
+import com.abetappteam.abetapp.datasource.ReplicaLagMonitor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routes read-only transactions between two local H2 databases standing in for the
+ * primary and the replica; each holds a row naming itself
+ */
+class ReadReplicaConfigTest {
+
+    private final DataSource primary = database("rw-primary");
+    private final DataSource replica = database("rw-replica");
+
+    @BeforeEach
+    void setUp() {
+        new JdbcTemplate(primary).update("MERGE INTO marker KEY (id) VALUES (1, 'primary')");
+        new JdbcTemplate(replica).update("MERGE INTO marker KEY (id) VALUES (1, 'replica')");
+        new JdbcTemplate(replica).update("MERGE INTO replica_lag KEY (id) VALUES (1, 0)");
+    }
+
+    @Test
+    void shouldSendReadOnlyTransactionsToReplica() {
+        // Given
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, "SELECT seconds FROM replica_lag", Duration.ofSeconds(5));
+        monitor.check();
+        DataSource routing = new ReadReplicaConfig().dataSource(primary, replica, monitor);
+
+        // When / Then
+        assertThat(monitor.isReplicaUsable()).isTrue();
+        assertThat(readIn(routing, true)).isEqualTo("replica");
+        assertThat(readIn(routing, false)).isEqualTo("primary");
+        assertThat(new JdbcTemplate(routing).queryForObject("SELECT name FROM marker", String.class)).isEqualTo("primary");
+    }
+
+    @Test
+    void shouldFallBackToPrimaryWhenReplicaLagsOrIsDown() {
+        // Given - replica 30s behind
+        new JdbcTemplate(replica).update("UPDATE replica_lag SET seconds = 30");
+        ReplicaLagMonitor lagging = new ReplicaLagMonitor(replica, "SELECT seconds FROM replica_lag", Duration.ofSeconds(5));
+        lagging.check();
+
+        // When / Then
+        assertThat(lagging.isReplicaUsable()).isFalse();
+        assertThat(lagging.getLagSeconds()).isEqualTo(30.0);
+        assertThat(readIn(new ReadReplicaConfig().dataSource(primary, replica, lagging), true)).isEqualTo("primary");
+
+        // Given - replica refusing connections
+        DataSource down = new DriverManagerDataSource("jdbc:h2:mem:rw-missing;IFEXISTS=TRUE", "sa", "");
+        ReplicaLagMonitor unreachable = new ReplicaLagMonitor(down, "", Duration.ofSeconds(5));
+
+        // When / Then - the first failed connection switches reads to the primary
+        assertThat(readIn(new ReadReplicaConfig().dataSource(primary, down, unreachable), true)).isEqualTo("primary");
+        assertThat(unreachable.isReplicaUsable()).isFalse();
+    }
+
+    private static String readIn(DataSource routing, boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(routing));
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status ->
+                new JdbcTemplate(routing).queryForObject("SELECT name FROM marker", String.class));
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS marker (id INT PRIMARY KEY, name VARCHAR(20))");
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS replica_lag (id INT PRIMARY KEY, seconds INT)");
+        return dataSource;
+    }
+}
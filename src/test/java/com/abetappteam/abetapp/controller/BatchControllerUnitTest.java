@@ -0,0 +1,162 @@
+package com.abetappteam.abetapp.controller;
+
+import com.abetappteam.abetapp.BaseControllerTest;
+import com.abetappteam.abetapp.config.TestSecurityConfig;
+import com.abetappteam.abetapp.entity.Course;
+import com.abetappteam.abetapp.exception.ResourceNotFoundException;
+import com.abetappteam.abetapp.service.CourseService;
+import com.abetappteam.abetapp.service.ProgramService;
+import com.abetappteam.abetapp.web.BatchDispatcher;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockServletConfig;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Calls are dispatched to the real CourseController and ProgramController through a
+ * DispatcherServlet of the test context, the way the running application dispatches them
+ */
+@WebMvcTest({BatchController.class, CourseController.class, ProgramController.class})
+@Import({TestSecurityConfig.class, BatchControllerUnitTest.InProcess.class})
+class BatchControllerUnitTest extends BaseControllerTest {
+
+    @TestConfiguration
+    static class InProcess {
+        @Bean
+        DispatcherServlet batchServlet(WebApplicationContext context) {
+            return new DispatcherServlet(context);
+        }
+
+        @Bean
+        BatchDispatcher batchDispatcher(DispatcherServlet batchServlet,
+                                        @Qualifier("requestMappingHandlerMapping") HandlerMapping handlerMapping,
+                                        ObjectMapper objectMapper) {
+            // The batch endpoint and streaming endpoints are refused without being listed
+            return new BatchDispatcher(batchServlet, handlerMapping, objectMapper, new SimpleMeterRegistry(),
+                    List.of("/api/progress/**"), 4, 10);
+        }
+    }
+
+    @Autowired
+    private DispatcherServlet batchServlet;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @MockitoBean
+    private CourseService courseService;
+
+    @MockitoBean
+    private ProgramService programService;
+
+    @BeforeEach
+    void initServlet() throws Exception {
+        if (batchServlet.getServletConfig() == null) {
+            batchServlet.init(new MockServletConfig(context.getServletContext()));
+        }
+    }
+
+    @Test
+    void shouldAnswerEachCallWithTheStatusAndBodyItWouldHaveAlone() throws Exception {
+        Course course = new Course();
+        course.setId(1L);
+        course.setCourseCode("CS401");
+        when(courseService.findById(1L)).thenReturn(course);
+        when(courseService.findById(2L)).thenThrow(new ResourceNotFoundException("Course not found with id: 2"));
+        when(courseService.getInstructorIds(1L)).thenReturn(List.of(7L, 8L));
+
+        mockMvc.perform(post("/api/batch").contentType(MediaType.APPLICATION_JSON).content("""
+                        {"requests": [
+                          {"method": "GET", "path": "/api/courses/1"},
+                          {"method": "GET", "path": "/api/courses/2"},
+                          {"path": "/api/courses/1/instructors"},
+                          {"method": "GET", "path": "/api/progress/stream?semesterId=5"}
+                        ]}"""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(4))
+                .andExpect(jsonPath("$.data[0].status").value(200))
+                .andExpect(jsonPath("$.data[0].body.data.courseCode").value("CS401"))
+                .andExpect(jsonPath("$.data[1].status").value(404))
+                .andExpect(jsonPath("$.data[1].body.error").value("Course not found with id: 2"))
+                .andExpect(jsonPath("$.data[2].method").value("GET"))
+                .andExpect(jsonPath("$.data[2].body[1]").value(8))
+                .andExpect(jsonPath("$.data[3].status").value(400));
+    }
+
+    @Test
+    void shouldApplyWritesBeforeTheReadsListedAfterThem() throws Exception {
+        Course course = new Course();
+        course.setId(1L);
+        course.setStudentCount(30);
+        when(courseService.updateStudentCount(1L, 30)).thenReturn(course);
+        when(courseService.findById(1L)).thenReturn(course);
+
+        mockMvc.perform(post("/api/batch").contentType(MediaType.APPLICATION_JSON).content("""
+                        {"requests": [
+                          {"method": "PUT", "path": "/api/courses/1/student-count", "body": {"studentCount": 30}},
+                          {"method": "GET", "path": "/api/courses/1"}
+                        ]}"""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].status").value(200))
+                .andExpect(jsonPath("$.data[1].body.data.studentCount").value(30));
+
+        InOrder order = inOrder(courseService);
+        order.verify(courseService).updateStudentCount(1L, 30);
+        order.verify(courseService).findById(1L);
+
+        mockMvc.perform(post("/api/batch").contentType(MediaType.APPLICATION_JSON).content("{\"requests\": []}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldRefuseNestedBatchesAndStreamingEndpointsHoweverTheyAreSpelled() throws Exception {
+        Course course = new Course();
+        course.setId(1L);
+        when(courseService.findById(1L)).thenReturn(course);
+
+        mockMvc.perform(post("/api/batch").contentType(MediaType.APPLICATION_JSON).content("""
+                        {"requests": [
+                          {"method": "POST", "path": "/api/batch", "body": {"requests": []}},
+                          {"method": "POST", "path": "/api/%62atch", "body": {"requests": []}},
+                          {"method": "POST", "path": "/api/batch;x=1", "body": {"requests": []}},
+                          {"method": "GET", "path": "/api/courses/active/all"},
+                          {"method": "GET", "path": "/api/program/1/users"},
+                          {"method": "GET", "path": "/api/program/1;x=1/%75sers"},
+                          {"method": "GET", "path": "/api/courses/%31"}
+                        ]}"""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].status").value(400))
+                .andExpect(jsonPath("$.data[0].body.error").value("Not available in a batch: /api/batch"))
+                .andExpect(jsonPath("$.data[1].status").value(400))
+                .andExpect(jsonPath("$.data[1].body.error").value("Not available in a batch: /api/batch"))
+                .andExpect(jsonPath("$.data[2].status").value(400))
+                .andExpect(jsonPath("$.data[3].status").value(400))
+                .andExpect(jsonPath("$.data[3].body.error").value("Not available in a batch: /api/courses/active/all"))
+                .andExpect(jsonPath("$.data[4].status").value(400))
+                .andExpect(jsonPath("$.data[5].status").value(400))
+                .andExpect(jsonPath("$.data[5].body.error").value("Not available in a batch: /api/program/1/users"))
+                .andExpect(jsonPath("$.data[6].status").value(200))
+                .andExpect(jsonPath("$.data[6].body.data.id").value(1));
+
+        verifyNoInteractions(programService);
+    }
+}
@@ -3,8 +3,11 @@ package com.abetappteam.abetapp.controller;
 import com.abetappteam.abetapp.BaseControllerTest;
 import com.abetappteam.abetapp.config.TestSecurityConfig;
 import com.abetappteam.abetapp.dto.CourseDTO;
+import com.abetappteam.abetapp.dto.CourseSummary;
 import com.abetappteam.abetapp.entity.Course;
+import com.abetappteam.abetapp.exception.BadRequestException;
 import com.abetappteam.abetapp.service.CourseService;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,11 +17,16 @@ import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -43,6 +51,7 @@ class CourseControllerUnitTest extends BaseControllerTest {
     private CourseService courseService;
 
     private Course testCourse;
+    private CourseSummary testCourseSummary;
     private CourseDTO testCourseDTO;
 
     @BeforeEach
@@ -56,6 +65,8 @@ class CourseControllerUnitTest extends BaseControllerTest {
         testCourse.setStudentCount(28);
         testCourse.setIsActive(true);
 
+        testCourseSummary = new CourseSummary(1L, "CS401", "Software Engineering", 1L, 28, true);
+
         testCourseDTO = new CourseDTO();
         testCourseDTO.setCourseCode("CS401");
         testCourseDTO.setCourseName("Software Engineering");
@@ -67,10 +78,10 @@ class CourseControllerUnitTest extends BaseControllerTest {
     @Test
     void shouldGetAllCoursesBySemester() throws Exception {
         // Given
-        List<Course> courses = List.of(testCourse);
-        Page<Course> page = new PageImpl<>(courses, PageRequest.of(0, 20), 1);
+        List<CourseSummary> courses = List.of(testCourseSummary);
+        Page<CourseSummary> page = new PageImpl<>(courses, PageRequest.of(0, 20), 1);
 
-        when(courseService.getCoursesBySemester(eq(1L), any(PageRequest.class))).thenReturn(page);
+        when(courseService.getCourseSummariesBySemester(eq(1L), any(PageRequest.class))).thenReturn(page);
 
         // When/Then
         mockMvc.perform(get("/api/courses")
@@ -80,9 +91,100 @@ class CourseControllerUnitTest extends BaseControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.content").isArray())
                 .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].courseCode").value("CS401"))
+                .andExpect(jsonPath("$.content[0].isActive").value(true))
+                .andExpect(jsonPath("$.content[0].courseDescription").doesNotExist())
                 .andExpect(jsonPath("$.totalElements").value(1));
 
-        verify(courseService, times(1)).getCoursesBySemester(eq(1L), any(PageRequest.class));
+        verify(courseService, times(1)).getCourseSummariesBySemester(eq(1L), any(PageRequest.class));
+    }
+
+    @Test
+    void shouldGetSparseFieldsetWhenFieldsRequested() throws Exception {
+        // Given
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", 1L);
+        row.put("courseCode", "CS401");
+        Page<Map<String, Object>> page = new PageImpl<>(List.of(row), PageRequest.of(0, 20), 1);
+
+        when(courseService.findFields(any(), eq(List.of("id", "courseCode")), any(PageRequest.class))).thenReturn(page);
+
+        // When/Then
+        mockMvc.perform(get("/api/courses")
+                        .param("semesterId", "1")
+                        .param("fields", "id, courseCode"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].courseCode").value("CS401"))
+                .andExpect(jsonPath("$.content[0].courseName").doesNotExist());
+
+        verify(courseService, never()).getCourseSummariesBySemester(any(), any());
+    }
+
+    @Test
+    void shouldRejectAnEmptySparseFieldset() throws Exception {
+        mockMvc.perform(get("/api/courses")
+                        .param("semesterId", "1")
+                        .param("fields", " , "))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(courseService);
+    }
+
+    @Test
+    void shouldStreamAllActiveCourses() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            Consumer<CourseSummary> sink = invocation.getArgument(0);
+            sink.accept(new CourseSummary(1L, "CS401", "Software Engineering", 1L, 30, true));
+            return null;
+        }).when(courseService).streamAllActiveCourseSummaries(any());
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/courses/active/all"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data[0].courseCode").value("CS401"));
+    }
+
+    @Test
+    void shouldStreamSparseFieldsetOfAllActiveCourses() throws Exception {
+        // Given
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", 1L);
+        row.put("courseCode", "CS401");
+        when(courseService.validateFields(List.of("id", "courseCode"))).thenReturn(List.of("id", "courseCode"));
+        doAnswer(invocation -> {
+            Consumer<Map<String, Object>> sink = invocation.getArgument(3);
+            sink.accept(row);
+            return null;
+        }).when(courseService).streamFields(any(), eq(List.of("id", "courseCode")), any(Sort.class), any());
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/courses/active/all").param("fields", "id,courseCode"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].courseCode").value("CS401"))
+                .andExpect(jsonPath("$.data[0].courseName").doesNotExist());
+        verify(courseService, never()).streamAllActiveCourseSummaries(any());
+    }
+
+    @Test
+    void shouldRejectUnknownFieldsBeforeStreaming() throws Exception {
+        when(courseService.validateFields(List.of("nope")))
+                .thenThrow(new BadRequestException("Unknown field 'nope' for Course"));
+
+        mockMvc.perform(get("/api/courses/active/all").param("fields", "nope"))
+                .andExpect(status().isBadRequest());
+        verify(courseService, never()).streamFields(any(), any(), any(), any());
     }
 
     @Test
@@ -153,6 +255,28 @@ class CourseControllerUnitTest extends BaseControllerTest {
         verify(courseService, times(1)).updateCourse(eq(1L), any(CourseDTO.class));
     }
 
+    @Test
+    void shouldPatchCourseWithMergePatch() throws Exception {
+        // Given
+        Map<String, Object> patched = new LinkedHashMap<>();
+        patched.put("id", 1L);
+        patched.put("version", 4L);
+        patched.put("courseName", "Programming I");
+        when(courseService.patch(eq(1L), any(JsonNode.class))).thenReturn(patched);
+
+        // When/Then
+        mockMvc.perform(patch("/api/courses/1")
+                        .contentType("application/merge-patch+json")
+                        .content("{\"version\": 3, \"courseName\": \"Programming I\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Course updated successfully"))
+                .andExpect(jsonPath("$.data.version").value(4))
+                .andExpect(jsonPath("$.data.courseName").value("Programming I"));
+
+        verify(courseService).patch(eq(1L), argThat(node -> node.path("version").asLong() == 3
+                && node.path("courseName").asText().equals("Programming I")));
+    }
+
     @Test
     void shouldUpdateStudentCount() throws Exception {
         // Given
@@ -237,10 +361,10 @@ class CourseControllerUnitTest extends BaseControllerTest {
     @Test
     void shouldGetActiveCourses() throws Exception {
         // Given
-        List<Course> courses = List.of(testCourse);
-        Page<Course> page = new PageImpl<>(courses, PageRequest.of(0, 20), 1);
+        List<CourseSummary> courses = List.of(testCourseSummary);
+        Page<CourseSummary> page = new PageImpl<>(courses, PageRequest.of(0, 20), 1);
 
-        when(courseService.getActiveCoursesBySemester(eq(1L), any(PageRequest.class))).thenReturn(page);
+        when(courseService.getActiveCourseSummariesBySemester(eq(1L), any(PageRequest.class))).thenReturn(page);
 
         // When/Then
         mockMvc.perform(get("/api/courses/active")
@@ -251,16 +375,16 @@ class CourseControllerUnitTest extends BaseControllerTest {
                 .andExpect(jsonPath("$.content").isArray())
                 .andExpect(jsonPath("$.content.length()").value(1));
 
-        verify(courseService, times(1)).getActiveCoursesBySemester(eq(1L), any(PageRequest.class));
+        verify(courseService, times(1)).getActiveCourseSummariesBySemester(eq(1L), any(PageRequest.class));
     }
 
     @Test
     void shouldSearchCourses() throws Exception {
         // Given
-        List<Course> courses = List.of(testCourse);
-        Page<Course> page = new PageImpl<>(courses, PageRequest.of(0, 20), 1);
+        List<CourseSummary> courses = List.of(testCourseSummary);
+        Page<CourseSummary> page = new PageImpl<>(courses, PageRequest.of(0, 20), 1);
 
-        when(courseService.searchByNameOrCourseCode(eq("Software"), any(PageRequest.class))).thenReturn(page);
+        when(courseService.searchSummariesByNameOrCourseCode(eq("Software"), any(PageRequest.class))).thenReturn(page);
 
         // When/Then
         mockMvc.perform(get("/api/courses/search")
@@ -271,7 +395,7 @@ class CourseControllerUnitTest extends BaseControllerTest {
                 .andExpect(jsonPath("$.content").isArray())
                 .andExpect(jsonPath("$.content.length()").value(1));
 
-        verify(courseService, times(1)).searchByNameOrCourseCode(eq("Software"), any(PageRequest.class));
+        verify(courseService, times(1)).searchSummariesByNameOrCourseCode(eq("Software"), any(PageRequest.class));
     }
 
     @Test
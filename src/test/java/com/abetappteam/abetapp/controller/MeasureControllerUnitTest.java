@@ -5,7 +5,10 @@ import com.abetappteam.abetapp.exception.ResourceNotFoundException;
 import com.abetappteam.abetapp.entity.Course;
 import com.abetappteam.abetapp.entity.CourseIndicator;
 import com.abetappteam.abetapp.entity.Measure;
+import com.abetappteam.abetapp.dto.BatchUpdateResult;
 import com.abetappteam.abetapp.dto.MeasureDTO;
+import com.abetappteam.abetapp.dto.MeasurePatch;
+import com.abetappteam.abetapp.dto.MeasureSummary;
 import com.abetappteam.abetapp.service.MeasureService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -13,6 +16,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.parallel.Execution;
 import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.mockito.stubbing.Answer;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -23,9 +27,11 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -89,10 +95,10 @@ public class MeasureControllerUnitTest {
     @Test
     void shouldGetAllMeasures() throws Exception {
         //Given
-        List<Measure> measures = List.of(testMeasure);
-        Page<Measure> page = new PageImpl<>(measures, PageRequest.of(0, 20), 1);
+        List<MeasureSummary> measures = List.of(toSummary(testMeasure));
+        Page<MeasureSummary> page = new PageImpl<>(measures, PageRequest.of(0, 20), 1);
 
-        when(service.findAll(any(PageRequest.class))).thenReturn(page);
+        when(service.findAllSummaries(any(PageRequest.class))).thenReturn(page);
 
         //When/Then
         mockMvc.perform(get("/api/measure")
@@ -101,9 +107,12 @@ public class MeasureControllerUnitTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.content").isArray())
                 .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].studentsMet").value(1))
+                .andExpect(jsonPath("$.content[0].fcar").doesNotExist())
+                .andExpect(jsonPath("$.content[0].description").doesNotExist())
                 .andExpect(jsonPath("$.totalElements").value(1));
 
-        verify(service, times(1)).findAll(any(PageRequest.class));
+        verify(service, times(1)).findAllSummaries(any(PageRequest.class));
     }
 
     @Test
@@ -170,6 +179,30 @@ public class MeasureControllerUnitTest {
         verify(service, times(1)).update(eq(1L), any(MeasureDTO.class));
     }
 
+    @Test
+    void shouldBatchUpdateMeasuresAndReportConflicts() throws Exception {
+        // Given
+        List<MeasurePatch> patches = List.of(
+                new MeasurePatch(1L, 2L, null, null, null, null, 10, 4, 1, "Submitted", null),
+                new MeasurePatch(2L, 0L, null, null, null, null, 8, null, null, null, null));
+        when(service.patchBatch(patches)).thenReturn(new BatchUpdateResult(
+                List.of(new BatchUpdateResult.Updated(1L, 3L)),
+                List.of(new BatchUpdateResult.Conflict(2L, 0L, 4L, BatchUpdateResult.VERSION_MISMATCH))));
+
+        // When/Then
+        mockMvc.perform(patch("/api/measure")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(patches)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("1 measures updated, 1 conflicts"))
+                .andExpect(jsonPath("$.data.updated[0].version").value(3))
+                .andExpect(jsonPath("$.data.conflicts[0].id").value(2))
+                .andExpect(jsonPath("$.data.conflicts[0].currentVersion").value(4))
+                .andExpect(jsonPath("$.data.conflicts[0].reason").value("VERSION_MISMATCH"));
+
+        verify(service, times(1)).patchBatch(patches);
+    }
+
     @Test
     void shouldDeleteMeasure() throws Exception {
         // Given - no need to mock void method with doNothing, it's the default
@@ -186,8 +219,8 @@ public class MeasureControllerUnitTest {
     @Test
     void shouldReturnAllActiveMeasuresByCourseId() throws Exception {
         //Given
-        List<Measure> measures = List.of(testMeasure);
-        when(service.findAllActiveMeasuresByCourse(eq(1l))).thenReturn(measures);
+        List<MeasureSummary> measures = List.of(toSummary(testMeasure));
+        when(service.findActiveSummariesByCourse(eq(1l))).thenReturn(measures);
 
         //When
         mockMvc.perform(get("/api/measure/byCourse/1"))
@@ -197,30 +230,65 @@ public class MeasureControllerUnitTest {
                 .andExpect(jsonPath("$.message").value("Measures found"))
                 .andExpect(jsonPath("$.data.[0].id").value(1));
         
-        verify(service, times(1)).findAllActiveMeasuresByCourse(1l);
+        verify(service, times(1)).findActiveSummariesByCourse(1l);
     }
 
     @Test
     void shouldReturnAllActiveMeasuresByIndicatorId() throws Exception {
         //Given
-        List<Measure> measures = List.of(testMeasure);
-        when(service.findAllActiveMeasuresByIndicator(eq(1l))).thenReturn(measures);
+        List<MeasureSummary> measures = List.of(toSummary(testMeasure));
+        doAnswer(streamRows(measures)).when(service).streamSummariesByIndicator(eq(1l), eq(true), any());
 
         //When
-        mockMvc.perform(get("/api/measure/byIndicator/1"))
+        MvcResult result = mockMvc.perform(get("/api/measure/byIndicator/1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //Then
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.message").value("Measures found"))
-                .andExpect(jsonPath("$.data.[0].id").value(1));
-        
-        verify(service, times(1)).findAllActiveMeasuresByIndicator(1l);
+                .andExpect(jsonPath("$.data.[0].id").value(1))
+                .andExpect(jsonPath("$.data.[0].fcar").doesNotExist())
+                .andExpect(jsonPath("$.timestamp").exists());
+
+        verify(service, times(1)).streamSummariesByIndicator(eq(1l), eq(true), any());
+    }
+
+    @Test
+    void shouldStreamEmptyInactiveMeasureListByIndicatorId() throws Exception {
+        //Given
+        doAnswer(streamRows(List.of())).when(service).streamSummariesByIndicator(eq(1l), eq(false), any());
+
+        //When
+        MvcResult result = mockMvc.perform(get("/api/measure/byIndicator/Inactive/1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data").isArray())
+                .andExpect(jsonPath("$.data").isEmpty());
+    }
+
+    // Streaming endpoints hand the service a sink; feed it the given rows
+    private static <T> Answer<Void> streamRows(List<T> rows) {
+        return invocation -> {
+            Consumer<T> sink = invocation.getArgument(invocation.getArguments().length - 1);
+            rows.forEach(sink);
+            return null;
+        };
     }
 
     @Test
     void shouldReturnAllActiveMeasuresByInProgressStatusAndSemesterId() throws Exception {
         //Given 
-        List<Measure> measures = List.of(testMeasure);
-        when(service.findAllActiveMeasuresByStatusAndSemester(eq("InProgress"), eq(1l))).thenReturn(measures);
+        List<MeasureSummary> measures = List.of(toSummary(testMeasure));
+        when(service.findActiveSummariesByStatusAndSemester(eq("InProgress"), eq(1l))).thenReturn(measures);
 
         //When
         mockMvc.perform(get("/api/measure/bySemester/InProgress/1"))
@@ -236,8 +304,8 @@ public class MeasureControllerUnitTest {
         //Given 
         testMeasure.setStatus("Submitted");
 
-        List<Measure> measures = List.of(testMeasure);
-        when(service.findAllActiveMeasuresByStatusAndSemester(eq("Submitted"), eq(1l))).thenReturn(measures);
+        List<MeasureSummary> measures = List.of(toSummary(testMeasure));
+        when(service.findActiveSummariesByStatusAndSemester(eq("Submitted"), eq(1l))).thenReturn(measures);
 
         //When
         mockMvc.perform(get("/api/measure/bySemester/Submitted/1"))
@@ -253,8 +321,8 @@ public class MeasureControllerUnitTest {
         //Given 
         testMeasure.setStatus("InReview");
 
-        List<Measure> measures = List.of(testMeasure);
-        when(service.findAllActiveMeasuresByStatusAndSemester(eq("InReview"), eq(1l))).thenReturn(measures);
+        List<MeasureSummary> measures = List.of(toSummary(testMeasure));
+        when(service.findActiveSummariesByStatusAndSemester(eq("InReview"), eq(1l))).thenReturn(measures);
 
         //When
         mockMvc.perform(get("/api/measure/bySemester/InReview/1"))
@@ -270,8 +338,8 @@ public class MeasureControllerUnitTest {
         //Given 
         testMeasure.setStatus("Complete");
 
-        List<Measure> measures = List.of(testMeasure);
-        when(service.findAllActiveMeasuresByStatusAndSemester(eq("Complete"), eq(1l))).thenReturn(measures);
+        List<MeasureSummary> measures = List.of(toSummary(testMeasure));
+        when(service.findActiveSummariesByStatusAndSemester(eq("Complete"), eq(1l))).thenReturn(measures);
 
         //When
         mockMvc.perform(get("/api/measure/bySemester/Complete/1"))
@@ -281,4 +349,9 @@ public class MeasureControllerUnitTest {
                 .andExpect(jsonPath("$.message").value("Measures found"))
                 .andExpect(jsonPath("$.data.[0].active").value(true));
     }
-}
+
+    private MeasureSummary toSummary(Measure measure) {
+        return new MeasureSummary(measure.getId(), measure.getCourseIndicatorId(), measure.getStatus(),
+                measure.getStudentsMet(), measure.getStudentsExceeded(), measure.getStudentsBelow(), measure.getActive());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,86 @@
+package com.abetappteam.abetapp.controller;
+
+import com.abetappteam.abetapp.BaseIntegrationTest;
+import com.abetappteam.abetapp.entity.Program;
+import com.abetappteam.abetapp.repository.ProgramRepository;
+import com.abetappteam.abetapp.util.QueryCountExtension;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for JSON Merge Patch endpoints: one targeted UPDATE, version checks
+ * and entity constraint validation without loading the row
+ */
+class MergePatchIntegrationTest extends BaseIntegrationTest {
+
+    private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
+    @Autowired
+    private ProgramRepository programRepository;
+
+    @Test
+    void shouldPatchWithSingleUpdateStatement() throws Throwable {
+        // Given
+        Program program = programRepository.saveAndFlush(new Program("Computer Science", "Example University", true));
+        long version = program.getVersion();
+
+        // When / Then - the versioned UPDATE is the only statement
+        QueryCountExtension.assertMaxQueries(1, () -> mockMvc.perform(patch("/api/program/" + program.getId())
+                        .contentType(MERGE_PATCH_JSON)
+                        .content("{\"version\": " + version + ", \"name\": \"Computer Engineering\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.version").value(version + 1))
+                .andExpect(jsonPath("$.data.name").value("Computer Engineering")));
+
+        Program patched = programRepository.findById(program.getId()).orElseThrow();
+        assertThat(patched.getName()).isEqualTo("Computer Engineering");
+        assertThat(patched.getInstitution()).isEqualTo("Example University");
+        assertThat(patched.getVersion()).isEqualTo(version + 1);
+    }
+
+    @Test
+    void shouldRejectStaleVersionWithConflict() throws Exception {
+        // Given
+        Program program = programRepository.saveAndFlush(new Program("Computer Science", "Example University", true));
+        String patch = "{\"version\": " + program.getVersion() + ", \"institution\": \"Other University\"}";
+        mockMvc.perform(patch("/api/program/" + program.getId()).contentType(MERGE_PATCH_JSON).content(patch))
+                .andExpect(status().isOk());
+
+        // When / Then - same version again
+        mockMvc.perform(patch("/api/program/" + program.getId()).contentType(MERGE_PATCH_JSON).content(patch))
+                .andExpect(status().isConflict());
+        mockMvc.perform(patch("/api/program/999999").contentType(MERGE_PATCH_JSON).content(patch))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldRejectInvalidIdsOnEveryPatchEndpoint() throws Exception {
+        for (String resource : new String[] {"courses", "semesters", "program", "users"}) {
+            mockMvc.perform(patch("/api/" + resource + "/0").contentType(MERGE_PATCH_JSON).content("{\"version\": 0}"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Test
+    void shouldValidatePatchedValuesAgainstEntityConstraints() throws Exception {
+        // Given
+        Program program = programRepository.saveAndFlush(new Program("Computer Science", "Example University", true));
+
+        // When / Then
+        mockMvc.perform(patch("/api/program/" + program.getId())
+                        .contentType(MERGE_PATCH_JSON)
+                        .content("{\"version\": " + program.getVersion() + ", \"name\": \"CS\", \"active\": \"maybe\"}"))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.data.name").exists())
+                .andExpect(jsonPath("$.data.active").exists());
+        mockMvc.perform(patch("/api/program/" + program.getId())
+                        .contentType(MERGE_PATCH_JSON)
+                        .content("{\"version\": " + program.getVersion() + ", \"createdAt\": \"2020-01-01T00:00:00\"}"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -3,8 +3,10 @@ package com.abetappteam.abetapp.controller;
 import com.abetappteam.abetapp.config.TestSecurityConfig;
 import com.abetappteam.abetapp.entity.Program;
 import com.abetappteam.abetapp.dto.ProgramDTO;
+import com.abetappteam.abetapp.dto.ProgramSummary;
 import com.abetappteam.abetapp.entity.ProgramUser;
 import com.abetappteam.abetapp.service.ProgramService;
+import com.abetappteam.abetapp.exception.QueryRowLimitException;
 import com.abetappteam.abetapp.exception.ResourceNotFoundException;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -12,6 +14,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.parallel.Execution;
 import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.mockito.stubbing.Answer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
@@ -21,9 +24,16 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -39,6 +49,9 @@ public class ProgramControllerUnitTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private ProgramController programController;
+
     @MockitoBean
     private ProgramService programService;
 
@@ -62,10 +75,10 @@ public class ProgramControllerUnitTest {
     @Test
     void shouldGetAllPrograms() throws Exception {
         //Given
-        List<Program> programs = List.of(testProgram);
-        Page<Program> page = new PageImpl<>(programs, PageRequest.of(0, 20), 1);
+        List<ProgramSummary> programs = List.of(new ProgramSummary(1L, "EU Testing", "Example University", true));
+        Page<ProgramSummary> page = new PageImpl<>(programs, PageRequest.of(0, 20), 1);
 
-        when(programService.findAll(any(PageRequest.class))).thenReturn(page);
+        when(programService.findAllSummaries(any(PageRequest.class))).thenReturn(page);
 
         //When/Then
         mockMvc.perform(get("/api/program")
@@ -76,7 +89,7 @@ public class ProgramControllerUnitTest {
                 .andExpect(jsonPath("$.content.length()").value(1))
                 .andExpect(jsonPath("$.totalElements").value(1));
 
-        verify(programService, times(1)).findAll(any(PageRequest.class));
+        verify(programService, times(1)).findAllSummaries(any(PageRequest.class));
     }
 
     @Test
@@ -177,39 +190,79 @@ public class ProgramControllerUnitTest {
     @Test
     void shouldGetProgramUsers() throws Exception {
         var users = List.of(new ProgramUser(false, 1L, 1L));
-        when(programService.getUsersInProgram(1L)).thenReturn(users);
+        doAnswer(streamRows(users)).when(programService).streamUsersInProgram(eq(1L), isNull(), any());
+
+        MvcResult result = mockMvc.perform(get("/api/program/1/users"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
 
-        mockMvc.perform(get("/api/program/1/users"))
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.message").value("Program users retrieved successfully"))
                 .andExpect(jsonPath("$.data[0].userId").value(1));
 
-        verify(programService).getUsersInProgram(1L);
+        verify(programService).streamUsersInProgram(eq(1L), isNull(), any());
     }
 
     @Test
     void shouldGetProgramAdmins() throws Exception {
         var admins = List.of(new ProgramUser(true, 1L, 2L));
-        when(programService.getAdminsInProgram(1L)).thenReturn(admins);
+        doAnswer(streamRows(admins)).when(programService).streamUsersInProgram(eq(1L), eq(true), any());
 
-        mockMvc.perform(get("/api/program/1/admins"))
+        MvcResult result = mockMvc.perform(get("/api/program/1/admins"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.data[0].userId").value(2))
                 .andExpect(jsonPath("$.data[0].adminStatus").value(true));
 
-        verify(programService).getAdminsInProgram(1L);
+        verify(programService).streamUsersInProgram(eq(1L), eq(true), any());
     }
 
     @Test
     void shouldGetProgramInstructors() throws Exception {
         var instructors = List.of(new ProgramUser(false, 1L, 3L));
-        when(programService.getInstructorsInProgram(1L)).thenReturn(instructors);
+        doAnswer(streamRows(instructors)).when(programService).streamUsersInProgram(eq(1L), eq(false), any());
+
+        MvcResult result = mockMvc.perform(get("/api/program/1/instructors"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
 
-        mockMvc.perform(get("/api/program/1/instructors"))
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.data[0].userId").value(3));
 
-        verify(programService).getInstructorsInProgram(1L);
+        verify(programService).streamUsersInProgram(eq(1L), eq(false), any());
+    }
+
+    @Test
+    void shouldLeaveStreamUnterminatedWhenServiceFailsPartWay() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<ProgramUser> sink = invocation.getArgument(2);
+            sink.accept(new ProgramUser(false, 1L, 1L));
+            throw new QueryRowLimitException(1);
+        }).when(programService).streamUsersInProgram(eq(1L), isNull(), any());
+
+        StreamingResponseBody body = programController.getProgramUsers(1L).getBody();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertThatThrownBy(() -> body.writeTo(out)).isInstanceOf(QueryRowLimitException.class);
+        assertThat(out.toString(StandardCharsets.UTF_8))
+                .contains("\"userId\":1")
+                .doesNotContain("timestamp")
+                .endsWith("\"adminStatus\":false}");
+    }
+
+    // Streaming endpoints hand the service a sink; feed it the given rows
+    private static <T> Answer<Void> streamRows(List<T> rows) {
+        return invocation -> {
+            Consumer<T> sink = invocation.getArgument(invocation.getArguments().length - 1);
+            rows.forEach(sink);
+            return null;
+        };
     }
 
     @Test
@@ -0,0 +1,101 @@
+package com.abetappteam.abetapp.controller;
+
+import com.abetappteam.abetapp.config.TestSecurityConfig;
+import com.abetappteam.abetapp.event.EntityChangedEvent;
+import com.abetappteam.abetapp.repository.MeasureBatchRepository.MeasureScope;
+import com.abetappteam.abetapp.repository.MeasureRepository;
+import com.abetappteam.abetapp.repository.ProgramRepository;
+import com.abetappteam.abetapp.repository.SemesterRepository;
+import com.abetappteam.abetapp.service.CourseService;
+import com.abetappteam.abetapp.service.MeasureProgressService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Runs the real MeasureProgressService behind the controller so pushed events can be read
+ * from the async response
+ */
+@WebMvcTest(ProgressController.class)
+@Import({TestSecurityConfig.class, MeasureProgressService.class})
+@Execution(ExecutionMode.SAME_THREAD)
+public class ProgressControllerUnitTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeasureProgressService progressService;
+
+    @MockitoBean
+    private MeasureRepository measureRepository;
+
+    @MockitoBean
+    private CourseService courseService;
+
+    @MockitoBean
+    private SemesterRepository semesterRepository;
+
+    @MockitoBean
+    private ProgramRepository programRepository;
+
+    @Test
+    void shouldPushStatusAndCompletenessChangesToSemesterStream() throws Exception {
+        when(semesterRepository.existsById(5L)).thenReturn(true);
+        MvcResult stream = mockMvc.perform(get("/api/progress/stream").param("semesterId", "5"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        CourseService.MeasureCompletenessResponse completeness = new CourseService.MeasureCompletenessResponse();
+        completeness.setCourseId(3L);
+        completeness.setTotalMeasures(4);
+        completeness.setSubmittedMeasures(1);
+        when(courseService.calculateMeasureCompleteness(3L)).thenReturn(completeness);
+        when(measureRepository.findScopes(List.of(9L)))
+                .thenReturn(List.of(new MeasureScope(9L, "Submitted", true, false, 3L, 5L, 1L)));
+
+        // When - a measure of the semester changes twice, the second time without a status change
+        progressService.onEntityChanged(new EntityChangedEvent("Measure", 9L, EntityChangedEvent.Change.UPDATED,
+                LocalDateTime.now()));
+        progressService.onEntityChanged(new EntityChangedEvent("Course", 3L, EntityChangedEvent.Change.UPDATED,
+                LocalDateTime.now()));
+        progressService.flush();
+        String pushed = stream.getResponse().getContentAsString();
+        progressService.onEntityChanged(new EntityChangedEvent("Measure", 9L, EntityChangedEvent.Change.UPDATED,
+                LocalDateTime.now()));
+        progressService.flush();
+
+        // Then - one status event and one completeness event, nothing for the repeat
+        assertThat(pushed).contains("event:measure-status", "\"measureId\":9", "\"status\":\"Submitted\"",
+                "event:completeness", "\"submittedMeasures\":1");
+        assertThat(stream.getResponse().getContentAsString()).isEqualTo(pushed);
+        verify(measureRepository, times(2)).findScopes(List.of(9L));
+        verify(courseService, times(1)).calculateMeasureCompleteness(3L);
+    }
+
+    @Test
+    void shouldRequireExactlyOneScope() throws Exception {
+        mockMvc.perform(get("/api/progress/stream"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/progress/stream").param("programId", "1").param("semesterId", "5"))
+                .andExpect(status().isBadRequest());
+
+        when(programRepository.existsById(8L)).thenReturn(false);
+        mockMvc.perform(get("/api/progress/stream").param("programId", "8"))
+                .andExpect(status().isNotFound());
+        verifyNoInteractions(measureRepository);
+    }
+}
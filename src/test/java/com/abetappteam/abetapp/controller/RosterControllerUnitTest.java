@@ -0,0 +1,153 @@
+package com.abetappteam.abetapp.controller;
+
+import com.abetappteam.abetapp.config.TestSecurityConfig;
+import com.abetappteam.abetapp.dto.CourseInstructorRow;
+import com.abetappteam.abetapp.dto.ImportReport;
+import com.abetappteam.abetapp.dto.ProgramMemberRow;
+import com.abetappteam.abetapp.dto.ProvisioningReport;
+import com.abetappteam.abetapp.dto.UserProvisionRow;
+import com.abetappteam.abetapp.security.JwtAuthenticationFilter;
+import com.abetappteam.abetapp.service.RosterImportService;
+import com.abetappteam.abetapp.service.UserProvisioningService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(RosterController.class)
+@Import(TestSecurityConfig.class)
+@Execution(ExecutionMode.SAME_THREAD)
+public class RosterControllerUnitTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private RosterImportService service;
+
+    @MockitoBean
+    private UserProvisioningService provisioningService;
+
+    private final ImportReport report = ImportReport.of(List.of(
+            new ImportReport.Row(1, "ada@example.edu", ImportReport.CREATED, null),
+            new ImportReport.Row(2, "nobody@example.edu", ImportReport.FAILED, "No user with email nobody@example.edu")));
+
+    @Test
+    void shouldImportMembersFromCsv() throws Exception {
+        when(service.importProgramMembers(any())).thenReturn(report);
+
+        mockMvc.perform(post("/api/roster/members")
+                        .requestAttr(JwtAuthenticationFilter.ROLE_ATTRIBUTE, "ADMIN")
+                        .contentType("text/csv")
+                        .content("role,Email,programId\r\nINSTRUCTOR,ada@example.edu,1\n\n\"ADMIN\",\"nobody@example.edu\",2\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.created").value(1))
+                .andExpect(jsonPath("$.data.failed").value(1))
+                .andExpect(jsonPath("$.data.rows[1].message").value("No user with email nobody@example.edu"));
+
+        verify(service).importProgramMembers(List.of(
+                new ProgramMemberRow("ada@example.edu", 1L, "INSTRUCTOR"),
+                new ProgramMemberRow("nobody@example.edu", 2L, "ADMIN")));
+    }
+
+    @Test
+    void shouldImportInstructorsFromJson() throws Exception {
+        List<CourseInstructorRow> rows = List.of(new CourseInstructorRow("ada@example.edu", 7L));
+        when(service.importCourseInstructors(rows)).thenReturn(report);
+
+        mockMvc.perform(post("/api/roster/instructors")
+                        .requestAttr(JwtAuthenticationFilter.ROLE_ATTRIBUTE, "ADMIN")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(rows)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("1 created, 0 updated, 0 unchanged, 1 failed"));
+    }
+
+    @Test
+    void shouldRejectCsvWithNonNumericIds() throws Exception {
+        mockMvc.perform(post("/api/roster/instructors")
+                        .requestAttr(JwtAuthenticationFilter.ROLE_ATTRIBUTE, "ADMIN")
+                        .contentType("text/csv")
+                        .content("email,courseId\nada@example.edu,CS101\n"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(service);
+    }
+
+    @Test
+    void shouldProvisionUsersFromCsv() throws Exception {
+        when(provisioningService.provision(any())).thenReturn(new ProvisioningReport(report, ImportReport.of(List.of())));
+
+        mockMvc.perform(post("/api/roster/users")
+                        .requestAttr(JwtAuthenticationFilter.ROLE_ATTRIBUTE, "ADMIN")
+                        .contentType("text/csv")
+                        .content("email,password,firstName,lastName,programId\nada@example.edu,\"p,w\"\"d\",Ada,Lovelace,3\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.users.created").value(1))
+                .andExpect(jsonPath("$.data.memberships.rows").isEmpty());
+
+        verify(provisioningService).provision(List.of(
+                new UserProvisionRow("ada@example.edu", "p,w\"d", "Ada", "Lovelace", null, 3L, null)));
+    }
+
+    @Test
+    void shouldOnlyLetAdminsProvisionUsers() throws Exception {
+        mockMvc.perform(post("/api/roster/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(post("/api/roster/users")
+                        .requestAttr(JwtAuthenticationFilter.ROLE_ATTRIBUTE, "INSTRUCTOR")
+                        .contentType("text/csv")
+                        .content("email,password,firstName,lastName\nada@example.edu,secret,Ada,Lovelace\n"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(provisioningService);
+    }
+
+    @Test
+    void shouldOnlyLetAdminsImportRosters() throws Exception {
+        mockMvc.perform(post("/api/roster/members")
+                        .requestAttr(JwtAuthenticationFilter.ROLE_ATTRIBUTE, "INSTRUCTOR")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(
+                                new ProgramMemberRow("ada@example.edu", 1L, "ADMIN")))))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.message").value("Only program admins can change the roster"));
+
+        mockMvc.perform(post("/api/roster/members")
+                        .contentType("text/csv")
+                        .content("email,programId,role\nada@example.edu,1,ADMIN\n"))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(post("/api/roster/instructors")
+                        .requestAttr(JwtAuthenticationFilter.ROLE_ATTRIBUTE, "INSTRUCTOR")
+                        .contentType("text/csv")
+                        .content("email,courseId\nada@example.edu,7\n"))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(post("/api/roster/import")
+                        .requestAttr(JwtAuthenticationFilter.ROLE_ATTRIBUTE, "INSTRUCTOR")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(service);
+    }
+}
@@ -3,6 +3,7 @@ package com.abetappteam.abetapp.controller;
 import com.abetappteam.abetapp.config.TestSecurityConfig;
 import com.abetappteam.abetapp.dto.UpdateUsersDTO;
 import com.abetappteam.abetapp.entity.Users;
+import com.abetappteam.abetapp.dto.UserSummary;
 import com.abetappteam.abetapp.dto.UsersDTO;
 import com.abetappteam.abetapp.service.UsersService;
 import com.abetappteam.abetapp.exception.ResourceNotFoundException;
@@ -67,10 +68,10 @@ public class UsersControllerUnitTest {
 
     @Test
     void shouldGetAllUsers() throws Exception {
-        List<Users> users = List.of(testUser);
-        Page<Users> page = new PageImpl<>(users, PageRequest.of(0, 20), 1);
+        List<UserSummary> users = List.of(new UserSummary(1L, "rwade4@ycp.edu", "Test", "User", "Dr.", true));
+        Page<UserSummary> page = new PageImpl<>(users, PageRequest.of(0, 20), 1);
 
-        when(userService.findAll(any(PageRequest.class))).thenReturn(page);
+        when(userService.findAllSummaries(any(PageRequest.class))).thenReturn(page);
 
         mockMvc.perform(get("/api/users")
                         .param("page", "0")
@@ -78,9 +79,10 @@ public class UsersControllerUnitTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.content").isArray())
                 .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].passwordHash").doesNotExist())
                 .andExpect(jsonPath("$.totalElements").value(1));
 
-        verify(userService, times(1)).findAll(any(PageRequest.class));
+        verify(userService, times(1)).findAllSummaries(any(PageRequest.class));
     }
 
     @Test
@@ -106,6 +108,7 @@ public class UsersControllerUnitTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.data.id").value(1))
+                .andExpect(jsonPath("$.data.passwordHash").doesNotExist())
                 .andExpect(jsonPath("$.data.firstName").value("Test"));
 
         verify(userService, times(1)).findById(1L);
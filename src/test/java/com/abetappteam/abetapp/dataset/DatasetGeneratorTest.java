@@ -0,0 +1,77 @@
+package com.abetappteam.abetapp.dataset;
+
+import com.abetappteam.abetapp.BaseRepositoryTest;
+import com.abetappteam.abetapp.repository.CourseRepository;
+import com.abetappteam.abetapp.repository.MeasureRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for DatasetGenerator against the H2 schema Hibernate builds from the entities
+ */
+class DatasetGeneratorTest extends BaseRepositoryTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private MeasureRepository measureRepository;
+
+    @Test
+    void shouldGenerateRequestedRowCounts() {
+        // Given
+        DatasetSpec spec = DatasetSpec.small();
+        DatasetGenerator generator = new DatasetGenerator(jdbcTemplate);
+
+        // When
+        DatasetGenerator.Result result = generator.generate(spec);
+
+        // Then
+        assertThat(result.programs()).isEqualTo(1);
+        assertThat(result.users()).isEqualTo(spec.instructorsPerProgram() + 1);
+        assertThat(result.semesters()).isEqualTo(spec.totalSemesters());
+        assertThat(result.courses()).isEqualTo(spec.totalCourses());
+        assertThat(result.courseIndicators()).isEqualTo(spec.totalCourseIndicators());
+        assertThat(result.measures()).isEqualTo(spec.totalMeasures());
+
+        assertThat(courseRepository.count()).isEqualTo(spec.totalCourses());
+        assertThat(measureRepository.count()).isEqualTo(spec.totalMeasures());
+        assertThat(generator.exists()).isTrue();
+        assertThat(jdbcTemplate.queryForList("SELECT status FROM semester ORDER BY id", String.class))
+                .containsExactly("COMPLETED", "COMPLETED", "ACTIVE");
+    }
+
+    @Test
+    void shouldProduceSameContentForSameSeed() {
+        // Given
+        DatasetGenerator generator = new DatasetGenerator(jdbcTemplate);
+
+        // When - two runs of the same spec land in two separate programs
+        generator.generate(DatasetSpec.small());
+        generator.generate(DatasetSpec.small());
+        List<Long> programIds = jdbcTemplate.queryForList("SELECT id FROM program ORDER BY id", Long.class);
+
+        // Then
+        assertThat(programIds).hasSize(2);
+        assertThat(fingerprint(programIds.get(1))).isEqualTo(fingerprint(programIds.get(0)));
+        assertThat(jdbcTemplate.queryForList("SELECT email FROM users WHERE email LIKE '%.admin@synthetic.edu' "
+                + "ORDER BY id", String.class)).containsExactly("p1.admin@synthetic.edu", "p2.admin@synthetic.edu");
+    }
+
+    // Program content without generated IDs
+    private List<Map<String, Object>> fingerprint(long programId) {
+        return jdbcTemplate.queryForList("SELECT c.course_code, c.student_count, c.is_active, m.m_status, m.met, m.is_active "
+                + "FROM measure m JOIN course_indicator ci ON m.course_indicator_id = ci.id "
+                + "JOIN course c ON ci.course_id = c.id JOIN semester s ON c.semester_id = s.id "
+                + "WHERE s.program_id = ? ORDER BY m.id", programId);
+    }
+}
@@ -0,0 +1,95 @@
+package com.abetappteam.abetapp.datasource;
+
+import com.abetappteam.abetapp.dto.CourseSummary;
+import com.abetappteam.abetapp.entity.Course;
+import com.abetappteam.abetapp.exception.QueryRowLimitException;
+import com.abetappteam.abetapp.exception.ServiceUnavailableException;
+import com.abetappteam.abetapp.repository.CourseRepository;
+import com.abetappteam.abetapp.service.CourseService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Maps query budget violations raised below a service call to 503/422 exceptions and metrics
+ */
+class QueryBudgetAspectTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CourseRepository repository = mock(CourseRepository.class);
+    private CourseService service;
+
+    @BeforeEach
+    void setUp() {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new CourseService(repository));
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new QueryBudgetAspect(meterRegistry));
+        service = factory.getProxy();
+    }
+
+    @Test
+    void shouldTurnQueryTimeoutIntoServiceUnavailable() {
+        // Given
+        when(repository.findAll()).thenThrow(new QueryTimeoutException("statement cancelled"));
+
+        // When / Then
+        assertThatThrownBy(() -> service.findAll()).isInstanceOf(ServiceUnavailableException.class);
+        assertThat(meterRegistry.get(QueryBudgetAspect.BUDGET_EXCEEDED)
+                .tags("service", "CourseService", "method", "findAll", "limit", "timeout")
+                .counter().count()).isEqualTo(1);
+        assertThat(QueryBudgetScope.current()).isNull();
+    }
+
+    @Test
+    void shouldCountRowLimitAndInstallScopeDuringCall() {
+        // Given
+        when(repository.findAll()).thenAnswer(invocation -> {
+            assertThat(QueryBudgetScope.current().service()).isEqualTo("CourseService");
+            throw new QueryRowLimitException(4);
+        });
+        when(repository.findAllById(List.of(1L))).thenReturn(List.of(new Course()));
+
+        // When / Then
+        assertThatThrownBy(() -> service.findAll()).isInstanceOf(QueryRowLimitException.class);
+        assertThat(service.findAllById(List.of(1L))).hasSize(1);
+        assertThat(meterRegistry.get(QueryBudgetAspect.BUDGET_EXCEEDED)
+                .tags("limit", "rows").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldStreamPastTheDefaultRowCap() {
+        // Given five rows behind a data source capped at four by default
+        DataSource database = new DriverManagerDataSource("jdbc:h2:mem:query-budget-stream;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate setup = new JdbcTemplate(database);
+        setup.execute("CREATE TABLE IF NOT EXISTS item (id BIGINT PRIMARY KEY)");
+        setup.execute("MERGE INTO item KEY (id) VALUES (1), (2), (3), (4), (5)");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new QueryBudgetDataSource(database, 30, 4));
+        RowMapper<CourseSummary> summary = (rs, i) -> new CourseSummary(rs.getLong("id"), null, null, null, null, true);
+        when(repository.streamSummaryByIsActive(true))
+                .thenAnswer(invocation -> jdbcTemplate.queryForStream("SELECT id FROM item", summary));
+        when(repository.findAll()).thenAnswer(invocation -> jdbcTemplate.query("SELECT id FROM item", (rs, i) -> new Course()));
+
+        // When
+        List<CourseSummary> streamed = new ArrayList<>();
+        service.streamAllActiveCourseSummaries(streamed::add);
+
+        // Then
+        assertThat(streamed).extracting(CourseSummary::id).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThatThrownBy(() -> service.findAll()).isInstanceOf(QueryRowLimitException.class);
+    }
+}
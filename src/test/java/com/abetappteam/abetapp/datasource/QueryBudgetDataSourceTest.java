@@ -0,0 +1,71 @@
+package com.abetappteam.abetapp.datasource;
+
+import com.abetappteam.abetapp.exception.QueryRowLimitException;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Applies query budgets to statements on a standalone H2 database holding five rows
+ */
+class QueryBudgetDataSourceTest {
+
+    private static final DataSource database =
+            new DriverManagerDataSource("jdbc:h2:mem:query-budget;DB_CLOSE_DELAY=-1", "sa", "");
+
+    private final QueryBudgetDataSource dataSource = new QueryBudgetDataSource(database, 30, 4);
+
+    @BeforeAll
+    static void createRows() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS item (id INT PRIMARY KEY)");
+        jdbcTemplate.execute("MERGE INTO item KEY (id) VALUES (1), (2), (3), (4), (5)");
+    }
+
+    @Test
+    void shouldApplyDefaultsOutsideServiceCalls() throws Exception {
+        // When
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT id FROM item")) {
+
+            // Then
+            assertThat(statement.getQueryTimeout()).isEqualTo(30);
+            assertThat(statement.getMaxRows()).isEqualTo(5);
+        }
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM item WHERE id <= 4", Integer.class)).hasSize(4);
+        assertThatThrownBy(() -> jdbcTemplate.queryForList("SELECT id FROM item", Integer.class))
+                .isInstanceOf(QueryRowLimitException.class);
+    }
+
+    @Test
+    void shouldApplyScopeOfCurrentServiceCall() throws Exception {
+        // Given
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        QueryBudgetScope previous = new QueryBudgetScope("ItemService", "findAll", 5, QueryBudget.UNLIMITED).open();
+        try {
+            // When
+            List<Integer> ids = jdbcTemplate.queryForList("SELECT id FROM item", Integer.class);
+
+            // Then
+            assertThat(ids).hasSize(5);
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement statement = connection.prepareStatement("SELECT id FROM item")) {
+                assertThat(statement.getQueryTimeout()).isEqualTo(5);
+                assertThat(statement.getMaxRows()).isZero();
+            }
+        } finally {
+            QueryBudgetScope.restore(previous);
+        }
+        assertThat(QueryBudgetScope.current()).isNull();
+    }
+}
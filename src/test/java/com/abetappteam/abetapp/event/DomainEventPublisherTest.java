@@ -0,0 +1,111 @@
+package com.abetappteam.abetapp.event;
+
+import com.abetappteam.abetapp.entity.Course;
+import com.abetappteam.abetapp.entity.Measure;
+import com.abetappteam.abetapp.event.EntityChangedEvent.Change;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Outbox writes and after-commit delivery against a local H2 database, with a listener
+ * collecting what it is handed
+ */
+class DomainEventPublisherTest {
+
+    private final DataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:events-outbox;DB_CLOSE_DELAY=-1", "sa", "");
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+    private final TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    private final List<EntityChangedEvent> received = new CopyOnWriteArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private DomainEventPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS domain_event_outbox (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "batch_id VARCHAR(36) NOT NULL, entity_type VARCHAR(50) NOT NULL, entity_id BIGINT NOT NULL, "
+                + "change_type VARCHAR(10) NOT NULL, created_at TIMESTAMP NOT NULL, published_at TIMESTAMP NULL)");
+        jdbcTemplate.update("DELETE FROM domain_event_outbox");
+        publisher = new DomainEventPublisher(jdbcTemplate, event -> {
+            if (event instanceof EntityChangedEvent changed) {
+                received.add(changed);
+            }
+        }, meterRegistry, 1, 10, Duration.ofMinutes(1), Duration.ofDays(7));
+    }
+
+    @AfterEach
+    void tearDown() {
+        publisher.shutdown();
+    }
+
+    @Test
+    void shouldDeliverCommittedChangesOnlyAfterCommit() throws InterruptedException {
+        // When
+        transaction.executeWithoutResult(status -> {
+            publisher.publishAll(Measure.class, List.of(1L, 2L), Change.UPDATED);
+            publisher.publish(Course.class, 7L, Change.DELETED);
+            assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM domain_event_outbox", Integer.class)).isEqualTo(3);
+            assertThat(received).isEmpty();
+        });
+        transaction.executeWithoutResult(status -> {
+            publisher.publish(Measure.class, 3L, Change.CREATED);
+            status.setRollbackOnly();
+        });
+
+        // Then - one batch delivered and marked, the rolled back change never recorded
+        awaitPublished(3);
+        assertThat(received).extracting(EntityChangedEvent::entityType, EntityChangedEvent::entityId, EntityChangedEvent::change)
+                .containsExactly(
+                        tuple("Measure", 1L, Change.UPDATED),
+                        tuple("Measure", 2L, Change.UPDATED),
+                        tuple("Course", 7L, Change.DELETED));
+        assertThat(received.get(0).isAbout(Measure.class)).isTrue();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM domain_event_outbox", Integer.class)).isEqualTo(3);
+        assertThat(meterRegistry.counter(DomainEventPublisher.PUBLISHED, "entity", "Measure").count()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldRelayEventsStrandedInTheOutbox() {
+        // Given - a change committed before a crash, and one still within the grace period
+        Timestamp crashed = Timestamp.valueOf(LocalDateTime.now().minusMinutes(5).withNano(0));
+        jdbcTemplate.update("INSERT INTO domain_event_outbox (batch_id, entity_type, entity_id, change_type, created_at) "
+                + "VALUES ('lost', 'Semester', 4, 'UPDATED', ?)", crashed);
+        jdbcTemplate.update("INSERT INTO domain_event_outbox (batch_id, entity_type, entity_id, change_type, created_at) "
+                + "VALUES ('recent', 'Semester', 5, 'UPDATED', ?)", Timestamp.valueOf(LocalDateTime.now()));
+
+        // When / Then
+        assertThat(publisher.relay()).isEqualTo(1);
+        assertThat(received).singleElement().satisfies(event -> {
+            assertThat(event.entityId()).isEqualTo(4L);
+            assertThat(event.occurredAt()).isEqualTo(crashed.toLocalDateTime());
+        });
+        assertThat(publisher.relay()).isZero();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM domain_event_outbox WHERE published_at IS NULL", Integer.class)).isEqualTo(1);
+    }
+
+    // Dispatch runs on the event pool; wait until it has marked the rows
+    private void awaitPublished(int rows) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline && jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM domain_event_outbox WHERE published_at IS NOT NULL", Integer.class) < rows) {
+            Thread.sleep(20);
+        }
+    }
+}
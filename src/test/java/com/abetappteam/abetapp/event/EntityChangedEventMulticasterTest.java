@@ -0,0 +1,53 @@
+package com.abetappteam.abetapp.event;
+
+import com.abetappteam.abetapp.event.EntityChangedEvent.Change;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.PayloadApplicationEvent;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EntityChangedEventMulticasterTest {
+
+    private final EntityChangedEventMulticaster multicaster = new EntityChangedEventMulticaster();
+    private final List<Object> received = new ArrayList<>();
+
+    @Test
+    void shouldHandDomainEventsToEveryListenerAndThenRethrow() {
+        EntityChangedEvent changed = new EntityChangedEvent("Course", 7L, Change.UPDATED, LocalDateTime.now());
+        multicaster.addApplicationListener(failing("first"));
+        multicaster.addApplicationListener(failing("second"));
+        multicaster.addApplicationListener(receiving());
+
+        assertThatThrownBy(() -> multicaster.multicastEvent(new PayloadApplicationEvent<>(this, changed)))
+                .hasMessage("first")
+                .satisfies(e -> assertThat(e.getSuppressed()).extracting(Throwable::getMessage).containsExactly("second"));
+        assertThat(received).containsExactly(changed);
+    }
+
+    @Test
+    void shouldStopAtAFailingListenerForOtherEvents() {
+        multicaster.addApplicationListener(failing("first"));
+        multicaster.addApplicationListener(receiving());
+
+        assertThatThrownBy(() -> multicaster.multicastEvent(new PayloadApplicationEvent<>(this, "other")))
+                .hasMessage("first");
+        assertThat(received).isEmpty();
+    }
+
+    private static ApplicationListener<ApplicationEvent> failing(String message) {
+        return event -> {
+            throw new IllegalStateException(message);
+        };
+    }
+
+    private ApplicationListener<ApplicationEvent> receiving() {
+        return event -> received.add(((PayloadApplicationEvent<?>) event).getPayload());
+    }
+}
@@ -0,0 +1,107 @@
+package com.abetappteam.abetapp.metrics;
+
+import com.abetappteam.abetapp.BaseIntegrationTest;
+import com.abetappteam.abetapp.entity.Program;
+import com.abetappteam.abetapp.entity.ProgramUser;
+import com.abetappteam.abetapp.entity.Users;
+import com.abetappteam.abetapp.repository.ProgramRepository;
+import com.abetappteam.abetapp.repository.ProgramUserRepository;
+import com.abetappteam.abetapp.repository.UsersRepository;
+import com.abetappteam.abetapp.security.JwtUtil;
+import com.abetappteam.abetapp.util.ExpectedQueries;
+import com.abetappteam.abetapp.util.QueryCountExtension;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the service, repository and per-request query metrics,
+ * and for query counts of endpoints that used to run one query per row
+ */
+class MetricsIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UsersRepository usersRepository;
+
+    @Autowired
+    private ProgramRepository programRepository;
+
+    @Autowired
+    private ProgramUserRepository programUserRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Test
+    @ExpectedQueries(max = 2)
+    void shouldRecordServiceRepositoryAndQueryMetricsForApiRequest() throws Exception {
+        // When
+        mockMvc.perform(get("/api/courses/1"))
+                .andExpect(status().isNotFound());
+
+        // Then
+        Timer service = meterRegistry.find(MetricsAspect.SERVICE_TIMER)
+                .tags("service", "CourseService", "entity", "Course", "method", "findById")
+                .timer();
+        assertThat(service).isNotNull();
+        assertThat(service.count()).isGreaterThanOrEqualTo(1);
+
+        Timer repository = meterRegistry.find(MetricsAspect.REPOSITORY_TIMER)
+                .tags("repository", "CourseRepository", "entity", "Course", "method", "findById")
+                .timer();
+        assertThat(repository).isNotNull();
+
+        DistributionSummary rows = meterRegistry.find(MetricsAspect.REPOSITORY_ROWS)
+                .tags("entity", "Course", "method", "findById")
+                .summary();
+        assertThat(rows).isNotNull();
+        assertThat(rows.totalAmount()).isZero();
+
+        DistributionSummary queries = meterRegistry.find(RequestMetricsFilter.QUERY_COUNT)
+                .tags("method", "GET", "uri", "/api/courses/{id}")
+                .summary();
+        assertThat(queries).isNotNull();
+        assertThat(queries.totalAmount()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void shouldTagServiceExceptions() throws Exception {
+        // When
+        mockMvc.perform(get("/api/courses/999"))
+                .andExpect(status().isNotFound());
+
+        // Then
+        Timer failed = meterRegistry.find(MetricsAspect.SERVICE_TIMER)
+                .tags("service", "CourseService", "exception", "ResourceNotFoundException")
+                .timer();
+        assertThat(failed).isNotNull();
+    }
+
+    @Test
+    void shouldLoadMyProgramsWithoutQueryPerProgram() throws Throwable {
+        // Given
+        Users user = usersRepository.save(new Users("nplus1@ycp.edu", "hash", "Query", "Counter", "Dr.", true));
+        for (int i = 0; i < 5; i++) {
+            Program program = programRepository.save(new Program("Program " + i, "Example University", true));
+            programUserRepository.save(new ProgramUser(i == 0, program.getId(), user.getId()));
+        }
+        programUserRepository.flush();
+        String token = jwtUtil.generateToken(user.getId(), user.getEmail(), "ADMIN", null);
+
+        // When / Then - user lookup in the JWT filter, memberships, programs
+        QueryCountExtension.assertMaxQueries(3, () -> mockMvc.perform(get("/api/users/my-programs")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(5)));
+    }
+}
@@ -1,17 +1,26 @@
 package com.abetappteam.abetapp.repository;
 
 import com.abetappteam.abetapp.BaseRepositoryTest;
+import com.abetappteam.abetapp.exception.BadRequestException;
+import com.abetappteam.abetapp.exception.ConstraintViolationTranslator;
+import com.abetappteam.abetapp.dto.CourseSummary;
 import com.abetappteam.abetapp.entity.Course;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * Repository tests for CourseRepository - Essential functionality
@@ -57,6 +66,121 @@ class CourseRepositoryTest extends BaseRepositoryTest {
                 .containsOnly(1L);
     }
 
+    @Test
+    void shouldFindSummariesBySemesterIdSortedByName() {
+        // Given
+        createAndSaveTestCourse("MATH101", "Calculus I", "Description 1", 1L);
+        createAndSaveTestCourse("CS101", "Algorithms", "Description 2", 1L);
+        createAndSaveTestCourse("PHY101", "Physics I", "Description 3", 2L); // different semester
+        clearContext();
+
+        // When
+        Page<CourseSummary> found = courseRepository.findSummaryBySemesterId(1L,
+                PageRequest.of(0, 10, Sort.by("courseName")));
+        Page<CourseSummary> search = courseRepository.searchSummaryByNameOrCourseCode("phy", PageRequest.of(0, 10));
+
+        // Then
+        assertThat(found.getTotalElements()).isEqualTo(2);
+        assertThat(found.getContent()).extracting(CourseSummary::courseCode)
+                .containsExactly("CS101", "MATH101");
+        assertThat(search.getContent()).extracting(CourseSummary::courseCode).containsExactly("PHY101");
+    }
+
+    @Test
+    void shouldSelectOnlyRequestedFields() {
+        // Given
+        createAndSaveTestCourse("CS101", "Intro to CS", "Description 1", 1L);
+        createAndSaveTestCourse("MATH101", "Calculus I", "Description 2", 1L);
+        createAndSaveTestCourse("PHY101", "Physics I", "Description 3", 2L); // different semester
+        clearContext();
+
+        // When
+        Page<Map<String, Object>> found = courseRepository.findFields(
+                FieldSpecifications.fieldEquals("semesterId", 1L), List.of("courseCode", "id"),
+                PageRequest.of(0, 1, Sort.by("courseCode")));
+
+        // Then
+        assertThat(found.getTotalElements()).isEqualTo(2);
+        assertThat(found.getContent()).hasSize(1);
+        assertThat(found.getContent().get(0)).containsOnlyKeys("courseCode", "id");
+        assertThat(found.getContent().get(0)).containsEntry("courseCode", "CS101");
+    }
+
+    @Test
+    void shouldStreamRequestedFieldsOfEveryMatch() {
+        // Given
+        createAndSaveTestCourse("MATH101", "Calculus I", "Description 1", 1L);
+        createAndSaveTestCourse("CS101", "Intro to CS", "Description 2", 1L);
+        createAndSaveTestCourse("PHY101", "Physics I", "Description 3", 2L); // different semester
+        clearContext();
+
+        // When
+        List<Map<String, Object>> rows;
+        try (Stream<Map<String, Object>> stream = courseRepository.streamFields(
+                FieldSpecifications.fieldEquals("semesterId", 1L), List.of("courseCode"), Sort.by("courseCode"))) {
+            rows = stream.toList();
+        }
+
+        // Then
+        assertThat(rows).extracting(row -> row.get("courseCode")).containsExactly("CS101", "MATH101");
+        assertThat(rows.get(0)).containsOnlyKeys("courseCode");
+    }
+
+    @Test
+    void shouldRejectUnknownFields() {
+        assertThatThrownBy(() -> courseRepository.findFields(null, List.of("id", "nope"), PageRequest.of(0, 10)))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("Unknown field 'nope'");
+    }
+
+    @Test
+    void shouldNotSelectOrWriteColumnsTheDatabaseGenerates() {
+        for (String generated : List.of("live", "courseCodeNormalized")) {
+            assertThatThrownBy(() -> courseRepository.findFields(null, List.of(generated), PageRequest.of(0, 10)))
+                    .isInstanceOf(BadRequestException.class)
+                    .hasMessageContaining("Unknown field '" + generated + "'");
+        }
+        assertThat(courseRepository.writableFields()).doesNotContainKeys("live", "courseCodeNormalized");
+    }
+
+    @Test
+    void shouldUpdateOnlyGivenFieldsAtExpectedVersion() {
+        // Given
+        Course saved = createAndSaveTestCourse("CS101", "Intro to CS", "Description", 1L);
+        clearContext();
+        Long version = saved.getVersion();
+
+        // When
+        int updated = courseRepository.updateFields(saved.getId(), version, Map.of("courseName", "Programming I", "studentCount", 42));
+        int stale = courseRepository.updateFields(saved.getId(), version, Map.of("courseName", "Lost Update"));
+
+        // Then
+        assertThat(updated).isEqualTo(1);
+        assertThat(stale).isZero();
+        Course found = courseRepository.findById(saved.getId()).orElseThrow();
+        assertThat(found.getCourseName()).isEqualTo("Programming I");
+        assertThat(found.getStudentCount()).isEqualTo(42);
+        assertThat(found.getCourseCode()).isEqualTo("CS101");
+        assertThat(found.getVersion()).isEqualTo(version + 1);
+    }
+
+    @Test
+    void shouldRejectUnwritableFieldsAndNullForRequiredColumns() {
+        // Given
+        Course saved = createAndSaveTestCourse("CS101", "Intro to CS", "Description", 1L);
+        Map<String, Object> clearName = new HashMap<>();
+        clearName.put("courseName", null);
+
+        // When/Then
+        assertThat(courseRepository.writableFields()).containsKeys("courseName", "studentCount")
+                .doesNotContainKeys("id", "version", "createdAt", "deleted");
+        assertThatThrownBy(() -> courseRepository.updateFields(saved.getId(), saved.getVersion(), Map.of("version", 7L)))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> courseRepository.updateFields(saved.getId(), saved.getVersion(), clearName))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("cannot be null");
+    }
+
     @Test
     void shouldFindByCourseCodeIgnoreCase() {
         // Given
@@ -177,6 +301,23 @@ class CourseRepositoryTest extends BaseRepositoryTest {
         assertThat(courseRepository.existsByCourseCodeIgnoreCase("CS999")).isFalse();
     }
 
+    @Test
+    void shouldEnforceUniqueCourseCodeAmongLiveCoursesOnly() {
+        // Given - a soft-deleted CS101 no longer holds the code
+        Course deleted = createAndSaveTestCourse("CS101", "Intro to CS", "Old offering", 1L);
+        courseRepository.delete(deleted);
+        flush();
+        createAndSaveTestCourse("CS101", "Intro to CS", "New offering", 1L);
+        createAndSaveTestCourse("CS101", "Intro to CS", "Other semester", 2L);
+        flush();
+
+        // When / Then - a second live CS101 in the semester is rejected by uk_course_semester_code
+        assertThatThrownBy(() -> createAndSaveTestCourse("CS101", "Intro to CS", "Duplicate", 1L))
+                .isInstanceOf(DataIntegrityViolationException.class)
+                .satisfies(e -> assertThat(ConstraintViolationTranslator.translate((DataIntegrityViolationException) e))
+                        .hasMessageContaining("course with this code already exists"));
+    }
+
     // Helper method to create test courses without saving
     private Course createTestCourse(String courseCode, String courseName,
                                     String courseDescription, Long semesterId) {
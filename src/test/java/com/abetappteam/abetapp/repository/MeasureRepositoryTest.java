@@ -5,13 +5,22 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import com.abetappteam.abetapp.BaseRepositoryTest;
+import com.abetappteam.abetapp.dto.MeasurePatch;
+import com.abetappteam.abetapp.dto.MeasureSummary;
+import com.abetappteam.abetapp.entity.Course;
+import com.abetappteam.abetapp.entity.CourseIndicator;
 import com.abetappteam.abetapp.entity.Measure;
 import com.abetappteam.abetapp.util.TestDataBuilder;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 
 public class MeasureRepositoryTest extends BaseRepositoryTest{
     
@@ -151,4 +160,120 @@ public class MeasureRepositoryTest extends BaseRepositoryTest{
         assertThat(found).extracting(Measure::getActive).containsExactly(false);
         assertThat(found).extracting(Measure::getCourseIndicatorId).containsExactly(1l);
     }
+
+    @Test
+    void shouldFindMeasureSummaryPage(){
+        //Given
+        measureRepository.save(testMeasure);
+        entityManager.flush();
+        entityManager.clear();
+
+        //When
+        Page<MeasureSummary> found = measureRepository.findAllSummaries(PageRequest.of(0, 20));
+
+        //Then
+        assertThat(found.getTotalElements()).isEqualTo(1);
+        assertThat(found.getContent().get(0).studentsMet()).isEqualTo(3);
+        assertThat(found.getContent().get(0).status()).isEqualTo("InProgress");
+    }
+
+    @Test
+    void shouldFindActiveMeasureSummariesByCourseAndSemester(){
+        //Given
+        Course course = entityManager.persist(TestDataBuilder.createCourse());
+        CourseIndicator ci = entityManager.persist(new CourseIndicator(course.getId(), 7L));
+        Measure inProgress = measureRepository.save(TestDataBuilder.createMeasure(
+                ci.getId(), "Active Measure", null, null, null, 1, 2, 3, "InProgress", true));
+        measureRepository.save(TestDataBuilder.createMeasure(
+                ci.getId(), "Complete Measure", null, null, null, 4, 5, 6, "Complete", true));
+        measureRepository.save(TestDataBuilder.createMeasure(
+                ci.getId(), "Inactive Measure", null, null, null, null, null, null, "InProgress", false));
+        entityManager.flush();
+        entityManager.clear();
+
+        //When
+        List<MeasureSummary> byCourse = measureRepository.findActiveSummariesByCourse(course.getId());
+        List<MeasureSummary> byIndicator = measureRepository.findSummariesByIndicatorAndActive(7L, false);
+        List<MeasureSummary> bySemester = measureRepository.findActiveSummariesBySemesterAndStatus(course.getSemesterId(), "InProgress");
+
+        //Then
+        assertThat(byCourse).hasSize(2);
+        assertThat(byCourse).allMatch(MeasureSummary::active);
+        assertThat(byIndicator).extracting(MeasureSummary::active).containsExactly(false);
+        assertThat(bySemester).extracting(MeasureSummary::id).containsExactly(inProgress.getId());
+    }
+
+    @Test
+    void shouldStreamMeasureSummariesByIndicator(){
+        //Given
+        Course course = entityManager.persist(TestDataBuilder.createCourse());
+        CourseIndicator ci = entityManager.persist(new CourseIndicator(course.getId(), 7L));
+        Measure first = measureRepository.save(TestDataBuilder.createMeasure(
+                ci.getId(), "First Measure", null, null, null, 1, 2, 3, "InProgress", true));
+        Measure second = measureRepository.save(TestDataBuilder.createMeasure(
+                ci.getId(), "Second Measure", null, null, null, 4, 5, 6, "Complete", true));
+        measureRepository.save(TestDataBuilder.createMeasure(
+                ci.getId(), "Inactive Measure", null, null, null, null, null, null, "InProgress", false));
+        entityManager.flush();
+        entityManager.clear();
+
+        //When
+        List<MeasureSummary> streamed;
+        try (Stream<MeasureSummary> stream = measureRepository.streamSummariesByIndicatorAndActive(7L, true)) {
+            streamed = stream.toList();
+        }
+
+        //Then
+        assertThat(streamed).extracting(MeasureSummary::id).containsExactly(first.getId(), second.getId());
+        assertThat(streamed).isEqualTo(measureRepository.findSummariesByIndicatorAndActive(7L, true));
+    }
+
+    @Test
+    void shouldApplyVersionedBatchUpdateOnlyToCurrentRows(){
+        //Given
+        Measure current = measureRepository.save(TestDataBuilder.createMeasure());
+        Measure stale = measureRepository.save(TestDataBuilder.createMeasure());
+        entityManager.flush();
+        entityManager.clear();
+        Long version = current.getVersion();
+
+        //When
+        int[] counts = measureRepository.updateVersioned(List.of(
+                new MeasurePatch(current.getId(), version, null, null, null, null, 12, null, null, "Submitted", null),
+                new MeasurePatch(stale.getId(), version + 5, "Ignored", null, null, null, null, null, null, null, null),
+                new MeasurePatch(-1L, 0L, "Missing", null, null, null, null, null, null, null, null)),
+                LocalDateTime.now());
+        entityManager.clear();
+
+        //Then
+        assertThat(counts).containsExactly(1, 0, 0);
+        Measure updated = measureRepository.findById(current.getId()).orElseThrow();
+        assertThat(updated.getVersion()).isEqualTo(version + 1);
+        assertThat(updated.getStudentsMet()).isEqualTo(12);
+        assertThat(updated.getStatus()).isEqualTo("Submitted");
+        assertThat(updated.getDescription()).isEqualTo("Example Description");
+        assertThat(measureRepository.findById(stale.getId()).orElseThrow().getDescription()).isEqualTo("Example Description");
+        assertThat(measureRepository.findVersions(List.of(current.getId(), stale.getId(), -1L)))
+                .containsOnlyKeys(current.getId(), stale.getId())
+                .containsEntry(current.getId(), version + 1);
+    }
+
+    @Test
+    void shouldHideSoftDeletedMeasuresFromFindersAndCounts(){
+        //Given
+        Measure kept = measureRepository.save(TestDataBuilder.createMeasure());
+        Measure removed = measureRepository.save(TestDataBuilder.createMeasure());
+        entityManager.flush();
+        measureRepository.softDelete(removed.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        //When / Then
+        assertThat(measureRepository.findById(removed.getId())).isEmpty();
+        assertThat(measureRepository.findAll()).extracting(Measure::getId).containsExactly(kept.getId());
+        assertThat(measureRepository.count()).isEqualTo(1);
+        assertThat(measureRepository.findByCourseIndicatorId(1L)).extracting(Measure::getId).containsExactly(kept.getId());
+        assertThat(measureRepository.findActiveMeasuresByCourseIndicatorId(1L)).extracting(Measure::getId)
+                .containsExactly(kept.getId());
+    }
 }
@@ -1,16 +1,19 @@
 package com.abetappteam.abetapp.repository;
 
+import com.abetappteam.abetapp.config.JpaRepositoryConfig;
 import com.abetappteam.abetapp.entity.PerformanceIndicator;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
 
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
+@Import(JpaRepositoryConfig.class)
 class PerformanceIndicatorRepositoryTest {
 
     @Autowired
@@ -3,15 +3,21 @@ package com.abetappteam.abetapp.repository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 
 import com.abetappteam.abetapp.entity.Users;
 import com.abetappteam.abetapp.util.TestDataBuilder;
 import com.abetappteam.abetapp.BaseRepositoryTest;
+import com.abetappteam.abetapp.exception.BadRequestException;
+import com.abetappteam.abetapp.exception.ConstraintViolationTranslator;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class UsersRepositoryTest extends BaseRepositoryTest {
     @Autowired
@@ -40,6 +46,20 @@ public class UsersRepositoryTest extends BaseRepositoryTest {
         assertThat(found.get().getActive()).isEqualTo(true);
     }
 
+    @Test
+    void shouldSelectUserFieldsButNeverPasswordHash() {
+        usersRepository.save(testUser);
+        clearContext();
+
+        List<Map<String, Object>> rows = usersRepository.findFields(
+                null, List.of("email", "firstName"), PageRequest.of(0, 10)).getContent();
+
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0)).containsEntry("email", "test@gmail.com").containsOnlyKeys("email", "firstName");
+        assertThatThrownBy(() -> usersRepository.findFields(null, List.of("passwordHash"), PageRequest.of(0, 10)))
+                .isInstanceOf(BadRequestException.class);
+    }
+
     @Test
     void shouldFindByEmailIgnoreCase() {
         usersRepository.save(testUser);
@@ -50,6 +70,19 @@ public class UsersRepositoryTest extends BaseRepositoryTest {
         assertThat(found.get().getEmail()).isEqualTo("test@gmail.com");
     }
 
+    @Test
+    void shouldRejectEmailDifferingOnlyInCase() {
+        usersRepository.save(testUser);
+        flush();
+
+        Users shouting = TestDataBuilder.createUser();
+        shouting.setEmail("TEST@Gmail.com");
+
+        assertThatThrownBy(() -> usersRepository.saveAndFlush(shouting))
+                .isInstanceOf(DataIntegrityViolationException.class)
+                .hasMessageContaining(ConstraintViolationTranslator.USERS_EMAIL.toUpperCase());
+    }
+
     @Test
     void shouldFindAllActiveUsers() {
         usersRepository.save(TestDataBuilder.createUser("active1@gmail.com", "password", "Active", "User", null, true));
@@ -0,0 +1,127 @@
+package com.abetappteam.abetapp.service;
+
+import com.abetappteam.abetapp.BaseRepositoryTest;
+import com.abetappteam.abetapp.dto.IndicatorMatrix.Assignment;
+import com.abetappteam.abetapp.dto.IndicatorMatrixResult;
+import com.abetappteam.abetapp.entity.Course;
+import com.abetappteam.abetapp.entity.CourseIndicator;
+import com.abetappteam.abetapp.entity.Outcome;
+import com.abetappteam.abetapp.entity.PerformanceIndicator;
+import com.abetappteam.abetapp.entity.Semester;
+import com.abetappteam.abetapp.entity.Semester.SemesterStatus;
+import com.abetappteam.abetapp.entity.Semester.SemesterType;
+import com.abetappteam.abetapp.exception.BadRequestException;
+import com.abetappteam.abetapp.exception.BusinessException;
+import com.abetappteam.abetapp.repository.CourseIndicatorRepository;
+import com.abetappteam.abetapp.repository.CourseRepository;
+import com.abetappteam.abetapp.repository.PerformanceIndicatorRepository;
+import com.abetappteam.abetapp.repository.SemesterRepository;
+import com.abetappteam.abetapp.util.TestDataBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Replaces a semester's course-to-indicator matrix against the real tables
+ */
+class CourseIndicatorMatrixTest extends BaseRepositoryTest {
+
+    private static final LocalDateTime LONG_AGO = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private CourseIndicatorRepository courseIndicatorRepository;
+
+    @Autowired
+    private PerformanceIndicatorRepository performanceIndicatorRepository;
+
+    @Autowired
+    private SemesterRepository semesterRepository;
+
+    private CourseService courseService;
+
+    // Built by hand so the test shares the cached repository test context
+    @BeforeEach
+    void setUp() {
+        courseService = new CourseService(courseRepository);
+        ReflectionTestUtils.setField(courseService, "courseIndicatorRepository", courseIndicatorRepository);
+        ReflectionTestUtils.setField(courseService, "performanceIndicatorRepository", performanceIndicatorRepository);
+        ReflectionTestUtils.setField(courseService, "semesterRepository", semesterRepository);
+    }
+
+    @Test
+    void shouldApplyOnlyTheDifferenceToTheStoredMatrix() {
+        // Given
+        Semester semester = persistAndFlush(semester("FALL-2024", SemesterStatus.ACTIVE));
+        Course first = persistAndFlush(TestDataBuilder.createCourse("CS101", "Intro", "Basics", semester.getId()));
+        Course second = persistAndFlush(TestDataBuilder.createCourse("CS102", "Data Structures", "Lists", semester.getId()));
+        Outcome outcome = persistAndFlush(TestDataBuilder.createOutcome(1, "Solve problems", semester.getId(), 80, "Met", true));
+        PerformanceIndicator kept = persistAndFlush(new PerformanceIndicator("Designs algorithms", 1, outcome.getId()));
+        PerformanceIndicator revived = persistAndFlush(new PerformanceIndicator("Analyzes complexity", 2, outcome.getId()));
+        PerformanceIndicator added = persistAndFlush(new PerformanceIndicator("Tests programs", 3, outcome.getId()));
+        CourseIndicator unchanged = persistAndFlush(TestDataBuilder.createCourseIndicator(null, first.getId(), kept.getId(), true));
+        CourseIndicator inactive = persistAndFlush(TestDataBuilder.createCourseIndicator(null, first.getId(), revived.getId(), false));
+        CourseIndicator dropped = persistAndFlush(TestDataBuilder.createCourseIndicator(null, second.getId(), kept.getId(), true));
+        entityManager.getEntityManager().createNativeQuery("UPDATE course_indicator SET updated_at = ?")
+                .setParameter(1, LONG_AGO).executeUpdate();
+        clearContext();
+
+        // When - the repeated pair counts once
+        IndicatorMatrixResult result = courseService.replaceIndicatorMatrix(semester.getId(), List.of(
+                new Assignment(first.getId(), kept.getId()),
+                new Assignment(first.getId(), revived.getId()),
+                new Assignment(second.getId(), added.getId()),
+                new Assignment(second.getId(), added.getId())));
+        clearContext();
+
+        // Then
+        assertThat(result).isEqualTo(new IndicatorMatrixResult(1, 1, 1, 1));
+        assertThat(courseService.getIndicatorMatrix(semester.getId())).containsExactlyInAnyOrder(
+                new Assignment(first.getId(), kept.getId()),
+                new Assignment(first.getId(), revived.getId()),
+                new Assignment(second.getId(), added.getId()));
+        assertThat(courseIndicatorRepository.findById(inactive.getId()).orElseThrow().getIsActive()).isTrue();
+        assertThat(courseIndicatorRepository.findById(dropped.getId()).orElseThrow().getIsActive()).isFalse();
+        assertThat(courseIndicatorRepository.findById(inactive.getId()).orElseThrow().getUpdatedAt()).isAfter(LONG_AGO);
+        assertThat(courseIndicatorRepository.findById(dropped.getId()).orElseThrow().getUpdatedAt()).isAfter(LONG_AGO);
+        assertThat(courseIndicatorRepository.findById(unchanged.getId()).orElseThrow().getUpdatedAt()).isEqualTo(LONG_AGO);
+        assertThat(courseIndicatorRepository.count()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldRejectPairsOutsideTheSemesterAndClosedSemesters() {
+        // Given
+        Semester semester = persistAndFlush(semester("SPRING-2025", SemesterStatus.UPCOMING));
+        Semester other = persistAndFlush(semester("FALL-2025", SemesterStatus.UPCOMING));
+        Semester completed = persistAndFlush(semester("SPRING-2024", SemesterStatus.COMPLETED));
+        Course course = persistAndFlush(TestDataBuilder.createCourse("CS201", "Systems", "Processes", semester.getId()));
+        Outcome foreign = persistAndFlush(TestDataBuilder.createOutcome(1, "Communicate", other.getId(), 80, "Met", true));
+        PerformanceIndicator indicator = persistAndFlush(new PerformanceIndicator("Writes reports", 1, foreign.getId()));
+
+        // When / Then
+        assertThatThrownBy(() -> courseService.replaceIndicatorMatrix(semester.getId(),
+                List.of(new Assignment(course.getId(), indicator.getId()))))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining(String.valueOf(indicator.getId()));
+        assertThatThrownBy(() -> courseService.replaceIndicatorMatrix(semester.getId(), null))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> courseService.replaceIndicatorMatrix(completed.getId(), List.of()))
+                .isInstanceOf(BusinessException.class);
+        assertThat(courseIndicatorRepository.count()).isZero();
+    }
+
+    private static Semester semester(String code, SemesterStatus status) {
+        return TestDataBuilder.createSemesterWithStatus(code, code, LocalDate.of(2024, 8, 26),
+                LocalDate.of(2024, 12, 13), 2024, SemesterType.FALL, 1L, status);
+    }
+}
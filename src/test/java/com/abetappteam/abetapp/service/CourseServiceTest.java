@@ -80,28 +80,27 @@ class CourseServiceTest extends BaseServiceTest {
     @Test
     void shouldCreateCourse() {
         // Given
-        when(courseRepository.existsByCourseCodeAndSemesterId("CS102", 1L)).thenReturn(false);
         when(courseRepository.save(any(Course.class))).thenReturn(testCourse);
 
         // When
         Course created = courseService.createCourse(testCourseDTO);
 
-        // Then
+        // Then - the unique constraint guards duplicates, no lookup first
         assertThat(created).isNotNull();
-        verify(courseRepository).existsByCourseCodeAndSemesterId("CS102", 1L);
+        verify(courseRepository, never()).existsByCourseCodeAndSemesterId(anyString(), anyLong());
         verify(courseRepository).save(any(Course.class));
     }
 
     @Test
     void shouldThrowConflictWhenCreatingDuplicate() {
         // Given
-        when(courseRepository.existsByCourseCodeAndSemesterId("CS102", 1L)).thenReturn(true);
+        when(courseRepository.save(any(Course.class)))
+                .thenThrow(TestDataBuilder.createDuplicateKeyViolation("uk_course_semester_code"));
 
         // When/Then
         assertThatThrownBy(() -> courseService.createCourse(testCourseDTO))
                 .isInstanceOf(ConflictException.class)
-                .hasMessageContaining("already exists in this semester");
-        verify(courseRepository, never()).save(any());
+                .hasMessageContaining("Course with code 'CS102' already exists in this semester");
     }
 
     @Test
@@ -194,7 +193,7 @@ class CourseServiceTest extends BaseServiceTest {
         assertThatThrownBy(() -> courseService.removeCourse(1L))
                 .isInstanceOf(BusinessException.class)
                 .hasMessageContaining("Cannot delete course with measures submitted for review");
-        verify(courseRepository, never()).delete(any());
+        verify(courseRepository, never()).delete(any(Course.class));
     }
 
     @Test
@@ -1,16 +1,20 @@
 package com.abetappteam.abetapp.service;
 
 import com.abetappteam.abetapp.BaseServiceTest;
+import com.abetappteam.abetapp.dto.BatchUpdateResult;
 import com.abetappteam.abetapp.dto.MeasureDTO;
+import com.abetappteam.abetapp.dto.MeasurePatch;
 import com.abetappteam.abetapp.entity.Measure;
-import com.abetappteam.abetapp.entity.Course;
 import com.abetappteam.abetapp.entity.CourseIndicator;
+import com.abetappteam.abetapp.exception.BadRequestException;
 import com.abetappteam.abetapp.exception.ResourceNotFoundException;
 import com.abetappteam.abetapp.repository.CourseIndicatorRepository;
-import com.abetappteam.abetapp.repository.CourseRepository;
 import com.abetappteam.abetapp.repository.MeasureRepository;
 import com.abetappteam.abetapp.util.TestDataBuilder;
 
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.Map;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -27,6 +31,7 @@ import java.util.List;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 public class MeasureServiceTest extends BaseServiceTest{
@@ -36,9 +41,6 @@ public class MeasureServiceTest extends BaseServiceTest{
     @Mock
     private CourseIndicatorRepository courseIndicatorRepository;
 
-    @Mock
-    private CourseRepository courseRepository;
-
     @InjectMocks MeasureService measureService;
 
     private Measure testMeasure;
@@ -217,66 +219,6 @@ public class MeasureServiceTest extends BaseServiceTest{
         verify(measureRepository).save(testMeasure);
     }
 
-    @Test
-    void shouldReturnAllActiveMeasuresByStatusAndSemesterId(){
-        //Given
-        List<Course> courses = List.of(
-            TestDataBuilder.createCourseWithId(1l, "CS400", "Course 1", "Course", 1l),
-            TestDataBuilder.createCourseWithId(2l, "CS401", "Course 2", "Course", 1l)
-        );
-        List<Measure> measures = List.of(
-            TestDataBuilder.createMeasure(1l, "Measure 1", null, null, null, null, null, null, 
-            "InProgress", true),
-            TestDataBuilder.createMeasure(2l, "Measure 2", null, null, null, null, null, null, 
-            "InProgress", true)
-        );
-        List<CourseIndicator> courseIndicators = List.of(
-            TestDataBuilder.createCourseIndicator(1l, 1l, 1l, true),
-            TestDataBuilder.createCourseIndicator(2l, 2l, 2l, true)
-        );
-        when(courseRepository.findBySemesterIdAndIsActive(1l, true)).thenReturn(courses);
-
-        when(courseIndicatorRepository.findByCourseIdAndIsActive(1l, true)).thenReturn(List.of(courseIndicators.get(0)));
-        when(courseIndicatorRepository.findByCourseIdAndIsActive(2l, true)).thenReturn(List.of(courseIndicators.get(1)));
-
-        when(measureRepository.findActiveMeasuresByCourseIndicatorIdAndStatus(1l, "InProgress")).thenReturn(List.of(measures.get(0)));
-        when(measureRepository.findActiveMeasuresByCourseIndicatorIdAndStatus(2l, "InProgress")).thenReturn(List.of(measures.get(1)));
-
-        //When
-        List<Measure> found = measureService.findAllActiveMeasuresByStatusAndSemester("InProgress", 1l);
-
-        //Then
-        assertThat(found).hasSize(2);
-        assertThat(found).extracting(Measure::getActive).containsExactly(true, true);
-        assertThat(found).extracting(Measure::getStatus).containsExactly("InProgress", "InProgress");
-    }
-
-    @Test
-    void shouldReturnAllActiveMeasuresByCourseId(){
-        //Given
-        List<Measure> measures = List.of(
-            TestDataBuilder.createMeasure(1l, "Measure 1", null, null, null, null, null, null, 
-            "InProgress", true),
-            TestDataBuilder.createMeasure(2l, "Measure 2", null, null, null, null, null, null, 
-            "InProgress", true)
-        );
-        List<CourseIndicator> courseIndicators = List.of(
-            TestDataBuilder.createCourseIndicator(1l, 1l, 1l, true),
-            TestDataBuilder.createCourseIndicator(2l, 1l, 2l, true)
-        );
-        when(courseIndicatorRepository.findByCourseIdAndIsActive(1l, true)).thenReturn(courseIndicators);
-        when(measureRepository.findActiveMeasuresByCourseIndicatorId(1l)).thenReturn(List.of(measures.get(0)));
-        when(measureRepository.findActiveMeasuresByCourseIndicatorId(2l)).thenReturn(List.of(measures.get(1)));
-
-        //When
-        List<Measure> found = measureService.findAllActiveMeasuresByCourse(1l);
-
-        //Then
-        assertThat(found).hasSize(2);
-        assertThat(found).extracting(Measure::getActive).containsExactly(true, true);
-        assertThat(found).extracting(Measure::getDescription).containsExactlyInAnyOrder("Measure 1", "Measure 2");
-    }
-
     @Test
     void shouldReturnAllInactiveMeasuresByCourseId(){
         //Given
@@ -330,80 +272,91 @@ public class MeasureServiceTest extends BaseServiceTest{
     }
 
     @Test
-    void shouldReturnAllActiveMeasuresByIndicatorId(){
+    void shouldReturnAllMeasuresByIndicatorId(){
         //Given
         List<Measure> measures = List.of(
             TestDataBuilder.createMeasure(1l, "Measure 1", null, null, null, null, null, null, 
             "InProgress", true),
             TestDataBuilder.createMeasure(2l, "Measure 2", null, null, null, null, null, null, 
-            "InProgress", true)
+            "InProgress", false)
         );
         List<CourseIndicator> courseIndicators = List.of(
             TestDataBuilder.createCourseIndicator(1l, 1l, 1l, true),
             TestDataBuilder.createCourseIndicator(2l, 2l, 1l, true)
         );
         when(courseIndicatorRepository.findByIndicatorIdAndIsActive(1l, true)).thenReturn(courseIndicators);
-        when(measureRepository.findActiveMeasuresByCourseIndicatorId(1l)).thenReturn(List.of(measures.get(0)));
-        when(measureRepository.findActiveMeasuresByCourseIndicatorId(2l)).thenReturn(List.of(measures.get(1)));
+        when(measureRepository.findByCourseIndicatorId(1l)).thenReturn(List.of(measures.get(0)));
+        when(measureRepository.findByCourseIndicatorId(2l)).thenReturn(List.of(measures.get(1)));
 
         //When
-        List<Measure> found = measureService.findAllActiveMeasuresByIndicator(1l);
+        List<Measure> found = measureService.findAllMeasuresByIndicator(1l);
 
         //Then
         assertThat(found).hasSize(2);
-        assertThat(found).extracting(Measure::getActive).containsExactly(true, true);
+        assertThat(found).extracting(Measure::getActive).containsExactlyInAnyOrder(true, false);
         assertThat(found).extracting(Measure::getDescription).containsExactlyInAnyOrder("Measure 1", "Measure 2");
     }
 
     @Test
-    void shouldReturnAllInactiveMeasuresByIndicatorId(){
+    void shouldReportConflictsFromBatchUpdate(){
         //Given
-        List<Measure> measures = List.of(
-            TestDataBuilder.createMeasure(1l, "Measure 1", null, null, null, null, null, null, 
-            "InProgress", false),
-            TestDataBuilder.createMeasure(2l, "Measure 2", null, null, null, null, null, null, 
-            "InProgress", false)
-        );
-        List<CourseIndicator> courseIndicators = List.of(
-            TestDataBuilder.createCourseIndicator(1l, 1l, 1l, true),
-            TestDataBuilder.createCourseIndicator(2l, 2l, 1l, true)
-        );
-        when(courseIndicatorRepository.findByIndicatorIdAndIsActive(1l, true)).thenReturn(courseIndicators);
-        when(measureRepository.findInactiveMeasuresByCourseIndicatorId(1l)).thenReturn(List.of(measures.get(0)));
-        when(measureRepository.findInactiveMeasuresByCourseIndicatorId(2l)).thenReturn(List.of(measures.get(1)));
+        List<MeasurePatch> patches = List.of(
+                new MeasurePatch(1L, 3L, null, null, null, null, 10, 4, 1, "Submitted", null),
+                new MeasurePatch(2L, 3L, null, null, null, null, 8, 2, 0, null, null),
+                new MeasurePatch(3L, 0L, "Gone", null, null, null, null, null, null, null, null));
+        when(measureRepository.updateVersioned(eq(patches), any(LocalDateTime.class))).thenReturn(new int[] {1, 0, 0});
+        when(measureRepository.findVersions(List.of(2L, 3L))).thenReturn(Map.of(2L, 5L));
 
         //When
-        List<Measure> found = measureService.findAllInactiveMeasuresByIndicator(1l);
+        BatchUpdateResult result = measureService.patchBatch(patches);
 
         //Then
-        assertThat(found).hasSize(2);
-        assertThat(found).extracting(Measure::getActive).containsExactly(false, false);
-        assertThat(found).extracting(Measure::getDescription).containsExactlyInAnyOrder("Measure 1", "Measure 2");
+        assertThat(result.updated()).containsExactly(new BatchUpdateResult.Updated(1L, 4L));
+        assertThat(result.conflicts()).containsExactly(
+                new BatchUpdateResult.Conflict(2L, 3L, 5L, BatchUpdateResult.VERSION_MISMATCH),
+                new BatchUpdateResult.Conflict(3L, 0L, null, BatchUpdateResult.NOT_FOUND));
+        verify(measureRepository, never()).findById(any());
+        verify(measureRepository, never()).save(any(Measure.class));
     }
 
     @Test
-    void shouldReturnAllMeasuresByIndicatorId(){
+    void shouldResolveBatchRowsWithoutUpdateCountsByVersion(){
         //Given
-        List<Measure> measures = List.of(
-            TestDataBuilder.createMeasure(1l, "Measure 1", null, null, null, null, null, null, 
-            "InProgress", true),
-            TestDataBuilder.createMeasure(2l, "Measure 2", null, null, null, null, null, null, 
-            "InProgress", false)
-        );
-        List<CourseIndicator> courseIndicators = List.of(
-            TestDataBuilder.createCourseIndicator(1l, 1l, 1l, true),
-            TestDataBuilder.createCourseIndicator(2l, 2l, 1l, true)
-        );
-        when(courseIndicatorRepository.findByIndicatorIdAndIsActive(1l, true)).thenReturn(courseIndicators);
-        when(measureRepository.findByCourseIndicatorId(1l)).thenReturn(List.of(measures.get(0)));
-        when(measureRepository.findByCourseIndicatorId(2l)).thenReturn(List.of(measures.get(1)));
+        List<MeasurePatch> patches = List.of(
+                new MeasurePatch(1L, 3L, null, null, null, null, 10, null, null, null, null),
+                new MeasurePatch(2L, 3L, null, null, null, null, 8, null, null, null, null));
+        when(measureRepository.updateVersioned(eq(patches), any(LocalDateTime.class)))
+                .thenReturn(new int[] {Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO});
+        when(measureRepository.findVersions(List.of(1L, 2L))).thenReturn(Map.of(1L, 4L, 2L, 7L));
 
         //When
-        List<Measure> found = measureService.findAllMeasuresByIndicator(1l);
+        BatchUpdateResult result = measureService.patchBatch(patches);
 
         //Then
-        assertThat(found).hasSize(2);
-        assertThat(found).extracting(Measure::getActive).containsExactlyInAnyOrder(true, false);
-        assertThat(found).extracting(Measure::getDescription).containsExactlyInAnyOrder("Measure 1", "Measure 2");
+        assertThat(result.updated()).containsExactly(new BatchUpdateResult.Updated(1L, 4L));
+        assertThat(result.conflicts()).extracting(BatchUpdateResult.Conflict::id).containsExactly(2L);
+    }
+
+    @Test
+    void shouldRejectMalformedBatchBeforeUpdating(){
+        //Given
+        List<MeasurePatch> duplicate = List.of(
+                new MeasurePatch(1L, 0L, null, null, null, null, null, null, null, null, null),
+                new MeasurePatch(1L, 0L, null, null, null, null, null, null, null, null, null));
+        List<MeasurePatch> badStatus = List.of(
+                new MeasurePatch(1L, 0L, null, null, null, null, null, null, null, "Done", null));
+        List<MeasurePatch> noVersion = List.of(
+                new MeasurePatch(1L, null, null, null, null, null, null, null, null, null, null));
+        List<MeasurePatch> longFcar = List.of(
+                new MeasurePatch(1L, 0L, null, null, null, "x".repeat(3001), null, null, null, null, null));
+
+        //When/Then
+        assertThatThrownBy(() -> measureService.patchBatch(List.of())).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> measureService.patchBatch(duplicate)).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> measureService.patchBatch(badStatus)).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> measureService.patchBatch(noVersion)).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> measureService.patchBatch(longFcar)).isInstanceOf(BadRequestException.class)
+                .hasMessage("FCAR of Measure 1 cannot exceed 3000 characters");
+        verify(measureRepository, never()).updateVersioned(any(), any());
     }
 }
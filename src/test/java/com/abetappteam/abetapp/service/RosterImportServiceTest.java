@@ -0,0 +1,139 @@
+package com.abetappteam.abetapp.service;
+
+import com.abetappteam.abetapp.BaseRepositoryTest;
+import com.abetappteam.abetapp.dto.CourseInstructorRow;
+import com.abetappteam.abetapp.dto.ImportReport;
+import com.abetappteam.abetapp.dto.ProgramMemberRow;
+import com.abetappteam.abetapp.dto.RosterImport;
+import com.abetappteam.abetapp.dto.RosterImportReport;
+import com.abetappteam.abetapp.entity.Course;
+import com.abetappteam.abetapp.entity.CourseInstructor;
+import com.abetappteam.abetapp.entity.Program;
+import com.abetappteam.abetapp.entity.ProgramUser;
+import com.abetappteam.abetapp.entity.Semester;
+import com.abetappteam.abetapp.entity.Semester.SemesterType;
+import com.abetappteam.abetapp.entity.Users;
+import com.abetappteam.abetapp.repository.CourseInstructorRepository;
+import com.abetappteam.abetapp.repository.CourseRepository;
+import com.abetappteam.abetapp.repository.ProgramRepository;
+import com.abetappteam.abetapp.repository.ProgramUserRepository;
+import com.abetappteam.abetapp.repository.SemesterRepository;
+import com.abetappteam.abetapp.repository.UsersRepository;
+import com.abetappteam.abetapp.util.TestDataBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Imports program memberships and course instructors against the real tables
+ */
+class RosterImportServiceTest extends BaseRepositoryTest {
+
+    @Autowired
+    private UsersRepository usersRepository;
+
+    @Autowired
+    private ProgramRepository programRepository;
+
+    @Autowired
+    private ProgramUserRepository programUserRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private SemesterRepository semesterRepository;
+
+    @Autowired
+    private CourseInstructorRepository courseInstructorRepository;
+
+    private RosterImportService importService;
+
+    private Program program;
+    private Users ada;
+    private Users alan;
+    private Users grace;
+
+    // Built by hand so the test shares the cached repository test context
+    @BeforeEach
+    void setUp() {
+        importService = new RosterImportService(usersRepository, programRepository, programUserRepository,
+                courseRepository, semesterRepository, courseInstructorRepository);
+        program = persistAndFlush(TestDataBuilder.createProgram("Computer Science", "Example University", true));
+        ada = persistAndFlush(TestDataBuilder.createUser("ada@example.edu", "hash", "Ada", "Lovelace", "Dr.", true));
+        alan = persistAndFlush(TestDataBuilder.createUser("alan@example.edu", "hash", "Alan", "Turing", "Dr.", true));
+        grace = persistAndFlush(TestDataBuilder.createUser("grace@example.edu", "hash", "Grace", "Hopper", "Dr.", true));
+    }
+
+    @Test
+    void shouldUpsertMembershipsAndReportEveryRow() {
+        // Given - alan is an inactive instructor, grace an active admin
+        ProgramUser lapsed = persistAndFlush(TestDataBuilder.createProgramUser(false, program.getId(), alan.getId(), false));
+        persistAndFlush(TestDataBuilder.createProgramUser(true, program.getId(), grace.getId(), true));
+        clearContext();
+
+        // When
+        ImportReport report = importService.importProgramMembers(List.of(
+                new ProgramMemberRow(" ADA@example.edu", program.getId(), "instructor"),
+                new ProgramMemberRow("alan@example.edu", program.getId(), "ADMIN"),
+                new ProgramMemberRow("grace@example.edu", program.getId(), "Admin"),
+                new ProgramMemberRow("ada@example.edu", program.getId(), "ADMIN"),
+                new ProgramMemberRow("nobody@example.edu", program.getId(), "INSTRUCTOR"),
+                new ProgramMemberRow("grace@example.edu", -1L, "INSTRUCTOR"),
+                new ProgramMemberRow("grace@example.edu", program.getId(), "dean")));
+        clearContext();
+
+        // Then
+        assertThat(report.rows()).extracting(ImportReport.Row::status).containsExactly(
+                ImportReport.CREATED, ImportReport.UPDATED, ImportReport.UNCHANGED, ImportReport.FAILED,
+                ImportReport.FAILED, ImportReport.FAILED, ImportReport.FAILED);
+        assertThat(report.rows().get(3).message()).isEqualTo("Same user and program as row 1");
+        assertThat(List.of(report.created(), report.updated(), report.unchanged(), report.failed()))
+                .containsExactly(1, 1, 1, 4);
+        ProgramUser added = programUserRepository.findByProgramIdAndUserId(program.getId(), ada.getId()).orElseThrow();
+        assertThat(added.getAdminStatus()).isFalse();
+        assertThat(added.getIsActive()).isTrue();
+        ProgramUser promoted = programUserRepository.findById(lapsed.getId()).orElseThrow();
+        assertThat(promoted.getAdminStatus()).isTrue();
+        assertThat(promoted.getIsActive()).isTrue();
+    }
+
+    @Test
+    void shouldAssignInstructorsAddedInTheSameRoster() {
+        // Given - alan taught the course before, grace belongs to no program
+        Semester semester = persistAndFlush(TestDataBuilder.createSemester("Fall 2025", "FALL-2025",
+                LocalDate.of(2025, 8, 25), LocalDate.of(2025, 12, 12), 2025, SemesterType.FALL, program.getId()));
+        Course course = persistAndFlush(TestDataBuilder.createCourse("CS101", "Intro", "Basics", semester.getId()));
+        ProgramUser alanMember = persistAndFlush(TestDataBuilder.createProgramUser(false, program.getId(), alan.getId(), true));
+        CourseInstructor former = new CourseInstructor(alanMember.getId(), course.getId());
+        former.setIsActive(false);
+        persistAndFlush(former);
+        clearContext();
+
+        // When
+        RosterImportReport report = importService.importRoster(new RosterImport(
+                List.of(new ProgramMemberRow("ada@example.edu", program.getId(), "INSTRUCTOR")),
+                List.of(new CourseInstructorRow("ada@example.edu", course.getId()),
+                        new CourseInstructorRow("alan@example.edu", course.getId()),
+                        new CourseInstructorRow("grace@example.edu", course.getId()),
+                        new CourseInstructorRow("ada@example.edu", -1L))));
+        clearContext();
+
+        // Then
+        assertThat(report.members().created()).isEqualTo(1);
+        assertThat(report.instructors().rows()).extracting(ImportReport.Row::status).containsExactly(
+                ImportReport.CREATED, ImportReport.UPDATED, ImportReport.FAILED, ImportReport.FAILED);
+        assertThat(report.instructors().rows().get(2).message())
+                .isEqualTo("User is not an active member of program " + program.getId());
+        Long adaMemberId = programUserRepository.findByProgramIdAndUserId(program.getId(), ada.getId())
+                .orElseThrow().getId();
+        assertThat(courseInstructorRepository.findByCourseIdAndIsActive(course.getId(), true))
+                .extracting(CourseInstructor::getProgramUserId)
+                .containsExactlyInAnyOrder(adaMemberId, alanMember.getId());
+    }
+}
@@ -0,0 +1,159 @@
+package com.abetappteam.abetapp.service;
+
+import com.abetappteam.abetapp.BaseRepositoryTest;
+import com.abetappteam.abetapp.dto.CourseSummary;
+import com.abetappteam.abetapp.dto.MeasureSummary;
+import com.abetappteam.abetapp.dto.SemesterArchiveSnapshot;
+import com.abetappteam.abetapp.entity.Course;
+import com.abetappteam.abetapp.entity.CourseIndicator;
+import com.abetappteam.abetapp.entity.Measure;
+import com.abetappteam.abetapp.entity.Outcome;
+import com.abetappteam.abetapp.entity.PerformanceIndicator;
+import com.abetappteam.abetapp.entity.Semester;
+import com.abetappteam.abetapp.entity.Semester.SemesterStatus;
+import com.abetappteam.abetapp.entity.Semester.SemesterType;
+import com.abetappteam.abetapp.entity.SemesterArchive;
+import com.abetappteam.abetapp.exception.BusinessException;
+import com.abetappteam.abetapp.exception.ConflictException;
+import com.abetappteam.abetapp.repository.SemesterArchiveRepository;
+import com.abetappteam.abetapp.repository.SemesterRepository;
+import com.abetappteam.abetapp.util.TestDataBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Moves a semester graph into the archive tier and reads it back through the
+ * archived counterparts of the semester list queries
+ */
+class SemesterArchiveServiceTest extends BaseRepositoryTest {
+
+    @Autowired
+    private SemesterRepository semesterRepository;
+
+    @Autowired
+    private SemesterArchiveRepository archiveRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private SemesterArchiveService archiveService;
+
+    // Built by hand so the test shares the cached repository test context
+    @BeforeEach
+    void setUp() {
+        archiveService = new SemesterArchiveService(semesterRepository, archiveRepository,
+                entityManager.getEntityManager(), jdbcTemplate, transactionManager,
+                new ObjectMapper().findAndRegisterModules());
+    }
+
+    @Test
+    void shouldMoveArchivedSemesterGraphOutOfLiveTables() {
+        // Given
+        Semester semester = persistAndFlush(TestDataBuilder.createSemesterWithStatus("Fall 2020", "FALL-2020",
+                LocalDate.of(2020, 8, 24), LocalDate.of(2020, 12, 11), 2020, SemesterType.FALL, 1L,
+                SemesterStatus.ARCHIVED));
+        Course active = persistAndFlush(TestDataBuilder.createCourse("CS101", "Intro", "Basics", semester.getId()));
+        Course inactive = TestDataBuilder.createCourse("CS102", "Data Structures", "Lists", semester.getId());
+        inactive.setIsActive(false);
+        persistAndFlush(inactive);
+        Outcome outcome = persistAndFlush(TestDataBuilder.createOutcome(1, "Solve problems", semester.getId(), 80, "Met", true));
+        PerformanceIndicator indicator = persistAndFlush(new PerformanceIndicator("Designs algorithms", 1, outcome.getId()));
+        CourseIndicator courseIndicator = persistAndFlush(
+                TestDataBuilder.createCourseIndicator(null, active.getId(), indicator.getId(), true));
+        Measure submitted = persistAndFlush(TestDataBuilder.createMeasure(courseIndicator.getId(), "Exam", null, null,
+                null, 20, 5, 3, "Submitted", true));
+        persistAndFlush(TestDataBuilder.createMeasure(courseIndicator.getId(), "Project", null, null,
+                null, 10, 2, 1, "InProgress", true));
+
+        // When
+        SemesterArchive archive = archiveService.archive(semester.getId());
+        flush();
+        clearContext();
+
+        // Then - live tables no longer hold the semester graph
+        assertThat(archive.getCourseCount()).isEqualTo(2);
+        assertThat(archive.getMeasureCount()).isEqualTo(2);
+        assertThat(archive.getPayloadSize()).isLessThan(archive.getJsonSize().intValue());
+        assertThat(count("SELECT COUNT(*) FROM course WHERE semester_id = ?", semester.getId())).isZero();
+        assertThat(count("SELECT COUNT(*) FROM student_outcome WHERE semester_id = ?", semester.getId())).isZero();
+        assertThat(count("SELECT COUNT(*) FROM measure WHERE course_indicator_id = ?", courseIndicator.getId())).isZero();
+        assertThat(semesterRepository.findById(semester.getId())).isPresent();
+
+        // And the archived counterparts return what the live queries did
+        Page<CourseSummary> courses = archiveService.findCourseSummaries(semester.getId(), true, PageRequest.of(0, 20))
+                .orElseThrow();
+        assertThat(courses.getContent()).extracting(CourseSummary::id).containsExactly(active.getId());
+        List<MeasureSummary> measures = archiveService.findActiveMeasureSummaries(semester.getId(), "Submitted")
+                .orElseThrow();
+        assertThat(measures).extracting(MeasureSummary::id).containsExactly(submitted.getId());
+        assertThat(measures.get(0).studentsMet()).isEqualTo(20);
+        assertThat(archiveService.findOutcomes(semester.getId(), true).orElseThrow())
+                .extracting(Outcome::getDescription).containsExactly("Solve problems");
+        SemesterArchiveSnapshot snapshot = archiveService.findSnapshot(semester.getId()).orElseThrow();
+        assertThat(snapshot.performanceIndicators()).extracting(PerformanceIndicator::getId).containsExactly(indicator.getId());
+        assertThat(snapshot.courseIndicators()).extracting(CourseIndicator::getId).containsExactly(courseIndicator.getId());
+    }
+
+    @Test
+    void shouldOnlyArchiveArchivedSemestersOnce() {
+        // Given
+        Semester completed = persistAndFlush(TestDataBuilder.createSemesterWithStatus("Spring 2021", "SPRING-2021",
+                LocalDate.of(2021, 1, 11), LocalDate.of(2021, 5, 7), 2021, SemesterType.SPRING, 1L,
+                SemesterStatus.COMPLETED));
+        Semester archived = persistAndFlush(TestDataBuilder.createSemesterWithStatus("Fall 2021", "FALL-2021",
+                LocalDate.of(2021, 8, 23), LocalDate.of(2021, 12, 10), 2021, SemesterType.FALL, 1L,
+                SemesterStatus.ARCHIVED));
+
+        // When
+        archiveService.archivePending();
+
+        // Then
+        assertThat(archiveRepository.existsById(archived.getId())).isTrue();
+        assertThat(archiveService.findCourseSummaries(completed.getId(), false, PageRequest.of(0, 20))).isEmpty();
+        assertThatThrownBy(() -> archiveService.archive(archived.getId())).isInstanceOf(ConflictException.class);
+        assertThatThrownBy(() -> archiveService.archive(completed.getId())).isInstanceOf(BusinessException.class);
+    }
+
+    @Test
+    void shouldOnlyFallBackForSemestersStillMarkedArchived() {
+        // Given
+        Semester semester = persistAndFlush(TestDataBuilder.createSemesterWithStatus("Spring 2020", "SPRING-2020",
+                LocalDate.of(2020, 1, 13), LocalDate.of(2020, 5, 8), 2020, SemesterType.SPRING, 1L,
+                SemesterStatus.ARCHIVED));
+        persistAndFlush(TestDataBuilder.createCourse("CS201", "Systems", "Processes", semester.getId()));
+        archiveService.archive(semester.getId());
+        flush();
+
+        // Then
+        assertThat(archiveService.findCourseCount(semester.getId())).contains(1L);
+
+        // When - the status no longer says archived (an archive row without its flag)
+        jdbcTemplate.update("UPDATE semester SET status = 'COMPLETED' WHERE id = ?", semester.getId());
+        clearContext();
+        setUp();
+
+        // Then - the archive is not consulted
+        assertThat(archiveService.findCourseCount(semester.getId())).isEmpty();
+        assertThat(archiveService.findCourseSummaries(semester.getId(), false, PageRequest.of(0, 20))).isEmpty();
+        assertThat(archiveService.findOutcomes(semester.getId(), true)).isEmpty();
+    }
+
+    private long count(String sql, Long id) {
+        return jdbcTemplate.queryForObject(sql, Long.class, id);
+    }
+}
@@ -0,0 +1,129 @@
+package com.abetappteam.abetapp.service;
+
+import com.abetappteam.abetapp.BaseRepositoryTest;
+import com.abetappteam.abetapp.entity.BaseEntity;
+import com.abetappteam.abetapp.entity.Course;
+import com.abetappteam.abetapp.entity.CourseIndicator;
+import com.abetappteam.abetapp.entity.Measure;
+import com.abetappteam.abetapp.entity.Semester;
+import com.abetappteam.abetapp.entity.Semester.SemesterStatus;
+import com.abetappteam.abetapp.entity.Semester.SemesterType;
+import com.abetappteam.abetapp.repository.SemesterArchiveRepository;
+import com.abetappteam.abetapp.repository.SemesterRepository;
+import com.abetappteam.abetapp.util.TestDataBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the purge against the test database: retention cutoff, batching and rows kept
+ * because they still have children
+ */
+class SoftDeletePurgeServiceTest extends BaseRepositoryTest {
+
+    private static final LocalDateTime CUTOFF = LocalDateTime.now().minusDays(90);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private SemesterRepository semesterRepository;
+
+    @Autowired
+    private SemesterArchiveRepository archiveRepository;
+
+    private SoftDeletePurgeService purgeService;
+
+    // Built by hand so the test shares the cached repository test context
+    @BeforeEach
+    void setUp() {
+        purgeService = new SoftDeletePurgeService(jdbcTemplate, transactionManager);
+        ReflectionTestUtils.setField(purgeService, "batchSize", 1000);
+    }
+
+    @Test
+    void shouldPurgeOnlyRowsDeletedBeforeCutoffInBatches() {
+        // Given
+        ReflectionTestUtils.setField(purgeService, "batchSize", 2);
+        for (int i = 0; i < 5; i++) {
+            softDelete("measure", persistAndFlush(TestDataBuilder.createMeasure()), CUTOFF.minusDays(1));
+        }
+        Measure recent = softDelete("measure", persistAndFlush(TestDataBuilder.createMeasure()), CUTOFF.plusDays(1));
+        Measure live = persistAndFlush(TestDataBuilder.createMeasure());
+
+        // When
+        Map<String, Integer> purged = purgeService.purge(CUTOFF);
+
+        // Then
+        assertThat(purged).containsEntry("measure", 5);
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM measure ORDER BY id", Long.class))
+                .containsExactly(recent.getId(), live.getId());
+    }
+
+    @Test
+    void shouldKeepParentsUntilTheirChildrenArePurged() {
+        // Given - both courses expired, only the second one's measure is gone too
+        Course withLiveMeasure = softDelete("course", persistAndFlush(TestDataBuilder.createCourse()), CUTOFF.minusDays(1));
+        Course withDeletedMeasure = softDelete("course",
+                persistAndFlush(TestDataBuilder.createCourse("CS102", "Data Structures", "Lists and trees", 1L)),
+                CUTOFF.minusDays(1));
+        CourseIndicator first = persistAndFlush(TestDataBuilder.createCourseIndicator(null, withLiveMeasure.getId(), 1L, true));
+        CourseIndicator second = persistAndFlush(TestDataBuilder.createCourseIndicator(null, withDeletedMeasure.getId(), 1L, true));
+        persistAndFlush(TestDataBuilder.createMeasure(first.getId(), "Live", null, null, null, 1, 1, 1, "InProgress", true));
+        softDelete("measure", persistAndFlush(TestDataBuilder.createMeasure(second.getId(), "Deleted", null, null, null,
+                1, 1, 1, "InProgress", true)), CUTOFF.minusDays(1));
+
+        // When
+        Map<String, Integer> purged = purgeService.purge(CUTOFF);
+
+        // Then - the purged course takes its course_indicator rows with it
+        assertThat(purged).containsEntry("measure", 1).containsEntry("course", 1);
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM course", Long.class)).containsExactly(withLiveMeasure.getId());
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM course_indicator", Long.class)).containsExactly(first.getId());
+    }
+
+    @Test
+    void shouldForgetDecodedArchivesOfPurgedSemesters() {
+        // Given - an archived semester whose snapshot has been read, then soft-deleted
+        SemesterArchiveService archiveService = new SemesterArchiveService(semesterRepository, archiveRepository,
+                entityManager.getEntityManager(), jdbcTemplate, transactionManager,
+                new ObjectMapper().findAndRegisterModules());
+        ReflectionTestUtils.setField(purgeService, "archiveService", archiveService);
+        Semester semester = persistAndFlush(TestDataBuilder.createSemesterWithStatus("Fall 2019", "FALL-2019",
+                LocalDate.of(2019, 8, 26), LocalDate.of(2019, 12, 13), 2019, SemesterType.FALL, 1L,
+                SemesterStatus.ARCHIVED));
+        archiveService.archive(semester.getId());
+        flush();
+        assertThat(archiveService.findSnapshot(semester.getId())).isPresent();
+        softDelete("semester", semester, CUTOFF.minusDays(1));
+
+        // When
+        Map<String, Integer> purged = purgeService.purge(CUTOFF);
+        clearContext();
+
+        // Then
+        assertThat(purged).containsEntry("semester", 1);
+        assertThat(archiveRepository.existsById(semester.getId())).isFalse();
+        assertThat(archiveService.findSnapshot(semester.getId())).isEmpty();
+    }
+
+    private <T extends BaseEntity> T softDelete(String table, T entity, LocalDateTime deletedAt) {
+        jdbcTemplate.update("UPDATE " + table + " SET deleted = TRUE, deleted_at = ? WHERE id = ?",
+                Timestamp.valueOf(deletedAt), entity.getId());
+        return entity;
+    }
+}
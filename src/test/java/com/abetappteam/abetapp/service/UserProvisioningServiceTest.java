@@ -0,0 +1,149 @@
+package com.abetappteam.abetapp.service;
+
+import com.abetappteam.abetapp.BaseRepositoryTest;
+import com.abetappteam.abetapp.dto.ImportReport;
+import com.abetappteam.abetapp.dto.ProvisioningReport;
+import com.abetappteam.abetapp.dto.UserProvisionRow;
+import com.abetappteam.abetapp.entity.Program;
+import com.abetappteam.abetapp.entity.Users;
+import com.abetappteam.abetapp.exception.BadRequestException;
+import com.abetappteam.abetapp.repository.CourseInstructorRepository;
+import com.abetappteam.abetapp.repository.CourseRepository;
+import com.abetappteam.abetapp.repository.ProgramRepository;
+import com.abetappteam.abetapp.repository.ProgramUserRepository;
+import com.abetappteam.abetapp.repository.SemesterRepository;
+import com.abetappteam.abetapp.repository.UsersRepository;
+import com.abetappteam.abetapp.util.TestDataBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Provisions accounts from CSV rows against the real tables, hashing on a two-thread pool
+ */
+class UserProvisioningServiceTest extends BaseRepositoryTest {
+
+    // Lowest BCrypt cost keeps the test fast; the pool does not care about the cost
+    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+
+    @Autowired
+    private UsersRepository usersRepository;
+
+    @Autowired
+    private ProgramRepository programRepository;
+
+    @Autowired
+    private ProgramUserRepository programUserRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private SemesterRepository semesterRepository;
+
+    @Autowired
+    private CourseInstructorRepository courseInstructorRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private UserProvisioningService provisioningService;
+
+    // Built by hand so the test shares the cached repository test context
+    @BeforeEach
+    void setUp() {
+        RosterImportService rosterImportService = new RosterImportService(usersRepository, programRepository,
+                programUserRepository, courseRepository, semesterRepository, courseInstructorRepository);
+        provisioningService = new UserProvisioningService(usersRepository, rosterImportService, passwordEncoder,
+                jdbcTemplate, transactionManager, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        provisioningService.shutdown();
+    }
+
+    @Test
+    void shouldProvisionUsersAndMembershipsFromCsv() {
+        // Given
+        Program program = persistAndFlush(TestDataBuilder.createProgram("Computer Science", "Example University", true));
+        persistAndFlush(TestDataBuilder.createUser("existing@example.edu", "old-hash", "Edsger", "Dijkstra", null, true));
+        List<UserProvisionRow> rows = UserProvisioningService.readCsv(
+                "email,password,firstName,lastName,title,programId,role\n"
+                        + "ada@example.edu,secret-1,Ada,Lovelace,Dr.,,\n"
+                        + "alan@example.edu,secret-2,Alan,Turing,,\"" + program.getId() + "\",admin\n"
+                        + "Existing@example.edu,secret-3,Edsger,Dijkstra,,\"" + program.getId() + "\",\n"
+                        + "ADA@example.edu,secret-4,Ada,Again,,,\n"
+                        + "grace@example.edu,,Grace,Hopper,,,\n");
+
+        // When
+        ProvisioningReport report = provisioningService.provision(rows);
+        clearContext();
+
+        // Then
+        assertThat(report.users().rows()).extracting(ImportReport.Row::status).containsExactly(
+                ImportReport.CREATED, ImportReport.CREATED, ImportReport.UNCHANGED, ImportReport.FAILED,
+                ImportReport.FAILED);
+        assertThat(report.users().rows().get(3).message()).isEqualTo("Same email as row 1");
+        assertThat(report.memberships().rows()).extracting(ImportReport.Row::row).containsExactly(2, 3);
+        assertThat(report.memberships().created()).isEqualTo(2);
+
+        Users ada = usersRepository.findByEmailIgnoreCase("ada@example.edu").orElseThrow();
+        assertThat(passwordEncoder.matches("secret-1", ada.getPasswordHash())).isTrue();
+        assertThat(ada.getTitle()).isEqualTo("Dr.");
+        Users alan = usersRepository.findByEmailIgnoreCase("alan@example.edu").orElseThrow();
+        assertThat(programUserRepository.findByProgramIdAndUserId(program.getId(), alan.getId()).orElseThrow()
+                .getAdminStatus()).isTrue();
+        assertThat(usersRepository.findByEmailIgnoreCase("existing@example.edu").orElseThrow().getPasswordHash())
+                .isEqualTo("old-hash");
+    }
+
+    @Test
+    void shouldRejectPasswordsASignupWouldRejectAndOversizedRuns() {
+        // Given
+        List<UserProvisionRow> rows = List.of(
+                new UserProvisionRow("ada@example.edu", "x".repeat(256), "Ada", "Lovelace", null, null, null),
+                new UserProvisionRow("grace@example.edu", "x".repeat(73), "Grace", "Hopper", null, null, null),
+                new UserProvisionRow("alan@example.edu", "x".repeat(72), "Alan", "Turing", null, null, null));
+
+        // When
+        ProvisioningReport report = provisioningService.provision(rows);
+
+        // Then
+        assertThat(report.users().rows()).extracting(ImportReport.Row::status)
+                .containsExactly(ImportReport.FAILED, ImportReport.FAILED, ImportReport.CREATED);
+        assertThat(report.users().rows().get(0).message()).isEqualTo("Password must be 1 to 255 characters long");
+        assertThat(report.users().rows().get(1).message()).isEqualTo("Password must be at most 72 bytes long");
+        assertThatThrownBy(() -> provisioningService.provision(Collections.nCopies(UserProvisioningService.MAX_ROWS + 1,
+                rows.get(2)))).isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void shouldKeepHashesInInputOrderAcrossPoolThreads() {
+        // Given
+        List<String> passwords = IntStream.range(0, 9).mapToObj(i -> "password-" + i).toList();
+
+        // When
+        List<String> hashes = provisioningService.hashPasswords(passwords);
+
+        // Then
+        assertThat(hashes).hasSize(passwords.size());
+        for (int i = 0; i < passwords.size(); i++) {
+            assertThat(passwordEncoder.matches(passwords.get(i), hashes.get(i))).isTrue();
+        }
+    }
+}
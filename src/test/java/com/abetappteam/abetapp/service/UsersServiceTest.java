@@ -90,24 +90,23 @@ class UsersServiceTest extends BaseServiceTest {
 
     @Test
     void shouldCreateUsers() {
-        when(userRepository.existsByEmailIgnoreCase(anyString())).thenReturn(false);
         when(userRepository.save(any(Users.class))).thenReturn(testUser);
 
         Users created = userService.create(testDTO);
 
         assertThat(created).isNotNull();
-        verify(userRepository).existsByEmailIgnoreCase("newTest@gmail.com");
+        verify(userRepository, never()).existsByEmailIgnoreCase(anyString());
         verify(userRepository).save(any(Users.class));
     }
 
     @Test
     void shouldThrowConflictWhenCreatingDuplicate() {
-        when(userRepository.existsByEmailIgnoreCase("newTest@gmail.com")).thenReturn(true);
+        when(userRepository.save(any(Users.class)))
+                .thenThrow(TestDataBuilder.createDuplicateKeyViolation("uk_users_email"));
 
         assertThatThrownBy(() -> userService.create(testDTO))
                 .isInstanceOf(ConflictException.class)
                 .hasMessageContaining("already exists");
-        verify(userRepository, never()).save(any());
     }
 
     @Test
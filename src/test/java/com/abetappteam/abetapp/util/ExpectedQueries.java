@@ -0,0 +1,23 @@
+package com.abetappteam.abetapp.util;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Fails the test if it issues more SQL statements than max.
+ * Statements are counted by QueryCountInspector on the test thread, so it works in
+ * repository and integration tests (MockMvc runs on the same thread), not in
+ * Mockito-only service tests. Flush setup data before the code under test, or
+ * measure only a block with QueryCountExtension.assertMaxQueries.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(QueryCountExtension.class)
+public @interface ExpectedQueries {
+
+    int max();
+}
@@ -0,0 +1,55 @@
+package com.abetappteam.abetapp.util;
+
+import com.abetappteam.abetapp.metrics.QueryCountInspector;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.function.ThrowingSupplier;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+/**
+ * JUnit extension behind @ExpectedQueries. Also usable directly through
+ * assertMaxQueries when only part of a test should be measured.
+ */
+public class QueryCountExtension implements BeforeEachCallback, AfterEachCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(QueryCountExtension.class);
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        context.getStore(NAMESPACE).put("start", QueryCountInspector.current());
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        if (context.getExecutionException().isPresent()) {
+            return; // keep the original failure
+        }
+        ExpectedQueries expected = AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), ExpectedQueries.class)
+                .or(() -> AnnotationSupport.findAnnotation(context.getRequiredTestClass(), ExpectedQueries.class))
+                .orElse(null);
+        if (expected == null) {
+            return;
+        }
+        long issued = QueryCountInspector.current() - context.getStore(NAMESPACE).get("start", Long.class);
+        check(expected.max(), issued, context.getDisplayName());
+    }
+
+    /**
+     * Run work and fail if it issued more than max SQL statements
+     */
+    public static <T> T assertMaxQueries(int max, ThrowingSupplier<T> work) throws Throwable {
+        long start = QueryCountInspector.current();
+        T result = work.get();
+        check(max, QueryCountInspector.current() - start, "Block");
+        return result;
+    }
+
+    private static void check(int max, long issued, String what) {
+        if (issued > max) {
+            throw new AssertionError(what + " issued " + issued + " SQL statements, expected at most " + max
+                    + " (look for a repository call inside a loop)");
+        }
+    }
+}
@@ -15,6 +15,9 @@ import com.abetappteam.abetapp.dto.UsersDTO;
 import com.abetappteam.abetapp.entity.Semester;
 import com.abetappteam.abetapp.dto.SemesterDTO;
 
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -570,4 +573,13 @@ public class TestDataBuilder {
         }
         return outcomes;
     }
-}
\ No newline at end of file
+
+    /**
+     * What a repository save throws when the named unique constraint rejects the insert
+     */
+    public static DataIntegrityViolationException createDuplicateKeyViolation(String constraint) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new SQLException("Unique index or primary key violation: \"PUBLIC." + constraint.toUpperCase()
+                        + "_INDEX_1\"", "23505", 23505));
+    }
+}
@@ -0,0 +1,129 @@
+package com.abetappteam.abetapp.web;
+
+import com.abetappteam.abetapp.dto.BatchRequest.Call;
+import com.abetappteam.abetapp.dto.BatchResult;
+import com.abetappteam.abetapp.security.JwtAuthenticationFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchDispatcherTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final Queue<String> log = new ConcurrentLinkedQueue<>();
+    // Both reads must be inside the servlet at the same time to pass it
+    private final CyclicBarrier bothReads = new CyclicBarrier(2);
+
+    private final HttpServlet servlet = new HttpServlet() {
+        @Override
+        protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            String caller = SecurityContextHolder.getContext().getAuthentication().getName();
+            String call = request.getMethod() + " " + request.getRequestURI();
+            if ("GET".equals(request.getMethod())) {
+                try {
+                    bothReads.await(5, TimeUnit.SECONDS);
+                } catch (Exception e) {
+                    response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Reads did not overlap");
+                    return;
+                }
+            }
+            log.add(call);
+            if (request.getRequestURI().endsWith("/stream")) {
+                // As MVC answers a handler that cannot start async processing
+                try {
+                    request.startAsync();
+                } catch (IllegalStateException e) {
+                    response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+                    return;
+                }
+            }
+            response.setContentType("application/json");
+            response.getOutputStream().write(("{\"caller\":\"" + caller + "\",\"program\":"
+                    + request.getAttribute(JwtAuthenticationFilter.PROGRAM_ID_ATTRIBUTE)
+                    + ",\"page\":\"" + request.getParameter("page") + "\",\"length\":" + request.getContentLength()
+                    + "}").getBytes(StandardCharsets.UTF_8));
+        }
+    };
+
+    private final BatchDispatcher dispatcher = new BatchDispatcher(servlet, request -> null, objectMapper,
+            new SimpleMeterRegistry(), List.of("/api/batch/**"), 2, 8);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void shouldRunConsecutiveReadsConcurrentlyAsTheCallerAndWritesAlone() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("admin@school.edu", null, List.of()));
+        MockHttpServletRequest batch = new MockHttpServletRequest("POST", "/api/batch");
+        batch.setAttribute(JwtAuthenticationFilter.PROGRAM_ID_ATTRIBUTE, 3L);
+
+        List<BatchResult> results = dispatcher.dispatch(batch, new MockHttpServletResponse(), List.of(
+                new Call("PUT", "/api/courses/1/student-count", objectMapper.readTree("{\"studentCount\":30}")),
+                new Call("GET", "/api/courses/1?page=2", null),
+                new Call("get", "/api/courses/1/instructors", null),
+                new Call("DELETE", "/api/courses/9", null)));
+
+        assertThat(results).extracting(BatchResult::status).containsExactly(200, 200, 200, 200);
+        assertThat(results.get(0).body()).contains("\"length\":19");
+        assertThat(results.get(1).body())
+                .isEqualTo("{\"caller\":\"admin@school.edu\",\"program\":3,\"page\":\"2\",\"length\":0}");
+        assertThat(List.copyOf(log)).startsWith("PUT /api/courses/1/student-count").endsWith("DELETE /api/courses/9");
+    }
+
+    @Test
+    void shouldRefuseCallsWhoseHandlerStartsToStream() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("admin@school.edu", null, List.of()));
+
+        List<BatchResult> results = dispatcher.dispatch(new MockHttpServletRequest("POST", "/api/batch"),
+                new MockHttpServletResponse(), List.of(new Call("PUT", "/api/progress/stream", null)));
+
+        assertThat(results).extracting(BatchResult::status).containsExactly(400);
+        assertThat(results.get(0).body()).contains("Not available in a batch: /api/progress/stream");
+    }
+
+    @Test
+    void shouldAnswerBadCallsWithoutFailingTheBatch() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("admin@school.edu", null, List.of()));
+
+        List<BatchResult> results = dispatcher.dispatch(new MockHttpServletRequest("POST", "/api/batch"),
+                new MockHttpServletResponse(), List.of(
+                        new Call("POST", "/api/batch", null),
+                        new Call("TRACE", "/api/courses/1", null),
+                        new Call("PATCH", "/login", null),
+                        new Call("POST", "/api/%62atch", null),
+                        new Call("POST", "/api/batch;x=1/run", null),
+                        new Call("GET", "/api/courses/../batch", null),
+                        new Call("GET", "/api/courses/%zz", null)));
+
+        assertThat(results).extracting(BatchResult::status).containsExactly(400, 400, 400, 400, 400, 400, 400);
+        assertThat(results.get(0).body()).contains("Not available in a batch: /api/batch");
+        assertThat(results.get(3).body()).contains("Not available in a batch: /api/batch");
+        assertThat(results.get(4).body()).contains("Not available in a batch: /api/batch/run");
+        assertThat(results.get(6).body()).contains("Malformed path");
+        assertThat(log).isEmpty();
+    }
+}
@@ -0,0 +1,167 @@
+package com.abetappteam.abetapp.web;
+
+import com.abetappteam.abetapp.security.JwtAuthenticationFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestCoalescingFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RequestCoalescingFilter filter = new RequestCoalescingFilter(meterRegistry,
+            List.of("/api/progress/**"), List.of("/api/users/my-programs"), Duration.ofSeconds(5), 1024);
+
+    @Test
+    void shouldShareOneResponseBetweenConcurrentIdenticalGets() throws Exception {
+        // Given - a handler that blocks until released
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        FilterChain handler = (request, response) -> {
+            runs.incrementAndGet();
+            entered.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            response.setContentType("application/json");
+            ((HttpServletResponse) response).setHeader("X-Total-Count", "1");
+            response.getOutputStream().write("{\"data\":[1]}".getBytes(StandardCharsets.UTF_8));
+        };
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        MockHttpServletResponse second = new MockHttpServletResponse();
+
+        // When - another user's request arrives while the first is still running
+        Thread leader = new Thread(() -> run(asUser(get(1L), 1L), first, handler));
+        leader.start();
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread follower = new Thread(() -> run(asUser(get(1L), 2L), second, handler));
+        follower.start();
+        while (follower.getState() != Thread.State.TIMED_WAITING && follower.isAlive()) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        leader.join(5000);
+        follower.join(5000);
+
+        // Then
+        assertThat(runs).hasValue(1);
+        assertThat(second.getContentAsString()).isEqualTo("{\"data\":[1]}").isEqualTo(first.getContentAsString());
+        assertThat(second.getContentType()).isEqualTo("application/json");
+        assertThat(second.getHeader("X-Total-Count")).isEqualTo("1");
+        assertThat(meterRegistry.counter(RequestCoalescingFilter.COALESCING, "result", "shared").count()).isEqualTo(1);
+        assertThat(filter.inFlightCount()).isZero();
+    }
+
+    @Test
+    void shouldNotShareResponsesOfCallerSpecificHandlersBetweenUsers() throws Exception {
+        // Given - /api/users/my-programs, which reads the caller itself, holding user 1 until released
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        FilterChain handler = (request, response) -> {
+            runs.incrementAndGet();
+            Object user = request.getAttribute(JwtAuthenticationFilter.USER_ID_ATTRIBUTE);
+            if (Long.valueOf(1L).equals(user)) {
+                entered.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            response.getOutputStream().write(("{\"user\":" + user + "}").getBytes(StandardCharsets.UTF_8));
+        };
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        MockHttpServletResponse second = new MockHttpServletResponse();
+
+        // When - user 2 asks for the same path while user 1's request is running
+        Thread one = new Thread(() -> run(asUser(myPrograms(), 1L), first, handler));
+        one.start();
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread two = new Thread(() -> run(asUser(myPrograms(), 2L), second, handler));
+        two.start();
+        two.join(5000);
+        String secondBody = second.getContentAsString();
+        release.countDown();
+        one.join(5000);
+
+        // Then - user 2 did not wait for user 1 and each got their own body
+        assertThat(secondBody).isEqualTo("{\"user\":2}");
+        assertThat(first.getContentAsString()).isEqualTo("{\"user\":1}");
+        assertThat(runs).hasValue(2);
+    }
+
+    @Test
+    void shouldKeyByProgramAndSkipWritesAndExcludedPaths() {
+        MockHttpServletRequest other = get(2L);
+        MockHttpServletRequest otherQuery = get(1L);
+        otherQuery.setQueryString("page=2");
+
+        assertThat(RequestCoalescingFilter.key(get(1L))).isEqualTo(RequestCoalescingFilter.key(get(1L)))
+                .isNotEqualTo(RequestCoalescingFilter.key(other))
+                .isNotEqualTo(RequestCoalescingFilter.key(otherQuery));
+
+        // Users of the same program and role share a key; only caller-specific paths add the caller
+        assertThat(RequestCoalescingFilter.key(asUser(get(1L), 1L)))
+                .isEqualTo(RequestCoalescingFilter.key(asUser(get(1L), 2L)));
+        assertThat(RequestCoalescingFilter.keyWithCaller(asUser(myPrograms(), 1L)))
+                .isNotEqualTo(RequestCoalescingFilter.keyWithCaller(asUser(myPrograms(), 2L)));
+
+        // Tokens that were not accepted are still told apart by their header
+        MockHttpServletRequest tokenA = myPrograms();
+        tokenA.addHeader("Authorization", "Bearer a");
+        MockHttpServletRequest tokenB = myPrograms();
+        tokenB.addHeader("Authorization", "Bearer b");
+        assertThat(RequestCoalescingFilter.keyWithCaller(tokenA))
+                .isNotEqualTo(RequestCoalescingFilter.keyWithCaller(tokenB))
+                .doesNotContain("Bearer");
+
+        MockHttpServletRequest post = get(1L);
+        post.setMethod("POST");
+        MockHttpServletRequest stream = new MockHttpServletRequest("GET", "/api/progress/stream");
+        assertThat(filter.shouldNotFilter(get(1L))).isFalse();
+        assertThat(filter.shouldNotFilter(post)).isTrue();
+        assertThat(filter.shouldNotFilter(stream)).isTrue();
+    }
+
+    private void run(MockHttpServletRequest request, MockHttpServletResponse response, FilterChain chain) {
+        try {
+            filter.doFilter(request, response, chain);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static MockHttpServletRequest asUser(MockHttpServletRequest request, Long userId) {
+        request.setAttribute(JwtAuthenticationFilter.USER_ID_ATTRIBUTE, userId);
+        return request;
+    }
+
+    private static MockHttpServletRequest myPrograms() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/my-programs");
+        request.setAttribute(JwtAuthenticationFilter.PROGRAM_ID_ATTRIBUTE, 1L);
+        request.setAttribute(JwtAuthenticationFilter.ROLE_ATTRIBUTE, "ADMIN");
+        return request;
+    }
+
+    private static MockHttpServletRequest get(Long programId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/measure/bySemester/InReview/4");
+        request.setAttribute(JwtAuthenticationFilter.PROGRAM_ID_ATTRIBUTE, programId);
+        request.setAttribute(JwtAuthenticationFilter.ROLE_ATTRIBUTE, "ADMIN");
+        return request;
+    }
+}
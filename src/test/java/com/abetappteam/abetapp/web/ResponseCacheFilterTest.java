@@ -0,0 +1,166 @@
+package com.abetappteam.abetapp.web;
+
+import com.abetappteam.abetapp.entity.Course;
+import com.abetappteam.abetapp.entity.Measure;
+import com.abetappteam.abetapp.entity.Outcome;
+import com.abetappteam.abetapp.event.EntityChangedEvent;
+import com.abetappteam.abetapp.security.JwtAuthenticationFilter;
+import com.abetappteam.abetapp.web.ResponseCacheFilter.Rule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class ResponseCacheFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ResponseCache cache = new ResponseCache(meterRegistry, 1024, Duration.ofMinutes(10));
+    private final ResponseCacheFilter filter = new ResponseCacheFilter(cache, meterRegistry, List.of(
+            Rule.of("/api/measure/bySemester/**", Measure.class, Course.class),
+            Rule.of("/api/outcome/bySemester/**", Outcome.class)), 512);
+    private final AtomicInteger runs = new AtomicInteger();
+
+    @Test
+    void shouldServeRepeatedGetsFromCacheUntilARelatedEntityChanges() throws Exception {
+        FilterChain handler = json("{\"data\":[1]}", HttpServletResponse.SC_OK);
+
+        MockHttpServletResponse first = run(get("/api/measure/bySemester/InReview/4", 1L), handler);
+        MockHttpServletResponse second = run(get("/api/measure/bySemester/InReview/4", 1L), handler);
+        run(get("/api/measure/bySemester/InReview/4", 2L), handler);
+        run(get("/api/outcome/bySemester/4", 1L), handler);
+
+        // Then - the repeat is a hit with the same bytes and headers; another program is a miss
+        assertThat(runs).hasValue(3);
+        assertThat(second.getContentAsString()).isEqualTo(first.getContentAsString()).isEqualTo("{\"data\":[1]}");
+        assertThat(second.getContentType()).isEqualTo("application/json");
+        assertThat(second.getHeader("X-Total-Count")).isEqualTo("1");
+        assertThat(meterRegistry.counter(ResponseCacheFilter.RESPONSE_CACHE, "result", "hit").count()).isEqualTo(1);
+
+        // When - a course changes
+        cache.onEntityChanged(new EntityChangedEvent("Course", 7L, EntityChangedEvent.Change.UPDATED,
+                LocalDateTime.now()));
+
+        // Then - only the measure lists are built again
+        run(get("/api/measure/bySemester/InReview/4", 1L), handler);
+        run(get("/api/outcome/bySemester/4", 1L), handler);
+        assertThat(runs).hasValue(4);
+        assertThat(meterRegistry.counter(ResponseCache.EVICTIONS, "cause", "invalidated").count()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldShareEntriesBetweenUsersOfTheSameProgramAndRole() throws Exception {
+        FilterChain handler = json("{\"data\":[1]}", HttpServletResponse.SC_OK);
+
+        run(asUser(get("/api/outcome/bySemester/4", 1L), 10L), handler);
+        MockHttpServletResponse other = run(asUser(get("/api/outcome/bySemester/4", 1L), 11L), handler);
+        MockHttpServletRequest instructor = asUser(get("/api/outcome/bySemester/4", 1L), 12L);
+        instructor.setAttribute(JwtAuthenticationFilter.ROLE_ATTRIBUTE, "INSTRUCTOR");
+        run(instructor, handler);
+
+        // Then - the second user is a hit; another role is a miss
+        assertThat(other.getContentAsString()).isEqualTo("{\"data\":[1]}");
+        assertThat(runs).hasValue(2);
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldSkipErrorsAndUncachedPathsAndRefuseResponsesBuiltDuringAChange() throws Exception {
+        run(get("/api/outcome/bySemester/9", 1L), json("{\"error\":\"x\"}", HttpServletResponse.SC_NOT_FOUND));
+        assertThat(filter.shouldNotFilter(get("/api/courses/3", 1L))).isTrue();
+        MockHttpServletRequest post = get("/api/outcome/bySemester/4", 1L);
+        post.setMethod("POST");
+        assertThat(filter.shouldNotFilter(post)).isTrue();
+
+        // When - an outcome changes while the list is being built
+        run(get("/api/outcome/bySemester/4", 1L), (request, response) -> {
+            cache.invalidate("Outcome");
+            json("{\"data\":[]}", HttpServletResponse.SC_OK).doFilter(request, response);
+        });
+
+        assertThat(cache.size()).isZero();
+        assertThat(runs).hasValue(2);
+    }
+
+    @Test
+    void shouldDropResponsesReadFromALaggingReplicaOnceItHasCaughtUp() {
+        TaskScheduler scheduler = mock(TaskScheduler.class);
+        ResponseCache replicated = new ResponseCache(meterRegistry, 1024, Duration.ofMinutes(10), Duration.ofSeconds(10),
+                scheduler);
+        CapturedResponse stale = new CapturedResponse(200, "application/json", Map.of(), new byte[10]);
+
+        // When - a course changes, and a read built after the invalidation still sees the old row
+        replicated.onEntityChanged(new EntityChangedEvent("Course", 7L, EntityChangedEvent.Change.UPDATED,
+                LocalDateTime.now()));
+        assertThat(replicated.put("a", stale, Set.of("Course"), replicated.generation(Set.of("Course")))).isTrue();
+
+        // Then - the repeated invalidation, due replicaLag later, drops it
+        ArgumentCaptor<Runnable> repeat = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).schedule(repeat.capture(), any(Instant.class));
+        repeat.getValue().run();
+        assertThat(replicated.get("a")).isNull();
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedResponsesPastTheByteLimit() {
+        CapturedResponse body = new CapturedResponse(200, "application/json", Map.of(), new byte[400]);
+        long generation = cache.generation(Set.of("Outcome"));
+
+        cache.put("a", body, Set.of("Outcome"), generation);
+        cache.put("b", body, Set.of("Outcome"), generation);
+        cache.get("a");
+        cache.put("c", body, Set.of("Outcome"), generation);
+
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("a")).isNotNull();
+        assertThat(cache.get("c")).isNotNull();
+        assertThat(cache.bytes()).isLessThanOrEqualTo(1024);
+        assertThat(cache.put("big", new CapturedResponse(200, null, Map.of(), new byte[2048]), Set.of(), 0))
+                .isFalse();
+    }
+
+    private FilterChain json(String body, int status) {
+        return (request, response) -> {
+            runs.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(status);
+            response.setContentType("application/json");
+            ((HttpServletResponse) response).setHeader("X-Total-Count", "1");
+            response.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private MockHttpServletResponse run(MockHttpServletRequest request, FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private static MockHttpServletRequest asUser(MockHttpServletRequest request, Long userId) {
+        request.setAttribute(JwtAuthenticationFilter.USER_ID_ATTRIBUTE, userId);
+        return request;
+    }
+
+    private static MockHttpServletRequest get(String path, Long programId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setAttribute(JwtAuthenticationFilter.PROGRAM_ID_ATTRIBUTE, programId);
+        request.setAttribute(JwtAuthenticationFilter.ROLE_ATTRIBUTE, "ADMIN");
+        return request;
+    }
+}